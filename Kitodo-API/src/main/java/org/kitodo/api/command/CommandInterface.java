@@ -21,4 +21,18 @@ public interface CommandInterface {
      * @return A commandResult, which contains id and result messages.
      */
     CommandResult runCommand(String command);
+
+    /**
+     * Runs a given command with options, for example a timeout or listeners
+     * for the output while the command is running.
+     *
+     * @param command
+     *            The command as a String.
+     * @param options
+     *            The options for running the command.
+     * @return A commandResult, which contains id and result messages.
+     */
+    default CommandResult runCommand(String command, CommandOptions options) {
+        return runCommand(command);
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.api.command;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Options for running a command.
+ */
+public class CommandOptions {
+
+    /**
+     * Default number of lines kept of each output stream of a command.
+     */
+    public static final int DEFAULT_MAXIMUM_LINES = 1000;
+
+    private Duration timeout;
+    private int maximumLines = DEFAULT_MAXIMUM_LINES;
+    private Consumer<String> stdOutListener;
+    private Consumer<String> stdErrListener;
+
+    /**
+     * Returns the time after which the command is terminated. {@code null}
+     * means that the command may run as long as it wants.
+     *
+     * @return the timeout, may be {@code null}
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets the time after which the command is terminated. {@code null}, zero
+     * or a negative duration mean that the command may run as long as it
+     * wants.
+     *
+     * @param timeout
+     *            the timeout
+     */
+    public void setTimeout(Duration timeout) {
+        this.timeout = Objects.nonNull(timeout) && !timeout.isZero() && !timeout.isNegative() ? timeout : null;
+    }
+
+    /**
+     * Returns how many lines of each output stream are kept for the result.
+     * If a command writes more, only the last lines are kept.
+     *
+     * @return the maximum number of lines per stream
+     */
+    public int getMaximumLines() {
+        return maximumLines;
+    }
+
+    /**
+     * Sets how many lines of each output stream are kept for the result.
+     *
+     * @param maximumLines
+     *            the maximum number of lines per stream, at least 1
+     */
+    public void setMaximumLines(int maximumLines) {
+        this.maximumLines = Math.max(1, maximumLines);
+    }
+
+    /**
+     * Returns the listener that is informed about each line the command writes
+     * to standard output.
+     *
+     * @return the listener, may be {@code null}
+     */
+    public Consumer<String> getStdOutListener() {
+        return stdOutListener;
+    }
+
+    /**
+     * Sets a listener that is informed about each line the command writes to
+     * standard output, while the command is running. The listener is called
+     * from another thread.
+     *
+     * @param stdOutListener
+     *            the listener
+     */
+    public void setStdOutListener(Consumer<String> stdOutListener) {
+        this.stdOutListener = stdOutListener;
+    }
+
+    /**
+     * Returns the listener that is informed about each line the command writes
+     * to standard error.
+     *
+     * @return the listener, may be {@code null}
+     */
+    public Consumer<String> getStdErrListener() {
+        return stdErrListener;
+    }
+
+    /**
+     * Sets a listener that is informed about each line the command writes to
+     * standard error, while the command is running. The listener is called
+     * from another thread.
+     *
+     * @param stdErrListener
+     *            the listener
+     */
+    public void setStdErrListener(Consumer<String> stdErrListener) {
+        this.stdErrListener = stdErrListener;
+    }
+}
@@ -14,6 +14,7 @@ package org.kitodo.api.dataeditor.rulesetmanagement;
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale.LanguageRange;
 import java.util.Map;
@@ -148,6 +149,28 @@ public interface RulesetManagementInterface {
      */
     void load(File rulesetFile) throws IOException;
 
+    /**
+     * Returns the files the loaded ruleset was read from. Besides the ruleset
+     * file, these are the included rulesets and the namespace files looked
+     * for. If one of these files changes, the ruleset must be loaded again.
+     *
+     * @return the files of the loaded ruleset
+     */
+    default Collection<File> getFiles() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns the labels of all keys of the loaded ruleset, in all languages.
+     * The keys of metadata groups are included. This can be used, for
+     * example, to find metadata by the labels of their keys.
+     *
+     * @return map of key IDs to their labels, which must not be modified
+     */
+    default Map<String, Collection<String>> getKeyLabels() {
+        return Collections.emptyMap();
+    }
+
     /**
      * Returns the “always showing” value or otherwise the default value if the
      * attribute is not set.
@@ -105,6 +105,15 @@ public class PhysicalDivision extends Division<PhysicalDivision> {
         this.metsDivReferrerId = divId;
     }
 
+    /**
+     * Returns the ID of div, if known, without creating a new one.
+     *
+     * @return the ID of div, or {@code null}
+     */
+    String getDivIdIfKnown() {
+        return metsDivReferrerId;
+    }
+
     /**
      * The list is available to assist to render the front-end by holding the
      * elements of the logical structure that reference this physical division. It is
@@ -15,11 +15,19 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.GregorianCalendar;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.kitodo.api.Metadata;
+import org.kitodo.api.MetadataEntry;
+import org.kitodo.api.MetadataGroup;
+import org.kitodo.api.dataformat.mets.LinkedMetsResource;
+
 /**
  * The administrative structure of the product of an element that passes through
  * a Production workflow.
@@ -51,6 +59,13 @@ public class Workpiece {
      */
     private LogicalDivision logicalStructure = new LogicalDivision();
 
+    /**
+     * Counts changes announced by {@link #markAsModified()}. This is not part
+     * of the content of the workpiece and is not compared by
+     * {@link #equals(Object)}.
+     */
+    private long modificationCount;
+
     /**
      * Returns the creation date of the workpiece.
      *
@@ -165,6 +180,134 @@ public class Workpiece {
                 && Objects.equals(logicalStructure, workpiece.logicalStructure);
     }
 
+    /**
+     * Returns the number of changes announced so far. Editors announce
+     * changes to the workpiece with {@link #markAsModified()}, so that they
+     * can tell from an unchanged count that there is nothing to compare.
+     *
+     * @return the modification count
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Announces that the workpiece has been changed.
+     */
+    public void markAsModified() {
+        modificationCount++;
+    }
+
+    /**
+     * Creates an independent copy of the workpiece. Both structure trees are
+     * copied including their metadata, and the views and the assignments of
+     * physical divisions to logical divisions refer to the copied divisions.
+     * Immutable values, such as URIs and media variants, are shared. The copy
+     * is equal to this workpiece, and stays so until one of them is changed.
+     *
+     * @return a copy of the workpiece
+     */
+    public Workpiece snapshot() {
+        Workpiece snapshot = new Workpiece();
+        snapshot.creationDate = Objects.nonNull(creationDate) ? (GregorianCalendar) creationDate.clone() : null;
+        for (ProcessingNote processingNote : editHistory) {
+            snapshot.editHistory.add(copyOf(processingNote));
+        }
+        snapshot.id = id;
+        Map<PhysicalDivision, PhysicalDivision> physicalCopies = new IdentityHashMap<>();
+        Map<LogicalDivision, LogicalDivision> logicalCopies = new IdentityHashMap<>();
+        snapshot.physicalStructure = copyOf(physicalStructure, physicalCopies);
+        snapshot.logicalStructure = copyOf(logicalStructure, physicalCopies, logicalCopies);
+        for (Map.Entry<PhysicalDivision, PhysicalDivision> physicalCopy : physicalCopies.entrySet()) {
+            for (LogicalDivision logicalDivision : physicalCopy.getKey().getLogicalDivisions()) {
+                physicalCopy.getValue().getLogicalDivisions()
+                        .add(logicalCopies.getOrDefault(logicalDivision, logicalDivision));
+            }
+        }
+        return snapshot;
+    }
+
+    private static PhysicalDivision copyOf(PhysicalDivision physicalDivision,
+            Map<PhysicalDivision, PhysicalDivision> copies) {
+        PhysicalDivision copy = new PhysicalDivision();
+        copyDivision(physicalDivision, copy);
+        copy.getMediaFiles().putAll(physicalDivision.getMediaFiles());
+        copy.setDivId(physicalDivision.getDivIdIfKnown());
+        if (physicalDivision.hasMediaPartial()) {
+            MediaPartial mediaPartial = physicalDivision.getMediaPartial();
+            copy.setMediaPartial(new MediaPartial(mediaPartial.getBegin(), mediaPartial.getExtent()));
+        }
+        copies.put(physicalDivision, copy);
+        for (PhysicalDivision child : physicalDivision.getChildren()) {
+            copy.getChildren().add(copyOf(child, copies));
+        }
+        return copy;
+    }
+
+    private static LogicalDivision copyOf(LogicalDivision logicalDivision,
+            Map<PhysicalDivision, PhysicalDivision> physicalCopies, Map<LogicalDivision, LogicalDivision> copies) {
+        LogicalDivision copy = new LogicalDivision();
+        copyDivision(logicalDivision, copy);
+        LinkedMetsResource link = logicalDivision.getLink();
+        if (Objects.nonNull(link)) {
+            LinkedMetsResource linkCopy = new LinkedMetsResource();
+            linkCopy.setLoctype(link.getLoctype());
+            linkCopy.setUri(link.getUri());
+            copy.setLink(linkCopy);
+        }
+        for (View view : logicalDivision.getViews()) {
+            View viewCopy = new View();
+            PhysicalDivision physicalDivision = view.getPhysicalDivision();
+            viewCopy.setPhysicalDivision(physicalCopies.getOrDefault(physicalDivision, physicalDivision));
+            copy.getViews().add(viewCopy);
+        }
+        copies.put(logicalDivision, copy);
+        for (LogicalDivision child : logicalDivision.getChildren()) {
+            copy.getChildren().add(copyOf(child, physicalCopies, copies));
+        }
+        return copy;
+    }
+
+    private static void copyDivision(Division<?> division, Division<?> copy) {
+        copy.setLabel(division.getLabel());
+        copy.setOrder(division.getOrder());
+        copy.setOrderlabel(division.getOrderlabel());
+        copy.setType(division.getType());
+        copy.getContentIds().addAll(division.getContentIds());
+        copy.getMetadata().addAll(copyOf(division.getMetadata()));
+    }
+
+    private static HashSet<Metadata> copyOf(HashSet<Metadata> metadata) {
+        HashSet<Metadata> copy = new HashSet<>((int) Math.ceil(metadata.size() / .75));
+        for (Metadata metadataItem : metadata) {
+            if (metadataItem instanceof MetadataEntry metadataEntry) {
+                MetadataEntry entryCopy = new MetadataEntry();
+                entryCopy.setKey(metadataEntry.getKey());
+                entryCopy.setDomain(metadataEntry.getDomain());
+                entryCopy.setValue(metadataEntry.getValue());
+                copy.add(entryCopy);
+            } else if (metadataItem instanceof MetadataGroup metadataGroup) {
+                MetadataGroup groupCopy = new MetadataGroup();
+                groupCopy.setKey(metadataGroup.getKey());
+                groupCopy.setDomain(metadataGroup.getDomain());
+                groupCopy.setMetadata(copyOf(metadataGroup.getMetadata()));
+                copy.add(groupCopy);
+            } else {
+                copy.add(metadataItem);
+            }
+        }
+        return copy;
+    }
+
+    private static ProcessingNote copyOf(ProcessingNote processingNote) {
+        ProcessingNote copy = new ProcessingNote();
+        copy.setName(processingNote.getName());
+        copy.setNote(processingNote.getNote());
+        copy.setRole(processingNote.getRole());
+        copy.setType(processingNote.getType());
+        return copy;
+    }
+
     /**
      * Returns all logical divisions of the logical structure of the
      * workpiece as a flat list. The list isn’t backed by the included
@@ -15,7 +15,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import javax.xml.validation.Schema;
+
 import org.kitodo.api.dataformat.Workpiece;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
 
 /**
  * Interface for a service that handles access to the {@code <mets:mets>}
@@ -52,6 +56,26 @@ public interface MetsXmlElementAccessInterface {
      */
     Workpiece read(InputStream in) throws IOException;
 
+    /**
+     * Reads a METS file and validates it against a schema in the same pass.
+     * Schema violations are reported to the error handler, and reading
+     * continues after them.
+     *
+     * @param in
+     *            open input channel for reading the file
+     * @param schema
+     *            compiled schema to validate against, may be {@code null} to
+     *            read without validation
+     * @param errorHandler
+     *            receives the schema violations
+     * @return the read workpiece
+     * @throws IOException
+     *             if the reading fails
+     * @throws SAXException
+     *             if the file is not well-formed XML
+     */
+    Workpiece read(InputStream in, Schema schema, ErrorHandler errorHandler) throws IOException, SAXException;
+
     /**
      * Writes the workpiece to a METS file.
      *
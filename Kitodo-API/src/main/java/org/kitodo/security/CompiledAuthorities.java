@@ -0,0 +1,251 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.security;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * The authorities of an authentication in a form that can be checked quickly.
+ * The authority titles are numbered, and the global authorities and the
+ * authorities for each client are kept as bit sets of these numbers. The
+ * authorities are compiled once for each authentication, that is, once per
+ * session after login, and kept as long as the authentication is in use.
+ *
+ * <p>The comma-separated lists of authority titles used in the pages are
+ * parsed once per list as well.
+ */
+final class CompiledAuthorities {
+
+    private static final String GLOBAL_SUFFIX = "_GLOBAL";
+    private static final String CLIENT_INFIX = "_CLIENT_";
+
+    /**
+     * Maximum number of different lists of authority titles to keep parsed.
+     * The pages use a fixed set of lists, so this is not reached in practice.
+     */
+    static final int MAXIMUM_PARSED_LISTS = 4096;
+
+    /**
+     * Compiled authorities of an unauthenticated user.
+     */
+    static final CompiledAuthorities NONE = new CompiledAuthorities(null, Collections.emptyList());
+
+    private static final Map<String, Integer> authorityIds = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextAuthorityId = new AtomicInteger();
+    private static final Map<String, int[]> parsedLists = new ConcurrentHashMap<>();
+
+    private static final Map<AuthenticationReference, CompiledAuthorities> compiled = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Authentication> unusedAuthentications = new ReferenceQueue<>();
+
+    /*
+     * A request thread usually checks many authorities of the same
+     * authentication in a row, so the last one is kept at hand.
+     */
+    private static final ThreadLocal<CompiledAuthorities> lastUsed = new ThreadLocal<>();
+
+    private final WeakReference<Authentication> authentication;
+    private final Collection<? extends GrantedAuthority> source;
+    private final BitSet global = new BitSet();
+    private final Map<Integer, BitSet> clients = new HashMap<>();
+
+    /**
+     * Weak reference to an authentication, which is equal to another one if
+     * both refer to the same authentication object.
+     */
+    private static final class AuthenticationReference extends WeakReference<Authentication> {
+        private final int hashCode;
+
+        private AuthenticationReference(Authentication authentication, ReferenceQueue<Authentication> queue) {
+            super(authentication, queue);
+            this.hashCode = System.identityHashCode(authentication);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof AuthenticationReference other)) {
+                return false;
+            }
+            Authentication referent = get();
+            return Objects.nonNull(referent) && referent == other.get();
+        }
+    }
+
+    private CompiledAuthorities(Authentication authentication, Collection<? extends GrantedAuthority> source) {
+        this.authentication = new WeakReference<>(authentication);
+        this.source = source;
+        if (Objects.isNull(source)) {
+            return;
+        }
+        for (GrantedAuthority grantedAuthority : source) {
+            // like before, only simple granted authorities are considered
+            if (!(grantedAuthority instanceof SimpleGrantedAuthority)) {
+                continue;
+            }
+            String authority = grantedAuthority.getAuthority();
+            if (authority.endsWith(GLOBAL_SUFFIX)) {
+                global.set(intern(authority.substring(0, authority.length() - GLOBAL_SUFFIX.length())));
+                continue;
+            }
+            int clientInfix = authority.lastIndexOf(CLIENT_INFIX);
+            if (clientInfix >= 0) {
+                String client = authority.substring(clientInfix + CLIENT_INFIX.length());
+                try {
+                    int clientId = Integer.parseInt(client);
+                    if (Integer.toString(clientId).equals(client)) {
+                        clients.computeIfAbsent(clientId, any -> new BitSet())
+                                .set(intern(authority.substring(0, clientInfix)));
+                    }
+                } catch (NumberFormatException e) {
+                    // "_CLIENT_ANY" is not checked here
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the compiled authorities of an authentication. They are compiled
+     * on first use, and compiled again if the authentication has other
+     * authorities since.
+     *
+     * @param authentication
+     *            authentication to return the compiled authorities for
+     * @return the compiled authorities
+     */
+    static CompiledAuthorities of(Authentication authentication) {
+        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+        CompiledAuthorities compiledAuthorities = lastUsed.get();
+        if (Objects.nonNull(compiledAuthorities) && compiledAuthorities.isFor(authentication, authorities)) {
+            return compiledAuthorities;
+        }
+        AuthenticationReference key = new AuthenticationReference(authentication, null);
+        compiledAuthorities = compiled.get(key);
+        if (Objects.isNull(compiledAuthorities) || !compiledAuthorities.isFor(authentication, authorities)) {
+            removeUnusedAuthentications();
+            compiledAuthorities = new CompiledAuthorities(authentication, authorities);
+            compiled.put(new AuthenticationReference(authentication, unusedAuthentications), compiledAuthorities);
+        }
+        lastUsed.set(compiledAuthorities);
+        return compiledAuthorities;
+    }
+
+    private boolean isFor(Authentication authentication, Collection<? extends GrantedAuthority> authorities) {
+        return this.authentication.get() == authentication && source == authorities;
+    }
+
+    private static void removeUnusedAuthentications() {
+        for (Reference<? extends Authentication> reference = unusedAuthentications.poll(); Objects
+                .nonNull(reference); reference = unusedAuthentications.poll()) {
+            compiled.remove(reference);
+        }
+    }
+
+    private static int intern(String authorityTitle) {
+        return authorityIds.computeIfAbsent(authorityTitle, any -> nextAuthorityId.getAndIncrement());
+    }
+
+    /**
+     * Returns the number of an authority title.
+     *
+     * @param authorityTitle
+     *            the authority title
+     * @return the number, or -1 if no user has this authority
+     */
+    static int idOf(String authorityTitle) {
+        return authorityIds.getOrDefault(authorityTitle, -1);
+    }
+
+    /**
+     * Returns the numbers of the authority titles of a comma-separated list.
+     * White space is ignored.
+     *
+     * @param authorityTitles
+     *            the authority titles separated with commas e.g. "authority1,
+     *            authority2, authority3"
+     * @return the numbers of the authority titles
+     */
+    static int[] parse(String authorityTitles) {
+        int[] ids = parsedLists.get(authorityTitles);
+        if (Objects.nonNull(ids)) {
+            return ids;
+        }
+        String[] titles = authorityTitles.replaceAll("\\s+", "").split(",");
+        ids = new int[titles.length];
+        if (parsedLists.size() < MAXIMUM_PARSED_LISTS) {
+            // titles which no user has yet are numbered, so the list stays valid
+            for (int i = 0; i < titles.length; i++) {
+                ids[i] = intern(titles[i]);
+            }
+            parsedLists.put(authorityTitles, ids);
+        } else {
+            for (int i = 0; i < titles.length; i++) {
+                ids[i] = idOf(titles[i]);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Returns whether any of the authorities is granted globally.
+     *
+     * @param authorityIds
+     *            numbers of the authority titles
+     * @return whether any of the authorities is granted globally
+     */
+    boolean hasAnyGlobal(int... authorityIds) {
+        return hasAny(global, authorityIds);
+    }
+
+    /**
+     * Returns whether any of the authorities is granted for a client.
+     *
+     * @param clientId
+     *            ID of the client
+     * @param authorityIds
+     *            numbers of the authority titles
+     * @return whether any of the authorities is granted for the client
+     */
+    boolean hasAnyForClient(int clientId, int... authorityIds) {
+        BitSet clientAuthorities = clients.get(clientId);
+        return Objects.nonNull(clientAuthorities) && hasAny(clientAuthorities, authorityIds);
+    }
+
+    private static boolean hasAny(BitSet authorities, int[] authorityIds) {
+        for (int authorityId : authorityIds) {
+            if (authorityId >= 0 && authorities.get(authorityId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
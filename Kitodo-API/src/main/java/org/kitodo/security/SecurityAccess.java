@@ -11,13 +11,9 @@
 
 package org.kitodo.security;
 
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Objects;
 
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 /**
@@ -26,15 +22,12 @@ import org.springframework.security.core.context.SecurityContextHolder;
  */
 public abstract class SecurityAccess {
 
-    private static final String GLOBAL_IDENTIFIER = "GLOBAL";
-    private static final String CLIENT_IDENTIFIER = "CLIENT";
-
-    private Collection<? extends GrantedAuthority> getAuthoritiesOfCurrentAuthentication() {
+    private CompiledAuthorities getAuthoritiesOfCurrentAuthentication() {
         Authentication authentication = getCurrentAuthentication();
         if (Objects.nonNull(authentication)) {
-            return authentication.getAuthorities();
+            return CompiledAuthorities.of(authentication);
         } else {
-            return new ArrayList<>();
+            return CompiledAuthorities.NONE;
         }
     }
 
@@ -54,7 +47,7 @@ public abstract class SecurityAccess {
      * @return true if the current user has the specified authority
      */
     public boolean hasAuthorityGlobal(String authorityTitle) {
-        return hasAuthority(authorityTitle + "_" + GLOBAL_IDENTIFIER);
+        return getAuthoritiesOfCurrentAuthentication().hasAnyGlobal(CompiledAuthorities.idOf(authorityTitle));
     }
 
     /**
@@ -65,8 +58,8 @@ public abstract class SecurityAccess {
      * @return true if the current user has the specified authority
      */
     public boolean hasAuthorityForClient(String authorityTitle) {
-        String clientAuthority = authorityTitle + "_" + CLIENT_IDENTIFIER + "_" + getClientId();
-        return hasAuthority(clientAuthority);
+        return getAuthoritiesOfCurrentAuthentication().hasAnyForClient(getClientId(),
+            CompiledAuthorities.idOf(authorityTitle));
     }
 
     /**
@@ -90,13 +83,7 @@ public abstract class SecurityAccess {
      *         globally
      */
     public boolean hasAnyAuthorityGlobal(String authorityTitles) {
-        String[] authorityTitlesArray = getStringArray(authorityTitles);
-        for (String authorityTitle : authorityTitlesArray) {
-            if (hasAuthorityGlobal(authorityTitle)) {
-                return true;
-            }
-        }
-        return false;
+        return getAuthoritiesOfCurrentAuthentication().hasAnyGlobal(CompiledAuthorities.parse(authorityTitles));
     }
 
     /**
@@ -107,13 +94,8 @@ public abstract class SecurityAccess {
      * @return true if the current user has the specified authority
      */
     public boolean hasAnyAuthorityForClient(String authorityTitles) {
-        String[] authorityTitlesArray = getStringArray(authorityTitles);
-        for (String authorityTitle : authorityTitlesArray) {
-            if (hasAuthorityForClient(authorityTitle)) {
-                return true;
-            }
-        }
-        return false;
+        return getAuthoritiesOfCurrentAuthentication().hasAnyForClient(getClientId(),
+            CompiledAuthorities.parse(authorityTitles));
     }
 
     /**
@@ -138,15 +120,4 @@ public abstract class SecurityAccess {
     protected Authentication getCurrentAuthentication() {
         return SecurityContextHolder.getContext().getAuthentication();
     }
-
-    private boolean hasAuthority(String authorityTitle) {
-        SimpleGrantedAuthority authority = new SimpleGrantedAuthority(authorityTitle);
-        Collection<? extends GrantedAuthority> authorities = getAuthoritiesOfCurrentAuthentication();
-        return authorities.contains(authority);
-    }
-
-    private String[] getStringArray(String values) {
-        // remove white spaces and split values
-        return values.replaceAll("\\s+", "").split(",");
-    }
 }
@@ -0,0 +1,178 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.utils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.xml.XMLConstants;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.xml.sax.SAXException;
+
+/**
+ * Cache for compiled XML schema definitions. Compiling the METS and Kitodo
+ * schemata takes longer than validating a metadata file against them, so
+ * each set of schema files is compiled once, and the compiled {@link Schema}
+ * is used for all further validations, from any thread. If one of the files
+ * has changed, the set is compiled again on next access.
+ *
+ * <p>A compiled schema is thread-safe, but the validators and validator
+ * handlers created from it are not, so callers must create a new one for each
+ * validation.
+ */
+public class SchemaCache {
+    private static final Logger logger = LogManager.getLogger(SchemaCache.class);
+
+    private static volatile SchemaCache instance;
+
+    private final Map<List<URI>, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder compilations = new LongAdder();
+
+    private record Entry(List<Long> versions, Schema schema) {
+    }
+
+    SchemaCache() {
+    }
+
+    /**
+     * Returns the schema cache.
+     *
+     * @return the schema cache
+     */
+    public static SchemaCache getInstance() {
+        SchemaCache localReference = instance;
+        if (Objects.isNull(localReference)) {
+            synchronized (SchemaCache.class) {
+                localReference = instance;
+                if (Objects.isNull(localReference)) {
+                    localReference = new SchemaCache();
+                    instance = localReference;
+                }
+            }
+        }
+        return localReference;
+    }
+
+    /**
+     * Returns the compiled schema for a set of schema files. If the set has
+     * not been compiled yet, or one of its files has changed since, it is
+     * compiled now.
+     *
+     * @param schemaFiles
+     *            URIs of the schema files, in the order in which they are
+     *            compiled
+     * @return the compiled schema, from which validators can be created
+     * @throws SAXException
+     *             if a schema file cannot be read or contains errors
+     */
+    public Schema getSchema(Collection<URI> schemaFiles) throws SAXException {
+        List<URI> key = schemaFiles.stream().map(URI::normalize).toList();
+        List<Long> versions = getVersions(key);
+        Entry entry = entries.get(key);
+        if (Objects.nonNull(entry) && entry.versions().equals(versions)) {
+            hits.increment();
+            return entry.schema();
+        }
+        synchronized (this) {
+            entry = entries.get(key);
+            if (Objects.nonNull(entry) && entry.versions().equals(versions)) {
+                hits.increment();
+                return entry.schema();
+            }
+            logger.debug("Compiling {}", key);
+            Source[] sources = new Source[key.size()];
+            for (int i = 0; i < sources.length; i++) {
+                sources[i] = new StreamSource(key.get(i).toString());
+            }
+            // schema factories are not thread-safe
+            Schema schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema(sources);
+            entries.put(key, new Entry(versions, schema));
+            compilations.increment();
+            return schema;
+        }
+    }
+
+    /*
+     * Schema files inside of archives cannot change while the application is
+     * running, so only files in the file system are checked for changes.
+     */
+    private static List<Long> getVersions(List<URI> schemaFiles) throws SAXException {
+        List<Long> versions = new ArrayList<>(schemaFiles.size() * 2);
+        for (URI schemaFile : schemaFiles) {
+            if ("file".equals(schemaFile.getScheme())) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(Path.of(schemaFile),
+                        BasicFileAttributes.class);
+                    versions.add(attributes.lastModifiedTime().toMillis());
+                    versions.add(attributes.size());
+                } catch (IOException e) {
+                    throw new SAXException("Could not read schema file " + schemaFile, e);
+                }
+            } else {
+                versions.add(0L);
+                versions.add(0L);
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Removes all compiled schemata from the cache.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of compiled schemata in the cache.
+     *
+     * @return the number of compiled schemata
+     */
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Returns how often a compiled schema was taken from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how often a set of schema files had to be compiled.
+     *
+     * @return the number of compilations
+     */
+    public long getCompileCount() {
+        return compilations.sum();
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Cache for compiled XSLT stylesheets. Compiling a stylesheet often takes
+ * longer than the transformation itself, so each stylesheet file is compiled
+ * once, and the compiled {@link Templates} are used for all further
+ * transformations, from any thread. A changed stylesheet file is compiled
+ * again on next access.
+ *
+ * <p>Stylesheets are cached per transformer factory, since the factory
+ * settings, for example a URI resolver, are compiled into the templates.
+ * Callers should therefore keep their factory in a constant.
+ */
+public class TemplatesCache {
+    private static final Logger logger = LogManager.getLogger(TemplatesCache.class);
+
+    private static volatile TemplatesCache instance;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder compilations = new LongAdder();
+
+    private record Key(TransformerFactory transformerFactory, Path stylesheet) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && transformerFactory == key.transformerFactory
+                    && stylesheet.equals(key.stylesheet);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(transformerFactory) * 31 + stylesheet.hashCode();
+        }
+    }
+
+    private record Entry(long lastModified, long size, Templates templates) {
+        private boolean isVersionOf(BasicFileAttributes attributes) {
+            return lastModified == attributes.lastModifiedTime().toMillis() && size == attributes.size();
+        }
+    }
+
+    TemplatesCache() {
+    }
+
+    /**
+     * Returns the templates cache.
+     *
+     * @return the templates cache
+     */
+    public static TemplatesCache getInstance() {
+        TemplatesCache localReference = instance;
+        if (Objects.isNull(localReference)) {
+            synchronized (TemplatesCache.class) {
+                localReference = instance;
+                if (Objects.isNull(localReference)) {
+                    localReference = new TemplatesCache();
+                    instance = localReference;
+                }
+            }
+        }
+        return localReference;
+    }
+
+    /**
+     * Returns the compiled stylesheet. If the stylesheet has not been compiled
+     * with this transformer factory yet, or the file has changed since, it is
+     * compiled now.
+     *
+     * @param transformerFactory
+     *            transformer factory to compile the stylesheet with
+     * @param stylesheet
+     *            stylesheet file
+     * @return the compiled stylesheet, from which transformers can be created
+     * @throws IOException
+     *             if the stylesheet file cannot be read
+     * @throws TransformerConfigurationException
+     *             if the stylesheet contains errors
+     */
+    public Templates getTemplates(TransformerFactory transformerFactory, File stylesheet)
+            throws IOException, TransformerConfigurationException {
+        Path path = stylesheet.toPath().toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        Key key = new Key(transformerFactory, path);
+        Entry entry = entries.get(key);
+        if (Objects.nonNull(entry) && entry.isVersionOf(attributes)) {
+            hits.increment();
+            return entry.templates();
+        }
+        Templates templates;
+        // transformer factories are not thread-safe
+        synchronized (transformerFactory) {
+            entry = entries.get(key);
+            if (Objects.nonNull(entry) && entry.isVersionOf(attributes)) {
+                hits.increment();
+                return entry.templates();
+            }
+            logger.debug("Compiling {}", path);
+            StreamSource source = new StreamSource(path.toFile());
+            source.setSystemId(path.toUri().toString());
+            templates = transformerFactory.newTemplates(source);
+            if (Objects.isNull(templates)) {
+                throw new TransformerConfigurationException("Could not compile " + path + ". Check it for errors.");
+            }
+            entries.put(key, new Entry(attributes.lastModifiedTime().toMillis(), attributes.size(), templates));
+        }
+        compilations.increment();
+        return templates;
+    }
+
+    /**
+     * Compiles stylesheets in advance, so that the first transformation does
+     * not have to wait for it. Stylesheets that cannot be compiled are logged
+     * and skipped, they will fail again on use.
+     *
+     * @param transformerFactory
+     *            transformer factory to compile the stylesheets with
+     * @param stylesheets
+     *            stylesheet files
+     */
+    public void prewarm(TransformerFactory transformerFactory, Iterable<File> stylesheets) {
+        for (File stylesheet : stylesheets) {
+            try {
+                getTemplates(transformerFactory, stylesheet);
+            } catch (IOException | TransformerConfigurationException e) {
+                logger.warn("Could not compile {}: {}", stylesheet, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Removes all compiled stylesheets from the cache.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of compiled stylesheets in the cache.
+     *
+     * @return the number of compiled stylesheets
+     */
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Returns how often a compiled stylesheet was taken from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how often a stylesheet had to be compiled.
+     *
+     * @return the number of compilations
+     */
+    public long getCompileCount() {
+        return compilations.sum();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.api.dataformat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+import org.kitodo.api.MdSec;
+import org.kitodo.api.MetadataEntry;
+import org.kitodo.api.MetadataGroup;
+
+public class WorkpieceTest {
+
+    private static Workpiece createWorkpiece() {
+        Workpiece workpiece = new Workpiece();
+        workpiece.setId("test");
+        LogicalDivision monograph = workpiece.getLogicalStructure();
+        monograph.setType("Monograph");
+        MetadataGroup person = new MetadataGroup();
+        person.setKey("Person");
+        person.setDomain(MdSec.DMD_SEC);
+        person.getMetadata().add(entry("LastName", "Doe"));
+        monograph.getMetadata().add(person);
+        monograph.getMetadata().add(entry("TitleDocMain", "Title"));
+
+        LogicalDivision chapter = new LogicalDivision();
+        chapter.setType("Chapter");
+        monograph.getChildren().add(chapter);
+        PhysicalDivision page = new PhysicalDivision();
+        page.setType(PhysicalDivision.TYPE_PAGE);
+        page.setOrder(1);
+        workpiece.getPhysicalStructure().getChildren().add(page);
+        chapter.getViews().add(View.of(page));
+        page.getLogicalDivisions().add(chapter);
+        return workpiece;
+    }
+
+    private static MetadataEntry entry(String key, String value) {
+        MetadataEntry entry = new MetadataEntry();
+        entry.setKey(key);
+        entry.setDomain(MdSec.DMD_SEC);
+        entry.setValue(value);
+        return entry;
+    }
+
+    /**
+     * Tests that the snapshot of a workpiece is equal to it and links the
+     * copied divisions among each other.
+     */
+    @Test
+    public void snapshotShouldBeEqual() {
+        Workpiece workpiece = createWorkpiece();
+
+        Workpiece snapshot = workpiece.snapshot();
+
+        assertEquals(workpiece, snapshot);
+        LogicalDivision chapter = snapshot.getLogicalStructure().getChildren().get(0);
+        PhysicalDivision page = snapshot.getPhysicalStructure().getChildren().get(0);
+        assertSame(page, chapter.getViews().getFirst().getPhysicalDivision());
+        assertSame(chapter, page.getLogicalDivisions().get(0));
+    }
+
+    /**
+     * Tests that taking a snapshot does not create div IDs in the workpiece,
+     * and that known div IDs are copied.
+     */
+    @Test
+    public void snapshotShouldNotChangeDivIds() {
+        Workpiece workpiece = createWorkpiece();
+        PhysicalDivision page = workpiece.getPhysicalStructure().getChildren().get(0);
+        page.setDivId("PHYS_0001");
+
+        Workpiece snapshot = workpiece.snapshot();
+
+        assertNull(workpiece.getPhysicalStructure().getDivIdIfKnown(), "Snapshot should not have created a div ID");
+        assertNull(snapshot.getPhysicalStructure().getDivIdIfKnown());
+        assertEquals("PHYS_0001", snapshot.getPhysicalStructure().getChildren().get(0).getDivIdIfKnown());
+    }
+
+    /**
+     * Tests that changes to a workpiece do not affect its snapshot.
+     */
+    @Test
+    public void snapshotShouldBeIndependent() {
+        Workpiece workpiece = createWorkpiece();
+        Workpiece snapshot = workpiece.snapshot();
+
+        workpiece.getLogicalStructure().getMetadata().stream().filter(MetadataGroup.class::isInstance)
+                .map(MetadataGroup.class::cast).flatMap(group -> group.getMetadata().stream())
+                .map(MetadataEntry.class::cast).forEach(lastName -> lastName.setValue("Roe"));
+        assertNotEquals(workpiece, snapshot);
+
+        workpiece = createWorkpiece();
+        snapshot = workpiece.snapshot();
+        workpiece.getPhysicalStructure().getChildren().get(0).setOrder(2);
+        assertNotEquals(workpiece, snapshot);
+    }
+
+    /**
+     * Tests that the modification count is not part of the content.
+     */
+    @Test
+    public void modificationCountShouldNotAffectEquality() {
+        Workpiece workpiece = createWorkpiece();
+        Workpiece snapshot = workpiece.snapshot();
+
+        workpiece.markAsModified();
+
+        assertEquals(1, workpiece.getModificationCount());
+        assertEquals(0, snapshot.getModificationCount());
+        assertEquals(workpiece, snapshot);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+public class SecurityAccessTest {
+
+    private static Authentication authenticate(String... authorities) {
+        return new UsernamePasswordAuthenticationToken("user", "password",
+                List.of(authorities).stream().map(SimpleGrantedAuthority::new).toList());
+    }
+
+    private static SecurityAccess securityAccess(Authentication authentication, int clientId) {
+        return new SecurityAccess() {
+            @Override
+            public int getClientId() {
+                return clientId;
+            }
+
+            @Override
+            protected Authentication getCurrentAuthentication() {
+                return authentication;
+            }
+        };
+    }
+
+    @Test
+    public void shouldCheckGlobalAuthorities() {
+        SecurityAccess securityAccess = securityAccess(authenticate("editClient_GLOBAL", "viewProject_CLIENT_1"), 1);
+
+        assertTrue(securityAccess.hasAuthorityGlobal("editClient"));
+        assertFalse(securityAccess.hasAuthorityGlobal("viewProject"));
+        assertTrue(securityAccess.hasAnyAuthorityGlobal("viewProject, editClient"));
+        assertFalse(securityAccess.hasAnyAuthorityGlobal("viewProject, notGrantedToAnyone"));
+    }
+
+    @Test
+    public void shouldCheckAuthoritiesOfSessionClient() {
+        Authentication authentication = authenticate("editProject_CLIENT_1", "editProject_CLIENT_ANY",
+            "viewTask_CLIENT_2");
+
+        SecurityAccess firstClient = securityAccess(authentication, 1);
+        assertTrue(firstClient.hasAuthorityForClient("editProject"));
+        assertFalse(firstClient.hasAuthorityForClient("viewTask"));
+        assertTrue(firstClient.hasAnyAuthorityForClient(" viewTask ,editProject"));
+        assertFalse(firstClient.hasAnyAuthorityGlobal("editProject"));
+
+        SecurityAccess secondClient = securityAccess(authentication, 2);
+        assertTrue(secondClient.hasAnyAuthorityGlobalOrForClient("editProject, viewTask"));
+        assertFalse(secondClient.hasAuthorityForClient("editProject"));
+    }
+
+    @Test
+    public void shouldNotGrantAnythingWithoutAuthentication() {
+        SecurityAccess securityAccess = securityAccess(null, 1);
+
+        assertFalse(securityAccess.hasAuthorityGlobalOrForClient("editClient"));
+        assertFalse(securityAccess.hasAnyAuthorityGlobalOrForClient("editClient, editProject"));
+    }
+
+    @Test
+    public void shouldCompileAuthoritiesOncePerAuthentication() {
+        Authentication authentication = authenticate("editClient_GLOBAL");
+
+        assertSame(CompiledAuthorities.of(authentication), CompiledAuthorities.of(authentication));
+        assertNotSame(CompiledAuthorities.of(authentication), CompiledAuthorities.of(authenticate("editClient_GLOBAL")),
+            "Another authentication should have been compiled on its own");
+        assertSame(CompiledAuthorities.parse("editClient, editProject"),
+            CompiledAuthorities.parse("editClient, editProject"));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.utils;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xml.sax.SAXException;
+
+public class SchemaCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private URI writeSchema(String elementName, long modified) throws IOException {
+        Path schema = Files.writeString(tempDir.resolve("schema.xsd"),
+            "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">"
+                    + "<xs:element name=\"" + elementName + "\" type=\"xs:string\"/></xs:schema>");
+        Files.setLastModifiedTime(schema, FileTime.fromMillis(modified));
+        return schema.toUri();
+    }
+
+    private static void validate(Schema schema, String xml) throws IOException, SAXException {
+        schema.newValidator().validate(new StreamSource(new StringReader(xml)));
+    }
+
+    @Test
+    public void shouldCompileSchemaOnlyOncePerVersion() throws IOException, SAXException {
+        SchemaCache schemaCache = new SchemaCache();
+        URI schemaFile = writeSchema("first", 1_000_000L);
+
+        Schema first = schemaCache.getSchema(List.of(schemaFile));
+        Schema second = schemaCache.getSchema(List.of(schemaFile));
+
+        assertSame(first, second);
+        assertDoesNotThrow(() -> validate(second, "<first/>"));
+        assertEquals(1, schemaCache.getCompileCount());
+        assertEquals(1, schemaCache.getHitCount());
+
+        writeSchema("changed", 2_000_000L);
+        Schema changed = schemaCache.getSchema(List.of(schemaFile));
+
+        assertNotSame(first, changed);
+        assertDoesNotThrow(() -> validate(changed, "<changed/>"), "Changed schema should have been compiled again");
+        assertThrows(SAXException.class, () -> validate(changed, "<first/>"));
+        assertEquals(2, schemaCache.getCompileCount());
+        assertEquals(1, schemaCache.getSize());
+    }
+
+    @Test
+    public void shouldCompileSchemaPerSetOfFiles() throws IOException, SAXException {
+        SchemaCache schemaCache = new SchemaCache();
+        URI schemaFile = writeSchema("first", 1_000_000L);
+        Path otherSchema = Files.writeString(tempDir.resolve("other.xsd"),
+            "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\" targetNamespace=\"urn:other\">"
+                    + "<xs:element name=\"other\" type=\"xs:string\"/></xs:schema>");
+
+        Schema single = schemaCache.getSchema(List.of(schemaFile));
+        Schema both = schemaCache.getSchema(List.of(schemaFile, otherSchema.toUri()));
+
+        assertNotSame(single, both);
+        assertDoesNotThrow(() -> validate(both, "<other xmlns=\"urn:other\"/>"));
+        assertEquals(2, schemaCache.getCompileCount());
+        assertEquals(2, schemaCache.getSize());
+    }
+
+    @Test
+    public void shouldReportMissingSchemaFile() {
+        SchemaCache schemaCache = new SchemaCache();
+
+        assertThrows(SAXException.class,
+            () -> schemaCache.getSchema(List.of(tempDir.resolve("missing.xsd").toUri())));
+        assertEquals(0, schemaCache.getSize());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TemplatesCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private File writeStylesheet(String output, long modified) throws IOException {
+        Path stylesheet = Files.writeString(tempDir.resolve("stylesheet.xsl"),
+            "<xsl:stylesheet version=\"1.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+                    + "<xsl:output method=\"text\"/><xsl:template match=\"/\">" + output
+                    + "</xsl:template></xsl:stylesheet>");
+        Files.setLastModifiedTime(stylesheet, FileTime.fromMillis(modified));
+        return stylesheet.toFile();
+    }
+
+    private static String transform(Templates templates) throws TransformerException {
+        StringWriter result = new StringWriter();
+        templates.newTransformer().transform(new StreamSource(new StringReader("<x/>")), new StreamResult(result));
+        return result.toString();
+    }
+
+    @Test
+    public void shouldCompileStylesheetOnlyOncePerVersion() throws IOException, TransformerException {
+        TemplatesCache templatesCache = new TemplatesCache();
+        TransformerFactory transformerFactory = TransformerFactory.newInstance();
+        File stylesheet = writeStylesheet("first", 1_000_000L);
+
+        Templates first = templatesCache.getTemplates(transformerFactory, stylesheet);
+        Templates second = templatesCache.getTemplates(transformerFactory, stylesheet);
+
+        assertSame(first, second);
+        assertEquals("first", transform(second));
+        assertEquals(1, templatesCache.getCompileCount());
+        assertEquals(1, templatesCache.getHitCount());
+
+        writeStylesheet("changed", 2_000_000L);
+        Templates changed = templatesCache.getTemplates(transformerFactory, stylesheet);
+
+        assertEquals("changed", transform(changed), "Changed stylesheet should have been compiled again");
+        assertEquals(2, templatesCache.getCompileCount());
+    }
+
+    @Test
+    public void shouldCompileStylesheetPerTransformerFactory() throws IOException, TransformerException {
+        TemplatesCache templatesCache = new TemplatesCache();
+        File stylesheet = writeStylesheet("first", 1_000_000L);
+
+        templatesCache.prewarm(TransformerFactory.newInstance(), List.of(stylesheet));
+        Templates otherFactory = templatesCache.getTemplates(TransformerFactory.newInstance(), stylesheet);
+
+        assertNotNull(otherFactory);
+        assertEquals(2, templatesCache.getSize());
+        assertEquals(2, templatesCache.getCompileCount());
+    }
+}
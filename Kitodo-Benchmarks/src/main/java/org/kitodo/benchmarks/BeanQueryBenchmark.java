@@ -0,0 +1,52 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.benchmarks;
+
+import java.util.List;
+
+import org.kitodo.data.database.beans.Process;
+import org.kitodo.production.services.data.BeanQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.primefaces.model.SortOrder;
+
+/**
+ * Forming the query of the process list. Only the query is formed, it is not
+ * run, and no index search takes place.
+ */
+@State(Scope.Benchmark)
+public class BeanQueryBenchmark {
+
+    /**
+     * User filter as typed into the filter input of the process list.
+     */
+    @Param({"", "Berlin", "\"project:Digitization\" \"step:Quality control\" id:100-200 TitleDocMain:Berlin"})
+    public String filter;
+
+    private static final List<Integer> PROJECT_IDS = List.of(1, 2, 3, 5, 8, 13);
+
+    /**
+     * Measures forming the query as the process list does it.
+     */
+    @Benchmark
+    public String formQueryForAll() {
+        BeanQuery beanQuery = new BeanQuery(Process.class);
+        beanQuery.restrictToClient(1);
+        beanQuery.restrictToProjects(PROJECT_IDS);
+        beanQuery.restrictToNotCompletedProcesses();
+        beanQuery.restrictWithUserFilterString(filter);
+        beanQuery.defineSorting("title", SortOrder.ASCENDING);
+        return beanQuery.formQueryForAll();
+    }
+}
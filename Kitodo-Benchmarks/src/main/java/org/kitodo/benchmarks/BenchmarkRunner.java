@@ -0,0 +1,91 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the benchmarks. Unless specified otherwise on the command line, the
+ * benchmarks measure throughput and allocation rate, and the results are
+ * written to {@code jmh-result.json}, which can be compared between builds.
+ * All options of the JMH command line are accepted, see {@code -h}.
+ */
+public class BenchmarkRunner {
+
+    private static final String RESULT_FILE = "jmh-result.json";
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args
+     *            JMH command line options
+     * @throws CommandLineOptionException
+     *             if the command line cannot be parsed
+     * @throws RunnerException
+     *             if running the benchmarks fails
+     * @throws IOException
+     *             if JMH cannot write its output
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList()
+                || commandLineOptions.shouldListProfilers() || commandLineOptions.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackageName() + '.');
+        }
+        if (commandLineOptions.getBenchModes().isEmpty()) {
+            options.mode(Mode.Throughput).timeUnit(TimeUnit.SECONDS);
+        }
+        if (commandLineOptions.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            options.result(RESULT_FILE);
+        }
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getForkCount().hasValue()) {
+            options.forks(1);
+        }
+        if (!commandLineOptions.getWarmupIterations().hasValue()) {
+            options.warmupIterations(3).warmupTime(TimeValue.seconds(5));
+        }
+        if (!commandLineOptions.getMeasurementIterations().hasValue()) {
+            options.measurementIterations(5).measurementTime(TimeValue.seconds(5));
+        }
+        new Runner(options.build()).run();
+    }
+}
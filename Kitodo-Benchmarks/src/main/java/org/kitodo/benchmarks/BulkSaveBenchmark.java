@@ -0,0 +1,156 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.stat.Statistics;
+import org.kitodo.data.database.beans.Process;
+import org.kitodo.data.database.beans.Task;
+import org.kitodo.data.database.enums.TaskStatus;
+import org.kitodo.data.database.exceptions.DAOException;
+import org.kitodo.data.database.persistence.HibernateUtil;
+import org.kitodo.data.database.persistence.ProcessDAO;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Saving many processes with their tasks, one by one in a transaction each,
+ * compared to saving them in bulk. The benchmark runs against an in-memory H2
+ * database, so it mostly shows the number of round trips to the database,
+ * which are reported as the auxiliary counters {@code statements} and
+ * {@code transactions}.
+ */
+@State(Scope.Benchmark)
+public class BulkSaveBenchmark {
+
+    private static final int TASKS_PER_PROCESS = 10;
+
+    /**
+     * Number of processes saved in each invocation.
+     */
+    @Param({"100", "1000"})
+    public int processes;
+
+    private final ProcessDAO processDAO = new ProcessDAO();
+    private List<Process> processList;
+    private int round;
+
+    /**
+     * Database round trips of an invocation, as counted by Hibernate.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        /**
+         * JDBC statements prepared. A batch is prepared once.
+         */
+        public long statements;
+
+        /**
+         * Transactions committed.
+         */
+        public long transactions;
+
+        private long statementsBefore;
+        private long transactionsBefore;
+
+        void start() {
+            Statistics statistics = statistics();
+            statementsBefore = statistics.getPrepareStatementCount();
+            transactionsBefore = statistics.getSuccessfulTransactionCount();
+        }
+
+        void stop() {
+            Statistics statistics = statistics();
+            statements += statistics.getPrepareStatementCount() - statementsBefore;
+            transactions += statistics.getSuccessfulTransactionCount() - transactionsBefore;
+        }
+
+        private static Statistics statistics() {
+            return HibernateUtil.getSession().getSessionFactory().getStatistics();
+        }
+    }
+
+    /**
+     * Creates the processes in the database. The benchmarks then save changes
+     * to the detached processes, as the services do.
+     *
+     * @throws DAOException
+     *             if the processes cannot be created
+     */
+    @Setup(Level.Trial)
+    public void createProcesses() throws DAOException {
+        processList = new ArrayList<>(processes);
+        for (int i = 1; i <= processes; i++) {
+            Process process = new Process();
+            process.setTitle("Benchmark_" + i);
+            for (int ordering = 1; ordering <= TASKS_PER_PROCESS; ordering++) {
+                Task task = new Task();
+                task.setTitle("Task " + ordering);
+                task.setOrdering(ordering);
+                task.setProcessingStatus(ordering == 1 ? TaskStatus.OPEN : TaskStatus.LOCKED);
+                task.setProcess(process);
+                process.getTasks().add(task);
+            }
+            processList.add(process);
+        }
+        processDAO.saveInBulk(processList);
+    }
+
+    /**
+     * Saves each process in a transaction of its own.
+     *
+     * @param roundTrips
+     *            counts the database round trips
+     * @throws DAOException
+     *             if saving fails
+     */
+    @Benchmark
+    public void saveEach(RoundTrips roundTrips) throws DAOException {
+        changeProcesses();
+        roundTrips.start();
+        for (Process process : processList) {
+            processDAO.save(process);
+        }
+        roundTrips.stop();
+    }
+
+    /**
+     * Saves all processes in one transaction, in JDBC batches.
+     *
+     * @param roundTrips
+     *            counts the database round trips
+     * @throws DAOException
+     *             if saving fails
+     */
+    @Benchmark
+    public void saveInBulk(RoundTrips roundTrips) throws DAOException {
+        changeProcesses();
+        roundTrips.start();
+        processDAO.saveList(processList);
+        roundTrips.stop();
+    }
+
+    private void changeProcesses() {
+        round++;
+        for (Process process : processList) {
+            process.setSortHelperImages(round);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.kitodo.api.dataformat.Workpiece;
+import org.kitodo.dataformat.access.MetsXmlElementAccess;
+import org.kitodo.exceptions.FileStructureValidationException;
+import org.kitodo.production.services.ServiceManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.xml.sax.SAXException;
+
+/**
+ * Reading and writing METS files. {@code read} and {@code save} measure the
+ * data format module alone, {@code loadWorkpiece} measures loading as the
+ * application does it, including the well-formedness check and optionally
+ * the schema validation.
+ */
+@State(Scope.Benchmark)
+public class MetsBenchmark {
+
+    private final MetsXmlElementAccess metsXmlElementAccess = new MetsXmlElementAccess();
+    private Workpiece workpiece;
+
+    /**
+     * Reads the workpiece to be saved.
+     *
+     * @param metsFile
+     *            generated METS file
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    @Setup(Level.Trial)
+    public void readWorkpiece(MetsFileState metsFile) throws IOException {
+        workpiece = metsXmlElementAccess.read(new ByteArrayInputStream(metsFile.metsBytes));
+    }
+
+    /**
+     * Measures {@code MetsXmlElementAccess.read()}.
+     */
+    @Benchmark
+    public Workpiece read(MetsFileState metsFile) throws IOException {
+        return metsXmlElementAccess.read(new ByteArrayInputStream(metsFile.metsBytes));
+    }
+
+    /**
+     * Measures {@code MetsXmlElementAccess.save()}.
+     */
+    @Benchmark
+    public void save() throws IOException {
+        metsXmlElementAccess.save(workpiece, OutputStream.nullOutputStream());
+    }
+
+    /**
+     * Measures {@code MetsService.loadWorkpiece()} with schema validation.
+     */
+    @Benchmark
+    public Workpiece loadWorkpiece(MetsFileState metsFile) throws IOException, SAXException,
+            FileStructureValidationException {
+        return ServiceManager.getMetsService().loadWorkpiece(metsFile.metsFile.toUri());
+    }
+
+    /**
+     * Measures {@code MetsService.loadWorkpiece()} without schema validation.
+     */
+    @Benchmark
+    public Workpiece loadWorkpieceWithoutValidation(MetsFileState metsFile) throws IOException, SAXException,
+            FileStructureValidationException {
+        return ServiceManager.getMetsService().loadWorkpiece(metsFile.metsFile.toUri(), false);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.kitodo.config.KitodoConfig;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A generated METS file in a process directory. The process ID is the number
+ * of physical divisions, so each size has its own process directory.
+ */
+@State(Scope.Benchmark)
+public class MetsFileState {
+
+    /**
+     * Number of physical divisions of the workpiece.
+     */
+    @Param({"10", "1000", "10000"})
+    public int physicalDivisions;
+
+    Path metsFile;
+    byte[] metsBytes;
+
+    /**
+     * Writes the METS file, unless it exists from an earlier run.
+     *
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void writeMetsFile() throws IOException {
+        metsFile = Paths.get(KitodoConfig.getKitodoDataDirectory(), Integer.toString(physicalDivisions), "meta.xml");
+        if (!Files.isRegularFile(metsFile)) {
+            WorkpieceGenerator.write(physicalDivisions, metsFile);
+        }
+        metsBytes = Files.readAllBytes(metsFile);
+    }
+}
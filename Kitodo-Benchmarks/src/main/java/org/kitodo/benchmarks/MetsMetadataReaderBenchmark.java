@@ -0,0 +1,67 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.kitodo.data.database.beans.MetsMetadataReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reading the metadata entries of a METS file for the search keywords.
+ * {@code streaming} measures the StAX reader used for indexing,
+ * {@code regularExpressions} the regular expressions used before, as a
+ * reference.
+ */
+@State(Scope.Benchmark)
+public class MetsMetadataReaderBenchmark {
+
+    private static final Pattern METADATA_PATTERN = Pattern.compile("name=\"([^\"]+)\">([^<]*)<", Pattern.DOTALL);
+    private static final Pattern METADATA_SECTIONS_PATTERN
+            = Pattern.compile("<mets:dmdSec.*?o(?: (?:xmlns|version)\\S+)*?>(.*?)</kitodo:k",
+        Pattern.DOTALL);
+
+    /**
+     * Measures {@code MetsMetadataReader.read()}.
+     */
+    @Benchmark
+    public void streaming(MetsFileState metsFile, Blackhole blackhole) throws IOException {
+        MetsMetadataReader.read(metsFile.metsFile, (key, value) -> {
+            blackhole.consume(key);
+            blackhole.consume(value);
+        });
+    }
+
+    /**
+     * Measures reading the file into a string and matching the regular
+     * expressions.
+     */
+    @Benchmark
+    public void regularExpressions(MetsFileState metsFile, Blackhole blackhole) throws IOException {
+        String metaXml = Files.readString(metsFile.metsFile, StandardCharsets.UTF_8);
+        Matcher metadataSectionsMatcher = METADATA_SECTIONS_PATTERN.matcher(metaXml);
+        while (metadataSectionsMatcher.find()) {
+            Matcher keyMatcher = METADATA_PATTERN.matcher(metadataSectionsMatcher.group(1));
+            while (keyMatcher.find()) {
+                blackhole.consume(keyMatcher.group(1));
+                blackhole.consume(keyMatcher.group(2));
+            }
+        }
+    }
+}
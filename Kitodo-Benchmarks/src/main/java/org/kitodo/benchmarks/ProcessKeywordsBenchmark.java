@@ -0,0 +1,79 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.kitodo.data.database.beans.Comment;
+import org.kitodo.data.database.beans.Process;
+import org.kitodo.data.database.beans.ProcessKeywords;
+import org.kitodo.data.database.beans.Project;
+import org.kitodo.data.database.beans.Ruleset;
+import org.kitodo.data.database.beans.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Creating the search keywords of a process, as done for every process when
+ * it is indexed. This reads the METS file of the process and the labels of
+ * the ruleset.
+ */
+@State(Scope.Benchmark)
+public class ProcessKeywordsBenchmark {
+
+    private static final String[] TASK_TITLES = {"Scanning", "Quality control", "Structure and metadata",
+        "Image processing", "Export DMS", };
+
+    private Process process;
+
+    /**
+     * Creates a process for the generated METS file, without database.
+     *
+     * @param metsFile
+     *            generated METS file
+     */
+    @Setup(Level.Trial)
+    public void createProcess(MetsFileState metsFile) {
+        process = new Process();
+        process.setId(metsFile.physicalDivisions);
+        process.setTitle("Bench_" + (100_000_000 + metsFile.physicalDivisions));
+        Project project = new Project();
+        project.setTitle("Digitization of pharmaceutical history");
+        process.setProject(project);
+        Ruleset ruleset = new Ruleset();
+        ruleset.setFile(WorkpieceGenerator.RULESET);
+        process.setRuleset(ruleset);
+        List<Task> tasks = new ArrayList<>();
+        for (String title : TASK_TITLES) {
+            Task task = new Task();
+            task.setTitle(title);
+            tasks.add(task);
+        }
+        process.setTasks(tasks);
+        Comment comment = new Comment();
+        comment.setMessage("Page 12 is missing, please scan again");
+        process.setComments(new ArrayList<>(List.of(comment)));
+    }
+
+    /**
+     * Measures the construction of {@code ProcessKeywords} and the forming of
+     * the free search keywords.
+     */
+    @Benchmark
+    public String createKeywords() {
+        return new ProcessKeywords(process).getSearch();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.kitodo.api.MdSec;
+import org.kitodo.api.MetadataEntry;
+import org.kitodo.api.MetadataGroup;
+import org.kitodo.api.dataformat.LogicalDivision;
+import org.kitodo.api.dataformat.MediaVariant;
+import org.kitodo.api.dataformat.PhysicalDivision;
+import org.kitodo.api.dataformat.View;
+import org.kitodo.api.dataformat.Workpiece;
+import org.kitodo.dataformat.access.MetsXmlElementAccess;
+
+/**
+ * Generates workpieces of a given size for the benchmarks. The workpieces are
+ * shaped like digitized monographs: each physical division is a page with two
+ * media files, and every ten pages form a chapter with a title and an author.
+ * The metadata keys are those of the test ruleset, so that keyword extraction
+ * finds labels for them. The content is random, but the same for every run.
+ */
+final class WorkpieceGenerator {
+    static final String RULESET = "ruleset_test.xml";
+
+    private static final int PAGES_PER_CHAPTER = 10;
+    private static final String[] WORDS = {"Berlin", "Universität", "Institut", "pharmazeutischen", "Unterrichts",
+        "Entwicklung", "Gartengrundstück", "Vorderansicht", "Dahlem", "Jahre", "Begründung", "Straße", "Sammlung",
+        "Zeitschrift", "Bibliothek", "Handschrift", };
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private WorkpieceGenerator() {
+    }
+
+    /**
+     * Generates a workpiece.
+     *
+     * @param pages
+     *            number of physical divisions
+     * @return the workpiece
+     */
+    static Workpiece generate(int pages) {
+        Random random = new Random(pages);
+        Workpiece workpiece = new Workpiece();
+        workpiece.setId("benchmark_" + pages);
+        LogicalDivision monograph = workpiece.getLogicalStructure();
+        monograph.setType("Monograph");
+        monograph.getMetadata().add(entry("TitleDocMain", words(random, 8)));
+        monograph.getMetadata().add(entry("TSL_ATS", "Bench"));
+        monograph.getMetadata().add(entry("CatalogIDDigital", Integer.toString(100_000_000 + pages)));
+        monograph.getMetadata().add(person(random));
+
+        MediaVariant local = mediaVariant("LOCAL", "image/tiff");
+        MediaVariant max = mediaVariant("MAX", "image/jpeg");
+        PhysicalDivision physicalStructure = workpiece.getPhysicalStructure();
+        physicalStructure.setType("physSequence");
+        LogicalDivision chapter = null;
+        for (int order = 1; order <= pages; order++) {
+            PhysicalDivision page = new PhysicalDivision();
+            page.setType(PhysicalDivision.TYPE_PAGE);
+            page.setOrder(order);
+            page.setOrderlabel(Integer.toString(order));
+            String fileName = String.format("%08d", order);
+            page.getMediaFiles().put(local, URI.create("images/local/" + fileName + ".tif"));
+            page.getMediaFiles().put(max, URI.create("images/max/" + fileName + ".jpg"));
+            physicalStructure.getChildren().add(page);
+
+            if ((order - 1) % PAGES_PER_CHAPTER == 0) {
+                chapter = new LogicalDivision();
+                chapter.setType("ContainedWork");
+                chapter.setOrder(order);
+                chapter.setLabel("Chapter " + (order / PAGES_PER_CHAPTER + 1));
+                chapter.getMetadata().add(entry("TitleDocMain", words(random, 6)));
+                chapter.getMetadata().add(person(random));
+                monograph.getChildren().add(chapter);
+            }
+            View view = View.of(page);
+            chapter.getViews().add(view);
+            page.getLogicalDivisions().add(chapter);
+        }
+        return workpiece;
+    }
+
+    /**
+     * Generates a workpiece and writes it to a METS file.
+     *
+     * @param pages
+     *            number of physical divisions
+     * @param file
+     *            file to write
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    static void write(int pages, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            new MetsXmlElementAccess().save(generate(pages), out);
+        }
+    }
+
+    private static MetadataEntry entry(String key, String value) {
+        MetadataEntry entry = new MetadataEntry();
+        entry.setKey(key);
+        entry.setDomain(MdSec.DMD_SEC);
+        entry.setValue(value);
+        return entry;
+    }
+
+    private static MetadataGroup person(Random random) {
+        MetadataGroup person = new MetadataGroup();
+        person.setKey("Person");
+        person.setDomain(MdSec.DMD_SEC);
+        person.getMetadata().add(entry("Role", "aut"));
+        person.getMetadata().add(entry("FirstName", words(random, 1)));
+        person.getMetadata().add(entry("LastName", words(random, 1)));
+        return person;
+    }
+
+    private static MediaVariant mediaVariant(String use, String mimeType) {
+        MediaVariant mediaVariant = new MediaVariant();
+        mediaVariant.setUse(use);
+        mediaVariant.setMimeType(mimeType);
+        return mediaVariant;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder words = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                words.append(' ');
+            }
+            words.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return words.toString();
+    }
+}
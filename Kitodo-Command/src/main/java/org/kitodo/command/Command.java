@@ -12,21 +12,31 @@
 package org.kitodo.command;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.kitodo.api.command.CommandInterface;
+import org.kitodo.api.command.CommandOptions;
 import org.kitodo.api.command.CommandResult;
 
 public class Command implements CommandInterface {
 
     private static final Logger logger = LogManager.getLogger(Command.class);
-    private static final String CHARSET = "UTF-8";
+
+    /**
+     * How long to wait for a terminated process to end, and for the output to
+     * be read after the process ended. Child processes of the command may hold
+     * the output streams open even longer.
+     */
+    private static final long GRACE_MILLIS = TimeUnit.SECONDS.toMillis(5);
 
     /**
      * Method executes a script.
@@ -37,60 +47,169 @@ public class Command implements CommandInterface {
      */
     @Override
     public CommandResult runCommand(String command) {
-        CommandResult commandResult;
-        Process process;
-        String[] callSequence = command.split("[\\r\\n\\s]+");
+        return runCommand(command, new CommandOptions());
+    }
 
+    /**
+     * Method executes a script. Standard output and standard error are read
+     * concurrently while the script is running, so that a script writing much
+     * to either of them cannot block.
+     *
+     * @param command
+     *            The command as a String.
+     * @param options
+     *            The options for running the command.
+     * @return The command result.
+     */
+    @Override
+    public CommandResult runCommand(String command, CommandOptions options) {
+        Process process;
         try {
+            List<String> callSequence = splitCommandLine(command);
+            if (callSequence.isEmpty()) {
+                throw new IOException("Empty command");
+            }
             process = new ProcessBuilder(callSequence).start();
-            try (InputStream inputStream = process.getInputStream();
-                    InputStream errorInputStream = process.getErrorStream()) {
-                List<String> outputMessage = inputStreamArrayToList(inputStream);
-                List<String> errorMessage = inputStreamArrayToList(errorInputStream);
+        } catch (IOException e) {
+            logger.error("Execution of Command {} failed to start: {}", command, e.getMessage());
+            return new CommandResult(command, -1, Collections.emptyList(),
+                    Collections.singletonList("IOException: " + e.getMessage()));
+        }
+        closeQuietly(process.getOutputStream());
+        OutputPump stdOut = new OutputPump("Command-" + process.pid() + "-stdout", process.getInputStream(),
+                options.getMaximumLines(), listener(options.getStdOutListener(), false));
+        OutputPump stdErr = new OutputPump("Command-" + process.pid() + "-stderr", process.getErrorStream(),
+                options.getMaximumLines(), listener(options.getStdErrListener(), true));
+        stdOut.start();
+        stdErr.start();
+
+        CommandResult commandResult;
+        try {
+            Duration timeout = options.getTimeout();
+            if (Objects.isNull(timeout) || process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
                 int errCode = process.waitFor();
-                commandResult = new CommandResult(command, errCode, outputMessage, errorMessage);
-                for (String line : outputMessage) {
-                    logger.info("[STDOUT] {}", line);
-                }
-                for (String line : errorMessage) {
-                    logger.error("[STDERR] {}", line);
-                }
-                if (commandResult.isSuccessful()) {
-                    logger.info("Execution of Command {} was successful", commandResult.getCommand());
-                } else {
-                    logger.error("Execution of Command {} failed with exit code {}",
-                            commandResult.getCommand(), commandResult.getExitCode());
-                }
+                awaitOutput(stdOut, stdErr);
+                commandResult = new CommandResult(command, errCode, stdOut.getLines(), stdErr.getLines());
+            } else {
+                terminate(process);
+                awaitOutput(stdOut, stdErr);
+                List<String> errorMessage = new ArrayList<>(stdErr.getLines());
+                errorMessage.add("Timeout: Command did not finish within " + timeout);
+                logger.error("Execution of Command {} timed out after {}", command, timeout);
+                return new CommandResult(command, -1, stdOut.getLines(), errorMessage);
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            commandResult = new CommandResult(command, -1, Collections.emptyList(),
-                    Collections.singletonList("Interrupted: " + e.getMessage()));
+            process.destroyForcibly();
             logger.error("Execution of Command {} was interrupted!", command);
-        } catch (IOException e) {
-            commandResult = new CommandResult(command, -1, Collections.emptyList(),
-                    Collections.singletonList("IOException: " + e.getMessage()));
-            logger.error("Execution of Command {} failed to start: {}", command, e.getMessage());
+            return new CommandResult(command, -1, stdOut.getLines(),
+                    Collections.singletonList("Interrupted: " + e.getMessage()));
+        }
+        if (commandResult.isSuccessful()) {
+            logger.info("Execution of Command {} was successful", commandResult.getCommand());
+        } else {
+            logger.error("Execution of Command {} failed with exit code {}",
+                    commandResult.getCommand(), commandResult.getExitCode());
         }
         return commandResult;
     }
 
+    private static Consumer<String> listener(Consumer<String> listener, boolean stdErr) {
+        return line -> {
+            if (stdErr) {
+                logger.error("[STDERR] {}", line);
+            } else {
+                logger.info("[STDOUT] {}", line);
+            }
+            if (Objects.nonNull(listener)) {
+                listener.accept(line);
+            }
+        };
+    }
+
+    private static void awaitOutput(OutputPump... outputPumps) throws InterruptedException {
+        for (OutputPump outputPump : outputPumps) {
+            outputPump.join(GRACE_MILLIS);
+            if (outputPump.isAlive()) {
+                logger.warn("Output of {} is still open, probably held by a child process", outputPump.getName());
+            }
+        }
+    }
+
+    private static void terminate(Process process) throws InterruptedException {
+        process.descendants().forEach(ProcessHandle::destroy);
+        process.destroy();
+        if (!process.waitFor(GRACE_MILLIS, TimeUnit.MILLISECONDS)) {
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
+            process.destroyForcibly();
+        }
+    }
+
+    private static void closeQuietly(OutputStream outputStream) {
+        try {
+            outputStream.close();
+        } catch (IOException e) {
+            logger.debug(e.getMessage());
+        }
+    }
+
     /**
-     * The method reads an InputStream and returns it as a ArrayList.
+     * Splits a command line into the program and its arguments. Arguments are
+     * separated by white space. An argument starting with a double or single
+     * quote extends to the matching closing quote, even if it contains white
+     * space; the quotes are removed. Quotes within an argument, such as the
+     * apostrophe in {@code L'Aurore}, and a quote that is never closed, are
+     * kept as ordinary characters.
+     *
+     * <p>Before, command lines were split at every white space, and quotes
+     * were passed on to the program. Configured scripts whose arguments start
+     * with a quote now receive them without the quotes.
      *
-     * @param inputStream
-     *            The Stream to convert.
-     * @return A ArrayList holding the single lines.
+     * @param command
+     *            command line
+     * @return the program and its arguments
      */
-    private static ArrayList<String> inputStreamArrayToList(InputStream inputStream) {
-        ArrayList<String> list = new ArrayList<>();
-
-        try (Scanner inputLines = new Scanner(inputStream, CHARSET)) {
-            while (inputLines.hasNextLine()) {
-                String myLine = inputLines.nextLine();
-                list.add(myLine);
+    static List<String> splitCommandLine(String command) {
+        List<String> callSequence = new ArrayList<>();
+        StringBuilder argument = new StringBuilder();
+        boolean inArgument = false;
+        char quote = 0;
+        int quoteStart = -1;
+        int i = 0;
+        while (i < command.length()) {
+            char c = command.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                } else {
+                    argument.append(c);
+                }
+            } else if (!inArgument && (c == '"' || c == '\'')) {
+                quote = c;
+                quoteStart = i;
+                inArgument = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inArgument) {
+                    callSequence.add(argument.toString());
+                    argument.setLength(0);
+                    inArgument = false;
+                }
+            } else {
+                argument.append(c);
+                inArgument = true;
+            }
+            i++;
+            if (i == command.length() && quote != 0) {
+                // the quote is never closed, so it is an ordinary character
+                argument.setLength(0);
+                argument.append(quote);
+                quote = 0;
+                i = quoteStart + 1;
             }
         }
-        return list;
+        if (inArgument) {
+            callSequence.add(argument.toString());
+        }
+        return callSequence;
     }
 }
@@ -0,0 +1,104 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.command;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Reads an output stream of a process line by line in a thread of its own, so
+ * that the process never blocks because a pipe buffer is full. Only the last
+ * lines are kept, if the process writes more than that.
+ */
+class OutputPump extends Thread {
+    private static final Logger logger = LogManager.getLogger(OutputPump.class);
+
+    private final InputStream inputStream;
+    private final int maximumLines;
+    private final Consumer<String> lineConsumer;
+    private final Deque<String> lines = new ArrayDeque<>();
+    private long omittedLines;
+
+    /**
+     * Creates a new output pump. The pump must be started.
+     *
+     * @param name
+     *            name of the thread
+     * @param inputStream
+     *            stream to read
+     * @param maximumLines
+     *            maximum number of lines to keep
+     * @param lineConsumer
+     *            called for each line read, may be {@code null}
+     */
+    OutputPump(String name, InputStream inputStream, int maximumLines, Consumer<String> lineConsumer) {
+        super(name);
+        setDaemon(true);
+        this.inputStream = inputStream;
+        this.maximumLines = maximumLines;
+        this.lineConsumer = lineConsumer;
+    }
+
+    @Override
+    public void run() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            while (Objects.nonNull(line = reader.readLine())) {
+                synchronized (lines) {
+                    if (lines.size() == maximumLines) {
+                        lines.removeFirst();
+                        omittedLines++;
+                    }
+                    lines.addLast(line);
+                }
+                if (Objects.nonNull(lineConsumer)) {
+                    try {
+                        lineConsumer.accept(line);
+                    } catch (RuntimeException e) {
+                        logger.warn("Output listener failed: {}", e.getMessage());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Reading output stopped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the lines read. If lines had to be dropped, the first line says
+     * how many.
+     *
+     * @return the lines read
+     */
+    List<String> getLines() {
+        synchronized (lines) {
+            List<String> result = new ArrayList<>(lines.size() + 1);
+            if (omittedLines > 0) {
+                result.add("[" + omittedLines + " lines omitted]");
+            }
+            result.addAll(lines);
+            return result;
+        }
+    }
+}
@@ -12,18 +12,24 @@
 package org.kitodo.command;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.attribute.PosixFilePermission;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.SystemUtils;
+import org.kitodo.api.command.CommandOptions;
 import org.kitodo.api.command.CommandResult;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -38,6 +44,10 @@ public class CommandTest {
             System.getProperty("user.dir") + "/src/test/resources/working_script_with_parameters.sh");
     private static final File notWorkingScript = new File(
             System.getProperty("user.dir") + "/src/test/resources/not_working_script.sh");
+    private static final File muchStdErrScript = new File(
+            System.getProperty("user.dir") + "/src/test/resources/much_stderr_script.sh");
+    private static final File longRunningScript = new File(
+            System.getProperty("user.dir") + "/src/test/resources/long_running_script.sh");
 
     @BeforeAll
     public static void setUp() throws IOException {
@@ -51,6 +61,8 @@ public class CommandTest {
             setFileExecuteable(workingScript);
             setFileExecuteable(workingScriptWithParameters);
             setFileExecuteable(notWorkingScript);
+            setFileExecuteable(muchStdErrScript);
+            setFileExecuteable(longRunningScript);
         }
 
     }
@@ -61,6 +73,8 @@ public class CommandTest {
             setFileNotExecuteable(workingScript);
             setFileNotExecuteable(workingScriptWithParameters);
             setFileNotExecuteable(notWorkingScript);
+            setFileNotExecuteable(muchStdErrScript);
+            setFileNotExecuteable(longRunningScript);
         }
     }
 
@@ -149,6 +163,59 @@ public class CommandTest {
                 "Result messages of CommandResults are not identical");
     }
 
+    @Test
+    public void shouldNotBlockOnMuchOutputToStdErr() {
+        assumeTrue(!windows);
+        Command command = new Command();
+        CommandOptions options = new CommandOptions();
+        options.setMaximumLines(10);
+        AtomicInteger linesSeen = new AtomicInteger();
+        options.setStdErrListener(line -> linesSeen.incrementAndGet());
+
+        CommandResult commandResult = command.runCommand("src/test/resources/much_stderr_script.sh", options);
+
+        assertTrue(commandResult.isSuccessful(), "Command should have been successful");
+        assertEquals(List.of("Hello World"), commandResult.getStdOutMessages());
+        assertEquals(100_000, linesSeen.get(), "Listener should have seen every line");
+        assertEquals(11, commandResult.getStdErrMessages().size(), "Only the last lines should have been kept");
+        assertEquals("[99990 lines omitted]", commandResult.getStdErrMessages().getFirst());
+        assertEquals("Error line 99999", commandResult.getStdErrMessages().getLast());
+    }
+
+    @Test
+    public void shouldTerminateCommandAfterTimeout() {
+        assumeTrue(!windows);
+        Command command = new Command();
+        CommandOptions options = new CommandOptions();
+        options.setTimeout(Duration.ofSeconds(1));
+
+        long start = System.nanoTime();
+        CommandResult commandResult = command.runCommand("src/test/resources/long_running_script.sh", options);
+
+        assertFalse(commandResult.isSuccessful(), "Command should have failed");
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).getSeconds() < 10, "Command should have been stopped");
+        assertEquals(List.of("Started"), commandResult.getStdOutMessages());
+        assertTrue(commandResult.getStdErrMessages().getLast().startsWith("Timeout"), "Timeout should be reported");
+    }
+
+    @Test
+    public void shouldKeepQuotedArgumentsTogether() {
+        assertEquals(List.of("script.sh", "first argument", "second", "it's"),
+            Command.splitCommandLine("script.sh \"first argument\"  second\t\"it's\""));
+    }
+
+    @Test
+    public void shouldKeepApostrophesWithinArguments() {
+        assertEquals(List.of("script.sh", "L'Aurore", "second", "third"),
+            Command.splitCommandLine("script.sh L'Aurore second third"));
+    }
+
+    @Test
+    public void shouldKeepUnterminatedQuotes() {
+        assertEquals(List.of("script.sh", "'first", "second", "\"third"),
+            Command.splitCommandLine("script.sh 'first second \"third"));
+    }
+
     private static void setFileExecuteable(File file) throws IOException {
         Set<PosixFilePermission> perms = new HashSet<>();
 
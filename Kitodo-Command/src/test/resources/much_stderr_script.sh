@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+#
+# (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+#
+# This file is part of the Kitodo project.
+#
+# It is licensed under GNU General Public License version 3 or later.
+#
+# For the full copyright and license information, please read the
+# GPL3-License.txt file that was distributed with this source code.
+#
+
+export PATH="/usr/bin:/bin:${PATH}"
+
+i=0
+while [ $i -lt 100000 ]; do
+    echo "Error line $i" >&2
+    i=$((i + 1))
+done
+echo Hello World
@@ -17,12 +17,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale.LanguageRange;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import jakarta.xml.bind.JAXBException;
@@ -39,13 +41,16 @@ import org.kitodo.api.dataeditor.rulesetmanagement.StructuralElementViewInterfac
 import org.kitodo.dataeditor.ruleset.xml.AcquisitionStage;
 import org.kitodo.dataeditor.ruleset.xml.Division;
 import org.kitodo.dataeditor.ruleset.xml.Key;
+import org.kitodo.dataeditor.ruleset.xml.Label;
 import org.kitodo.dataeditor.ruleset.xml.Namespace;
 import org.kitodo.dataeditor.ruleset.xml.Ruleset;
 import org.kitodo.dataeditor.ruleset.xml.Setting;
 import org.kitodo.utils.JAXBContextCache;
 
 /**
- * This class provides the functionality of the rule set.
+ * This class provides the functionality of the rule set. Once a ruleset has
+ * been loaded, the ruleset management is not changed any more, so it can be
+ * shared between threads.
  */
 public class RulesetManagement implements RulesetManagementInterface {
     /**
@@ -64,7 +69,26 @@ public class RulesetManagement implements RulesetManagementInterface {
     /**
      * The ruleset.
      */
-    private Ruleset ruleset;
+    private volatile Ruleset ruleset;
+
+    /**
+     * The files the ruleset was read from.
+     */
+    private volatile Collection<File> files = Collections.emptyList();
+
+    /**
+     * The labels of the keys, which are collected on first access.
+     */
+    private volatile Map<String, Collection<String>> keyLabels;
+
+    /**
+     * The division views already opened. The views do not change, so they can
+     * be handed out repeatedly.
+     */
+    private final Map<DivisionViewKey, DivisionView> divisionViews = new ConcurrentHashMap<>();
+
+    private record DivisionViewKey(String divisionId, String acquisitionStage, List<LanguageRange> priorityList) {
+    }
 
     /**
      * Returns the acquisition levels defined in this rule set. This function
@@ -174,6 +198,12 @@ public class RulesetManagement implements RulesetManagementInterface {
     public StructuralElementViewInterface getStructuralElementView(String divisionId, String acquisitionStage,
             List<LanguageRange> priorityList) {
 
+        return divisionViews.computeIfAbsent(new DivisionViewKey(divisionId, acquisitionStage, priorityList),
+            key -> createDivisionView(divisionId, acquisitionStage, priorityList));
+    }
+
+    private DivisionView createDivisionView(String divisionId, String acquisitionStage,
+            List<LanguageRange> priorityList) {
         Optional<Division> division = ruleset.getDivision(divisionId);
         DivisionDeclaration divisionDeclaration = division.isPresent() ? new DivisionDeclaration(ruleset, division.get())
                 : new DivisionDeclaration(ruleset, divisionId);
@@ -244,8 +274,43 @@ public class RulesetManagement implements RulesetManagementInterface {
      */
     @Override
     public void load(File rulesetFile) throws IOException {
-        this.ruleset = read(rulesetFile);
-        initializeNamespaces(ruleset.getKeys(), rulesetFile.getParentFile());
+        Collection<File> rulesetFiles = new ArrayList<>();
+        Ruleset loadedRuleset = read(rulesetFile, rulesetFiles);
+        initializeNamespaces(loadedRuleset.getKeys(), rulesetFile.getParentFile(), rulesetFiles);
+        loadedRuleset.createIndex();
+        this.files = Collections.unmodifiableCollection(rulesetFiles);
+        this.keyLabels = null;
+        this.ruleset = loadedRuleset;
+        divisionViews.clear();
+    }
+
+    @Override
+    public Collection<File> getFiles() {
+        return files;
+    }
+
+    @Override
+    public Map<String, Collection<String>> getKeyLabels() {
+        Map<String, Collection<String>> labels = keyLabels;
+        if (Objects.isNull(labels)) {
+            Map<String, Collection<String>> collectedLabels = new HashMap<>();
+            collectKeyLabels(ruleset.getKeys(), collectedLabels);
+            labels = Collections.unmodifiableMap(collectedLabels);
+            keyLabels = labels;
+        }
+        return labels;
+    }
+
+    private static void collectKeyLabels(List<Key> keys, Map<String, Collection<String>> labels) {
+        for (Key key : keys) {
+            Collection<String> labelsOfKey = labels.computeIfAbsent(key.getId(), id -> new LinkedHashSet<>());
+            for (Label label : key.getLabels()) {
+                if (Objects.nonNull(label.getValue())) {
+                    labelsOfKey.add(label.getValue());
+                }
+            }
+            collectKeyLabels(key.getKeys(), labels);
+        }
     }
 
     /**
@@ -255,15 +320,18 @@ public class RulesetManagement implements RulesetManagementInterface {
      *            the keys of the rule set (are processed recursively)
      * @param home
      *            the ruleset directory
+     * @param files
+     *            collects the namespace files looked for
      * @throws IOException
      *             if I/O fails
      */
-    private void initializeNamespaces(List<Key> keys, File home) throws IOException {
+    private void initializeNamespaces(List<Key> keys, File home, Collection<File> files) throws IOException {
         for (Key key : keys) {
             Optional<String> optionalNamespace = key.getNamespace();
             if (optionalNamespace.isPresent()) {
                 String namespaceURI = optionalNamespace.get();
                 File file = new File(home, namespaceURI.replaceFirst("^.*?/([^/]*?)[#/]?$", "$1").concat(".xml"));
+                files.add(file);
                 if (file.isFile()) {
                     try {
                         Namespace namespace = read(Namespace.class, file);
@@ -284,15 +352,17 @@ public class RulesetManagement implements RulesetManagementInterface {
                 }
             }
             // is applied recursively to the sub-elements
-            initializeNamespaces(key.getKeys(), home);
+            initializeNamespaces(key.getKeys(), home, files);
         }
     }
 
-    private static Ruleset read(File rulesetFile) throws IOException {
+    private static Ruleset read(File rulesetFile, Collection<File> files) throws IOException {
         Ruleset result = new Ruleset();
+        files.add(rulesetFile);
         Ruleset base = read(Ruleset.class, rulesetFile);
         for (String include : base.getIncludes()) {
             File includedFile = new File(rulesetFile.getParentFile(), include);
+            files.add(includedFile);
             Ruleset included = read(Ruleset.class, includedFile);
             result.addAll(included);
         }
@@ -14,6 +14,7 @@ package org.kitodo.dataeditor.ruleset.xml;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
@@ -74,6 +75,15 @@ public class Ruleset {
 
     private transient List<Key> keys;
 
+    /*
+     * Lookup tables, created once the ruleset is complete. Until then, the
+     * lists are searched.
+     */
+    private transient Map<String, Division> divisionsById;
+    private transient Map<String, Key> keysById;
+    private transient Map<String, RestrictivePermit> divisionRestrictions;
+    private transient Map<String, RestrictivePermit> keyRestrictions;
+
     /**
      * Inserts all information from another ruleset into this ruleset. Information
      * of the same name will be overwritten.
@@ -81,6 +91,7 @@ public class Ruleset {
      * @param other ruleset to insert
      */
     public void addAll(Ruleset other) {
+        dropIndex();
         if (Objects.nonNull(other.declaration)) {
             if (Objects.isNull(declaration)) {
                 declaration = other.declaration;
@@ -128,6 +139,45 @@ public class Ruleset {
         }
     }
 
+    /**
+     * Creates lookup tables for divisions, keys and restrictions. This must be
+     * called after the ruleset is complete, and it must not be changed
+     * afterwards. The lookups then return the same as searching the lists.
+     */
+    public void createIndex() {
+        Map<String, Division> divisionsIndex = new HashMap<>();
+        for (Division division : declaration.getDivisions()) {
+            divisionsIndex.putIfAbsent(division.getId(), division);
+        }
+        for (Division division : declaration.getDivisions()) {
+            for (Division subdivision : division.getDivisions()) {
+                divisionsIndex.putIfAbsent(subdivision.getId(), subdivision);
+            }
+        }
+        Map<String, Key> keysIndex = new HashMap<>();
+        for (Key key : getKeys()) {
+            keysIndex.putIfAbsent(key.getId(), key);
+        }
+        Map<String, RestrictivePermit> divisionRestrictionsIndex = new HashMap<>();
+        Map<String, RestrictivePermit> keyRestrictionsIndex = new HashMap<>();
+        for (RestrictivePermit restriction : restrictions) {
+            restriction.getDivision().ifPresent(division -> divisionRestrictionsIndex.putIfAbsent(division,
+                restriction));
+            restriction.getKey().ifPresent(key -> keyRestrictionsIndex.putIfAbsent(key, restriction));
+        }
+        divisionsById = divisionsIndex;
+        keysById = keysIndex;
+        divisionRestrictions = divisionRestrictionsIndex;
+        keyRestrictions = keyRestrictionsIndex;
+    }
+
+    private void dropIndex() {
+        divisionsById = null;
+        keysById = null;
+        divisionRestrictions = null;
+        keyRestrictions = null;
+    }
+
     /**
      * Returns an acquisition stage by name.
      *
@@ -172,6 +222,9 @@ public class Ruleset {
      * @return the division, if there is one
      */
     public Optional<Division> getDivision(String id) {
+        if (Objects.nonNull(divisionsById)) {
+            return Optional.ofNullable(divisionsById.get(id));
+        }
         Optional<Division> optionalDivision = declaration.getDivisions().parallelStream()
                 .filter(division -> division.getId().equals(id)).findFirst();
         if (optionalDivision.isPresent()) {
@@ -190,6 +243,9 @@ public class Ruleset {
      * @return the restriction rule if there is one
      */
     public Optional<RestrictivePermit> getDivisionRestriction(String division) {
+        if (Objects.nonNull(divisionRestrictions)) {
+            return Optional.ofNullable(divisionRestrictions.get(division));
+        }
         return restrictions.parallelStream()
                 .filter(restriction -> division.equals(restriction.getDivision().orElse(null)))
                 .findFirst();
@@ -272,6 +328,9 @@ public class Ruleset {
      * @return a key, if any
      */
     public Optional<Key> getKey(String keyId) {
+        if (Objects.nonNull(keysById)) {
+            return Optional.ofNullable(keysById.get(keyId));
+        }
         return declaration.getKeys().parallelStream().filter(key -> keyId.equals(key.getId())).findAny();
     }
 
@@ -283,6 +342,9 @@ public class Ruleset {
      * @return the restriction on a key, if any
      */
     public Optional<RestrictivePermit> getKeyRestriction(String keyId) {
+        if (Objects.nonNull(keyRestrictions)) {
+            return Optional.ofNullable(keyRestrictions.get(keyId));
+        }
         return restrictions.parallelStream().filter(restriction -> keyId.equals(restriction.getKey().orElse(null)))
                 .findAny();
     }
@@ -25,6 +25,8 @@ import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -1072,6 +1074,40 @@ public class RulesetManagementIT {
             Collections.emptyList()));
     }
 
+    /**
+     * A loaded ruleset management knows the files it was read from, and hands
+     * out the same division view repeatedly.
+     */
+    @Test
+    public void testLoadedRulesetCanBeShared() throws IOException {
+        RulesetManagement underTest = new RulesetManagement();
+        underTest.load(new File("src/test/resources/testValidationByCodomain.xml"));
+
+        assertTrue(underTest.getFiles().contains(new File("src/test/resources/testValidationByCodomain.xml")));
+        assertTrue(underTest.getFiles().contains(
+            new File("src/test/resources/testValidationByCodomainNamespace.xml")));
+
+        StructuralElementViewInterface first = underTest.getStructuralElementView(BOOK, "", ENGL);
+        assertSame(first, underTest.getStructuralElementView(BOOK, "", ENGL));
+        assertNotSame(first, underTest.getStructuralElementView(BOOK, EDIT, ENGL));
+    }
+
+    /**
+     * The labels of the keys are returned for all keys, including the keys of
+     * metadata groups, but without the labels of the options.
+     */
+    @Test
+    public void testLabelsOfKeysAreCollected() throws IOException {
+        RulesetManagement underTest = new RulesetManagement();
+        underTest.load(new File("src/test/resources/testAvailabilityOfSubkeyViews.xml"));
+
+        Map<String, Collection<String>> keyLabels = underTest.getKeyLabels();
+        assertEquals(List.of("Contributor ‹person›"), new ArrayList<>(keyLabels.get("contributor")));
+        assertEquals(List.of("Role"), new ArrayList<>(keyLabels.get("role")));
+        assertEquals(List.of("Surname"), new ArrayList<>(keyLabels.get("surname")));
+        assertSame(keyLabels, underTest.getKeyLabels());
+    }
+
     @Test
     public void testReimportOfMetadataModesCreate() throws Exception {
         RulesetManagement underTest = new RulesetManagement();
@@ -31,11 +31,18 @@ import java.util.stream.Stream;
 import javax.xml.datatype.DatatypeConfigurationException;
 import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.sax.SAXSource;
+import javax.xml.validation.Schema;
 
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.UnmarshalException;
 import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.ValidationEvent;
+import jakarta.xml.bind.ValidationEventLocator;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
@@ -60,6 +67,11 @@ import org.kitodo.dataformat.metskitodo.StructLinkType.SmLink;
 import org.kitodo.dataformat.metskitodo.StructMapType;
 import org.kitodo.utils.Guard;
 import org.kitodo.utils.JAXBContextCache;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
 
 /**
  * The administrative structure of the product of an element that passes through
@@ -89,6 +101,8 @@ import org.kitodo.utils.JAXBContextCache;
 public class MetsXmlElementAccess implements MetsXmlElementAccessInterface {
     private static final Logger logger = LogManager.getLogger(MetsXmlElementAccess.class);
 
+    private static final String DISALLOW_DOCTYPE_DECL = "http://apache.org/xml/features/disallow-doctype-decl";
+
     /**
      * The data object of this mets XML element access.
      */
@@ -239,6 +253,83 @@ public class MetsXmlElementAccess implements MetsXmlElementAccessInterface {
         }
     }
 
+    /**
+     * Reads METS from an InputStream and validates it against a schema while
+     * JAXB parses it, so that the file is parsed only once.
+     *
+     * @param in
+     *            InputStream to read from
+     * @param schema
+     *            compiled schema to validate against, or {@code null}
+     * @param errorHandler
+     *            receives the schema violations
+     */
+    @Override
+    public Workpiece read(InputStream in, Schema schema, ErrorHandler errorHandler) throws IOException,
+            SAXException {
+        XMLReader xmlReader;
+        try {
+            SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
+            saxParserFactory.setNamespaceAware(true);
+            saxParserFactory.setFeature(DISALLOW_DOCTYPE_DECL, true);
+            xmlReader = saxParserFactory.newSAXParser().getXMLReader();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+        SAXException[] handlerException = new SAXException[1];
+        try {
+            Unmarshaller unmarshaller = JAXBContextCache.getJAXBContext(Mets.class).createUnmarshaller();
+            if (Objects.nonNull(schema)) {
+                unmarshaller.setSchema(schema);
+                unmarshaller.setEventHandler(event -> {
+                    if (event.getSeverity() == ValidationEvent.FATAL_ERROR) {
+                        return false;
+                    }
+                    try {
+                        SAXParseException exception = toSAXParseException(event);
+                        if (event.getSeverity() == ValidationEvent.WARNING) {
+                            errorHandler.warning(exception);
+                        } else {
+                            errorHandler.error(exception);
+                        }
+                        return true;
+                    } catch (SAXException e) {
+                        handlerException[0] = e;
+                        return false;
+                    }
+                });
+            }
+            Mets mets = (Mets) unmarshaller.unmarshal(new SAXSource(xmlReader, new InputSource(in)));
+            return new MetsXmlElementAccess(mets).workpiece;
+        } catch (UnmarshalException e) {
+            if (Objects.nonNull(handlerException[0])) {
+                throw handlerException[0];
+            }
+            if (e.getLinkedException() instanceof SAXException saxException) {
+                throw saxException;
+            }
+            if (e.getLinkedException() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(e.getMessage(), e);
+        } catch (JAXBException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static SAXParseException toSAXParseException(ValidationEvent event) {
+        if (event.getLinkedException() instanceof SAXParseException saxParseException) {
+            return saxParseException;
+        }
+        ValidationEventLocator locator = event.getLocator();
+        if (Objects.isNull(locator)) {
+            return new SAXParseException(event.getMessage(), null, null, -1, -1);
+        }
+        return new SAXParseException(event.getMessage(), null,
+                Objects.nonNull(locator.getURL()) ? locator.getURL().toString() : null,
+                locator.getLineNumber(), locator.getColumnNumber());
+    }
+
     /**
      * Writes the contents of this workpiece as a METS file into an output
      * stream.
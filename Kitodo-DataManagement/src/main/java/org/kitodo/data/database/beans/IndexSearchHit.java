@@ -0,0 +1,68 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.data.database.beans;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+/**
+ * A process ID found by an index search, staged in the database. Large index
+ * search results are not passed to the database as a list of parameters, but
+ * are joined from this table by their search key.
+ */
+@Entity
+@Table(name = "index_search_hit")
+public class IndexSearchHit extends BaseBean {
+
+    @Column(name = "search_key", nullable = false)
+    private String searchKey;
+
+    @Column(name = "process_id", nullable = false)
+    private Integer processId;
+
+    /**
+     * Get searchKey.
+     *
+     * @return value of searchKey
+     */
+    public String getSearchKey() {
+        return searchKey;
+    }
+
+    /**
+     * Set searchKey.
+     *
+     * @param searchKey as java.lang.String
+     */
+    public void setSearchKey(String searchKey) {
+        this.searchKey = searchKey;
+    }
+
+    /**
+     * Get processId.
+     *
+     * @return value of processId
+     */
+    public Integer getProcessId() {
+        return processId;
+    }
+
+    /**
+     * Set processId.
+     *
+     * @param processId as java.lang.Integer
+     */
+    public void setProcessId(Integer processId) {
+        this.processId = processId;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.data.database.beans;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads the metadata entries of the descriptive metadata sections from a
+ * METS file in Kitodo format, without holding the document in memory. The
+ * file is pulled through a StAX reader, and each metadata entry is handed to
+ * a consumer as soon as its value has been read.
+ */
+public final class MetsMetadataReader {
+    private static final String DESCRIPTIVE_METADATA_SECTION = "dmdSec";
+    private static final String KITODO_SECTION = "kitodo";
+    private static final String NAME_ATTRIBUTE = "name";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private MetsMetadataReader() {
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        return xmlInputFactory;
+    }
+
+    /**
+     * Reads the metadata entries from a METS file. For each element with a
+     * name attribute within a Kitodo section of a descriptive metadata
+     * section, the consumer receives the name and the text that immediately
+     * follows the start tag. For metadata groups, this is the white space in
+     * front of their first member.
+     *
+     * @param metsFile
+     *            METS file to read
+     * @param metadataConsumer
+     *            receives the key and the value of each metadata entry
+     * @throws IOException
+     *             if the file cannot be read or is not well-formed
+     */
+    public static void read(Path metsFile, BiConsumer<String, String> metadataConsumer) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(metsFile)) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+            try {
+                read(reader, metadataConsumer);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(metsFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static void read(XMLStreamReader reader, BiConsumer<String, String> metadataConsumer)
+            throws XMLStreamException {
+        boolean inDescriptiveMetadataSection = false;
+        boolean inKitodoSection = false;
+        String key = null;
+        StringBuilder value = new StringBuilder();
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    if (Objects.nonNull(key)) {
+                        metadataConsumer.accept(key, value.toString());
+                        key = null;
+                    }
+                    if (inKitodoSection) {
+                        key = reader.getAttributeValue(null, NAME_ATTRIBUTE);
+                        value.setLength(0);
+                    } else if (DESCRIPTIVE_METADATA_SECTION.equals(reader.getLocalName())) {
+                        inDescriptiveMetadataSection = true;
+                    } else if (inDescriptiveMetadataSection && KITODO_SECTION.equals(reader.getLocalName())) {
+                        inKitodoSection = true;
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (Objects.nonNull(key)) {
+                        value.append(reader.getText());
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    if (Objects.nonNull(key)) {
+                        metadataConsumer.accept(key, value.toString());
+                        key = null;
+                    }
+                    if (inKitodoSection && KITODO_SECTION.equals(reader.getLocalName())) {
+                        inKitodoSection = false;
+                    } else if (DESCRIPTIVE_METADATA_SECTION.equals(reader.getLocalName())) {
+                        inDescriptiveMetadataSection = false;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
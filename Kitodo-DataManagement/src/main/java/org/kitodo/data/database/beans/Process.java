@@ -32,6 +32,7 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
+import jakarta.persistence.PostLoad;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 
@@ -39,6 +40,8 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.hibernate.LazyInitializationException;
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.search.mapper.pojo.automaticindexing.ReindexOnUpdate;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
@@ -162,6 +165,43 @@ public class Process extends BaseTemplateBean {
     @Transient
     private Pair<Long, Map<TaskStatus, Double>> taskProgress;
 
+    @Column(name = "modificationDate")
+    @UpdateTimestamp
+    private Date modificationDate;
+
+    /**
+     * Time of the indexing run that last wrote the search index document of
+     * this process. It is only written by the indexing itself, with a bulk
+     * update, so that saving a process never overwrites it.
+     */
+    @Column(name = "indexVersion", insertable = false, updatable = false)
+    private Long indexVersion;
+
+    /*
+     * Number of tasks with the respective status of this process and all its
+     * descendants. The counters are maintained by the DAOs with native SQL
+     * when tasks or processes are saved, and read from the database, so they
+     * are not accessible through the entity.
+     */
+    @Column(name = "taskCountLocked", insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer taskCountLocked;
+
+    @Column(name = "taskCountOpen", insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer taskCountOpen;
+
+    @Column(name = "taskCountInWork", insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer taskCountInWork;
+
+    @Column(name = "taskCountDone", insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer taskCountDone;
+
+    @Transient
+    private Integer storedParentId;
+
     /**
      * Constructor.
      */
@@ -422,6 +462,33 @@ public class Process extends BaseTemplateBean {
         this.parent = parent;
     }
 
+    /**
+     * Returns the ID of the parent process as it was loaded from the database.
+     * When the process is saved, this tells whether it was moved to another
+     * parent.
+     *
+     * @return ID of the stored parent process, {@code null} if there was none
+     */
+    public Integer getStoredParentId() {
+        return storedParentId;
+    }
+
+    /**
+     * Sets the ID of the parent process as it is stored in the database. This
+     * is done when the process has been saved.
+     *
+     * @param storedParentId
+     *            ID of the stored parent process
+     */
+    public void setStoredParentId(Integer storedParentId) {
+        this.storedParentId = storedParentId;
+    }
+
+    @PostLoad
+    private void rememberStoredParentId() {
+        this.storedParentId = Objects.nonNull(parent) ? parent.getId() : null;
+    }
+
     /**
      * Get children.
      *
@@ -855,6 +922,26 @@ public class Process extends BaseTemplateBean {
         this.importConfiguration = importConfiguration;
     }
 
+    /**
+     * Returns the time of the last change of the process in the database.
+     *
+     * @return the modification time, may be {@code null} for processes that
+     *         have not been changed since it was recorded
+     */
+    public Date getModificationDate() {
+        return modificationDate;
+    }
+
+    /**
+     * Returns the time of the indexing run that last wrote the search index
+     * document of this process.
+     *
+     * @return the index version, {@code null} if unknown
+     */
+    public Long getIndexVersion() {
+        return indexVersion;
+    }
+
     @Override
     public String toString() {
         return title + " [" + id + "]";
@@ -16,12 +16,12 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -47,20 +47,9 @@ public class ProcessKeywords {
 
     public static final int LENGTH_MIN_DEFAULT = 3;
 
-    private static final String ANY_METADATA_MARKER = "mdWrap";
     private static final char VALUE_SEPARATOR = 'q';
 
     private static final Pattern TITLE_GROUPS_PATTERN = Pattern.compile("[\\p{IsLetter}\\p{Digit}]+");
-    private static final Pattern METADATA_PATTERN = Pattern.compile("name=\"([^\"]+)\">([^<]*)<", Pattern.DOTALL);
-    private static final Pattern METADATA_SECTIONS_PATTERN
-            = Pattern.compile("<mets:dmdSec.*?o(?: (?:xmlns|version)\\S+)*?>(.*?)</kitodo:k",
-        Pattern.DOTALL);
-    private static final Pattern RULESET_KEY_PATTERN = Pattern.compile("key id=\"([^\"]+)\"[^>]*>(.*?)</key>",
-        Pattern.DOTALL);
-    private static final Pattern RULESET_LABEL_PATTERN = Pattern.compile("<label[^>]*>([^<]+)", Pattern.DOTALL);
-    private static final Pattern OPTION_PATTERN = Pattern.compile("<option [^>]*>.*?</option>", Pattern.DOTALL);
-
-    private static final Map<String, Map<String, Collection<String>>> rulesetCache = new HashMap<>();
 
     private final Set<String> defaultKeywords;
     private final Set<String> titleKeywords;
@@ -223,74 +212,62 @@ public class ProcessKeywords {
                 return Collections.emptySet();
             }
             logger.debug("Indexing {} in process {} \"{}\"", path, process.getId(), process.getTitle());
-            String metaXml = FileUtils.readFileToString(path.toFile(), StandardCharsets.UTF_8);
-            if (!metaXml.contains(ANY_METADATA_MARKER)) {
-                return Collections.emptySet();
-            }
             Set<String> result = new HashSet<>();
             Map<String, Collection<String>> rulesetLabelMap = getRulesetLabelMap(process.getRuleset().getFile());
-            Matcher metadataSectionsMatcher = METADATA_SECTIONS_PATTERN.matcher(metaXml);
-            while (metadataSectionsMatcher.find()) {
-                Matcher keyMatcher = METADATA_PATTERN.matcher(metadataSectionsMatcher.group(1));
-                while (keyMatcher.find()) {
-                    String key = normalize(keyMatcher.group(1));
-                    String valueString = keyMatcher.group(2);
-                    for (String singleValue : splitValues(valueString)) {
-                        String value = normalize(singleValue);
-                        result.add(value);
-                        result.add(key + VALUE_SEPARATOR + value);
-                        result.add(key);
-                        for (String label : rulesetLabelMap.getOrDefault(key, Collections.emptyList())) {
-                            result.add(label + VALUE_SEPARATOR + value);
-                            result.add(label);
-                        }
-                    }
-                }
-            }
+            MetsMetadataReader.read(path, (key, value) -> {
+                String normalizedKey = normalize(key);
+                addMetadataKeywords(result, normalizedKey, value,
+                    rulesetLabelMap.getOrDefault(normalizedKey, Collections.emptyList()));
+            });
             return result;
         } catch (IOException | RuntimeException e) {
-            logger.catching(e instanceof FileNotFoundException ? Level.INFO : Level.WARN, e);
+            logger.catching(e instanceof FileNotFoundException || e instanceof NoSuchFileException ? Level.INFO
+                    : Level.WARN, e);
             return Collections.emptySet();
         }
     }
 
     /**
-     * Returns a map for ruleset key translations. A cache is used, but if there
-     * is nothing in cache, the ruleset is parsed and the map is created. Since
-     * Kitodo-DataEditor is not available here, we have to do this directly, and
-     * it also increases performance massively.
+     * Adds the keywords and pseudowords for one metadata entry.
+     *
+     * @param result
+     *            set to add the keywords to
+     * @param key
+     *            normalized metadata key
+     * @param valueString
+     *            metadata value
+     * @param labels
+     *            normalized labels of the key from the ruleset
+     */
+    private static void addMetadataKeywords(Set<String> result, String key, String valueString,
+            Collection<String> labels) {
+        for (String singleValue : splitValues(valueString)) {
+            String value = normalize(singleValue);
+            result.add(value);
+            result.add(key + VALUE_SEPARATOR + value);
+            result.add(key);
+            for (String label : labels) {
+                result.add(label + VALUE_SEPARATOR + value);
+                result.add(label);
+            }
+        }
+    }
+
+    /**
+     * Returns a map for ruleset key translations. The map is taken from the
+     * {@link RulesetLabelCache}, which collects the labels again only if the
+     * ruleset has changed. Since Kitodo-DataEditor is not available here, the
+     * cache takes the labels from the rulesets loaded by the application, if
+     * it has been given access to them, or reads the ruleset files itself.
      * 
      * @param file
      *            indicates a ruleset
      * @return a map
      */
     private static Map<String, Collection<String>> getRulesetLabelMap(String file) {
-        Map<String, Collection<String>> rulesetLabelMap = rulesetCache.get(file);
-        if (Objects.nonNull(rulesetLabelMap)) {
-            return rulesetLabelMap;
-        }
         try {
-            File rulesetFile = Paths.get(KitodoConfig.getParameter("directory.rulesets"), file).toFile();
-            logger.debug("Reading {} ...", rulesetFile);
-            String ruleset = FileUtils.readFileToString(rulesetFile, StandardCharsets.UTF_8);
-            rulesetLabelMap = new HashMap<>();
-            Matcher keysMatcher = RULESET_KEY_PATTERN.matcher(ruleset);
-            while (keysMatcher.find()) {
-                String key = normalize(keysMatcher.group(1));
-                String content = keysMatcher.group(2);
-                content = OPTION_PATTERN.matcher(content).replaceAll("");
-                Matcher labelMatcher = RULESET_LABEL_PATTERN.matcher(content);
-                Set<String> labels = new HashSet<>();
-                while (labelMatcher.find()) {
-                    labels.add(normalize(labelMatcher.group(1)));
-                }
-                rulesetLabelMap.put(key, labels);
-                if (logger.isTraceEnabled()) {
-                    logger.trace("- {} -> {}", key, String.join(", ", labels));
-                }
-            }
-            rulesetCache.put(file, rulesetLabelMap);
-            return rulesetLabelMap;
+            return RulesetLabelCache.getInstance()
+                    .getLabelMap(Paths.get(KitodoConfig.getParameter("directory.rulesets"), file));
         } catch (IOException | RuntimeException e) {
             logger.catching(Level.WARN, e);
             return Collections.emptyMap();
@@ -322,7 +299,7 @@ public class ProcessKeywords {
      *            string to clean
      * @return clean string in lowercase
      */
-    private static String normalize(String string) {
+    static String normalize(String string) {
         return string.toLowerCase().replaceAll("[\0-/:-`{-¿]", "");
     }
 
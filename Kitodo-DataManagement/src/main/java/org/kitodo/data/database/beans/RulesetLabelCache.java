@@ -0,0 +1,309 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.data.database.beans;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.api.dataeditor.rulesetmanagement.RulesetManagementInterface;
+
+/**
+ * A cache of the key labels of rulesets, as used for the search index. If a
+ * ruleset loader has been set, the labels are taken from the ruleset
+ * management it returns. It is shared with all other users of the ruleset, so
+ * a ruleset is read once per change, and not once more for its labels. The
+ * labels are collected again when the loader returns another ruleset
+ * management. Without a ruleset loader, the labels are read from the ruleset
+ * file and the files it includes, once per version of these files. A version
+ * is recognized by the modification time and size of the files, so an edited
+ * ruleset is read again on next access. The cache can be used by several
+ * threads at once, and holds a limited number of rulesets. If more rulesets
+ * are used, the least recently used ones are removed.
+ */
+public final class RulesetLabelCache {
+    private static final Logger logger = LogManager.getLogger(RulesetLabelCache.class);
+
+    /**
+     * Maximum number of rulesets held in the cache.
+     */
+    static final int MAXIMUM_SIZE = 64;
+
+    private static final Pattern RULESET_KEY_PATTERN = Pattern.compile("key id=\"([^\"]+)\"[^>]*>(.*?)</key>",
+        Pattern.DOTALL);
+    private static final Pattern RULESET_LABEL_PATTERN = Pattern.compile("<label[^>]*>([^<]+)", Pattern.DOTALL);
+    private static final Pattern OPTION_PATTERN = Pattern.compile("<option [^>]*>.*?</option>", Pattern.DOTALL);
+    private static final Pattern INCLUDE_PATTERN = Pattern
+            .compile("<(?:\\w+:)?include>\\s*([^<]+?)\\s*</(?:\\w+:)?include>");
+
+    private static final RulesetLabelCache instance = new RulesetLabelCache(MAXIMUM_SIZE);
+
+    private final int maximumSize;
+    private final ConcurrentMap<Path, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile RulesetLoader rulesetLoader;
+
+    /**
+     * Returns loaded rulesets. This is provided by the module which can load
+     * rulesets, so that the loaded rulesets are shared with it.
+     */
+    @FunctionalInterface
+    public interface RulesetLoader {
+        /**
+         * Returns a ruleset management in which the ruleset has been loaded.
+         *
+         * @param rulesetFile
+         *            the ruleset file
+         * @return the ruleset management, which is the same as long as the
+         *         ruleset has not changed
+         * @throws IOException
+         *             if the ruleset cannot be read
+         */
+        RulesetManagementInterface getRulesetManagement(File rulesetFile) throws IOException;
+    }
+
+    /**
+     * The labels of one version of a ruleset.
+     */
+    private static final class Entry {
+        private final RulesetManagementInterface rulesetManagement;
+        private final List<FileVersion> versions;
+        private final Map<String, Collection<String>> labelMap;
+        private volatile long lastAccess;
+
+        private Entry(RulesetManagementInterface rulesetManagement, List<FileVersion> versions,
+                Map<String, Collection<String>> labelMap) {
+            this.rulesetManagement = rulesetManagement;
+            this.versions = versions;
+            this.labelMap = labelMap;
+            this.lastAccess = System.nanoTime();
+        }
+
+        private boolean isCurrent(RulesetManagementInterface currentRulesetManagement) {
+            if (Objects.nonNull(rulesetManagement) || Objects.nonNull(currentRulesetManagement)) {
+                return rulesetManagement == currentRulesetManagement;
+            }
+            for (FileVersion version : versions) {
+                if (!version.isCurrent()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Modification time and size of a file. A missing file has both zero.
+     */
+    private record FileVersion(File file, long lastModified, long size) {
+        private FileVersion(File file) {
+            this(file, file.lastModified(), file.length());
+        }
+
+        private boolean isCurrent() {
+            return lastModified == file.lastModified() && size == file.length();
+        }
+    }
+
+    RulesetLabelCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the ruleset label cache.
+     *
+     * @return the ruleset label cache
+     */
+    public static RulesetLabelCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Sets the ruleset loader, from which the labels are taken from now on.
+     *
+     * @param rulesetLoader
+     *            the ruleset loader, or {@code null} to read the ruleset files
+     *            directly
+     */
+    public void setRulesetLoader(RulesetLoader rulesetLoader) {
+        this.rulesetLoader = rulesetLoader;
+    }
+
+    /**
+     * Returns the labels of the keys of a ruleset. Keys and labels are
+     * normalized as in the search index. If the ruleset has changed since its
+     * labels were collected, they are collected again.
+     *
+     * @param rulesetFile
+     *            path to the ruleset file
+     * @return map of normalized keys to their normalized labels, which must
+     *         not be modified
+     * @throws IOException
+     *             if the ruleset cannot be read
+     */
+    public Map<String, Collection<String>> getLabelMap(Path rulesetFile) throws IOException {
+        Path path = rulesetFile.toAbsolutePath().normalize();
+        RulesetLoader loader = rulesetLoader;
+        RulesetManagementInterface rulesetManagement = Objects.isNull(loader) ? null
+                : loader.getRulesetManagement(path.toFile());
+        Entry entry = entries.get(path);
+        if (Objects.nonNull(entry) && entry.isCurrent(rulesetManagement)) {
+            hits.increment();
+            entry.lastAccess = System.nanoTime();
+            return entry.labelMap;
+        }
+        misses.increment();
+        Entry newEntry;
+        if (Objects.nonNull(rulesetManagement)) {
+            newEntry = new Entry(rulesetManagement, Collections.emptyList(),
+                    normalizeLabelMap(rulesetManagement.getKeyLabels()));
+        } else {
+            List<FileVersion> versions = new ArrayList<>();
+            newEntry = new Entry(null, versions, readLabelMap(path, versions));
+        }
+        entries.put(path, newEntry);
+        if (entries.size() > maximumSize) {
+            evict();
+        }
+        return newEntry.labelMap;
+    }
+
+    /**
+     * Removes the least recently used rulesets until the maximum size is kept.
+     */
+    private synchronized void evict() {
+        int excess = entries.size() - maximumSize;
+        if (excess <= 0) {
+            return;
+        }
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(mapEntry -> mapEntry.getValue().lastAccess)).limit(excess)
+                .map(Map.Entry::getKey).toList().forEach(path -> {
+                    entries.remove(path);
+                    evictions.increment();
+                });
+    }
+
+    private static Map<String, Collection<String>> normalizeLabelMap(Map<String, Collection<String>> keyLabels) {
+        Map<String, Collection<String>> rulesetLabelMap = new HashMap<>();
+        for (Map.Entry<String, Collection<String>> keyLabel : keyLabels.entrySet()) {
+            Collection<String> labels = rulesetLabelMap.computeIfAbsent(ProcessKeywords.normalize(keyLabel.getKey()),
+                key -> new HashSet<>());
+            for (String label : keyLabel.getValue()) {
+                labels.add(ProcessKeywords.normalize(label));
+            }
+        }
+        rulesetLabelMap.replaceAll((key, labels) -> Collections.unmodifiableCollection(labels));
+        return Collections.unmodifiableMap(rulesetLabelMap);
+    }
+
+    /**
+     * Reads the labels from the ruleset file and the files it includes. The
+     * versions of the files read are added to the given list.
+     */
+    private static Map<String, Collection<String>> readLabelMap(Path rulesetFile, List<FileVersion> versions)
+            throws IOException {
+        Map<String, Collection<String>> rulesetLabelMap = new HashMap<>();
+        String ruleset = readLabels(rulesetFile, versions, rulesetLabelMap);
+        Matcher includeMatcher = INCLUDE_PATTERN.matcher(ruleset);
+        while (includeMatcher.find()) {
+            readLabels(rulesetFile.resolveSibling(includeMatcher.group(1)), versions, rulesetLabelMap);
+        }
+        rulesetLabelMap.replaceAll((key, labels) -> Collections.unmodifiableCollection(labels));
+        return Collections.unmodifiableMap(rulesetLabelMap);
+    }
+
+    private static String readLabels(Path rulesetFile, List<FileVersion> versions,
+            Map<String, Collection<String>> rulesetLabelMap) throws IOException {
+        logger.debug("Reading {} ...", rulesetFile);
+        versions.add(new FileVersion(rulesetFile.toFile()));
+        String ruleset = Files.readString(rulesetFile, StandardCharsets.UTF_8);
+        Matcher keysMatcher = RULESET_KEY_PATTERN.matcher(ruleset);
+        while (keysMatcher.find()) {
+            String key = ProcessKeywords.normalize(keysMatcher.group(1));
+            String content = OPTION_PATTERN.matcher(keysMatcher.group(2)).replaceAll("");
+            Matcher labelMatcher = RULESET_LABEL_PATTERN.matcher(content);
+            Collection<String> labels = rulesetLabelMap.computeIfAbsent(key, any -> new HashSet<>());
+            while (labelMatcher.find()) {
+                labels.add(ProcessKeywords.normalize(labelMatcher.group(1)));
+            }
+            if (logger.isTraceEnabled()) {
+                logger.trace("- {} -> {}", key, String.join(", ", labels));
+            }
+        }
+        return ruleset;
+    }
+
+    /**
+     * Removes all rulesets from the cache.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of rulesets in the cache.
+     *
+     * @return the number of rulesets
+     */
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Returns how often labels were returned from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how often a ruleset had to be read, because it was not in the
+     * cache, or had changed.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns how often a ruleset was removed to keep the maximum size.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+}
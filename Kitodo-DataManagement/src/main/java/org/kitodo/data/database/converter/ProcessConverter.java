@@ -163,10 +163,10 @@ public class ProcessConverter {
             return countTasksStatusOfProcessViaBeans(getListOfTasksForProgressCalculation(process, considerChildren));
         }
         try {
-            // use custom SQL query to count task status including tasks of ancestor processes for performance
+            // read the task status counters, which include the tasks of descendant processes
             return new TaskDAO().countTaskStatusForProcessAndItsAncestors(process);
         } catch (DAOException e) {
-            logger.warn("error counting task status via custom SQL query, continue with slow calculation", e);
+            logger.warn("error reading task status counters, continue with slow calculation", e);
             return countTasksStatusOfProcessViaBeans(getListOfTasksForProgressCalculation(process, considerChildren));
         }
     }
@@ -27,6 +27,7 @@ import java.util.stream.Collectors;
 
 import jakarta.persistence.PersistenceException;
 
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.Strings;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -37,6 +38,9 @@ import org.hibernate.exception.SQLGrammarException;
 import org.hibernate.query.CommonQueryContract;
 import org.hibernate.query.MutationQuery;
 import org.hibernate.query.Query;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.entity.SearchIndexedEntity;
+import org.hibernate.search.mapper.orm.massindexing.MassIndexer;
 import org.kitodo.config.ConfigMain;
 import org.kitodo.data.database.beans.BaseBean;
 import org.kitodo.data.database.exceptions.DAOException;
@@ -49,6 +53,14 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
     private static final Logger logger = LogManager.getLogger(BaseDAO.class);
     private static final Pattern PARAMETER_PATTERN = Pattern.compile(":(\\w+)");
     private static final Object lockObject = new Object();
+    private static final String SEARCH_ENABLED = "hibernate.search.enabled";
+    private static final int REINDEX_CHUNK_SIZE = 1000;
+
+    /**
+     * Number of objects that a bulk save sends to the database together. This
+     * should match the JDBC batch size configured for Hibernate.
+     */
+    static final int BULK_SIZE = 50;
 
     /**
      * Retrieves a BaseBean identified by the given id from the database.
@@ -132,6 +144,7 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
                     Object merged = session.merge(baseBean);
                     session.delete(merged);
                     session.flush();
+                    beforeCommit(session, Collections.singletonList(baseBean), true);
                     transaction.commit();
                 }
                 stopwatch.stop();
@@ -542,6 +555,7 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
             Transaction transaction = session.beginTransaction();
             session.saveOrUpdate(object);
             session.flush();
+            beforeCommit(session, Collections.singletonList(object), false);
             transaction.commit();
         } catch (PersistenceException e) {
             throw new DAOException(e);
@@ -561,10 +575,108 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
                 session.saveOrUpdate(obj);
             }
             session.flush();
+            beforeCommit(session, list, false);
+            transaction.commit();
+        } catch (RuntimeException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    /**
+     * Saves many objects in one session and one transaction. The changes are
+     * sent to the database in JDBC batches, and the session is flushed and
+     * cleared after each {@value #BULK_SIZE} objects, so that it does not grow
+     * with the number of objects. If the objects are indexed for search, the
+     * search index is not updated on each flush, but once for all objects after
+     * the transaction has been committed.
+     *
+     * <p>
+     * After saving, the objects are detached from the session.
+     *
+     * @param objects
+     *            objects to save
+     * @throws DAOException
+     *             if the objects cannot be saved, then none of them is saved
+     */
+    public void saveInBulk(List<T> objects) throws DAOException {
+        if (objects.isEmpty()) {
+            return;
+        }
+        Stopwatch stopwatch = new Stopwatch(this, "saveInBulk", "objects", Integer.toString(objects.size()));
+        Class<?> indexedType;
+        try (Session session = HibernateUtil.getSession()) {
+            indexedType = getIndexedType(session, objects.getFirst());
+            if (Objects.nonNull(indexedType)) {
+                Search.session(session).indexingPlanFilter(context -> context.exclude(indexedType));
+            }
+            session.setJdbcBatchSize(BULK_SIZE);
+            Transaction transaction = session.beginTransaction();
+            for (List<T> chunk : ListUtils.partition(objects, BULK_SIZE)) {
+                for (T object : chunk) {
+                    session.saveOrUpdate(object);
+                }
+                session.flush();
+                beforeCommit(session, chunk, false);
+                session.clear();
+            }
             transaction.commit();
         } catch (RuntimeException e) {
             throw new DAOException(e);
         }
+        if (Objects.nonNull(indexedType)) {
+            reindex(indexedType, objects.stream().map(BaseBean::getId).collect(Collectors.toList()));
+        }
+        stopwatch.stop();
+    }
+
+    /**
+     * Returns the class of the object, if search is enabled and objects of
+     * this class are indexed.
+     */
+    private static Class<?> getIndexedType(Session session, Object object) {
+        Object searchEnabled = session.getSessionFactory().getProperties().get(SEARCH_ENABLED);
+        if (Objects.nonNull(searchEnabled) && "false".equalsIgnoreCase(searchEnabled.toString())) {
+            return null;
+        }
+        Class<?> type = Hibernate.getClass(object);
+        for (SearchIndexedEntity<?> indexedEntity : Search.mapping(session.getSessionFactory())
+                .allIndexedEntities()) {
+            if (indexedEntity.javaClass().equals(type)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private static void reindex(Class<?> type, List<Integer> ids) throws DAOException {
+        try (Session session = HibernateUtil.getSession()) {
+            for (List<Integer> chunk : ListUtils.partition(ids, REINDEX_CHUNK_SIZE)) {
+                MassIndexer massIndexer = Search.session(session).massIndexer(type).purgeAllOnStart(false);
+                massIndexer.type(type).reindexOnly("e.id IN (:ids)").param("ids", chunk);
+                massIndexer.startAndWait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DAOException(e);
+        } catch (RuntimeException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    /**
+     * Called after objects have been stored or removed and the changes have
+     * been flushed, before the transaction is committed. Subclasses can update
+     * data derived from the objects here, in the same transaction.
+     *
+     * @param session
+     *            session with the active transaction
+     * @param objects
+     *            objects stored or removed
+     * @param removed
+     *            whether the objects were removed
+     */
+    void beforeCommit(Session session, List<T> objects, boolean removed) {
+        // nothing to do by default
     }
 
     /**
@@ -0,0 +1,101 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.data.database.persistence;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import jakarta.persistence.PersistenceException;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.kitodo.data.database.beans.IndexSearchHit;
+import org.kitodo.data.database.exceptions.DAOException;
+
+public class IndexSearchHitDAO extends BaseDAO<IndexSearchHit> {
+
+    private static final String INSERT_HITS = "INSERT INTO index_search_hit (search_key, process_id) VALUES (?, ?)";
+
+    @Override
+    public IndexSearchHit getById(Integer id) throws DAOException {
+        return retrieveObject(IndexSearchHit.class, id);
+    }
+
+    @Override
+    public List<IndexSearchHit> getAll() throws DAOException {
+        return retrieveAllObjects(IndexSearchHit.class);
+    }
+
+    @Override
+    public List<IndexSearchHit> getAll(int offset, int size) throws DAOException {
+        return retrieveObjects("FROM IndexSearchHit ORDER BY id ASC", offset, size);
+    }
+
+    @Override
+    public List<IndexSearchHit> getAllNotIndexed(int offset, int size) throws DAOException {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void remove(Integer id) throws DAOException {
+        removeObject(IndexSearchHit.class, id);
+    }
+
+    /**
+     * Stages a chunk of process IDs for a search key. The IDs are written as
+     * one JDBC batch in a transaction of their own, so that they are visible
+     * to the queries that join them afterwards.
+     *
+     * @param searchKey
+     *            key of the index search
+     * @param processIds
+     *            IDs found by the index search
+     * @throws DAOException
+     *             if the IDs cannot be written
+     */
+    public void stage(String searchKey, Collection<Integer> processIds) throws DAOException {
+        if (processIds.isEmpty()) {
+            return;
+        }
+        try (Session session = HibernateUtil.getSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.doWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_HITS)) {
+                    for (Integer processId : processIds) {
+                        statement.setString(1, searchKey);
+                        statement.setInt(2, processId);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            });
+            transaction.commit();
+        } catch (PersistenceException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    /**
+     * Removes all process IDs staged for a search key.
+     *
+     * @param searchKey
+     *            key of the index search
+     * @throws DAOException
+     *             if the IDs cannot be removed
+     */
+    public void release(String searchKey) throws DAOException {
+        executeUpdate("DELETE FROM IndexSearchHit WHERE searchKey = :searchKey",
+            Collections.singletonMap("searchKey", searchKey));
+    }
+}
@@ -11,10 +11,19 @@
 
 package org.kitodo.data.database.persistence;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import jakarta.persistence.PersistenceException;
 
 import org.apache.commons.collections4.ListUtils;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.query.MutationQuery;
 import org.kitodo.data.database.beans.ImportConfiguration;
 import org.kitodo.data.database.beans.Process;
 import org.kitodo.data.database.exceptions.DAOException;
@@ -73,24 +82,79 @@ public class ProcessDAO extends BaseDAO<Process> {
     }
 
     /**
-     * Save list of processes.
+     * Save list of processes. The processes are saved in one transaction, in
+     * JDBC batches, and are indexed together afterwards.
      *
      * @param list
      *            of processes
      * @throws DAOException
-     *             an exception that can be thrown from the underlying saveList()
-     *             procedure failure.
+     *             an exception that can be thrown from the underlying
+     *             saveInBulk() procedure failure.
      */
     public void saveList(List<Process> list) throws DAOException {
         for (Process process : list) {
             process.dropKeywords();
         }
-        storeList(list);
+        saveInBulk(list);
     }
 
     @Override
     public void remove(Integer id) throws DAOException {
+        Integer parentId;
+        try (Session session = HibernateUtil.getSession()) {
+            parentId = session.createNativeQuery("SELECT parent_id FROM process WHERE id = :id", Integer.class)
+                    .setParameter("id", id).uniqueResult();
+        } catch (PersistenceException e) {
+            throw new DAOException(e);
+        }
         removeObject(Process.class, id);
+        if (Objects.nonNull(parentId)) {
+            TaskStatusCounters.recount(Collections.singletonList(parentId));
+        }
+    }
+
+    /**
+     * Updates the task status counters of the saved processes. If a process
+     * was moved to another parent, or removed, its former parent is recounted,
+     * too, and the difference is rolled up to the ancestors.
+     */
+    @Override
+    void beforeCommit(Session session, List<Process> processes, boolean removed) {
+        Set<Integer> processIds = new LinkedHashSet<>();
+        for (Process process : processes) {
+            Integer parentId = process.getParentID() != 0 ? process.getParentID() : null;
+            if (removed) {
+                processIds.add(Objects.nonNull(process.getStoredParentId()) ? process.getStoredParentId() : parentId);
+                continue;
+            }
+            processIds.add(process.getId());
+            if (!Objects.equals(process.getStoredParentId(), parentId)) {
+                processIds.add(process.getStoredParentId());
+                processIds.add(parentId);
+                process.setStoredParentId(parentId);
+            }
+        }
+        TaskStatusCounters.recount(session, processIds);
+    }
+
+    /**
+     * Returns whether all children of a process are closed, that is, all
+     * tasks of the children and their descendants are done. This is read from
+     * the task status counters of the children, without loading them.
+     *
+     * @param processId
+     *            ID of the parent process
+     * @return whether the process has children, and all of them are closed
+     */
+    public boolean allChildrenClosed(Integer processId) {
+        try (Session session = HibernateUtil.getSession()) {
+            Object[] counts = session.createQuery("SELECT COUNT(*), SUM(CASE WHEN COALESCE(taskCountDone, 0) > 0"
+                    + " AND COALESCE(taskCountLocked, 0) + COALESCE(taskCountOpen, 0)"
+                    + " + COALESCE(taskCountInWork, 0) = 0 THEN 0 ELSE 1 END)"
+                    + " FROM Process WHERE parent.id = :processId", Object[].class)
+                    .setParameter("processId", processId).getSingleResult();
+            return ((Number) counts[0]).longValue() > 0 && ((Number) counts[1]).longValue() == 0;
+        }
     }
 
     /**
@@ -118,4 +182,72 @@ public class ProcessDAO extends BaseDAO<Process> {
                 ));
         }
     }
+
+    /**
+     * Returns the IDs, modification times and index versions of the processes
+     * following the given ID, in ascending order of ID. This is used to page
+     * through all processes with little memory when looking for processes
+     * whose search index documents are out of date.
+     *
+     * @param afterId
+     *            ID after which to start, 0 to start at the beginning
+     * @param limit
+     *            maximum number of rows to return
+     * @return rows of ID, modification date and index version
+     */
+    public List<Object[]> getIndexVersions(int afterId, int limit) {
+        try (Session session = HibernateUtil.getSession()) {
+            return session.createQuery("SELECT id, modificationDate, indexVersion FROM Process"
+                    + " WHERE id > :afterId ORDER BY id ASC", Object[].class)
+                    .setParameter("afterId", afterId).setMaxResults(limit).getResultList();
+        }
+    }
+
+    /**
+     * Records the index version of the processes staged under a search key,
+     * after their search index documents have been rewritten.
+     *
+     * @param searchKey
+     *            key under which the process IDs are staged
+     * @param indexVersion
+     *            time of the indexing run
+     * @throws DAOException
+     *             if the index version cannot be written
+     */
+    public void setIndexVersion(String searchKey, long indexVersion) throws DAOException {
+        executeNativeUpdate("UPDATE process SET indexVersion = :indexVersion WHERE id IN"
+                + " (SELECT process_id FROM index_search_hit WHERE search_key = :searchKey)",
+            Map.of("indexVersion", indexVersion, "searchKey", searchKey));
+    }
+
+    /**
+     * Records the index version of all processes, after the search index has
+     * been rebuilt.
+     *
+     * @param indexVersion
+     *            time of the indexing run
+     * @throws DAOException
+     *             if the index version cannot be written
+     */
+    public void setIndexVersion(long indexVersion) throws DAOException {
+        executeNativeUpdate("UPDATE process SET indexVersion = :indexVersion",
+            Map.of("indexVersion", indexVersion));
+    }
+
+    /*
+     * The index version is not updatable through the entity, so that saving a
+     * process loaded earlier never resets it. Therefore, it is written with
+     * native SQL.
+     */
+    private static void executeNativeUpdate(String sql, Map<String, Object> parameters) throws DAOException {
+        try (Session session = HibernateUtil.getSession()) {
+            Transaction transaction = session.beginTransaction();
+            MutationQuery mutationQuery = session.createNativeMutationQuery(sql);
+            parameters.forEach(mutationQuery::setParameter);
+            mutationQuery.executeUpdate();
+            transaction.commit();
+        } catch (PersistenceException e) {
+            throw new DAOException(e);
+        }
+    }
 }
@@ -11,17 +11,18 @@
 
 package org.kitodo.data.database.persistence;
 
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import jakarta.persistence.PersistenceException;
 
 import org.hibernate.Session;
-import org.hibernate.query.NativeQuery;
-import org.hibernate.type.StandardBasicTypes;
 import org.kitodo.data.database.beans.Process;
 import org.kitodo.data.database.beans.Task;
 import org.kitodo.data.database.enums.TaskStatus;
@@ -62,7 +63,32 @@ public class TaskDAO extends BaseDAO<Task> {
 
     @Override
     public void remove(Integer id) throws DAOException {
+        Integer processId;
+        try (Session session = HibernateUtil.getSession()) {
+            processId = session.createNativeQuery("SELECT process_id FROM task WHERE id = :id", Integer.class)
+                    .setParameter("id", id).uniqueResult();
+        } catch (PersistenceException e) {
+            throw new DAOException(e);
+        }
         removeObject(Task.class, id);
+        if (Objects.nonNull(processId)) {
+            TaskStatusCounters.recount(Collections.singletonList(processId));
+        }
+    }
+
+    /**
+     * Updates the task status counters of the processes of the saved or
+     * removed tasks, and rolls the difference up to their ancestors.
+     */
+    @Override
+    void beforeCommit(Session session, List<Task> tasks, boolean removed) {
+        Set<Integer> processIds = new LinkedHashSet<>();
+        for (Task task : tasks) {
+            if (Objects.nonNull(task.getProcess())) {
+                processIds.add(task.getProcess().getId());
+            }
+        }
+        TaskStatusCounters.recount(session, processIds);
     }
 
     public void update(Task task) {
@@ -143,14 +169,14 @@ public class TaskDAO extends BaseDAO<Task> {
     }
 
     /**
-     * Counts how many tasks have a certain status for the provided process and all its ancestor processes.
+     * Counts how many tasks have a certain status for the provided process and all its descendant processes.
      * 
-     * <p>The counts are used to calculate the process progress status</p>
+     * <p>The counts are used to calculate the process progress status. They are read from the task status
+     * counters of the process.</p>
      * 
      * @param process the process to be queried for tasks and their status counts
      * @return a count for each TaskStatus 
      */
-    @SuppressWarnings("unchecked")
     public Map<TaskStatus, Integer> countTaskStatusForProcessAndItsAncestors(Process process) throws DAOException {
         Stopwatch stopwatch = new Stopwatch(process, "countTaskStatusForProcessAndItsAncestors");
         if (Objects.isNull(process)) {
@@ -159,108 +185,34 @@ public class TaskDAO extends BaseDAO<Task> {
         if (Objects.isNull(process.getId())) {
             throw new DAOException("can not count task status for process that has id of null");
         }
-
-        // initialize counts
-        Map<TaskStatus, Integer> counts = new HashMap<>();
-        counts.put(TaskStatus.OPEN, 0);
-        counts.put(TaskStatus.INWORK, 0);
-        counts.put(TaskStatus.LOCKED, 0);
-        counts.put(TaskStatus.DONE, 0);
-
-        // perform query and read data
-        try (Session session = HibernateUtil.getSession()) {
-            // do not use hibernate query language, which does not support recursive queries, use native SQL instead
-            // do not use query parameter with recursive query, which works with MySQL and MariaDB but not h2 database
-            NativeQuery<Object[]> query = session.createNativeQuery(
-                "SELECT t.processingStatus as status, COUNT(*) as count FROM task t, ("
-                    + "    WITH RECURSIVE process_children(id) as ("
-                    + "        (SELECT id FROM process WHERE id = " + process.getId() + ")"
-                    + "        UNION ALL"
-                    + "        (SELECT p1.id from process as p1, process_children as p2 WHERE p2.id = p1.parent_id)"
-                    + "    ) SELECT id FROM process_children"
-                    + ") as p WHERE t.process_id = p.id GROUP BY t.processingStatus;",
-                Object[].class
-            );
-            query.addScalar("status", StandardBasicTypes.INTEGER);
-            query.addScalar("count", StandardBasicTypes.INTEGER);
-            
-            for (Object[] row : query.list()) {
-                TaskStatus status = TaskStatus.getStatusFromValue((int)row[0]);
-                Integer count = (int)row[1];
-                counts.put(status, count);
-            }
-
-            return stopwatch.stop(counts);
-        } catch (PersistenceException e) {
-            // catch any exceptions that might be thrown by internals of database connector
-            // due to recursive query, which might not be supported by some databases
-            throw new DAOException(e);
+        Map<TaskStatus, Integer> counts = loadTaskStatusCountsForProcesses(Collections.singletonList(process.getId()))
+                .get(process.getId());
+        if (Objects.isNull(counts)) {
+            throw new DAOException("Process " + process.getId() + " cannot be found in database");
         }
+        return stopwatch.stop(counts);
     }
 
     /**
      * Loads task status counts for the given processes including all their descendant processes.
      *
-     * <p>The result maps each root process ID to a count per TaskStatus.</p>
+     * <p>The result maps each root process ID to a count per TaskStatus. The counts are read from the task
+     * status counters of the processes, which are maintained when tasks are saved.</p>
      *
      * @param processIds the IDs of the root processes to query
      * @return a map of process ID to task status counts
      */
-    @SuppressWarnings("unchecked")
     public Map<Integer, EnumMap<TaskStatus, Integer>> loadTaskStatusCountsForProcesses(
             List<Integer> processIds) throws DAOException {
-        Map<Integer, EnumMap<TaskStatus, Integer>> result = new HashMap<>();
         if (Objects.isNull(processIds) || processIds.isEmpty()) {
-            return result;
+            return new HashMap<>();
         }
         Stopwatch stopwatch = new Stopwatch(this,"loadTaskStatusCountsForProcesses",
                 "processIds", processIds.toString());
         try (Session session = HibernateUtil.getSession()) {
-            NativeQuery<Object[]> query = session.createNativeQuery(
-                    "WITH RECURSIVE process_tree (root_id, id) AS ("
-                            + "  SELECT p.id, p.id FROM process p WHERE p.id IN (:ids) "
-                            + "  UNION ALL "
-                            + "  SELECT pt.root_id, c.id "
-                            + "  FROM process c "
-                            + "  JOIN process_tree pt ON c.parent_id = pt.id"
-                            + ") "
-                            + "SELECT "
-                            + "  pt.root_id AS root_id, "
-                            + "  t.processingStatus AS processingStatus, "
-                            + "  COUNT(t.id) AS cnt "
-                            + "FROM process_tree pt "
-                            + "LEFT JOIN task t ON t.process_id = pt.id "
-                            + "GROUP BY pt.root_id, t.processingStatus",
-                    Object[].class
-            );
-            query.setParameter("ids", processIds);
-            query.addScalar("root_id", StandardBasicTypes.INTEGER);
-            query.addScalar("processingStatus", StandardBasicTypes.INTEGER);
-            query.addScalar("cnt", StandardBasicTypes.INTEGER);
-
-            List<Object[]> rows = query.list();
-            for (Object[] row : rows) {
-                Integer rootId = (Integer) row[0];
-                Integer statusValue = (Integer) row[1];
-                Integer count = (Integer) row[2];
-
-                EnumMap<TaskStatus, Integer> map =
-                        result.computeIfAbsent(rootId, id -> createEmptyStatusMap());
-                if (Objects.nonNull(statusValue)) {
-                    map.put(TaskStatus.getStatusFromValue(statusValue), count);
-                }
-            }
-            return stopwatch.stop(result);
+            return stopwatch.stop(TaskStatusCounters.read(session, processIds));
         } catch (PersistenceException e) {
             throw new DAOException(e);
         }
     }
-
-    private static EnumMap<TaskStatus, Integer> createEmptyStatusMap() {
-        EnumMap<TaskStatus, Integer> map = new EnumMap<>(TaskStatus.class);
-        for (TaskStatus s : TaskStatus.values()) {
-            map.put(s, 0);
-        }
-        return map;
-    }
 }
@@ -0,0 +1,194 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.data.database.persistence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import jakarta.persistence.PersistenceException;
+
+import org.apache.commons.collections4.ListUtils;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.kitodo.data.database.enums.TaskStatus;
+import org.kitodo.data.database.exceptions.DAOException;
+
+/**
+ * Maintains the task status counters of the processes. For each task status, a
+ * process has a counter of the tasks with that status of the process itself
+ * and of all its descendants. The counters are updated in the transaction that
+ * changes the tasks, and the difference is rolled up to the ancestors. This
+ * way, the progress of a process with thousands of children can be read from
+ * a single row.
+ *
+ * <p>A process is recounted from its own tasks and the counters of its
+ * children, so the counters also heal themselves, if they got out of step.
+ */
+final class TaskStatusCounters {
+
+    private static final int READ_CHUNK_SIZE = 1000;
+
+    private static final String COLUMNS = "taskCountLocked, taskCountOpen, taskCountInWork, taskCountDone";
+
+    private TaskStatusCounters() {
+    }
+
+    /**
+     * Recounts the given processes in a transaction of its own. This is used
+     * if the processes were changed by a transaction that this class had no
+     * part in.
+     *
+     * @param processIds
+     *            IDs of the processes to recount
+     * @throws DAOException
+     *             if the counters cannot be updated
+     */
+    static void recount(Collection<Integer> processIds) throws DAOException {
+        try (Session session = HibernateUtil.getSession()) {
+            Transaction transaction = session.beginTransaction();
+            recount(session, processIds);
+            transaction.commit();
+        } catch (PersistenceException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    /**
+     * Recounts the given processes and updates their ancestors by the
+     * difference. Must be called after the task changes have been flushed, in
+     * the same transaction. IDs of processes which no longer exist are
+     * ignored.
+     *
+     * @param session
+     *            session with an active transaction
+     * @param processIds
+     *            IDs of the processes to recount
+     */
+    static void recount(Session session, Collection<Integer> processIds) {
+        for (Integer processId : new LinkedHashSet<>(processIds)) {
+            if (Objects.nonNull(processId)) {
+                recount(session, processId);
+            }
+        }
+    }
+
+    private static void recount(Session session, int processId) {
+        List<Object[]> stored = counterQuery(session,
+            "SELECT " + COLUMNS + " FROM process WHERE id = :id").setParameter("id", processId).list();
+        if (stored.isEmpty()) {
+            return;
+        }
+        int[] delta = new int[TaskStatus.values().length];
+        for (Object[] row : ownCounts(session, processId)) {
+            delta[(Integer) row[0]] += (Integer) row[1];
+        }
+        Object[] children = counterQuery(session, "SELECT COALESCE(SUM(taskCountLocked), 0) AS taskCountLocked,"
+                + " COALESCE(SUM(taskCountOpen), 0) AS taskCountOpen,"
+                + " COALESCE(SUM(taskCountInWork), 0) AS taskCountInWork,"
+                + " COALESCE(SUM(taskCountDone), 0) AS taskCountDone FROM process WHERE parent_id = :id")
+                .setParameter("id", processId).getSingleResult();
+        boolean changed = false;
+        for (TaskStatus status : TaskStatus.values()) {
+            int index = status.getValue();
+            delta[index] += intValue(children[index]) - intValue(stored.getFirst()[index]);
+            changed |= delta[index] != 0;
+        }
+        if (changed) {
+            session.createNativeMutationQuery("UPDATE process SET"
+                    + " taskCountLocked = COALESCE(taskCountLocked, 0) + :locked,"
+                    + " taskCountOpen = COALESCE(taskCountOpen, 0) + :open,"
+                    + " taskCountInWork = COALESCE(taskCountInWork, 0) + :inWork,"
+                    + " taskCountDone = COALESCE(taskCountDone, 0) + :done WHERE id IN (:ids)")
+                    .setParameter("locked", delta[TaskStatus.LOCKED.getValue()])
+                    .setParameter("open", delta[TaskStatus.OPEN.getValue()])
+                    .setParameter("inWork", delta[TaskStatus.INWORK.getValue()])
+                    .setParameter("done", delta[TaskStatus.DONE.getValue()])
+                    .setParameterList("ids", selfAndAncestors(session, processId))
+                    .executeUpdate();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object[]> ownCounts(Session session, int processId) {
+        NativeQuery<Object[]> query = session.createNativeQuery("SELECT processingStatus AS status,"
+                + " COUNT(*) AS count FROM task WHERE process_id = :id GROUP BY processingStatus", Object[].class);
+        query.addScalar("status", StandardBasicTypes.INTEGER);
+        query.addScalar("count", StandardBasicTypes.INTEGER);
+        return query.setParameter("id", processId).list();
+    }
+
+    private static List<Integer> selfAndAncestors(Session session, int processId) {
+        List<Integer> ids = new ArrayList<>();
+        Set<Integer> visited = new HashSet<>();
+        Integer id = processId;
+        while (Objects.nonNull(id) && visited.add(id)) {
+            ids.add(id);
+            id = session.createNativeQuery("SELECT parent_id FROM process WHERE id = :id", Integer.class)
+                    .setParameter("id", id).uniqueResult();
+        }
+        return ids;
+    }
+
+    /**
+     * Reads the task status counters of the given processes.
+     *
+     * @param session
+     *            session to use
+     * @param processIds
+     *            IDs of the processes
+     * @return the counters for each process found
+     */
+    static Map<Integer, EnumMap<TaskStatus, Integer>> read(Session session, List<Integer> processIds) {
+        Map<Integer, EnumMap<TaskStatus, Integer>> result = new HashMap<>();
+        for (List<Integer> chunk : ListUtils.partition(processIds, READ_CHUNK_SIZE)) {
+            NativeQuery<Object[]> query = counterQuery(session,
+                "SELECT " + COLUMNS + ", id FROM process WHERE id IN (:ids)");
+            query.addScalar("id", StandardBasicTypes.INTEGER);
+            for (Object[] row : query.setParameter("ids", chunk).list()) {
+                EnumMap<TaskStatus, Integer> counts = new EnumMap<>(TaskStatus.class);
+                for (TaskStatus status : TaskStatus.values()) {
+                    counts.put(status, intValue(row[status.getValue()]));
+                }
+                result.put((Integer) row[TaskStatus.values().length], counts);
+            }
+        }
+        return result;
+    }
+
+    /*
+     * The counter columns are returned in the order of the values of the task
+     * status, so that the value of a status is the index of its counter.
+     */
+    @SuppressWarnings("unchecked")
+    private static NativeQuery<Object[]> counterQuery(Session session, String sql) {
+        NativeQuery<Object[]> query = session.createNativeQuery(sql, Object[].class);
+        query.addScalar("taskCountLocked", StandardBasicTypes.INTEGER);
+        query.addScalar("taskCountOpen", StandardBasicTypes.INTEGER);
+        query.addScalar("taskCountInWork", StandardBasicTypes.INTEGER);
+        query.addScalar("taskCountDone", StandardBasicTypes.INTEGER);
+        return query;
+    }
+
+    private static int intValue(Object value) {
+        return Objects.nonNull(value) ? ((Number) value).intValue() : 0;
+    }
+}
@@ -0,0 +1,21 @@
+--
+-- (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+--
+-- This file is part of the Kitodo project.
+--
+-- It is licensed under GNU General Public License version 3 or later.
+--
+-- For the full copyright and license information, please read the
+-- GPL3-License.txt file that was distributed with this source code.
+--
+
+-- Add table "index_search_hit" to join large index search results in the database
+CREATE TABLE IF NOT EXISTS index_search_hit
+(
+    id INT(11) NOT NULL AUTO_INCREMENT,
+    search_key VARCHAR(36) NOT NULL COMMENT 'key of the index search the hit belongs to',
+    process_id INT(11) NOT NULL COMMENT 'id of the process found by the index search',
+    PRIMARY KEY(id),
+    KEY index_search_hit_search_key_process_id (search_key, process_id)
+) DEFAULT CHARACTER SET = utf8mb4
+  COLLATE utf8mb4_unicode_ci;
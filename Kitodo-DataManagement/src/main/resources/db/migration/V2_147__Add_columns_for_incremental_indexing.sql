@@ -0,0 +1,15 @@
+--
+-- (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+--
+-- This file is part of the Kitodo project.
+--
+-- It is licensed under GNU General Public License version 3 or later.
+--
+-- For the full copyright and license information, please read the
+-- GPL3-License.txt file that was distributed with this source code.
+--
+
+-- Add columns to find processes whose search index documents are out of date
+ALTER TABLE process
+    ADD modificationDate DATETIME DEFAULT NULL COMMENT 'time of the last change of the process',
+    ADD indexVersion BIGINT DEFAULT NULL COMMENT 'time of the indexing run that last wrote the index document';
@@ -0,0 +1,38 @@
+--
+-- (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+--
+-- This file is part of the Kitodo project.
+--
+-- It is licensed under GNU General Public License version 3 or later.
+--
+-- For the full copyright and license information, please read the
+-- GPL3-License.txt file that was distributed with this source code.
+--
+
+-- Add task status counters, counting the tasks of a process and all its descendants
+ALTER TABLE process
+    ADD taskCountLocked INT NOT NULL DEFAULT 0 COMMENT 'number of locked tasks of the process and its descendants',
+    ADD taskCountOpen INT NOT NULL DEFAULT 0 COMMENT 'number of open tasks of the process and its descendants',
+    ADD taskCountInWork INT NOT NULL DEFAULT 0 COMMENT 'number of tasks in work of the process and its descendants',
+    ADD taskCountDone INT NOT NULL DEFAULT 0 COMMENT 'number of done tasks of the process and its descendants';
+
+-- Initialize the counters from the existing tasks
+UPDATE process p
+    JOIN (
+        WITH RECURSIVE process_tree (root_id, id) AS (
+            SELECT id, id FROM process
+            UNION ALL
+            SELECT pt.root_id, c.id FROM process c JOIN process_tree pt ON c.parent_id = pt.id
+        )
+        SELECT pt.root_id AS id,
+            SUM(t.processingStatus = 0) AS locked,
+            SUM(t.processingStatus = 1) AS open,
+            SUM(t.processingStatus = 2) AS inWork,
+            SUM(t.processingStatus = 3) AS done
+        FROM process_tree pt JOIN task t ON t.process_id = pt.id
+        GROUP BY pt.root_id
+    ) counts ON counts.id = p.id
+SET p.taskCountLocked = counts.locked,
+    p.taskCountOpen = counts.open,
+    p.taskCountInWork = counts.inWork,
+    p.taskCountDone = counts.done;
@@ -0,0 +1,129 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.data.database.beans;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MetsMetadataReaderTest {
+    /**
+     * The patterns with which the keywords were extracted from the METS file
+     * before, kept here as a reference.
+     */
+    private static final Pattern METADATA_PATTERN = Pattern.compile("name=\"([^\"]+)\">([^<]*)<", Pattern.DOTALL);
+    private static final Pattern METADATA_SECTIONS_PATTERN
+            = Pattern.compile("<mets:dmdSec.*?o(?: (?:xmlns|version)\\S+)*?>(.*?)</kitodo:k",
+        Pattern.DOTALL);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldReadTheSameMetadataAsTheRegularExpressions() throws IOException {
+        Path metsFile = writeSyntheticMetsFile(tempDir.resolve("meta.xml"), 25);
+
+        List<Pair<String, String>> streamed = new ArrayList<>();
+        MetsMetadataReader.read(metsFile, (key, value) -> streamed.add(Pair.of(key, value)));
+        List<Pair<String, String>> matched = new ArrayList<>();
+        readByRegularExpressions(metsFile, (key, value) -> matched.add(Pair.of(key, value)));
+
+        assertEquals(matched.size(), streamed.size(), "should read as many metadata entries");
+        assertEquals(matched, streamed, "should read the same metadata entries");
+    }
+
+    @Test
+    public void shouldSkipMetadataOutsideOfDescriptiveSections() throws IOException {
+        Path metsFile = tempDir.resolve("meta.xml");
+        Files.writeString(metsFile, "<mets:mets xmlns:mets=\"http://www.loc.gov/METS/\""
+                + " xmlns:kitodo=\"http://meta.kitodo.org/v1/\"><mets:amdSec><mets:techMD><mets:mdWrap>"
+                + "<mets:xmlData><kitodo:kitodo><kitodo:metadata name=\"technical\">value</kitodo:metadata>"
+                + "</kitodo:kitodo></mets:xmlData></mets:mdWrap></mets:techMD></mets:amdSec></mets:mets>",
+            StandardCharsets.UTF_8);
+
+        List<String> keys = new ArrayList<>();
+        MetsMetadataReader.read(metsFile, (key, value) -> keys.add(key));
+
+        assertEquals(0, keys.size(), "should not read technical metadata");
+    }
+
+    private static void readByRegularExpressions(Path metsFile, BiConsumer<String, String> metadataConsumer)
+            throws IOException {
+        String metaXml = FileUtils.readFileToString(metsFile.toFile(), StandardCharsets.UTF_8);
+        Matcher metadataSectionsMatcher = METADATA_SECTIONS_PATTERN.matcher(metaXml);
+        while (metadataSectionsMatcher.find()) {
+            Matcher keyMatcher = METADATA_PATTERN.matcher(metadataSectionsMatcher.group(1));
+            while (keyMatcher.find()) {
+                metadataConsumer.accept(keyMatcher.group(1), keyMatcher.group(2));
+            }
+        }
+    }
+
+    /**
+     * Writes a METS file with one descriptive metadata section for each
+     * division, similar to a newspaper issue with many articles.
+     */
+    private static Path writeSyntheticMetsFile(Path metsFile, int divisions) throws IOException {
+        Map<String, String> sample = Map.of("TitleDocMain", "Berliner Tageblatt und Handels-Zeitung",
+            "PublicationYear", "1872", "DocLanguage", "ger", "slub_ownerOrig", "SLUB Dresden",
+            "singleDigCollection", "Saxonica");
+        try (BufferedWriter writer = Files.newBufferedWriter(metsFile, StandardCharsets.UTF_8)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+            writer.write("<mets:mets xmlns:xlink=\"http://www.w3.org/1999/xlink\""
+                    + " xmlns:kitodo=\"http://meta.kitodo.org/v1/\" xmlns:mets=\"http://www.loc.gov/METS/\">\n");
+            for (int division = 0; division < divisions; division++) {
+                writer.write("    <mets:dmdSec ID=\"DMDLOG_" + division + "\">\n");
+                writer.write("        <mets:mdWrap MDTYPE=\"OTHER\" OTHERMDTYPE=\"KITODO\">\n");
+                writer.write("            <mets:xmlData>\n");
+                writer.write("                <kitodo:kitodo>\n");
+                for (Map.Entry<String, String> entry : sample.entrySet()) {
+                    writer.write("                    <kitodo:metadata name=\"" + entry.getKey() + "\">"
+                            + entry.getValue() + ' ' + division + "</kitodo:metadata>\n");
+                }
+                writer.write("                    <kitodo:metadataGroup name=\"Person\">\n");
+                writer.write("                        <kitodo:metadata name=\"Role\">aut</kitodo:metadata>\n");
+                writer.write("                        <kitodo:metadata name=\"LastName\">Author " + division
+                        + "</kitodo:metadata>\n");
+                writer.write("                    </kitodo:metadataGroup>\n");
+                writer.write("                </kitodo:kitodo>\n");
+                writer.write("            </mets:xmlData>\n");
+                writer.write("        </mets:mdWrap>\n");
+                writer.write("    </mets:dmdSec>\n");
+            }
+            writer.write("    <mets:structMap TYPE=\"PHYSICAL\">\n");
+            writer.write("        <mets:div ID=\"PHYS_0000\" TYPE=\"physSequence\">\n");
+            for (int division = 0; division < divisions; division++) {
+                writer.write("            <mets:div ID=\"PHYS_" + (division + 1) + "\" ORDER=\"" + (division + 1)
+                        + "\" ORDERLABEL=\"uncounted\" TYPE=\"page\"/>\n");
+            }
+            writer.write("        </mets:div>\n");
+            writer.write("    </mets:structMap>\n");
+            writer.write("</mets:mets>\n");
+        }
+        return metsFile;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.data.database.beans;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kitodo.api.dataeditor.rulesetmanagement.RulesetManagementInterface;
+
+public class RulesetLabelCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeRuleset(String name, String label, long modified) throws IOException {
+        Path ruleset = Files.writeString(tempDir.resolve(name), "<ruleset><key id=\"TitleDocMain\">"
+                + "<label>" + label + "</label><label lang=\"de\">Hauptsachtitel</label>"
+                + "<option value=\"x\"><label>Option</label></option></key></ruleset>");
+        Files.setLastModifiedTime(ruleset, FileTime.fromMillis(modified));
+        return ruleset;
+    }
+
+    @Test
+    public void shouldReadLabelsOfKeys() throws IOException {
+        Path ruleset = writeRuleset("ruleset.xml", "Main title", 1_000_000L);
+        RulesetLabelCache rulesetLabelCache = new RulesetLabelCache(2);
+
+        Map<String, Collection<String>> labelMap = rulesetLabelCache.getLabelMap(ruleset);
+
+        assertEquals(1, labelMap.size());
+        Collection<String> labels = labelMap.get("titledocmain");
+        assertEquals(2, labels.size());
+        assertTrue(labels.contains("maintitle"));
+        assertTrue(labels.contains("hauptsachtitel"));
+    }
+
+    @Test
+    public void shouldReadRulesetOnlyOncePerVersion() throws IOException {
+        Path ruleset = writeRuleset("ruleset.xml", "Main title", 1_000_000L);
+        RulesetLabelCache rulesetLabelCache = new RulesetLabelCache(2);
+
+        Map<String, Collection<String>> first = rulesetLabelCache.getLabelMap(ruleset);
+        Map<String, Collection<String>> second = rulesetLabelCache.getLabelMap(ruleset);
+
+        assertSame(first, second);
+        assertEquals(1, rulesetLabelCache.getMissCount());
+        assertEquals(1, rulesetLabelCache.getHitCount());
+
+        writeRuleset("ruleset.xml", "Title", 2_000_000L);
+        Map<String, Collection<String>> changed = rulesetLabelCache.getLabelMap(ruleset);
+
+        assertTrue(changed.get("titledocmain").contains("title"), "Changed ruleset should have been read again");
+        assertEquals(2, rulesetLabelCache.getMissCount());
+    }
+
+    @Test
+    public void shouldReadRulesetAgainIfIncludedRulesetChanged() throws IOException {
+        Path included = writeRuleset("included.xml", "Main title", 1_000_000L);
+        Path ruleset = Files.writeString(tempDir.resolve("ruleset.xml"), "<ruleset><include>"
+                + included.getFileName() + "</include><key id=\"Author\"><label>Author</label></key></ruleset>");
+        RulesetLabelCache rulesetLabelCache = new RulesetLabelCache(2);
+
+        Map<String, Collection<String>> labelMap = rulesetLabelCache.getLabelMap(ruleset);
+        assertTrue(labelMap.get("titledocmain").contains("maintitle"), "Labels of included ruleset are missing");
+        assertTrue(labelMap.get("author").contains("author"));
+        rulesetLabelCache.getLabelMap(ruleset);
+        assertEquals(1, rulesetLabelCache.getMissCount());
+
+        writeRuleset("included.xml", "Title", 2_000_000L);
+        Map<String, Collection<String>> changed = rulesetLabelCache.getLabelMap(ruleset);
+
+        assertTrue(changed.get("titledocmain").contains("title"), "Changed included ruleset should have been read");
+        assertEquals(2, rulesetLabelCache.getMissCount());
+    }
+
+    @Test
+    public void shouldTakeLabelsFromLoadedRuleset() throws IOException {
+        Path ruleset = writeRuleset("ruleset.xml", "Main title", 1_000_000L);
+        RulesetManagementInterface loaded = mock(RulesetManagementInterface.class);
+        when(loaded.getKeyLabels()).thenReturn(Map.of("TitleDocMain", List.of("Haupttitel")));
+        AtomicReference<RulesetManagementInterface> current = new AtomicReference<>(loaded);
+        RulesetLabelCache rulesetLabelCache = new RulesetLabelCache(2);
+        rulesetLabelCache.setRulesetLoader(rulesetFile -> current.get());
+
+        Map<String, Collection<String>> first = rulesetLabelCache.getLabelMap(ruleset);
+        Map<String, Collection<String>> second = rulesetLabelCache.getLabelMap(ruleset);
+
+        assertEquals(List.of("haupttitel"), List.copyOf(first.get("titledocmain")),
+            "Labels should have been taken from the loaded ruleset, not from the file");
+        assertSame(first, second);
+        verify(loaded, times(1)).getKeyLabels();
+
+        RulesetManagementInterface reloaded = mock(RulesetManagementInterface.class);
+        when(reloaded.getKeyLabels()).thenReturn(Map.of("TitleDocMain", List.of("Titel")));
+        current.set(reloaded);
+
+        assertEquals(List.of("titel"), List.copyOf(rulesetLabelCache.getLabelMap(ruleset).get("titledocmain")),
+            "Labels should have been collected again from the reloaded ruleset");
+        assertEquals(2, rulesetLabelCache.getMissCount());
+    }
+
+    @Test
+    public void shouldRemoveLeastRecentlyUsedRuleset() throws IOException {
+        Path first = writeRuleset("first.xml", "Main title", 1_000_000L);
+        Path second = writeRuleset("second.xml", "Main title", 1_000_000L);
+        Path third = writeRuleset("third.xml", "Main title", 1_000_000L);
+        RulesetLabelCache rulesetLabelCache = new RulesetLabelCache(2);
+
+        rulesetLabelCache.getLabelMap(first);
+        rulesetLabelCache.getLabelMap(second);
+        rulesetLabelCache.getLabelMap(first);
+        rulesetLabelCache.getLabelMap(third);
+
+        assertEquals(2, rulesetLabelCache.getSize());
+        assertEquals(1, rulesetLabelCache.getEvictionCount());
+        rulesetLabelCache.getLabelMap(first);
+        assertEquals(2, rulesetLabelCache.getHitCount(), "First ruleset should still be cached");
+    }
+}
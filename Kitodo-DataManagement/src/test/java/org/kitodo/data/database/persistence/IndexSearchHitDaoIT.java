@@ -0,0 +1,58 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.data.database.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kitodo.MockIndex;
+import org.kitodo.data.database.exceptions.DAOException;
+
+public class IndexSearchHitDaoIT {
+
+    private static final String COUNT_HITS = "SELECT COUNT(*) FROM IndexSearchHit WHERE searchKey = :searchKey";
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        MockIndex.startNode();
+    }
+
+    @AfterAll
+    public static void tearDown() throws Exception {
+        MockIndex.stopNode();
+    }
+
+    @Test
+    public void shouldStageAndReleaseHits() throws DAOException {
+        IndexSearchHitDAO indexSearchHitDAO = new IndexSearchHitDAO();
+        indexSearchHitDAO.stage("first", Arrays.asList(1, 2, 3));
+        indexSearchHitDAO.stage("first", Arrays.asList(4, 5));
+        indexSearchHitDAO.stage("second", Collections.singletonList(1));
+
+        assertEquals(5L, indexSearchHitDAO.count(COUNT_HITS, Collections.singletonMap("searchKey", "first")),
+            "Hits were not staged!");
+        assertEquals(1L, indexSearchHitDAO.count(COUNT_HITS, Collections.singletonMap("searchKey", "second")),
+            "Hits were not staged!");
+
+        indexSearchHitDAO.release("first");
+        assertEquals(0L, indexSearchHitDAO.count(COUNT_HITS, Collections.singletonMap("searchKey", "first")),
+            "Hits were not released!");
+        assertEquals(1L, indexSearchHitDAO.count(COUNT_HITS, Collections.singletonMap("searchKey", "second")),
+            "Hits of other search were released!");
+        indexSearchHitDAO.release("second");
+    }
+}
@@ -16,7 +16,10 @@ public enum ParameterImageManagement implements ParameterInterface {
     DIR_TMP("ImageManagement.tmpDir"),
     SEARCH_PATH("ImageManagement.searchPath"),
     TIMEOUT_SEC("ImageManagement.timeoutSec"),
-    SSH_HOST("ImageManagement.sshHosts");
+    SSH_HOST("ImageManagement.sshHosts"),
+    WORKER_MODE("ImageManagement.workerMode"),
+    WORKERS("ImageManagement.workers"),
+    BATCH_SIZE("ImageManagement.batchSize");
 
     private final String name;
 
@@ -16,7 +16,6 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.NoSuchElementException;
-import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.exec.CommandLine;
@@ -42,12 +41,6 @@ class ConvertRunner {
      */
     private static final String CONVERT_COMMAND = "convert";
 
-    /**
-     * Randomness generator used to distribute the requests evenly on several
-     * configured SSH hosts.
-     */
-    private static final Random RANDOMNESS_GENERATOR = new Random();
-
     /**
      * Default timeout.
      */
@@ -67,36 +60,60 @@ class ConvertRunner {
      *             if I/O fails
      */
     void run(IMOperation commandLine) throws IOException {
+        run(commandLine, 1);
+    }
+
+    /**
+     * Executes the ImageMagick command using Apache Commons Exec. If SSH hosts
+     * are configured, the command is sent to the host with the fewest commands
+     * currently running.
+     *
+     * @param commandLine
+     *            command line to execute
+     * @param images
+     *            number of source images processed by the command line, the
+     *            timeout is extended accordingly
+     * @throws IOException
+     *             if I/O fails
+     */
+    void run(IMOperation commandLine, int images) throws IOException {
         Executor executor = new DefaultExecutor();
 
         OutputStream outAndErr = new ByteArrayOutputStream();
         executor.setStreamHandler(new PumpStreamHandler(outAndErr));
 
-        long timeoutMillis = 1000L * KitodoConfig.getIntParameter(ParameterImageManagement.TIMEOUT_SEC, DEFAULT_TIMEOUT_SECS);
+        long timeoutMillis = 1000L * images
+                * KitodoConfig.getIntParameter(ParameterImageManagement.TIMEOUT_SEC, DEFAULT_TIMEOUT_SECS);
         executor.setWatchdog(new ExecuteWatchdog(timeoutMillis));
 
+        HostDispatcher hostDispatcher = HostDispatcher.getInstance();
         CommandLine command;
+        String host;
         try {
             String sshHosts = KitodoConfig.getParameter(ParameterImageManagement.SSH_HOST);
             command = new CommandLine("ssh");
-            String[] hosts = sshHosts.split(",");
-            String host = hosts[RANDOMNESS_GENERATOR.nextInt(hosts.length)];
+            host = hostDispatcher.acquire(sshHosts.split(","));
             command.addArgument(host, false);
             command.addArgument(convertCommand + ' ' + commandLine.toString(), false);
         } catch (NoSuchElementException e) {
             logger.trace("SSH not configured.", e);
             command = new CommandLine(convertCommand);
             command.addArguments(commandLine.toString(), false);
+            host = HostDispatcher.LOCALHOST;
+            hostDispatcher.acquire(host);
         }
 
         try {
             logger.debug("Executing: {}", command);
-            logger.trace("Timeout: {} mins", timeoutMillis / 60000d);
+            logger.trace("Timeout: {} mins, queue depths: {}", timeoutMillis / 60000d,
+                hostDispatcher.getQueueDepths());
             executor.execute(command);
             logger.debug("Command output:{}{}", System.lineSeparator(), outAndErr.toString());
         } catch (IOException | RuntimeException e) {
             logger.error("Command output:{}{}", System.lineSeparator(), outAndErr.toString());
             throw e;
+        } finally {
+            hostDispatcher.release(host);
         }
     }
 
@@ -0,0 +1,237 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.imagemanagement;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.config.KitodoConfig;
+import org.kitodo.config.enums.ParameterImageManagement;
+
+/**
+ * Long-lived workers that perform the image conversions in worker mode. The
+ * number of workers limits how many conversions run at the same time. In-JVM
+ * conversions occupy a worker each. Conversions that need ImageMagick are
+ * queued, and a worker takes all queued conversions, up to the batch size, and
+ * performs them in one single {@code convert} call. So, under load, the
+ * process start-up cost is shared by several images.
+ */
+class ConvertWorkers {
+    private static final Logger logger = LogManager.getLogger(ConvertWorkers.class);
+
+    /**
+     * Default number of source images processed in one {@code convert} call.
+     */
+    private static final int DEFAULT_BATCH_SIZE = 8;
+
+    private static volatile ConvertWorkers instance;
+
+    /**
+     * Maximum number of source images processed in one {@code convert} call.
+     */
+    private final int batchSize;
+
+    /**
+     * Conversions waiting for a {@code convert} call.
+     */
+    private final Queue<PendingConversion> pendingConversions = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The workers.
+     */
+    private final ExecutorService workers;
+
+    /**
+     * A conversion waiting to be performed, with the future to report its
+     * completion to.
+     */
+    private static class PendingConversion {
+        private final ImageConverter imageConverter;
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        private PendingConversion(ImageConverter imageConverter) {
+            this.imageConverter = imageConverter;
+        }
+    }
+
+    /**
+     * A piece of work performed in the JVM that may throw an IOException.
+     *
+     * @param <T>
+     *            type of result
+     */
+    @FunctionalInterface
+    interface Conversion<T> {
+        T perform() throws IOException;
+    }
+
+    private ConvertWorkers(int workerCount, int batchSize) {
+        this.batchSize = batchSize;
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "ImageManagementWorker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.workers = Executors.newFixedThreadPool(workerCount, threadFactory);
+        logger.info("Started {} image conversion workers, batch size {}", workerCount, batchSize);
+    }
+
+    /**
+     * Returns whether the worker mode is switched on.
+     *
+     * @return whether the worker mode is switched on
+     */
+    static boolean isEnabled() {
+        return KitodoConfig.getBooleanParameter(ParameterImageManagement.WORKER_MODE, false);
+    }
+
+    /**
+     * Returns the workers, starting them on first use.
+     *
+     * @return the workers
+     */
+    static ConvertWorkers getInstance() {
+        ConvertWorkers result = instance;
+        if (Objects.isNull(result)) {
+            synchronized (ConvertWorkers.class) {
+                result = instance;
+                if (Objects.isNull(result)) {
+                    int cores = Runtime.getRuntime().availableProcessors();
+                    int workerCount = KitodoConfig.getIntParameter(ParameterImageManagement.WORKERS, cores);
+                    int batchSize = KitodoConfig.getIntParameter(ParameterImageManagement.BATCH_SIZE,
+                        DEFAULT_BATCH_SIZE);
+                    result = new ConvertWorkers(Math.max(1, workerCount), Math.max(1, batchSize));
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Performs a conversion in the JVM on one of the workers, and waits for its
+     * result.
+     *
+     * @param conversion
+     *            conversion to perform
+     * @return the result of the conversion
+     * @throws IOException
+     *             if the conversion fails, or the waiting thread is
+     *             interrupted
+     */
+    <T> T call(Conversion<T> conversion) throws IOException {
+        Future<T> future = workers.submit(() -> {
+            HostDispatcher.getInstance().acquire(HostDispatcher.LOCALHOST);
+            try {
+                return conversion.perform();
+            } finally {
+                HostDispatcher.getInstance().release(HostDispatcher.LOCALHOST);
+            }
+        });
+        return await(future);
+    }
+
+    /**
+     * Queues a conversion that needs ImageMagick, and waits until it is
+     * complete.
+     *
+     * @param imageConverter
+     *            conversion to perform
+     * @throws IOException
+     *             if the conversion fails, or the waiting thread is
+     *             interrupted
+     */
+    void convert(ImageConverter imageConverter) throws IOException {
+        PendingConversion pendingConversion = new PendingConversion(imageConverter);
+        pendingConversions.add(pendingConversion);
+        workers.execute(this::runBatch);
+        await(pendingConversion.completion);
+    }
+
+    /**
+     * Takes the queued conversions, up to the batch size, and performs them in
+     * one {@code convert} call. If the call fails, the conversions are repeated
+     * one by one, so that a single broken image does not fail the others. If
+     * other workers have already taken all queued conversions, nothing happens.
+     */
+    private void runBatch() {
+        List<PendingConversion> batch = new ArrayList<>(batchSize);
+        for (PendingConversion next; batch.size() < batchSize && Objects.nonNull(next = pendingConversions.poll());) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (batch.size() > 1) {
+            List<ImageConverter> imageConverters = new ArrayList<>(batch.size());
+            for (PendingConversion pendingConversion : batch) {
+                imageConverters.add(pendingConversion.imageConverter);
+            }
+            try {
+                logger.debug("Converting {} images in one call", batch.size());
+                ImageConverter.run(imageConverters);
+                batch.forEach(pendingConversion -> pendingConversion.completion.complete(null));
+                return;
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Batch conversion of {} failed, converting one by one", imageConverters, e);
+            }
+        }
+        for (PendingConversion pendingConversion : batch) {
+            try {
+                ImageConverter.run(List.of(pendingConversion.imageConverter));
+                pendingConversion.completion.complete(null);
+            } catch (IOException | RuntimeException e) {
+                pendingConversion.completion.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            InterruptedIOException interruptedIOException = new InterruptedIOException(e.getMessage());
+            interruptedIOException.initCause(e);
+            throw interruptedIOException;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
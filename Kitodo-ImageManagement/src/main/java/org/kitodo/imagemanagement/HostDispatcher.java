@@ -0,0 +1,118 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.imagemanagement;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Distributes {@code convert} calls on the hosts that run them. Every call is
+ * sent to the host with the fewest calls currently running on it. The number of
+ * running calls per host can be queried for monitoring.
+ */
+class HostDispatcher {
+
+    /**
+     * Name under which calls executed on this machine are counted.
+     */
+    static final String LOCALHOST = "localhost";
+
+    private static final HostDispatcher INSTANCE = new HostDispatcher();
+
+    /**
+     * Number of calls currently running, per host.
+     */
+    private final Map<String, AtomicInteger> queueDepths = new ConcurrentHashMap<>();
+
+    /**
+     * Rotates the starting point of the search, so that hosts with equal load
+     * are used in turn.
+     */
+    private final AtomicInteger turn = new AtomicInteger();
+
+    /**
+     * Returns the dispatcher shared by all {@code convert} calls of this
+     * module.
+     *
+     * @return the dispatcher
+     */
+    static HostDispatcher getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Chooses the least loaded host out of the given ones and counts one more
+     * call on it. The call must be reported to {@link #release(String)} when it
+     * has ended.
+     *
+     * @param hosts
+     *            hosts to choose from, must not be empty
+     * @return the chosen host
+     */
+    String acquire(String[] hosts) {
+        int start = Math.floorMod(turn.getAndIncrement(), hosts.length);
+        String leastLoaded = null;
+        int lowestDepth = Integer.MAX_VALUE;
+        for (int i = 0; i < hosts.length; i++) {
+            String host = hosts[(start + i) % hosts.length];
+            int depth = counter(host).get();
+            if (depth < lowestDepth) {
+                leastLoaded = host;
+                lowestDepth = depth;
+            }
+        }
+        counter(leastLoaded).incrementAndGet();
+        return leastLoaded;
+    }
+
+    /**
+     * Counts one more call on the given host, without choosing. This is used
+     * for calls that can only run on one host.
+     *
+     * @param host
+     *            host the call runs on
+     */
+    void acquire(String host) {
+        counter(host).incrementAndGet();
+    }
+
+    /**
+     * Reports that a call on the given host has ended.
+     *
+     * @param host
+     *            host the call ran on
+     */
+    void release(String host) {
+        counter(host).decrementAndGet();
+    }
+
+    /**
+     * Returns the number of calls currently running per host. Hosts that have
+     * been used before, but are idle now, are reported with zero.
+     *
+     * @return the number of running calls per host
+     */
+    Map<String, Integer> getQueueDepths() {
+        Map<String, Integer> result = new TreeMap<>();
+        for (Entry<String, AtomicInteger> entry : queueDepths.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().get());
+        }
+        return result;
+    }
+
+    private AtomicInteger counter(String host) {
+        return queueDepths.computeIfAbsent(host, key -> new AtomicInteger());
+    }
+}
@@ -17,8 +17,10 @@ import java.net.URI;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.apache.logging.log4j.LogManager;
@@ -160,14 +162,39 @@ class ImageConverter {
     }
 
     /**
-     * Performs the conversion by calling ImageMagick.
+     * Performs the conversion by calling ImageMagick. In worker mode, the
+     * conversion is handed to the {@link ConvertWorkers}, which may combine it
+     * with other pending conversions into one call.
      */
     void run() throws IOException {
+        if (ConvertWorkers.isEnabled()) {
+            ConvertWorkers.getInstance().convert(this);
+        } else {
+            run(Collections.singletonList(this));
+        }
+    }
+
+    /**
+     * Performs several conversions in one single ImageMagick call. The source
+     * images are processed one after the other, each one is removed from the
+     * image sequence before the next one is read, so only one source image is
+     * held in memory at a time.
+     *
+     * @param imageConverters
+     *            conversions to perform
+     */
+    static void run(List<ImageConverter> imageConverters) throws IOException {
         IMOperation commandLine = new IMOperation();
         configureImageMagick(commandLine);
         commandLine.addRawArgs(OPTION_UNITS, OPTION_UNITS_TYPE_PIXELSPERINCH);
-        commandLine.addImage(URLDecoder.decode( "'" + source + "'", StandardCharsets.UTF_8));
-        results.forEach(result -> result.addToCommandLine(commandLine));
+        for (Iterator<ImageConverter> iterator = imageConverters.iterator(); iterator.hasNext();) {
+            ImageConverter imageConverter = iterator.next();
+            commandLine.addImage(URLDecoder.decode("'" + imageConverter.source + "'", StandardCharsets.UTF_8));
+            imageConverter.results.forEach(result -> result.addToCommandLine(commandLine));
+            if (iterator.hasNext()) {
+                commandLine.p_delete();
+            }
+        }
         commandLine.addImage(FORMAT_OFF);
         ConvertRunner convertRunner = new ConvertRunner();
         try {
@@ -175,7 +202,12 @@ class ImageConverter {
         } catch (NoSuchElementException e) {
             logger.trace("No deviant search path configured.", e);
         }
-        convertRunner.run(commandLine);
+        convertRunner.run(commandLine, imageConverters.size());
+    }
+
+    @Override
+    public String toString() {
+        return source;
     }
 
     /**
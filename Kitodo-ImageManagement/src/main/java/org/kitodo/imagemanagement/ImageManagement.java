@@ -12,11 +12,13 @@
 package org.kitodo.imagemanagement;
 
 import java.awt.Image;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
+import java.util.Optional;
 import java.util.function.Function;
 
 import javax.imageio.ImageIO;
@@ -65,6 +67,14 @@ public class ImageManagement implements ImageManagementInterface {
     public Image changeDpi(URI sourceUri, int dpi) throws IOException {
         fileExists(sourceUri);
         Guard.isPositive("dpi", dpi);
+        if (ConvertWorkers.isEnabled()) {
+            Optional<BufferedImage> image = ConvertWorkers.getInstance()
+                    .call(() -> JavaImageScaler.resampleToDpi(sourceUri, dpi));
+            if (image.isPresent()) {
+                logger.info("Resized {} to {} DPI in the JVM", sourceUri, dpi);
+                return image.get();
+            }
+        }
         return summarize("dpiChangedImage-", RAW_IMAGE_FORMAT, sourceUri, lambda -> lambda.resizeToDpi(dpi),
             "Resizing {} as {} to {} DPI", dpi);
     }
@@ -86,6 +96,12 @@ public class ImageManagement implements ImageManagementInterface {
             throw new NullPointerException("resultUri must not be null");
         }
 
+        if (ConvertWorkers.isEnabled() && ConvertWorkers.getInstance()
+                .call(() -> JavaImageScaler.createDerivative(sourceUri, factor, resultUri, format))) {
+            logger.info("Created derivative from {} as {}, format {}, factor {}% in the JVM", sourceUri, resultUri,
+                format, 100 * factor);
+            return true;
+        }
         ImageConverter imageConverter = new ImageConverter(sourceUri);
         imageConverter.addResult(resultUri, format).resize(factor);
         logger.info("Creating derivative from {} as {}, format {}, factor {}%", sourceUri, resultUri, format,
@@ -106,6 +122,14 @@ public class ImageManagement implements ImageManagementInterface {
 
         fileExists(sourceUri);
         Guard.isPositive("width", width);
+        if (ConvertWorkers.isEnabled()) {
+            Optional<BufferedImage> image = ConvertWorkers.getInstance()
+                    .call(() -> JavaImageScaler.scaleToWidth(sourceUri, width));
+            if (image.isPresent()) {
+                logger.info("Generated sized web image from {} in the JVM, width {} px", sourceUri, width);
+                return image.get();
+            }
+        }
 
         return summarize("sizedWebImage-", WEB_IMAGE_FORMAT, sourceUri, lambda -> lambda.resizeToWidth(width),
             "Generating sized web image from {} as {}, width {} px", width);
@@ -0,0 +1,247 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.imagemanagement;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataFormatImpl;
+import javax.imageio.stream.ImageInputStream;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.kitodo.api.imagemanagement.ImageFileFormat;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Scales images inside the JVM, using the image readers and writers installed
+ * in {@link ImageIO}. This avoids starting an ImageMagick process for the
+ * simple cases of scaling by factor, to a width, or to a resolution. If the
+ * source image cannot be read, or the result format cannot be written, the
+ * methods report that, and the caller falls back to ImageMagick.
+ */
+class JavaImageScaler {
+
+    /**
+     * Resolution assumed by ImageMagick if the image does not specify one.
+     */
+    private static final double DEFAULT_DPI = 72;
+
+    private static final double MILLIMETERS_PER_INCH = 25.4;
+
+    private JavaImageScaler() {
+    }
+
+    /**
+     * Creates a derivative scaled by a factor, and writes it to a file.
+     *
+     * @param sourceUri
+     *            source image
+     * @param factor
+     *            scaling factor, 1 is the original size
+     * @param resultUri
+     *            file to write to
+     * @param format
+     *            format to write
+     * @return whether the derivative was written. If not, the source could not
+     *         be read, or the format is not supported by ImageIO.
+     * @throws IOException
+     *             if reading or writing fails
+     */
+    static boolean createDerivative(URI sourceUri, double factor, URI resultUri, ImageFileFormat format)
+            throws IOException {
+        Optional<String> formatName = getWritableFormatName(format);
+        if (formatName.isEmpty()) {
+            return false;
+        }
+        Optional<Pair<BufferedImage, Double>> source = read(sourceUri);
+        if (source.isEmpty()) {
+            return false;
+        }
+        BufferedImage scaled = scale(source.get().getKey(),
+            (int) Math.round(factor * source.get().getKey().getWidth()));
+        if (!"png".equals(formatName.get()) && scaled.getColorModel().hasAlpha()) {
+            scaled = withoutAlpha(scaled);
+        }
+        return ImageIO.write(scaled, formatName.get(), new File(resultUri));
+    }
+
+    /**
+     * Scales an image to a given resolution, like ImageMagick’s
+     * {@code -resample} does.
+     *
+     * @param sourceUri
+     *            source image
+     * @param dpi
+     *            target resolution
+     * @return the scaled image, or empty if the source could not be read
+     * @throws IOException
+     *             if reading fails
+     */
+    static Optional<BufferedImage> resampleToDpi(URI sourceUri, int dpi) throws IOException {
+        return read(sourceUri).map(source -> scale(source.getKey(),
+            (int) Math.round(source.getKey().getWidth() * dpi / source.getValue())));
+    }
+
+    /**
+     * Scales an image to a given width, keeping the aspect ratio.
+     *
+     * @param sourceUri
+     *            source image
+     * @param width
+     *            target width in pixels
+     * @return the scaled image, or empty if the source could not be read
+     * @throws IOException
+     *             if reading fails
+     */
+    static Optional<BufferedImage> scaleToWidth(URI sourceUri, int width) throws IOException {
+        return read(sourceUri).map(source -> scale(source.getKey(), width));
+    }
+
+    /**
+     * Reads the first image from a file, together with its horizontal
+     * resolution.
+     *
+     * @param sourceUri
+     *            file to read
+     * @return the image and its resolution in DPI, or empty if there is no
+     *         reader for the file
+     */
+    private static Optional<Pair<BufferedImage, Double>> read(URI sourceUri) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new File(sourceUri))) {
+            if (Objects.isNull(input)) {
+                return Optional.empty();
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return Optional.empty();
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true);
+                BufferedImage image = reader.read(0);
+                return Optional.of(Pair.of(image, getDpi(reader.getImageMetadata(0))));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Determines the horizontal resolution from the format-neutral image
+     * metadata.
+     */
+    private static double getDpi(IIOMetadata metadata) {
+        if (Objects.isNull(metadata) || !metadata.isStandardMetadataFormatSupported()) {
+            return DEFAULT_DPI;
+        }
+        Node root = metadata.getAsTree(IIOMetadataFormatImpl.standardMetadataFormatName);
+        NodeList pixelSizes = ((Element) root).getElementsByTagName("HorizontalPixelSize");
+        if (pixelSizes.getLength() == 0) {
+            return DEFAULT_DPI;
+        }
+        Node value = pixelSizes.item(0).getAttributes().getNamedItem("value");
+        if (Objects.isNull(value)) {
+            return DEFAULT_DPI;
+        }
+        try {
+            double millimetersPerPixel = Double.parseDouble(value.getNodeValue());
+            return millimetersPerPixel > 0 ? MILLIMETERS_PER_INCH / millimetersPerPixel : DEFAULT_DPI;
+        } catch (NumberFormatException e) {
+            return DEFAULT_DPI;
+        }
+    }
+
+    /**
+     * Scales an image to a width, keeping the aspect ratio. Reductions by more
+     * than half are done in several halving steps, which gives a much smoother
+     * result than a single bicubic step.
+     */
+    private static BufferedImage scale(BufferedImage source, int width) {
+        int targetWidth = Math.max(1, width);
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= targetWidth) {
+            current = draw(current, current.getWidth() / 2, Math.max(1, current.getHeight() / 2));
+        }
+        if (current.getWidth() == targetWidth) {
+            return current;
+        }
+        int targetHeight = (int) Math.max(1, Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        return draw(current, targetWidth, targetHeight);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage result = new BufferedImage(width, height, type);
+        Graphics2D graphics = result.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return result;
+    }
+
+    private static BufferedImage withoutAlpha(BufferedImage source) {
+        BufferedImage result = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = result.createGraphics();
+        try {
+            graphics.drawImage(source, 0, 0, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the ImageIO format name for a file format, if ImageIO can write
+     * it.
+     */
+    private static Optional<String> getWritableFormatName(ImageFileFormat format) {
+        String formatName;
+        switch (format) {
+            case BMP:
+                formatName = "bmp";
+                break;
+            case GIF:
+                formatName = "gif";
+                break;
+            case JPEG:
+                formatName = "jpeg";
+                break;
+            case PNG:
+                formatName = "png";
+                break;
+            case TIFF:
+                formatName = "tiff";
+                break;
+            default:
+                return Optional.empty();
+        }
+        return ImageIO.getImageWritersByFormatName(formatName).hasNext() ? Optional.of(formatName)
+                : Optional.empty();
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.imagemanagement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class HostDispatcherTest {
+
+    private static final String[] HOSTS = {"user@rhost1.kitodo.org", "user@rhost2.kitodo.org"};
+
+    @Test
+    public void shouldDispatchToLeastLoadedHost() {
+        HostDispatcher hostDispatcher = new HostDispatcher();
+        String first = hostDispatcher.acquire(HOSTS);
+        String second = hostDispatcher.acquire(HOSTS);
+        assertNotEquals(first, second, "Second call should go to the idle host");
+
+        hostDispatcher.release(second);
+        assertEquals(second, hostDispatcher.acquire(HOSTS), "Call should go to the host that became idle");
+    }
+
+    @Test
+    public void shouldReportQueueDepths() {
+        HostDispatcher hostDispatcher = new HostDispatcher();
+        hostDispatcher.acquire(HOSTS);
+        hostDispatcher.acquire(HOSTS);
+        hostDispatcher.acquire(HOSTS);
+        hostDispatcher.acquire(HostDispatcher.LOCALHOST);
+        hostDispatcher.release(HostDispatcher.LOCALHOST);
+
+        Map<String, Integer> queueDepths = hostDispatcher.getQueueDepths();
+        assertEquals(3, queueDepths.size());
+        assertEquals(3, queueDepths.get(HOSTS[0]) + queueDepths.get(HOSTS[1]));
+        assertEquals(1, Math.abs(queueDepths.get(HOSTS[0]) - queueDepths.get(HOSTS[1])));
+        assertEquals(0, queueDepths.get(HostDispatcher.LOCALHOST));
+    }
+}
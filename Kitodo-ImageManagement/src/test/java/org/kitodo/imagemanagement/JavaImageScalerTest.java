@@ -0,0 +1,76 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.imagemanagement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kitodo.api.imagemanagement.ImageFileFormat;
+
+public class JavaImageScalerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private File createSourceImage() throws IOException {
+        File source = tempDir.resolve("00000001.png").toFile();
+        ImageIO.write(new BufferedImage(480, 640, BufferedImage.TYPE_3BYTE_BGR), "png", source);
+        return source;
+    }
+
+    @Test
+    public void shouldCreateDerivative() throws IOException {
+        File source = createSourceImage();
+        File result = tempDir.resolve("00000001.jpg").toFile();
+
+        assertTrue(JavaImageScaler.createDerivative(source.toURI(), 0.25, result.toURI(), ImageFileFormat.JPEG));
+        BufferedImage derivative = ImageIO.read(result);
+        assertEquals(120, derivative.getWidth());
+        assertEquals(160, derivative.getHeight());
+    }
+
+    @Test
+    public void shouldLeaveUnsupportedFormatsToImageMagick() throws IOException {
+        File source = createSourceImage();
+        File result = tempDir.resolve("00000001.jp2").toFile();
+
+        assertFalse(JavaImageScaler.createDerivative(source.toURI(), 0.5, result.toURI(), ImageFileFormat.JPEG2000));
+        assertFalse(result.exists());
+    }
+
+    @Test
+    public void shouldScaleToWidth() throws IOException {
+        File source = createSourceImage();
+
+        BufferedImage image = JavaImageScaler.scaleToWidth(source.toURI(), 150).orElseThrow();
+        assertEquals(150, image.getWidth());
+        assertEquals(200, image.getHeight());
+    }
+
+    @Test
+    public void shouldNotReadUnknownFormats() throws IOException {
+        Path source = Files.writeString(tempDir.resolve("00000001.tif"), "not an image");
+
+        assertTrue(JavaImageScaler.scaleToWidth(source.toUri(), 150).isEmpty());
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.config.enums;
+
+public enum ParameterQueryURLImport implements ParameterInterface {
+
+    /**
+     * Maximum number of connections to the same catalogue that are open at
+     * the same time. This is also the number of requests sent to a catalogue
+     * concurrently.
+     */
+    CATALOGUE_MAX_CONNECTIONS_PER_HOST("catalogue.maxConnectionsPerHost"),
+
+    /**
+     * Maximum number of records requested from a catalogue with one request.
+     * If more records are needed, they are requested in several requests,
+     * which are sent concurrently.
+     */
+    CATALOGUE_RECORDS_PER_REQUEST("catalogue.recordsPerRequest");
+
+    private final String name;
+
+    /**
+     * Private constructor to hide the implicit public one.
+     *
+     * @param name
+     *            of parameter
+     */
+    ParameterQueryURLImport(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public java.lang.String toString() {
+        return this.name;
+    }
+}
@@ -23,6 +23,7 @@ import java.net.URLEncoder;
 import java.net.UnknownHostException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -31,6 +32,13 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.xml.XMLConstants;
@@ -49,18 +57,20 @@ import org.apache.commons.net.ftp.FTPClient;
 import org.apache.commons.net.ftp.FTPFile;
 import org.apache.commons.net.ftp.FTPFileFilter;
 import org.apache.http.HttpEntity;
-import org.apache.http.HttpResponse;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.utils.URLEncodedUtils;
 import org.apache.http.conn.ConnectTimeoutException;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicNameValuePair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -73,6 +83,8 @@ import org.kitodo.api.externaldatamanagement.XmlResponseHandler;
 import org.kitodo.api.schemaconverter.DataRecord;
 import org.kitodo.api.schemaconverter.FileFormat;
 import org.kitodo.api.schemaconverter.MetadataFormat;
+import org.kitodo.config.KitodoConfig;
+import org.kitodo.config.enums.ParameterQueryURLImport;
 import org.kitodo.exceptions.CatalogException;
 import org.kitodo.exceptions.ConfigException;
 import org.kitodo.exceptions.NoRecordFoundException;
@@ -93,9 +105,18 @@ public class QueryURLImport implements ExternalDataImportInterface {
     private static final String EQUALS_OPERAND_ENCODED = "%3D";
     private static final String AND = "&";
     private static final String OAI_IDENTIFIER = "identifier";
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 4;
+    private static final int DEFAULT_RECORDS_PER_REQUEST = 100;
+    private static final int IDLE_CONNECTION_SECONDS = 30;
     private final Charset encoding = StandardCharsets.UTF_8;
 
-    private CloseableHttpClient httpClient = HttpClientBuilder.create().build();
+    /**
+     * HTTP clients by catalogue. The module is loaded anew for each import, so
+     * the clients are shared between the instances, so that the connections to
+     * a catalogue are kept alive and reused.
+     */
+    private static final Map<String, CloseableHttpClient> httpClients = new ConcurrentHashMap<>();
+
     private final FTPClient ftpClient = new FTPClient();
 
     @Override
@@ -114,6 +135,26 @@ public class QueryURLImport implements ExternalDataImportInterface {
         }
     }
 
+    @Override
+    public List<DataRecord> getFullRecordsById(DataImport dataImport, List<String> identifiers)
+            throws NoRecordFoundException {
+        if (SearchInterfaceType.FTP.equals(dataImport.getSearchInterfaceType()) || identifiers.size() < 2) {
+            return ExternalDataImportInterface.super.getFullRecordsById(dataImport, identifiers);
+        }
+        List<Callable<DataRecord>> requests = new ArrayList<>(identifiers.size());
+        for (String identifier : identifiers) {
+            requests.add(() -> getFullRecordById(dataImport, identifier));
+        }
+        try {
+            return requestConcurrently(requests);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof NoRecordFoundException) {
+                throw (NoRecordFoundException) e.getCause();
+            }
+            throw new CatalogException(e.getCause().getLocalizedMessage());
+        }
+    }
+
     @Override
     public List<DataRecord> getMultipleFullRecordsFromQuery(DataImport dataImport, String field, String value,
                                                             int rows) {
@@ -127,23 +168,33 @@ public class QueryURLImport implements ExternalDataImportInterface {
 
             try {
                 URI queryURL = createQueryURI(dataImport, queryParameters);
-                String queryString = queryURL + AND;
                 SearchInterfaceType interfaceType = dataImport.getSearchInterfaceType();
-                if (Objects.nonNull(interfaceType)) {
-                    if (Objects.nonNull(interfaceType.getStartRecordString())
-                            && Objects.nonNull(interfaceType.getDefaultStartValue())) {
-                        queryString = queryString + interfaceType.getStartRecordString() + EQUALS_OPERAND
-                                + interfaceType.getDefaultStartValue() + AND;
-                    }
-                    if (Objects.nonNull(interfaceType.getMaxRecordsString())) {
-                        queryString = queryString + interfaceType.getMaxRecordsString() + EQUALS_OPERAND + rows + AND;
-                    }
-                    if (Objects.nonNull(interfaceType.getQueryString())) {
-                        queryString = queryString + interfaceType.getQueryString() + EQUALS_OPERAND;
-                    }
+                String searchFieldString = createSearchFieldString(interfaceType, searchFieldMap);
+                int recordsPerRequest = Math.max(1, KitodoConfig.getIntParameter(
+                    ParameterQueryURLImport.CATALOGUE_RECORDS_PER_REQUEST, DEFAULT_RECORDS_PER_REQUEST));
+                if (rows <= recordsPerRequest || !isPageable(interfaceType)) {
+                    int start = Objects.nonNull(interfaceType) && Objects.nonNull(interfaceType.getDefaultStartValue())
+                            ? Integer.parseInt(interfaceType.getDefaultStartValue()) : 0;
+                    return performQueryToMultipleRecords(dataImport,
+                        createMultipleRecordsQueryString(queryURL, interfaceType, start, rows, searchFieldString));
                 }
-                queryString = queryString + createSearchFieldString(interfaceType, searchFieldMap);
-                return performQueryToMultipleRecords(dataImport, queryString);
+                int firstRecord = Integer.parseInt(interfaceType.getDefaultStartValue());
+                List<Callable<List<DataRecord>>> requests = new ArrayList<>();
+                for (int offset = 0; offset < rows; offset += recordsPerRequest) {
+                    String queryString = createMultipleRecordsQueryString(queryURL, interfaceType,
+                        firstRecord + offset, Math.min(recordsPerRequest, rows - offset), searchFieldString);
+                    requests.add(() -> performQueryToMultipleRecords(dataImport, queryString));
+                }
+                List<DataRecord> records = new LinkedList<>();
+                for (List<DataRecord> page : requestConcurrently(requests)) {
+                    records.addAll(page);
+                }
+                return records;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                logger.error(e.getCause().getLocalizedMessage());
             } catch (URISyntaxException | IOException | ParserConfigurationException | SAXException
                     | TransformerException e) {
                 logger.error(e.getLocalizedMessage());
@@ -152,6 +203,59 @@ public class QueryURLImport implements ExternalDataImportInterface {
         return Collections.emptyList();
     }
 
+    private static boolean isPageable(SearchInterfaceType interfaceType) {
+        return Objects.nonNull(interfaceType) && Objects.nonNull(interfaceType.getStartRecordString())
+                && Objects.nonNull(interfaceType.getDefaultStartValue())
+                && Objects.nonNull(interfaceType.getMaxRecordsString());
+    }
+
+    private static String createMultipleRecordsQueryString(URI queryURL, SearchInterfaceType interfaceType,
+            int start, int rows, String searchFieldString) {
+        String queryString = queryURL + AND;
+        if (Objects.nonNull(interfaceType)) {
+            if (Objects.nonNull(interfaceType.getStartRecordString())
+                    && Objects.nonNull(interfaceType.getDefaultStartValue())) {
+                queryString = queryString + interfaceType.getStartRecordString() + EQUALS_OPERAND + start + AND;
+            }
+            if (Objects.nonNull(interfaceType.getMaxRecordsString())) {
+                queryString = queryString + interfaceType.getMaxRecordsString() + EQUALS_OPERAND + rows + AND;
+            }
+            if (Objects.nonNull(interfaceType.getQueryString())) {
+                queryString = queryString + interfaceType.getQueryString() + EQUALS_OPERAND;
+            }
+        }
+        return queryString + searchFieldString;
+    }
+
+    /**
+     * Sends the requests concurrently, but not more to one catalogue at the
+     * same time than connections are allowed. The results are returned in the
+     * order of the requests.
+     *
+     * @throws ExecutionException
+     *             with the exception of the first request that failed
+     */
+    private static <T> List<T> requestConcurrently(List<Callable<T>> requests) throws ExecutionException {
+        int threads = Math.min(requests.size(), getMaxConnectionsPerHost());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "QueryURLImport-request");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<T> results = new ArrayList<>(requests.size());
+            for (Future<T> future : executor.invokeAll(requests)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CatalogException("Interrupted while requesting records");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Override
     public SearchResult search(DataImport dataImport, String field, String term, int rows) {
         return search(dataImport, field, term, 1, rows);
@@ -182,23 +286,45 @@ public class QueryURLImport implements ExternalDataImportInterface {
         return Collections.emptyList();
     }
 
-    private void reinitializeHttpClient(String username, String password) throws IOException {
-        httpClient.close();
-        if (StringUtils.isNotBlank(username) && StringUtils.isNotBlank(password)) {
+    /**
+     * Returns the HTTP client for the catalogue of the data import. The client
+     * keeps the connections to the catalogue alive for reuse.
+     */
+    private static CloseableHttpClient getHttpClient(DataImport dataImport) {
+        String username = dataImport.getUsername();
+        String password = dataImport.getPassword();
+        boolean authenticated = StringUtils.isNotBlank(username) && StringUtils.isNotBlank(password);
+        String key = String.join("|", Objects.toString(dataImport.getScheme(), ""),
+            Objects.toString(dataImport.getHost(), ""), Integer.toString(dataImport.getPort()),
+            authenticated ? username : "", authenticated ? password : "");
+        return httpClients.computeIfAbsent(key, unused -> createHttpClient(authenticated ? username : null, password));
+    }
+
+    private static CloseableHttpClient createHttpClient(String username, String password) {
+        int maxConnectionsPerHost = getMaxConnectionsPerHost();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerHost);
+        connectionManager.setMaxTotal(maxConnectionsPerHost);
+        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create().setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE).evictExpiredConnections()
+                .evictIdleConnections(IDLE_CONNECTION_SECONDS, TimeUnit.SECONDS);
+        if (Objects.nonNull(username)) {
             CredentialsProvider provider = new BasicCredentialsProvider();
             UsernamePasswordCredentials credentials = new UsernamePasswordCredentials(username, password);
             provider.setCredentials(AuthScope.ANY, credentials);
-            httpClient = HttpClientBuilder.create().setDefaultCredentialsProvider(provider).build();
-        } else {
-            httpClient = HttpClientBuilder.create().build();
+            httpClientBuilder.setDefaultCredentialsProvider(provider);
         }
+        return httpClientBuilder.build();
+    }
+
+    private static int getMaxConnectionsPerHost() {
+        return Math.max(1, KitodoConfig.getIntParameter(ParameterQueryURLImport.CATALOGUE_MAX_CONNECTIONS_PER_HOST,
+            DEFAULT_MAX_CONNECTIONS_PER_HOST));
     }
 
     private SearchResult performQuery(DataImport dataImport, String queryURL) {
-        try {
-            this.reinitializeHttpClient(dataImport.getUsername(), dataImport.getPassword());
-            logger.debug("Requesting: {}", queryURL);
-            HttpResponse response = httpClient.execute(new HttpGet(queryURL));
+        logger.debug("Requesting: {}", queryURL);
+        try (CloseableHttpResponse response = getHttpClient(dataImport).execute(new HttpGet(queryURL))) {
             int responseStatusCode = response.getStatusLine().getStatusCode();
             if (Objects.equals(responseStatusCode, SC_OK)) {
                 return XmlResponseHandler.getSearchResult(response, dataImport);
@@ -277,10 +403,8 @@ public class QueryURLImport implements ExternalDataImportInterface {
         } else {
             fullUrl += idParameter + EQUALS_OPERAND + encodedValue;
         }
-        try {
-            this.reinitializeHttpClient(dataImport.getUsername(), dataImport.getPassword());
-            logger.debug("Requesting: {}", fullUrl);
-            HttpResponse response = httpClient.execute(new HttpGet(fullUrl));
+        logger.debug("Requesting: {}", fullUrl);
+        try (CloseableHttpResponse response = getHttpClient(dataImport).execute(new HttpGet(fullUrl))) {
             if (Objects.equals(response.getStatusLine().getStatusCode(), SC_OK)) {
                 HttpEntity httpEntity = response.getEntity();
                 if (Objects.isNull(httpEntity)) {
@@ -306,9 +430,8 @@ public class QueryURLImport implements ExternalDataImportInterface {
         requestConfigBuilder.setConnectionRequestTimeout(3000);
         requestConfigBuilder.setConnectTimeout(3000);
         request.setConfig(requestConfigBuilder.build());
-        try {
-            logger.debug("Requesting: {}", queryURL);
-            HttpResponse response = httpClient.execute(request);
+        logger.debug("Requesting: {}", queryURL);
+        try (CloseableHttpResponse response = getHttpClient(dataImport).execute(request)) {
             int responseStatusCode = response.getStatusLine().getStatusCode();
             if (Objects.equals(responseStatusCode, SC_OK)) {
                 String xmlContent = IOUtils.toString(response.getEntity().getContent(), Charset.defaultCharset());
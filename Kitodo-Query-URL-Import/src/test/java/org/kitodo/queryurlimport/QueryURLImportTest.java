@@ -30,8 +30,10 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -59,6 +61,8 @@ public class QueryURLImportTest {
     private static final String RECORD_ID = "1";
     private static final String RECORD_IDENTIFIER = "recordIdentifier";
     private static final String RECORD_IDENTIFIER_VALUE = "12345";
+    private static final String PARENT_ID = "2";
+    private static final int NUMBER_OF_CHILDREN = 3;
     private static DataImport dataImport;
     private static final int PORT = 8888;
     private static final String SRU = "SRU";
@@ -86,6 +90,27 @@ public class QueryURLImportTest {
         assertEquals(RECORD_IDENTIFIER_VALUE, recordIdentifierElement.getTextContent(), "Wrong record identifier found!");
     }
 
+    @Test
+    public void shouldGetFullRecordsById() throws NoRecordFoundException {
+        QueryURLImport queryURLImport = new QueryURLImport();
+        List<DataRecord> importRecords = queryURLImport.getFullRecordsById(dataImport,
+            Arrays.asList(RECORD_ID, RECORD_ID, RECORD_ID));
+        assertEquals(3, importRecords.size(), "Wrong number of records imported!");
+        for (DataRecord importRecord : importRecords) {
+            assertThat("Original data of data record has wrong class!", importRecord.getOriginalData(),
+                instanceOf(String.class));
+        }
+    }
+
+    @Test
+    public void shouldGetMultipleFullRecordsInSeveralRequests() {
+        // 'catalogue.recordsPerRequest' is 1 in the test configuration
+        QueryURLImport queryURLImport = new QueryURLImport();
+        List<DataRecord> childRecords = queryURLImport.getMultipleFullRecordsFromQuery(dataImport, "Identifier",
+            PARENT_ID, NUMBER_OF_CHILDREN);
+        assertEquals(NUMBER_OF_CHILDREN, childRecords.size(), "Wrong number of child records imported!");
+    }
+
     private static void setupServer(String serverResponse) {
         // endpoint for importing record by id
         whenHttp(server)
@@ -96,6 +121,16 @@ public class QueryURLImportTest {
                         parameter("maximumRecords", "1"),
                         parameter("query", "ead.id=" + RECORD_ID))
                 .then(ok(), contentType("text/xml"), stringContent(serverResponse));
+
+        // endpoints for importing child records, one record per request
+        for (int startRecord = 1; startRecord <= NUMBER_OF_CHILDREN; startRecord++) {
+            whenHttp(server)
+                    .match(get("/sru"),
+                            parameter("startRecord", Integer.toString(startRecord)),
+                            parameter("maximumRecords", "1"),
+                            parameter("query", "ead.id=" + PARENT_ID))
+                    .then(ok(), contentType("text/xml"), stringContent(serverResponse));
+        }
     }
 
     private Document parseInputStreamToDocument(String inputString) throws ParserConfigurationException,
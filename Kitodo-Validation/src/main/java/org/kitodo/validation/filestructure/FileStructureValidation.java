@@ -20,11 +20,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.xml.XMLConstants;
-import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
 
 import org.apache.logging.log4j.LogManager;
@@ -32,6 +29,7 @@ import org.apache.logging.log4j.Logger;
 import org.kitodo.api.validation.State;
 import org.kitodo.api.validation.ValidationResult;
 import org.kitodo.api.validation.filestructure.FileStructureValidationInterface;
+import org.kitodo.utils.SchemaCache;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 
@@ -87,12 +85,7 @@ public class FileStructureValidation implements FileStructureValidationInterface
 
     private Validator initializeXmlValidator(Collection<URI> xsdFilePaths) throws SAXException {
         FileStructureValidationErrorHandler xmlValidationErrorHandler = new FileStructureValidationErrorHandler();
-        SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-        Source[] sources = new Source[xsdFilePaths.size()];
-        for (int i = 0; i < xsdFilePaths.size(); i++) {
-            sources[i] = new StreamSource(new File(xsdFilePaths.toArray(new URI[0])[i]));
-        }
-        Schema schema = schemaFactory.newSchema(sources);
+        Schema schema = SchemaCache.getInstance().getSchema(xsdFilePaths);
         Validator xmlValidator = schema.newValidator();
         xmlValidator.setErrorHandler(xmlValidationErrorHandler);
         return xmlValidator;
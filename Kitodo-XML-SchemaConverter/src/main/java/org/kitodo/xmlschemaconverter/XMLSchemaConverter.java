@@ -22,6 +22,7 @@ import java.util.UnknownFormatConversionException;
 
 import javax.xml.XMLConstants;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
@@ -35,11 +36,28 @@ import org.kitodo.api.schemaconverter.FileFormat;
 import org.kitodo.api.schemaconverter.MetadataFormat;
 import org.kitodo.api.schemaconverter.SchemaConverterInterface;
 import org.kitodo.exceptions.ConfigException;
+import org.kitodo.utils.TemplatesCache;
 
 public class XMLSchemaConverter implements SchemaConverterInterface {
     private static final FileFormat supportedSourceFileFormat = FileFormat.XML;
     private static final FileFormat supportedTargetFileFormat = FileFormat.XML;
 
+    /**
+     * Transformer factory for the mapping files. The mapping files are
+     * compiled once per factory, see {@link TemplatesCache}.
+     */
+    private static final TransformerFactory transformerFactory = new TransformerFactoryImpl();
+
+    static {
+        try {
+            transformerFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        } catch (TransformerConfigurationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        transformerFactory.setURIResolver((href, base) -> new StreamSource(href.replace("http:", "https:")));
+        System.setProperty("http.agent", "Chrome");
+    }
+
     /**
      * Converts a given DataRecord to the given MetadataFormat 'targetMetadataFormat' and FileFormat 'targetFileFormat'.
      *
@@ -92,13 +110,8 @@ public class XMLSchemaConverter implements SchemaConverterInterface {
 
     private String transformXmlByXslt(String xmlString, File stylesheetFile) {
         try (StringWriter writer = new StringWriter()) {
-            StreamSource xsltSource = new StreamSource(stylesheetFile);
-            xsltSource.setSystemId(stylesheetFile.toURI().toString());
-            TransformerFactory transformerFactory = new TransformerFactoryImpl();
-            transformerFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-            transformerFactory.setURIResolver((href, base) -> new StreamSource(href.replace("http:", "https:")));
-            System.setProperty("http.agent", "Chrome");
-            Transformer transformer = transformerFactory.newTransformer(xsltSource);
+            Transformer transformer = TemplatesCache.getInstance().getTemplates(transformerFactory, stylesheetFile)
+                    .newTransformer();
             xmlString = removeBom(xmlString);
             transformer.transform(new StreamSource(new StringReader(xmlString)), new StreamResult(writer));
             return writer.toString();
@@ -61,6 +61,13 @@ public enum ParameterCore implements ParameterInterface {
      */
     DIR_XSLT(new Parameter<UndefinedParameter>("directory.xslt")),
 
+    /**
+     * Whether the export stylesheets of the rulesets in the XSLT directory are
+     * compiled on startup, so that the first export does not have to wait for
+     * it. Boolean, defaults to {@code false}.
+     */
+    XSLT_PREWARM(new Parameter<>("xslt.prewarm", false)),
+
     /*
      * Parameters.java has been sorted to corresponding to kitodo_config.properties,
      * including the section headers as you see. However there is an entry
@@ -179,6 +186,27 @@ public enum ParameterCore implements ParameterInterface {
      * Define the allowed characters used in symbolic link name generation.
      */
     ALLOWED_CHARACTERS_FOR_SYMLINK(new Parameter<>("allowedCharactersForSymLink", "[^A-Za-z0-9]")),
+
+    /**
+     * Maximum number of scripts run in parallel on this server. Further
+     * scripts wait until one has finished. Integer, defaults to 0, which means
+     * no limit.
+     */
+    SCRIPT_PARALLEL_LIMIT(new Parameter<>("script.parallelLimit", 0)),
+
+    /**
+     * Time in minutes after which a script is terminated. Integer, defaults to
+     * 0, which means that scripts may run as long as they want.
+     */
+    SCRIPT_TIMEOUT(new Parameter<>("script.timeout.minutes", 0)),
+
+    /**
+     * Number of lines of the standard output and of the standard error of a
+     * script that are kept and shown to the user. If a script writes more,
+     * only the last lines are kept. Integer, defaults to 1000.
+     */
+    SCRIPT_OUTPUT_LINES(new Parameter<>("script.outputLines", 1000)),
+
     /*
      * Runnotes
      */
@@ -217,6 +245,32 @@ public enum ParameterCore implements ParameterInterface {
      */
     DONE_DIRECTORY_NAME(new Parameter<>("image.doneDirectoryName", "fertig/")),
 
+    /**
+     * Number of derivatives generated at the same time on this node, shared by
+     * all running image generation tasks. Integer, defaults to the number of
+     * available cores.
+     */
+    IMAGE_GENERATOR_PARALLELISM(new Parameter<UndefinedParameter>("image.generator.parallelism")),
+
+    /**
+     * Directory holding the thumbnails generated for the gallery of the
+     * metadata editor if no preview folder is configured. Defaults to the
+     * subdirectory {@code thumbnails} of the temporary directory.
+     */
+    THUMBNAIL_CACHE_DIRECTORY(new Parameter<UndefinedParameter>("thumbnail.cache.directory")),
+
+    /**
+     * Maximum size of the thumbnail cache in megabytes. Integer, defaults to
+     * {@code 512}.
+     */
+    THUMBNAIL_CACHE_SIZE(new Parameter<>("thumbnail.cache.size", 512)),
+
+    /**
+     * Width in pixels of generated thumbnails. Integer, defaults to
+     * {@code 300}.
+     */
+    THUMBNAIL_WIDTH(new Parameter<>("thumbnail.width", 300)),
+
     /*
      * VISUAL APPEARANCE
      *
@@ -271,6 +325,18 @@ public enum ParameterCore implements ParameterInterface {
      */
     CATALOGUE_TIMEOUT(new Parameter<>("catalogue.timeout", TimeUnit.MILLISECONDS.convert(30, TimeUnit.MINUTES))),
 
+    /**
+     * How long responses of catalogues are kept in the cache. Seconds,
+     * defaults to 5 minutes. 0 disables the cache.
+     */
+    CATALOGUE_CACHE_TIME_TO_LIVE(new Parameter<>("catalogue.cache.timeToLive", 300)),
+
+    /**
+     * How many responses of each catalogue are kept in the cache at most.
+     * Integer, defaults to 500.
+     */
+    CATALOGUE_CACHE_SIZE(new Parameter<>("catalogue.cache.size", 500)),
+
     /*
      * Metadata editor behavior
      */
@@ -401,6 +467,19 @@ public enum ParameterCore implements ParameterInterface {
      */
     MINIMAL_NUMBER_OF_PAGES(new Parameter<UndefinedParameter>("numberOfPages.minimum")),
 
+    /**
+     * Number of threads which write the directories and metadata files of the
+     * newspaper processes created from the calendar. Integer, defaults to 4.
+     */
+    NEWSPAPER_PROCESSES_THREADS(new Parameter<>("newspaperProcesses.threads", 4)),
+
+    /**
+     * Maximum number of newspaper processes of the same year which are created
+     * from the calendar in one step. The processes of a step are created first,
+     * then their files are written in parallel. Integer, defaults to 100.
+     */
+    NEWSPAPER_PROCESSES_CHUNK_SIZE(new Parameter<>("newspaperProcesses.chunkSize", 100)),
+
     /*
      * Batch processing
      */
@@ -427,7 +506,9 @@ public enum ParameterCore implements ParameterInterface {
 
     /**
      * Overrides the limit of tasks run in parallel. Integer, defaults to the number
-     * of available cores.
+     * of available cores. The number of tasks of one type can be limited further
+     * by appending the simple class name of the task to the key, for example
+     * {@code taskManager.autoRunLimit.ExportDmsTask}.
      */
     TASK_MANAGER_AUTORUN_LIMIT(new Parameter<UndefinedParameter>("taskManager.autoRunLimit")),
 
@@ -479,6 +560,26 @@ public enum ParameterCore implements ParameterInterface {
      */
     TASK_MANAGER_SHOW_SAMPLE_TASK(new Parameter<>("taskManager.showSampleTask", false)),
 
+    /**
+     * Number of processes from which on a Kitodo Script action that edits
+     * processes one by one is run in the task manager instead of the user's
+     * request. Integer, defaults to 100.
+     */
+    KITODO_SCRIPT_TASK_MANAGER_THRESHOLD(new Parameter<>("kitodoScript.taskManager.threshold", 100)),
+
+    /**
+     * Number of processes a Kitodo Script action in the task manager works on
+     * in parallel. Integer, defaults to 4.
+     */
+    KITODO_SCRIPT_THREADS(new Parameter<>("kitodoScript.taskManager.threads", 4)),
+
+    /**
+     * Number of processes a Kitodo Script action in the task manager saves in
+     * one database transaction. After each chunk, the progress is saved, so
+     * that an interrupted run can continue there. Integer, defaults to 100.
+     */
+    KITODO_SCRIPT_CHUNK_SIZE(new Parameter<>("kitodoScript.taskManager.chunkSize", 100)),
+
     /*
      * Export to presentation module
      */
@@ -649,6 +750,17 @@ public enum ParameterCore implements ParameterInterface {
     ACTIVE_MQ_RESULTS_TTL(new Parameter<>("activeMQ.results.timeToLive",
             TimeUnit.MILLISECONDS.convert(7, TimeUnit.DAYS))),
 
+    /*
+     * Search index
+     */
+
+    /**
+     * Maximum number of index search hits that are passed to the database as a
+     * list of IDs. Larger hit sets are staged in a database table and joined
+     * from there. Integer, defaults to 1000.
+     */
+    SEARCHINDEX_MAX_ID_LIST_SIZE(new Parameter<>("searchindex.maxIdListSize", 1000)),
+
     /*
      * Security properties
      */
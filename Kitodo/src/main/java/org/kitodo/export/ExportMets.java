@@ -12,12 +12,11 @@
 package org.kitodo.export;
 
 import java.io.BufferedOutputStream;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
@@ -26,16 +25,9 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.stream.StreamSource;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 
-import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.TeeOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -53,9 +45,9 @@ import org.kitodo.production.helper.metadata.legacytypeimplementations.LegacyPre
 import org.kitodo.production.helper.tasks.EmptyTask;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.production.services.file.FileService;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
+import org.xml.sax.helpers.XMLFilterImpl;
 
 public class ExportMets {
     private final FileService fileService = ServiceManager.getFileService();
@@ -160,55 +152,58 @@ public class ExportMets {
             Helper.setErrorMessage("Writing METS file failed!", e.getLocalizedMessage(), logger, e);
             return false;
         }
+        URI xslFile = XsltHelper.getXsltFileFromConfig(process);
+        if (!Files.exists(Paths.get(xslFile))) {
+            FileNotFoundException e = new FileNotFoundException(
+                    Helper.getTranslation("xsltFileNotFound", xslFile.toString()));
+            if (Objects.nonNull(exportDmsTask)) {
+                exportDmsTask.setException(e);
+            }
+            Helper.setErrorMessage("Writing METS file failed!", e.getLocalizedMessage(), logger, e);
+            return false;
+        }
+        File debugFolder = ConfigCore.getKitodoDebugDirectory();
+        LabelFilter labelFilter = isEnrichingLabels() ? new LabelFilter() : null;
         /*
          * We write to the user’s home directory or to the hotfolder here, not
          * to a content repository, therefore no use of file service.
          */
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            ServiceManager.getMetsService().save(workpiece, out);
-            byte[] xmlBytes = out.toByteArray();
-            File debugFolder = ConfigCore.getKitodoDebugDirectory();
-            if (Objects.nonNull(debugFolder)) {
-                FileUtils.writeByteArrayToFile(new File(debugFolder, "preExport.xml"), xmlBytes);
-            }
-            try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(xmlBytes)) {
-                StreamSource source = new StreamSource(byteArrayInputStream);
-                try (BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(new FileOutputStream(new File(metaFile)))) {
-                    URI xslFile = XsltHelper.getXsltFileFromConfig(process);
-                    if (!Files.exists(Paths.get(xslFile))) {
-                        String message = Helper.getTranslation("xsltFileNotFound", xslFile.toString());
-                        throw new FileNotFoundException(message);
+        try (OutputStream destination = new BufferedOutputStream(new FileOutputStream(new File(metaFile)))) {
+            XsltHelper.transformXmlByXslt(out -> {
+                if (Objects.isNull(debugFolder)) {
+                    ServiceManager.getMetsService().save(workpiece, out);
+                } else {
+                    try (OutputStream preExport = new BufferedOutputStream(
+                            new FileOutputStream(new File(debugFolder, "preExport.xml")))) {
+                        ServiceManager.getMetsService().save(workpiece, new TeeOutputStream(out, preExport));
                     }
-                    byte[] transformedBytes = XsltHelper.transformXmlByXslt(source, xslFile).toByteArray();
-                    bufferedOutputStream.write(transformedBytes);
-                    enrichInternalLabelsIfNeeded(process, transformedBytes);
-                } catch (FileNotFoundException | TransformerException e) {
-                    if (Objects.nonNull(exportDmsTask)) {
-                        exportDmsTask.setException(e);
-                    }
-                    Helper.setErrorMessage("Writing METS file failed!", e.getLocalizedMessage(), logger, e);
-                    return false;
                 }
+            }, xslFile, destination, labelFilter);
+        } catch (FileNotFoundException | TransformerException e) {
+            if (Objects.nonNull(exportDmsTask)) {
+                exportDmsTask.setException(e);
             }
+            Helper.setErrorMessage("Writing METS file failed!", e.getLocalizedMessage(), logger, e);
+            return false;
+        }
+        if (Objects.nonNull(labelFilter)) {
+            updateInternalLabelsIfNeeded(ServiceManager.getFileService().getMetadataFilePath(process),
+                labelFilter.getLabels(), process);
         }
         Helper.setMessage(process.getTitle() + ": ", "exportFinished");
         return true;
     }
 
-    private void enrichInternalLabelsIfNeeded(Process process, byte[] transformedBytes) throws IOException {
-        if (ConfigCore.getBooleanParameterOrDefaultValue(ParameterCore.EXPORT_ENRICH_LABELS)
-                && ConfigCore.getIntParameter(ParameterCore.TASK_MANAGER_AUTORUN_LIMIT) == 1) {
-            updateInternalLabelsIfNeeded(ServiceManager.getFileService().getMetadataFilePath(process),
-                    transformedBytes, process);
-        }
+    private static boolean isEnrichingLabels() {
+        return ConfigCore.getBooleanParameterOrDefaultValue(ParameterCore.EXPORT_ENRICH_LABELS)
+                && ConfigCore.getIntParameter(ParameterCore.TASK_MANAGER_AUTORUN_LIMIT) == 1;
     }
 
     /**
      * Extract LABEL/ORDERLABEL from export and update the internal metadata
      * only if values actually changed.
      */
-    private void updateInternalLabelsIfNeeded(URI metaFile, byte[] xmlBytes, Process exportProcess) {
-        Map<String, String> labels = extractLabels(xmlBytes);
+    private void updateInternalLabelsIfNeeded(URI metaFile, Map<String, String> labels, Process exportProcess) {
         String newLabel = labels.get("LABEL");
         String newOrderLabel = labels.get("ORDERLABEL");
 
@@ -244,26 +239,29 @@ public class ExportMets {
         }
     }
 
+    /**
+     * Picks up LABEL and ORDERLABEL of the first logical div with a DMDID
+     * while the exported METS file is written. This skips wrapper divs for
+     * parents.
+     */
+    private static class LabelFilter extends XMLFilterImpl {
+        private final Map<String, String> labels = new HashMap<>();
+        private int logicalStructMapDepth;
+        private int depth;
+        private boolean found;
 
-    private Map<String, String> extractLabels(byte[] xmlBytes) {
-        Map<String, String> labels = new HashMap<>();
-        try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            Document doc = factory.newDocumentBuilder().parse(new ByteArrayInputStream(xmlBytes));
-            XPath xpath = XPathFactory.newInstance().newXPath();
-
-            // Select the first <div> inside structMap[@TYPE='LOGICAL'] that has a DMDID attribute.
-            // This ensures we skip wrapper nodes for parents
-            String xpathExpr = "/*[local-name()='mets']"
-                    + "/*[local-name()='structMap' and @TYPE='LOGICAL']"
-                    + "//*[local-name()='div' and @DMDID][1]";
-
-            Element logicalDiv = (Element) xpath.evaluate(xpathExpr, doc, XPathConstants.NODE);
-
-            if (Objects.nonNull(logicalDiv)) {
-                String label = StringUtils.trimToNull(logicalDiv.getAttribute("LABEL"));
-                String orderLabel = StringUtils.trimToNull(logicalDiv.getAttribute("ORDERLABEL"));
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+                throws SAXException {
+            depth++;
+            if (logicalStructMapDepth == 0 && "structMap".equals(localName)
+                    && "LOGICAL".equals(attributes.getValue("TYPE"))) {
+                logicalStructMapDepth = depth;
+            } else if (logicalStructMapDepth > 0 && !found && "div".equals(localName)
+                    && Objects.nonNull(attributes.getValue("DMDID"))) {
+                found = true;
+                String label = StringUtils.trimToNull(attributes.getValue("LABEL"));
+                String orderLabel = StringUtils.trimToNull(attributes.getValue("ORDERLABEL"));
                 if (Objects.nonNull(label)) {
                     labels.put("LABEL", label);
                 }
@@ -271,10 +269,20 @@ public class ExportMets {
                     labels.put("ORDERLABEL", orderLabel);
                 }
             }
-        } catch (XPathExpressionException | ParserConfigurationException | SAXException | IOException e) {
-            Helper.setErrorMessage(
-                    "Parsing exported METS file failed!", e.getLocalizedMessage(), logger, e);
+            super.startElement(uri, localName, qName, attributes);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            if (depth == logicalStructMapDepth) {
+                logicalStructMapDepth = 0;
+            }
+            depth--;
+            super.endElement(uri, localName, qName);
+        }
+
+        private Map<String, String> getLabels() {
+            return labels;
         }
-        return labels;
     }
 }
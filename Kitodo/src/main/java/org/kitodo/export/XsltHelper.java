@@ -12,26 +12,61 @@
 package org.kitodo.export;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.net.URI;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
+import javax.xml.transform.Result;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.sax.SAXResult;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
 import net.sf.saxon.TransformerFactoryImpl;
 
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.input.CloseShieldInputStream;
 import org.kitodo.config.ConfigCore;
 import org.kitodo.config.enums.ParameterCore;
 import org.kitodo.data.database.beans.Process;
+import org.kitodo.utils.TemplatesCache;
+import org.xml.sax.helpers.XMLFilterImpl;
 
 public class XsltHelper {
 
+    /**
+     * Transformer factory for the export stylesheets. The stylesheets are
+     * compiled once per factory, see {@link TemplatesCache}.
+     */
+    private static final SAXTransformerFactory transformerFactory = new TransformerFactoryImpl();
+
+    /**
+     * Size of the buffer between the thread writing the XML and the
+     * transformation.
+     */
+    private static final int PIPE_SIZE = 64 * 1024;
+
+    /**
+     * Writes XML to an output stream.
+     */
+    @FunctionalInterface
+    interface XmlWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
     private XsltHelper() {
         // private constructor to hide implicit one
     }
@@ -48,13 +83,8 @@ public class XsltHelper {
     static ByteArrayOutputStream transformXmlByXslt(StreamSource source, URI xslFile)
             throws TransformerException, IOException {
 
-        String xsltPath = xslFile.getPath();
-        StreamSource xsltSource = new StreamSource(xsltPath);
-        TransformerFactory factory = new TransformerFactoryImpl();
-        Transformer transformer = factory.newTransformer(xsltSource);
-        if (Objects.isNull(transformer)) {
-            throw new IllegalArgumentException("Could not create XSLT transformer. Check " + xsltPath + " for errors.");
-        }
+        Transformer transformer = TemplatesCache.getInstance()
+                .getTemplates(transformerFactory, new File(xslFile.getPath())).newTransformer();
         try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
             StreamResult streamResult = new StreamResult(outputStream);
             transformer.transform(source, streamResult);
@@ -62,6 +92,97 @@ public class XsltHelper {
         }
     }
 
+    /**
+     * Transforms XML by XSLT and streams the result to the destination. The
+     * XML is written in a separate thread and piped into the transformation,
+     * so that the untransformed XML is never held in memory as a whole. An
+     * optional filter sees the events of the result before they are
+     * serialized, for example to pick up values from it.
+     *
+     * @param xmlWriter
+     *            writes the XML to transform
+     * @param xslFile
+     *            the XSL file
+     * @param destination
+     *            stream to write the result to
+     * @param resultFilter
+     *            filter for the result, may be {@code null}
+     * @throws TransformerException
+     *             if the transformation fails
+     * @throws IOException
+     *             if writing the XML or the result fails
+     */
+    static void transformXmlByXslt(XmlWriter xmlWriter, URI xslFile, OutputStream destination,
+            XMLFilterImpl resultFilter) throws TransformerException, IOException {
+
+        Templates templates = TemplatesCache.getInstance().getTemplates(transformerFactory,
+            new File(xslFile.getPath()));
+        Result result = new StreamResult(destination);
+        if (Objects.nonNull(resultFilter)) {
+            TransformerHandler serializer = transformerFactory.newTransformerHandler();
+            serializer.getTransformer().setOutputProperties(templates.getOutputProperties());
+            serializer.setResult(result);
+            resultFilter.setContentHandler(serializer);
+            SAXResult saxResult = new SAXResult(resultFilter);
+            saxResult.setLexicalHandler(serializer);
+            result = saxResult;
+        }
+
+        PipedInputStream xmlInput = new PipedInputStream(PIPE_SIZE);
+        PipedOutputStream xmlOutput = new PipedOutputStream(xmlInput);
+        AtomicReference<IOException> writeException = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try (xmlOutput) {
+                xmlWriter.write(xmlOutput);
+            } catch (IOException e) {
+                writeException.set(e);
+            }
+        }, "XsltHelper-" + xslFile.getPath());
+        writer.setDaemon(true);
+        writer.start();
+        try (xmlInput) {
+            // the parser closes its input, but the rest must still be read
+            templates.newTransformer().transform(new StreamSource(CloseShieldInputStream.wrap(xmlInput)), result);
+            xmlInput.transferTo(OutputStream.nullOutputStream());
+        } catch (TransformerException e) {
+            // the writer may have been the cause
+            Optional.ofNullable(writeException.get()).ifPresent(e::addSuppressed);
+            throw e;
+        } finally {
+            // closing the input ends the writer if it is still running
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (Objects.nonNull(writeException.get())) {
+            throw writeException.get();
+        }
+    }
+
+    /**
+     * Compiles the export stylesheets of all rulesets in advance. A ruleset
+     * has an export stylesheet if there is a file of the same name, ending in
+     * {@code .xsl}, in the XSLT directory.
+     */
+    public static void prewarm() {
+        File[] rulesetFiles = new File(ConfigCore.getParameter(ParameterCore.DIR_RULESETS))
+                .listFiles((directory, name) -> name.toLowerCase().endsWith(".xml"));
+        if (Objects.isNull(rulesetFiles)) {
+            return;
+        }
+        List<File> stylesheets = new ArrayList<>();
+        for (File rulesetFile : rulesetFiles) {
+            File stylesheet = new File(ConfigCore.getParameter(ParameterCore.DIR_XSLT),
+                    rulesetFile.getName().replaceFirst("\\.[Xx][Mm][Ll]$", ".xsl"));
+            if (stylesheet.isFile()) {
+                stylesheets.add(stylesheet);
+            }
+        }
+        TemplatesCache.getInstance().prewarm(transformerFactory, stylesheets);
+    }
+
     static URI getXsltFileFromConfig(Process process) {
         String path = ConfigCore.getParameter(ParameterCore.DIR_XSLT);
         String file = process.getRuleset().getFile().replaceFirst("\\.[Xx][Mm][Ll]$", ".xsl");
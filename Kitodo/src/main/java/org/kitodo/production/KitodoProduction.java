@@ -31,11 +31,14 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.kitodo.config.ConfigCore;
 import org.kitodo.config.enums.ParameterCore;
+import org.kitodo.data.database.beans.RulesetLabelCache;
 import org.kitodo.data.database.persistence.HibernateUtil;
+import org.kitodo.export.XsltHelper;
 import org.kitodo.production.helper.tasks.TaskManager;
 import org.kitodo.production.interfaces.activemq.ActiveMQDirector;
 import org.kitodo.production.security.SecurityUserDetails;
 import org.kitodo.production.services.ServiceManager;
+import org.kitodo.production.services.dataeditor.RulesetManagementRegistry;
 import org.springframework.security.core.context.SecurityContextImpl;
 
 /**
@@ -59,7 +62,9 @@ public class KitodoProduction implements ServletContextListener, HttpSessionList
         manifest = retrieveManifestFileAsStream(context);
         manifest.ifPresent(version::setupFromManifest);
         instance.complete(this);
+        shareRulesets();
         startActiveMQ();
+        prewarmStylesheets();
     }
 
     private static final Optional<Manifest> retrieveManifestFileAsStream(ServletContext context) {
@@ -74,6 +79,15 @@ public class KitodoProduction implements ServletContextListener, HttpSessionList
         return Optional.empty();
     }
 
+    /**
+     * Lets the search index take the labels of the ruleset keys from the
+     * loaded rulesets, instead of reading the ruleset files once more.
+     */
+    private void shareRulesets() {
+        RulesetLabelCache.getInstance()
+                .setRulesetLoader(RulesetManagementRegistry.getInstance()::getRulesetManagement);
+    }
+
     /**
      * Start up the active MQ connection.
      */
@@ -87,6 +101,18 @@ public class KitodoProduction implements ServletContextListener, HttpSessionList
         }
     }
 
+    /**
+     * Compiles the export stylesheets in the background, if configured.
+     */
+    private void prewarmStylesheets() {
+        if (ConfigCore.getBooleanParameterOrDefaultValue(ParameterCore.XSLT_PREWARM)) {
+            Thread prewarm = new Thread(XsltHelper::prewarm);
+            prewarm.setName("XsltPrewarm");
+            prewarm.setDaemon(true);
+            prewarm.start();
+        }
+    }
+
     /**
      * Returns the application’s main class.
      * 
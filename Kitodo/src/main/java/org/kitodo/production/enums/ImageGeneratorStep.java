@@ -19,7 +19,6 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.kitodo.production.helper.Helper;
 import org.kitodo.production.model.Subfolder;
-import org.kitodo.production.services.image.ContentToBeGenerated;
 import org.kitodo.production.services.image.ImageGenerator;
 
 /**
@@ -73,19 +72,20 @@ public enum ImageGeneratorStep implements Consumer<ImageGenerator> {
     },
 
     /**
-     * Third step, generate whatever needs to be generated.
+     * Third step, generate whatever needs to be generated. The derivatives are
+     * generated in parallel, so this step is run only once.
      */
     GENERATE_IMAGES {
         @Override
         public void accept(ImageGenerator imageGenerator) {
-            ContentToBeGenerated instructuon = imageGenerator.getFromContentToBeGeneratedByPosition();
-            imageGenerator.letTheSupervisorDo(emptyTask -> emptyTask.setWorkDetail(
-                Helper.getTranslation("generateImages", instructuon.getCanonical())));
-            LogManager.getLogger(ImageGeneratorStep.class).info("Generating ".concat(instructuon.toString()));
-            imageGenerator.createDerivatives(instructuon);
-            if (imageGenerator.getPosition() == imageGenerator.getContentToBeGenerated().size() - 1) {
-                imageGenerator.letTheSupervisorDo(emptyTask -> emptyTask.setProgress(100));
-            }
+            LogManager.getLogger(ImageGeneratorStep.class).info("Generating {} images",
+                imageGenerator.getContentToBeGenerated().size());
+            imageGenerator.createDerivatives();
+            imageGenerator.letTheSupervisorDo(emptyTask -> {
+                if (!emptyTask.isInterrupted()) {
+                    emptyTask.setProgress(100);
+                }
+            });
         }
     }
 }
@@ -168,6 +168,19 @@ public class IndexingForm {
         progressPolling = true;
     }
 
+    /**
+     * Updates the index of objects of given type 'objectType'. Only objects
+     * changed since they were last indexed are indexed again.
+     *
+     * @param type
+     *            type objects that get indexed
+     */
+    public void callIncrementalIndexing(ObjectType type) {
+        indexingRows.get(type).callIncrementalIndexing();
+        pollingChannel.send("indexing_started");
+        progressPolling = true;
+    }
+
     /**
      * Starts the process of indexing all objects to the ElasticSearch index.
      */
@@ -12,6 +12,7 @@
 package org.kitodo.production.forms;
 
 import java.util.Objects;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.logging.log4j.LogManager;
@@ -52,6 +53,19 @@ public class IndexingRow implements MassIndexingMonitor {
      * Starts indexing.
      */
     void callIndexing() {
+        resetProgress();
+        whenComplete(indexingService.startIndexing(type, this));
+    }
+
+    /**
+     * Starts updating the index. Only outdated objects are indexed again.
+     */
+    void callIncrementalIndexing() {
+        resetProgress();
+        whenComplete(indexingService.startIncrementalIndexing(this));
+    }
+
+    private void resetProgress() {
         long count = totalCount.get();
         if (count > 0) {
             numberOfObjects = count;
@@ -61,7 +75,10 @@ public class IndexingRow implements MassIndexingMonitor {
         documentsBuilt.set(0);
         documentsAdded.set(0);
         totalCount.set(0);
-        indexingService.startIndexing(type, this).whenComplete((unused, throwable) -> {
+    }
+
+    private void whenComplete(CompletionStage<?> indexing) {
+        indexing.whenComplete((unused, throwable) -> {
             if (Objects.isNull(throwable)) {
                 objectIndexState = IndexStates.INDEXING_SUCCESSFUL;
                 logger.info("Indexing complete for {}", type.getSimpleName());
@@ -184,6 +184,13 @@ public class DataEditorForm extends ValidatableForm implements MetadataTreeTable
      */
     private Workpiece workpieceOriginalState;
 
+    /**
+     * Modification count of the workpiece when it was last compared to its
+     * original state, and the result of that comparison.
+     */
+    private long checkedModificationCount = -1;
+    private boolean unsavedChanges;
+
     /**
      * This List of Pairs stores all selected physical elements and the logical elements in which the physical element was selected.
      * It is necessary to store the logical elements as well, because a physical element can be assigned to multiple logical elements.
@@ -416,7 +423,8 @@ public class DataEditorForm extends ValidatableForm implements MetadataTreeTable
             FileStructureValidationException {
         mainFileUri = ServiceManager.getProcessService().getMetadataFileUri(process);
         workpiece = ServiceManager.getMetsService().loadWorkpiece(mainFileUri);
-        workpieceOriginalState = ServiceManager.getMetsService().loadWorkpiece(mainFileUri);
+        workpieceOriginalState = workpiece.snapshot();
+        checkedModificationCount = -1;
         if (Objects.isNull(workpiece.getId())) {
             logger.warn("Workpiece has no ID. Cannot verify workpiece ID. Setting workpiece ID.");
             workpiece.setId(process.getId().toString());
@@ -602,7 +610,9 @@ public class DataEditorForm extends ValidatableForm implements MetadataTreeTable
                 } else {
                     PrimeFaces.current().executeScript("PF('notifications').renderMessage({'summary':'"
                             + Helper.getTranslation("metadataSaved") + "','severity':'info'})");
-                    workpieceOriginalState = ServiceManager.getMetsService().loadWorkpiece(mainFileUri);
+                    workpieceOriginalState = workpiece.snapshot();
+                    checkedModificationCount = workpiece.getModificationCount();
+                    unsavedChanges = false;
                     PrimeFaces.current().executeScript("setUnsavedChanges(false);");
                 }
             } catch (IOException e) {
@@ -1065,11 +1075,27 @@ public class DataEditorForm extends ValidatableForm implements MetadataTreeTable
     }
 
     /**
-     * Check for changes in workpiece.
+     * Check for changes in workpiece. This is called after the workpiece may
+     * have been changed in any way, so it is counted as modified.
      */
     public void checkForChanges() {
+        if (Objects.nonNull(workpiece)) {
+            workpiece.markAsModified();
+        }
+        updateUnsavedChanges();
+    }
+
+    /**
+     * Tells the browser whether there are unsaved changes. The workpiece is
+     * only compared to its original state if it has been counted as modified
+     * since the last comparison.
+     */
+    void updateUnsavedChanges() {
         if (Objects.nonNull(PrimeFaces.current())) {
-            boolean unsavedChanges = !this.workpiece.equals(workpieceOriginalState);
+            if (Objects.nonNull(workpiece) && workpiece.getModificationCount() != checkedModificationCount) {
+                unsavedChanges = !workpiece.equals(workpieceOriginalState);
+                checkedModificationCount = workpiece.getModificationCount();
+            }
             PrimeFaces.current().executeScript("setUnsavedChanges(" + unsavedChanges + ");");
         }
     }
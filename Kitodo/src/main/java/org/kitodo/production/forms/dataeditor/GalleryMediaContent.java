@@ -12,6 +12,7 @@
 package org.kitodo.production.forms.dataeditor;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -27,6 +28,7 @@ import org.apache.logging.log4j.Logger;
 import org.kitodo.api.dataformat.MediaPartial;
 import org.kitodo.api.dataformat.View;
 import org.kitodo.production.enums.MediaContentType;
+import org.kitodo.production.helper.LocalFileInputStream;
 import org.kitodo.production.services.ServiceManager;
 import org.primefaces.model.DefaultStreamedContent;
 import org.primefaces.model.StreamedContent;
@@ -206,6 +208,40 @@ public class GalleryMediaContent {
         return Objects.nonNull(previewUri);
     }
 
+    /**
+     * Indicates if an image thumbnail is shown for this media. This is the
+     * case if the preview is an image, or if there is no preview, but the
+     * media view is an image. Then the thumbnail is generated from the media
+     * view.
+     *
+     * @return if there is a thumbnail for this media
+     */
+    public boolean isShowingThumbnail() {
+        if (Objects.nonNull(previewUri)) {
+            return Objects.nonNull(previewMimeType) && previewMimeType.startsWith("image");
+        }
+        return Objects.nonNull(mediaViewUri) && Objects.nonNull(mediaViewMimeType)
+                && mediaViewMimeType.startsWith("image");
+    }
+
+    /**
+     * Returns the URI to the content for the media preview.
+     *
+     * @return the URI of the preview, may be {@code null}
+     */
+    public URI getPreviewUri() {
+        return previewUri;
+    }
+
+    /**
+     * Returns the URI to the content for the media view.
+     *
+     * @return the URI of the media view, may be {@code null}
+     */
+    public URI getMediaViewUri() {
+        return mediaViewUri;
+    }
+
     /**
      * Check if physical division of view has a media partial.
      *
@@ -261,7 +297,9 @@ public class GalleryMediaContent {
          * that after transferring the data.
          */
         try {
-            InputStream viewData = ServiceManager.getFileService().read(uri);
+            File file = ServiceManager.getFileService().getFile(uri);
+            InputStream viewData = file.isFile() ? new LocalFileInputStream(file)
+                    : ServiceManager.getFileService().read(uri);
             return DefaultStreamedContent.builder().stream(() -> viewData).contentType(mimeType)
                     .name(Paths.get(uri.getPath()).getFileName().toString()).contentLength((long) viewData.available())
                     .build();
@@ -95,6 +95,20 @@ public class MediaProvider implements Serializable {
         return getMediaContent(MEDIA_VIEW, parameterMap.get(PROCESS), parameterMap.get(MEDIA_ID));
     }
 
+    /**
+     * Returns a media content of a process opened in this session.
+     *
+     * @param processId
+     *         ID of the process
+     * @param mediaId
+     *         ID of the media content
+     * @return the media content, or {@code null} if there is none
+     */
+    public GalleryMediaContent getGalleryMediaContent(int processId, String mediaId) {
+        Map<String, GalleryMediaContent> processMediaContent = mediaResolver.get(processId);
+        return Objects.nonNull(processMediaContent) ? processMediaContent.get(mediaId) : null;
+    }
+
     /**
      * Returns if media content has preview variant.
      *
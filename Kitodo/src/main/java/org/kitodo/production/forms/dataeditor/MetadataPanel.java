@@ -13,7 +13,11 @@ package org.kitodo.production.forms.dataeditor;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -190,13 +194,36 @@ public class MetadataPanel implements Serializable {
     }
 
     void preserveLogical() throws InvalidMetadataValueException, NoSuchMetadataFieldException {
-        logicalMetadataTable.preserve();
-        dataEditorForm.checkForChanges();
+        preserve(logicalMetadataTable);
     }
 
     void preservePhysical() throws InvalidMetadataValueException, NoSuchMetadataFieldException {
-        physicalMetadataTable.preserve();
-        dataEditorForm.checkForChanges();
+        preserve(physicalMetadataTable);
+    }
+
+    /**
+     * Writes the metadata table back to its division. The workpiece is only
+     * counted as modified if this changed the division, so that the whole
+     * workpiece need not be compared to its original state on every click.
+     */
+    private void preserve(ProcessFieldedMetadata metadataTable) throws InvalidMetadataValueException,
+            NoSuchMetadataFieldException {
+        Division<?> division = metadataTable.getDivision();
+        List<Object> stateBefore = getState(division);
+        metadataTable.preserve();
+        if (Objects.isNull(division) || !getState(division).equals(stateBefore)) {
+            dataEditorForm.checkForChanges();
+        } else {
+            dataEditorForm.updateUnsavedChanges();
+        }
+    }
+
+    private static List<Object> getState(Division<?> division) {
+        if (Objects.isNull(division)) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(new HashSet<>(division.getMetadata()), new ArrayList<>(division.getContentIds()),
+            division.getLabel(), division.getOrderlabel(), division.getType());
     }
 
     /**
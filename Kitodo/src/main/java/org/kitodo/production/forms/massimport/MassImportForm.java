@@ -14,6 +14,7 @@ package org.kitodo.production.forms.massimport;
 import com.opencsv.exceptions.CsvException;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -56,6 +57,12 @@ public class MassImportForm extends BaseForm {
 
     private static final Logger logger = LogManager.getLogger(MassImportForm.class);
 
+    /**
+     * Number of records retrieved from the catalogue at once during the mass
+     * import. The catalogue module may retrieve them concurrently.
+     */
+    private static final int RECORDS_RETRIEVED_AT_ONCE = 20;
+
     private int projectId;
     private int templateId;
     private String templateTitle;
@@ -268,7 +275,13 @@ public class MassImportForm extends BaseForm {
     private void importRecords(LinkedList<LinkedHashMap<String, List<String>>> processMetadata) {
         ImportService importService = ServiceManager.getImportService();
         PrimeFaces.current().ajax().update("massImportProgressDialog");
+        int recordNumber = 0;
         for (LinkedHashMap<String, List<String>> record : processMetadata) {
+            if (recordNumber % RECORDS_RETRIEVED_AT_ONCE == 0) {
+                prefetchRecords(importService, processMetadata.subList(recordNumber,
+                    Math.min(recordNumber + RECORDS_RETRIEVED_AT_ONCE, processMetadata.size())));
+            }
+            recordNumber++;
             HashMap<String, String> entryMap = new HashMap<>();
             try {
                 try {
@@ -288,6 +301,21 @@ public class MassImportForm extends BaseForm {
         }
     }
 
+    private void prefetchRecords(ImportService importService, List<LinkedHashMap<String, List<String>>> records) {
+        List<String> ids = new ArrayList<>(records.size());
+        for (LinkedHashMap<String, List<String>> record : records) {
+            try {
+                String id = importService.getRecordId(record, templateId, true);
+                if (StringUtils.isNotBlank(id)) {
+                    ids.add(id);
+                }
+            } catch (ConfigException | IOException | DAOException e) {
+                logger.debug(e.getLocalizedMessage());
+            }
+        }
+        importService.prefetchExternalDataRecords(importConfiguration, ids);
+    }
+
     /**
      * Create records purely with given preset metadata.
      *
@@ -351,7 +351,7 @@ public class ProcessListBaseView extends BaseListView {
                     getSelectedProcessIds(),
                     this.excludedProcessIds
             );
-        } catch (IOException | DocumentException e) {
+        } catch (IOException | DocumentException | DAOException e) {
             Helper.setErrorMessage(ERROR_CREATING, new Object[] {Helper.getTranslation("resultSet")}, logger, e);
         }
         stopwatch.stop();
@@ -373,7 +373,7 @@ public class ProcessListBaseView extends BaseListView {
                     getSelectedProcessIds(),
                     this.excludedProcessIds
             );
-        } catch (IOException | DocumentException e) {
+        } catch (IOException | DocumentException | DAOException e) {
             Helper.setErrorMessage(ERROR_CREATING, new Object[] {Helper.getTranslation("resultSet")}, logger, e);
         }
         stopwatch.stop();
@@ -395,7 +395,7 @@ public class ProcessListBaseView extends BaseListView {
                     getSelectedProcessIds(),
                     this.excludedProcessIds
             );
-        } catch (IOException | DocumentException e) {
+        } catch (IOException | DocumentException | DAOException e) {
             Helper.setErrorMessage(ERROR_CREATING, new Object[] {Helper.getTranslation("resultPDF") }, logger, e);
         }
         stopwatch.stop();
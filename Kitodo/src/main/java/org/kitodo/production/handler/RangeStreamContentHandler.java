@@ -15,13 +15,20 @@ import static org.kitodo.production.helper.RangeStreamHelper.DEFAULT_BUFFER_SIZE
 import static org.kitodo.production.helper.RangeStreamHelper.copy;
 import static org.kitodo.production.helper.RangeStreamHelper.sublong;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 import jakarta.el.ValueExpression;
 import jakarta.faces.context.ExternalContext;
@@ -34,6 +41,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.kitodo.production.beans.Range;
+import org.kitodo.production.helper.LocalFileInputStream;
+import org.kitodo.production.helper.RangeStreamHelper;
 import org.primefaces.application.resource.BaseDynamicContentHandler;
 import org.primefaces.model.StreamedContent;
 import org.primefaces.util.Constants;
@@ -55,6 +64,15 @@ public class RangeStreamContentHandler extends BaseDynamicContentHandler {
 
     private static final Logger logger = LogManager.getLogger(RangeStreamContentHandler.class);
 
+    /**
+     * Request attributes of the Tomcat servlet container to hand over the
+     * sending of a file to the operating system.
+     */
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     @Override
     public void handle(FacesContext context) throws IOException {
         Map<String, String> params = context.getExternalContext().getRequestParameterMap();
@@ -146,6 +164,10 @@ public class RangeStreamContentHandler extends BaseDynamicContentHandler {
     private void processInputStreamToOutputStream(HttpServletRequest request, HttpServletResponse response,
             StreamedContent streamedContent, OutputStream outputStream) throws IOException {
         InputStream inputStream = streamedContent.getStream().get();
+        if (inputStream instanceof LocalFileInputStream) {
+            processFile(request, response, streamedContent, (LocalFileInputStream) inputStream, outputStream);
+            return;
+        }
         // Prepare some variables. The full Range represents the complete file.
         int length = inputStream.available(); // Length of file
         Range full = new Range(0, length - 1, length);
@@ -194,6 +216,134 @@ public class RangeStreamContentHandler extends BaseDynamicContentHandler {
         }
     }
 
+    /**
+     * Delivers a file on local storage through its file channel. Each range is
+     * read starting directly at its position, so that seeking in long audio and
+     * video files does not read the file from the beginning. If the servlet
+     * container supports it, single ranges are handed over to the container to
+     * be sent by the operating system. The entity tag is derived from the
+     * length and modification time of the file, so browsers can validate
+     * cached segments with {@code If-Range} and {@code If-None-Match}.
+     */
+    private void processFile(HttpServletRequest request, HttpServletResponse response,
+            StreamedContent streamedContent, LocalFileInputStream inputStream, OutputStream outputStream)
+            throws IOException {
+        File file = inputStream.getFile();
+        FileChannel channel = inputStream.getChannel();
+        long length = channel.size();
+        long lastModified = file.lastModified();
+        String eTag = RangeStreamHelper.createETag(length, lastModified);
+        response.setHeader("ETag", eTag);
+        response.setDateHeader("Last-Modified", lastModified);
+
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (Objects.nonNull(ifNoneMatch) && (ifNoneMatch.equals("*") || ifNoneMatch.contains(eTag))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        List<Range> ranges = Collections.emptyList();
+        String rangeHeader = request.getHeader("Range");
+        if (Objects.nonNull(rangeHeader) && isIfRangeSatisfied(request, eTag, lastModified)) {
+            Optional<List<Range>> requestedRanges = parseRanges(rangeHeader, length);
+            if (requestedRanges.isEmpty()) {
+                response.setHeader("Content-Range", "bytes */" + length); // Required in 416.
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            ranges = requestedRanges.get();
+        }
+
+        if (ranges.size() <= 1) {
+            Range range = ranges.isEmpty() ? new Range(0, length - 1, length) : ranges.getFirst();
+            response.setContentType(streamedContent.getContentType());
+            response.setHeader("Content-Length", String.valueOf(range.getLength()));
+            if (!ranges.isEmpty()) {
+                logger.debug("Returning part of file : from ({}) to ({})", range.getStart(), range.getEnd());
+                response.setHeader("Content-Range",
+                    "bytes " + range.getStart() + "-" + range.getEnd() + "/" + range.getTotal());
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT); // 206.
+            }
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, file.getCanonicalPath());
+                request.setAttribute(SENDFILE_START, range.getStart());
+                request.setAttribute(SENDFILE_END, range.getEnd() + 1);
+                return;
+            }
+            RangeStreamHelper.transfer(channel, Channels.newChannel(outputStream), range.getStart(),
+                range.getLength());
+        } else {
+            response.setContentType("multipart/byteranges; boundary=" + MULTIPART_BOUNDARY);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT); // 206.
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            for (Range range : ranges) {
+                logger.debug("Return multi part of file : from ({}) to ({})", range.getStart(), range.getEnd());
+                String partHeader = "\r\n--" + MULTIPART_BOUNDARY + "\r\nContent-Type: "
+                        + streamedContent.getContentType() + "\r\nContent-Range: bytes " + range.getStart() + "-"
+                        + range.getEnd() + "/" + range.getTotal() + "\r\n\r\n";
+                outputStream.write(partHeader.getBytes(StandardCharsets.US_ASCII));
+                RangeStreamHelper.transfer(channel, target, range.getStart(), range.getLength());
+            }
+            outputStream.write(("\r\n--" + MULTIPART_BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    /**
+     * Checks the {@code If-Range} header. Ranges are only delivered if the
+     * header is missing, or names the current entity tag, or a date not before
+     * the last modification. Otherwise, the full file must be sent.
+     */
+    private static boolean isIfRangeSatisfied(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (Objects.isNull(ifRange)) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
+        try {
+            long ifRangeTime = request.getDateHeader("If-Range");
+            return ifRangeTime != -1 && lastModified / 1000 <= ifRangeTime / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Parses the {@code Range} header. Ranges starting behind the end of the
+     * file are dropped.
+     *
+     * @return the satisfiable ranges, or empty if the header is malformed or no
+     *         range is satisfiable
+     */
+    private static Optional<List<Range>> parseRanges(String rangeHeader, long length) {
+        if (!rangeHeader.matches("^bytes=\\d*-\\d*(,\\d*-\\d*)*$")) {
+            return Optional.empty();
+        }
+        List<Range> ranges = new ArrayList<>();
+        for (String part : rangeHeader.substring(6).split(",")) {
+            long start = sublong(part, 0, part.indexOf("-"));
+            long end = sublong(part, part.indexOf("-") + 1, part.length());
+            if (start == -1) {
+                if (end <= 0) {
+                    return Optional.empty();
+                }
+                start = Math.max(0, length - end);
+                end = length - 1;
+            } else if (end == -1 || end > length - 1) {
+                end = length - 1;
+            }
+            if (start > end) {
+                if (start < length) {
+                    return Optional.empty();
+                }
+                continue;
+            }
+            ranges.add(new Range(start, end, length));
+        }
+        return ranges.isEmpty() ? Optional.empty() : Optional.of(ranges);
+    }
+
     private static List<Range> getRanges(HttpServletRequest request, HttpServletResponse response, int length,
             String fileName) throws IOException {
         Range full = new Range(0, length - 1, length);
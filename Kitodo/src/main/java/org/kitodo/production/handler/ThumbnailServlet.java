@@ -0,0 +1,125 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.handler;
+
+import static org.kitodo.constants.StringConstants.MEDIA_ID;
+import static org.kitodo.constants.StringConstants.PROCESS;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Objects;
+
+import jakarta.inject.Inject;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.production.forms.dataeditor.GalleryMediaContent;
+import org.kitodo.production.forms.dataeditor.MediaProvider;
+import org.kitodo.production.helper.RangeStreamHelper;
+import org.kitodo.production.services.ServiceManager;
+import org.kitodo.production.services.image.ThumbnailCache;
+
+/**
+ * Delivers the thumbnails of the gallery of the metadata editor. Unlike
+ * dynamic JSF resources, thumbnails are delivered without running through the
+ * JSF life cycle, and they carry {@code ETag} and {@code Last-Modified}
+ * headers, so that the browser can revalidate them with a conditional request
+ * instead of loading them again. Only media of processes opened in the
+ * metadata editor of the current session are delivered.
+ */
+@WebServlet(name = "ThumbnailServlet", urlPatterns = "/thumbnails")
+public class ThumbnailServlet extends HttpServlet {
+
+    private static final Logger logger = LogManager.getLogger(ThumbnailServlet.class);
+
+    private static final String JPEG_MIME_TYPE = "image/jpeg";
+
+    @Inject
+    private MediaProvider mediaProvider;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String processId = request.getParameter(PROCESS);
+        String mediaId = request.getParameter(MEDIA_ID);
+        if (!NumberUtils.isDigits(processId) || Objects.isNull(mediaId)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        GalleryMediaContent mediaContent = mediaProvider.getGalleryMediaContent(Integer.parseInt(processId), mediaId);
+        if (Objects.isNull(mediaContent) || !mediaContent.isShowingThumbnail()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        File file;
+        String contentType;
+        if (mediaContent.isShowingInPreview()) {
+            file = ServiceManager.getFileService().getFile(mediaContent.getPreviewUri());
+            contentType = mediaContent.getPreviewMimeType();
+        } else {
+            File image = ServiceManager.getFileService().getFile(mediaContent.getMediaViewUri());
+            if (!image.isFile()) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            try {
+                file = ThumbnailCache.getInstance().getThumbnail(image);
+            } catch (IOException e) {
+                logger.error("Cannot create thumbnail of {}: {}", image, e.getMessage());
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                return;
+            }
+            contentType = JPEG_MIME_TYPE;
+        }
+        if (!file.isFile()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = file.length();
+        long lastModified = file.lastModified();
+        String eTag = RangeStreamHelper.createETag(length, lastModified);
+        response.setHeader("ETag", eTag);
+        response.setDateHeader("Last-Modified", lastModified);
+        response.setHeader("Cache-Control", "private, no-cache");
+        if (isNotModified(request, eTag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(contentType);
+        response.setContentLengthLong(length);
+        Files.copy(file.toPath(), response.getOutputStream());
+    }
+
+    /**
+     * Checks whether the browser’s copy is still valid. As specified,
+     * {@code If-None-Match} takes precedence over {@code If-Modified-Since}.
+     */
+    private static boolean isNotModified(HttpServletRequest request, String eTag, long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (Objects.nonNull(ifNoneMatch)) {
+            return ifNoneMatch.equals("*") || ifNoneMatch.contains(eTag);
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+            return ifModifiedSince != -1 && lastModified / 1000 <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.helper;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+
+/**
+ * An input stream of a file on local storage that remembers its file. This
+ * allows the {@link org.kitodo.production.handler.RangeStreamContentHandler}
+ * to deliver byte ranges through the file channel, and to validate ranges
+ * against the file’s modification time.
+ */
+public class LocalFileInputStream extends FileInputStream {
+
+    private final File file;
+
+    /**
+     * Opens an input stream of a local file.
+     *
+     * @param file
+     *            file to read
+     * @throws FileNotFoundException
+     *             if the file does not exist or cannot be read
+     */
+    public LocalFileInputStream(File file) throws FileNotFoundException {
+        super(file);
+        this.file = file;
+    }
+
+    /**
+     * Returns the file being read.
+     *
+     * @return the file
+     */
+    public File getFile() {
+        return file;
+    }
+}
@@ -11,9 +11,12 @@
 
 package org.kitodo.production.helper;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * The class contains functions for handling ranges in RangeStreamContentHandler.
@@ -56,30 +59,66 @@ public class RangeStreamHelper {
      */
     public static void copy(InputStream input, OutputStream output, long inputSize, long start, long length)
             throws IOException {
-        byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+        byte[] buffer = new byte[(int) Math.min(DEFAULT_BUFFER_SIZE, Math.max(length, 1))];
         int read;
 
         if (inputSize == length) {
             // Write full range.
             while ((read = input.read(buffer)) > 0) {
                 output.write(buffer, 0, read);
-                output.flush();
             }
         } else {
-            input.skip(start);
+            input.skipNBytes(start);
             long toRead = length;
 
-            while ((read = input.read(buffer)) > 0) {
+            while (toRead > 0 && (read = input.read(buffer, 0, (int) Math.min(buffer.length, toRead))) > 0) {
+                output.write(buffer, 0, read);
                 toRead -= read;
-                if (toRead > 0) {
-                    output.write(buffer, 0, read);
-                    output.flush();
-                } else {
-                    output.write(buffer, 0, (int) toRead + read);
-                    output.flush();
-                    break;
-                }
             }
         }
     }
+
+    /**
+     * Transfers a range of a file to a channel. The file channel is positioned
+     * directly at the start of the range, and the operating system may copy
+     * the data without passing it through the Java heap.
+     *
+     * @param file
+     *         The file channel to read from
+     * @param target
+     *         The channel to write to
+     * @param start
+     *         The start of range.
+     * @param length
+     *         The length of range.
+     * @throws IOException
+     *         The exception when working with the channels
+     */
+    public static void transfer(FileChannel file, WritableByteChannel target, long start, long length)
+            throws IOException {
+        long position = start;
+        long end = start + length;
+        while (position < end) {
+            long transferred = file.transferTo(position, end - position, target);
+            if (transferred <= 0) {
+                throw new EOFException("File ended at " + position + " before end of range " + end);
+            }
+            position += transferred;
+        }
+    }
+
+    /**
+     * Creates a strong entity tag for a file from its length and modification
+     * time. The tag changes whenever the file is replaced, so browsers do not
+     * combine cached ranges of different versions of a file.
+     *
+     * @param length
+     *         The length of the file
+     * @param lastModified
+     *         The modification time of the file in milliseconds
+     * @return the entity tag, including the quotes
+     */
+    public static String createETag(long length, long lastModified) {
+        return '"' + Long.toHexString(length) + '-' + Long.toHexString(lastModified) + '"';
+    }
 }
@@ -470,6 +470,27 @@ public class VariableReplacer {
                 || stringWithVariables.contains("(relativepath)");
     }
 
+    /**
+     * Checks whether a string contains variables that are replaced with
+     * metadata of the workpiece. Only then the workpiece is needed.
+     *
+     * @param stringWithVariables
+     *            string to be checked for metadata variables
+     * @return true if string contains metadata variables
+     */
+    public boolean containsMetadata(String stringWithVariables) {
+        if (Objects.isNull(stringWithVariables)) {
+            return false;
+        }
+        Matcher variableFinder = VARIABLE_FINDER_REGEX.matcher(invokeLegacyVariableReplacer(stringWithVariables));
+        while (variableFinder.find()) {
+            if (Objects.nonNull(variableFinder.group(3))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * If a filename is to be determined, it is determined here.
      */
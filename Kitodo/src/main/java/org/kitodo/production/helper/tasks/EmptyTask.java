@@ -101,6 +101,12 @@ public class EmptyTask extends Thread {
      */
     private Long passedAway = null;
 
+    /**
+     * The field queuePosition determines the order in which the task manager
+     * starts waiting tasks.
+     */
+    private long queuePosition;
+
     /**
      * The field progress holds one out of 101 values, ranging from 0 to 100 to
      * indicate the progress of the work. This will be shown as a progress bar
@@ -209,6 +215,16 @@ public class EmptyTask extends Thread {
         return exception;
     }
 
+    /**
+     * Returns the position of the task in the queue of waiting tasks. Tasks
+     * with lower positions are started first.
+     *
+     * @return the position in the queue
+     */
+    long getQueuePosition() {
+        return queuePosition;
+    }
+
     /**
      * Returns the progress of the task in percent,
      * i.e. in a range from 0 to 100.
@@ -334,6 +350,7 @@ public class EmptyTask extends Thread {
     public void interrupt(Behaviour mode) {
         behaviour = mode;
         interrupt();
+        TaskManager.behaviourChanged(this);
     }
 
     /**
@@ -479,6 +496,16 @@ public class EmptyTask extends Thread {
         setProgress((int) Math.ceil(statusProgress));
     }
 
+    /**
+     * Sets the position of the task in the queue of waiting tasks.
+     *
+     * @param queuePosition
+     *            the position in the queue
+     */
+    void setQueuePosition(long queuePosition) {
+        this.queuePosition = queuePosition;
+    }
+
     /**
      * Sets the time of death of the task now.
      */
@@ -510,8 +537,9 @@ public class EmptyTask extends Thread {
      * result is that two threads are running concurrently: the current thread
      * which returns from the call to the start method, and the other thread
      * which executes its run method. In addition, this method override ensures
-     * that the thread is properly registered in the task manager and that its
-     * uncaught exception handler has been properly set.
+     * that the thread is properly registered in the task manager, that the task
+     * manager learns when it ends, and that its uncaught exception handler has
+     * been properly set.
      *
      * @see java.lang.Thread#start()
      */
@@ -520,5 +548,6 @@ public class EmptyTask extends Thread {
         TaskManager.addTaskIfMissing(this);
         setUncaughtExceptionHandler(CATCH_ALL);
         super.start();
+        TaskManager.taskStarted(this);
     }
 }
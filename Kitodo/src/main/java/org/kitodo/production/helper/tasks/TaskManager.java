@@ -11,13 +11,18 @@
 
 package org.kitodo.production.helper.tasks;
 
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.ConcurrentModificationException;
-import java.util.Iterator;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -32,10 +37,23 @@ import org.kitodo.production.helper.tasks.EmptyTask.Behaviour;
  * The class TaskManager serves to handle the execution of threads. It can be
  * user controlled by the “Long running task manager”, backed by
  * {@link org.kitodo.production.forms.TaskManagerForm}.
+ *
+ * <p>
+ * Tasks waiting to be run are held in one priority queue per task type, ordered
+ * by their position in the task list. Whenever a task is added, has ended, or
+ * is deleted, the task manager immediately starts the next waiting tasks, as
+ * far as the overall limit and the limit for their task type allow. The task
+ * type is the simple class name of the task. The {@link TaskSitter} only
+ * removes expired tasks from time to time.
  */
 public class TaskManager {
     private static final Logger logger = LogManager.getLogger(TaskManager.class);
 
+    /**
+     * Orders waiting tasks by their position in the queue.
+     */
+    private static final Comparator<EmptyTask> QUEUE_ORDER = Comparator.comparingLong(EmptyTask::getQueuePosition);
+
     /**
      * The field singletonInstance holds the singleton instance of the
      * TaskManager. Tough the method signatures of TaskManager are static, it is
@@ -47,15 +65,43 @@ public class TaskManager {
 
     /**
      * The field taskSitter holds a scheduled executor to repeatedly run the
-     * TaskSitter task which will remove old threads and start new ones as
-     * configured to do.
+     * TaskSitter task which will remove old threads as configured to do.
      */
     private final ScheduledExecutorService taskSitter;
 
     /**
-     * The field taskList holds the list of threads managed by the task manager.
+     * The field taskList holds the list of threads managed by the task manager,
+     * in the order they are shown to the user. The list can be read without
+     * locking. It is only modified while holding the {@link #lock}.
+     */
+    private final List<EmptyTask> taskList = new CopyOnWriteArrayList<>();
+
+    /**
+     * Tasks waiting to be started, per task type. Tasks that have been started
+     * by the user, or have been deleted, are removed from the queues lazily,
+     * when they come up.
+     */
+    private final Map<String, PriorityQueue<EmptyTask>> waitingTasks = new HashMap<>();
+
+    /**
+     * Number of running tasks per task type.
+     */
+    private final Map<String, Integer> runningTasks = new HashMap<>();
+
+    /**
+     * Number of running tasks.
      */
-    final LinkedList<EmptyTask> taskList = new LinkedList<>();
+    private int runningTasksCount;
+
+    /**
+     * Next free position in the queue.
+     */
+    private long nextQueuePosition;
+
+    /**
+     * Lock for all modifications of the task manager’s state.
+     */
+    private final Object lock = new Object();
 
     /**
      * TaskManager is a singleton so its constructor is private. It will be
@@ -69,23 +115,26 @@ public class TaskManager {
     }
 
     /**
-     * Adds a task thread to the task list.
+     * Adds a task thread to the task list. If the limits allow, it is started
+     * right away.
      *
      * @param task
      *            task to add
      */
     public static void addTask(EmptyTask task) {
-        LinkedList<EmptyTask> tasks = singleton().taskList;
-        synchronized (tasks) {
-            tasks.addLast(task);
+        TaskManager taskManager = singleton();
+        synchronized (taskManager.lock) {
+            task.setQueuePosition(taskManager.nextQueuePosition++);
+            taskManager.taskList.add(task);
+            taskManager.enqueue(task);
+            taskManager.launch();
         }
     }
 
     /**
      * The procedure will add a task to the task list if it
      * has not yet been added right after the last task that is currently
-     * executing. If this fails for some reason (i.e. the list got concurrently
-     * modified) it will be added in the end.
+     * executing.
      *
      * <p>
      * This is a fallback method that is called by the overloaded start() method
@@ -96,16 +145,11 @@ public class TaskManager {
      *            task to add
      */
     static void addTaskIfMissing(EmptyTask task) {
-        LinkedList<EmptyTask> tasks = singleton().taskList;
-        synchronized (tasks) {
-            if (!tasks.contains(task)) {
-                int pos = lastIndexOf(TaskState.WORKING) + 1;
-                try {
-                    tasks.add(pos, task);
-                } catch (IndexOutOfBoundsException e) {
-                    logger.catching(e);
-                    tasks.addLast(task);
-                }
+        TaskManager taskManager = singleton();
+        synchronized (taskManager.lock) {
+            if (!taskManager.taskList.contains(task)) {
+                task.setQueuePosition(taskManager.nextQueuePosition++);
+                taskManager.taskList.add(taskManager.lastIndexOf(TaskState.WORKING) + 1, task);
             }
         }
     }
@@ -116,16 +160,13 @@ public class TaskManager {
      * removeAllFinishedTasks() to clean up the list or stopAndDeleteAllTasks()
      * if you wish to do so. To get rid of one specific task, call
      * abstractTask.interrupt(Behaviour.DELETE_IMMEDIATELY) which will cause it
-     * to be removed by the TaskSitter as soon as it has terminated
-     * successfully.
+     * to be removed as soon as it has terminated. Reading the list does not
+     * wait for modifications in progress.
      *
      * @return a copy of the task list
      */
     public static List<EmptyTask> getTaskList() {
-        LinkedList<EmptyTask> tasks = singleton().taskList;
-        synchronized (tasks) {
-            return new ArrayList<>(tasks);
-        }
+        return new ArrayList<>(singleton().taskList);
     }
 
     /**
@@ -136,16 +177,13 @@ public class TaskManager {
      *            state of tasks to look for
      * @return the index of the last task in that state
      */
-    private static int lastIndexOf(TaskState state) {
+    private int lastIndexOf(TaskState state) {
         int lastIndex = -1;
         int pos = -1;
-        LinkedList<EmptyTask> tasks = singleton().taskList;
-        synchronized (tasks) {
-            for (EmptyTask task : tasks) {
-                pos++;
-                if (task.getTaskState().equals(state)) {
-                    lastIndex = pos;
-                }
+        for (EmptyTask task : taskList) {
+            pos++;
+            if (task.getTaskState().equals(state)) {
+                lastIndex = pos;
             }
         }
         return lastIndex;
@@ -156,19 +194,10 @@ public class TaskManager {
      * terminated threads from the list.
      */
     public static void removeAllFinishedTasks() {
-        boolean redo;
-        do {
-            redo = false;
-            try {
-                LinkedList<EmptyTask> tasks = singleton().taskList;
-                synchronized (tasks) {
-                    tasks.removeIf(emptyTask -> emptyTask.getState().equals(Thread.State.TERMINATED));
-                }
-            } catch (ConcurrentModificationException listModifiedByAnotherThreadWhileIterating) {
-                logger.catching(listModifiedByAnotherThreadWhileIterating);
-                redo = true;
-            }
-        } while (redo);
+        TaskManager taskManager = singleton();
+        synchronized (taskManager.lock) {
+            taskManager.taskList.removeIf(emptyTask -> emptyTask.getState().equals(Thread.State.TERMINATED));
+        }
     }
 
     /**
@@ -179,11 +208,11 @@ public class TaskManager {
      *            task to move forwards
      */
     public static void runEarlier(EmptyTask task) {
-        LinkedList<EmptyTask> tasks = singleton().taskList;
-        synchronized (tasks) {
-            int index = tasks.indexOf(task);
+        TaskManager taskManager = singleton();
+        synchronized (taskManager.lock) {
+            int index = taskManager.taskList.indexOf(task);
             if (index > 0) {
-                Collections.swap(tasks, index - 1, index);
+                taskManager.swap(index - 1, index);
             }
         }
     }
@@ -196,15 +225,42 @@ public class TaskManager {
      *            task to move backwards
      */
     public static void runLater(EmptyTask task) {
-        LinkedList<EmptyTask> tasks = singleton().taskList;
-        synchronized (tasks) {
-            int index = tasks.indexOf(task);
-            if (index > -1 && index + 1 < tasks.size()) {
-                Collections.swap(tasks, index, index + 1);
+        TaskManager taskManager = singleton();
+        synchronized (taskManager.lock) {
+            int index = taskManager.taskList.indexOf(task);
+            if (index > -1 && index + 1 < taskManager.taskList.size()) {
+                taskManager.swap(index, index + 1);
             }
         }
     }
 
+    /**
+     * Swaps two tasks in the task list, and their positions in the queue.
+     */
+    private void swap(int upper, int lower) {
+        EmptyTask upperTask = taskList.get(upper);
+        EmptyTask lowerTask = taskList.get(lower);
+        taskList.set(upper, lowerTask);
+        taskList.set(lower, upperTask);
+        long upperPosition = upperTask.getQueuePosition();
+        requeue(upperTask, lowerTask.getQueuePosition());
+        requeue(lowerTask, upperPosition);
+    }
+
+    /**
+     * Changes the position of a task in the queue. The priority queue does not
+     * notice changes of its elements, so a waiting task must be taken out and
+     * put in again.
+     */
+    private void requeue(EmptyTask task, long queuePosition) {
+        PriorityQueue<EmptyTask> queue = waitingTasks.get(getTaskType(task));
+        boolean waiting = Objects.nonNull(queue) && queue.remove(task);
+        task.setQueuePosition(queuePosition);
+        if (waiting) {
+            queue.add(task);
+        }
+    }
+
     /**
      * The synchronized function singleton() must be used to obtain singleton
      * access to the TaskManager instance.
@@ -234,26 +290,230 @@ public class TaskManager {
      * the same time remove all threads that aren’t alive anyhow.
      */
     public static void stopAndDeleteAllTasks() {
-        boolean redo;
-        do {
-            redo = false;
+        TaskManager taskManager = singleton();
+        synchronized (taskManager.lock) {
+            taskManager.waitingTasks.clear();
+            for (EmptyTask task : taskManager.taskList) {
+                if (task.isAlive()) {
+                    task.interrupt(Behaviour.DELETE_IMMEDIATELY);
+                } else {
+                    taskManager.taskList.remove(task);
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts waiting tasks as far as the limits allow. Among the task types
+     * whose limit is not yet reached, the task that is first in the queue is
+     * started, until the overall limit is reached or no task is waiting any
+     * more.
+     */
+    static void launchTasks() {
+        TaskManager taskManager = singleton();
+        synchronized (taskManager.lock) {
+            taskManager.launch();
+        }
+    }
+
+    private void launch() {
+        int clearance = TaskSitter.getAutoRunLimit() - runningTasksCount;
+        while (clearance > 0) {
+            EmptyTask next = null;
+            PriorityQueue<EmptyTask> nextQueue = null;
+            for (Entry<String, PriorityQueue<EmptyTask>> entry : waitingTasks.entrySet()) {
+                PriorityQueue<EmptyTask> queue = entry.getValue();
+                EmptyTask first = pollStale(queue);
+                if (Objects.nonNull(first) && (Objects.isNull(next) || QUEUE_ORDER.compare(first, next) < 0)
+                        && runningTasks.getOrDefault(entry.getKey(), 0) < getTypeLimit(entry.getKey())) {
+                    next = first;
+                    nextQueue = queue;
+                }
+            }
+            if (Objects.isNull(next)) {
+                break;
+            }
+            nextQueue.poll();
             try {
-                LinkedList<EmptyTask> tasks = singleton().taskList;
-                synchronized (tasks) {
-                    Iterator<EmptyTask> inspector = tasks.iterator();
-                    while (inspector.hasNext()) {
-                        EmptyTask task = inspector.next();
-                        if (task.isAlive()) {
-                            task.interrupt(Behaviour.DELETE_IMMEDIATELY);
-                        } else {
-                            inspector.remove();
-                        }
+                next.start();
+                clearance--;
+            } catch (IllegalThreadStateException e) {
+                logger.debug("{} has already been started", next.getName(), e);
+            }
+        }
+        waitingTasks.values().removeIf(PriorityQueue::isEmpty);
+    }
+
+    /**
+     * Removes tasks from the head of the queue that have been started by the
+     * user in the meantime, or have been deleted.
+     *
+     * @return the first task in the queue that is still waiting, or null
+     */
+    private EmptyTask pollStale(PriorityQueue<EmptyTask> queue) {
+        EmptyTask first;
+        while (Objects.nonNull(first = queue.peek())) {
+            if (!first.getState().equals(Thread.State.NEW)) {
+                queue.poll();
+            } else if (Behaviour.DELETE_IMMEDIATELY.equals(first.getBehaviour())) {
+                queue.poll();
+                taskList.remove(first);
+            } else {
+                return first;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the maximum number of tasks of a type that may run at the same
+     * time. It can be configured by appending the task type to the key of the
+     * overall limit, for example {@code taskManager.autoRunLimit.ExportDmsTask}.
+     * If not configured, only the overall limit applies.
+     */
+    private static int getTypeLimit(String taskType) {
+        return ConfigCore.getConfig().getInt(ParameterCore.TASK_MANAGER_AUTORUN_LIMIT + "." + taskType,
+            Integer.MAX_VALUE);
+    }
+
+    private static String getTaskType(EmptyTask task) {
+        return task.getClass().getSimpleName();
+    }
+
+    private void enqueue(EmptyTask task) {
+        waitingTasks.computeIfAbsent(getTaskType(task), taskType -> new PriorityQueue<>(QUEUE_ORDER)).add(task);
+    }
+
+    /**
+     * Called by a task when it has been started. The task is counted as running
+     * until it ends. A watcher on a virtual thread waits for the end of the
+     * task, so that waiting tasks can be started without delay.
+     *
+     * @param task
+     *            task that was started
+     */
+    static void taskStarted(EmptyTask task) {
+        TaskManager taskManager = singleton();
+        synchronized (taskManager.lock) {
+            taskManager.runningTasks.merge(getTaskType(task), 1, Integer::sum);
+            taskManager.runningTasksCount++;
+        }
+        Thread.ofVirtual().name("TaskWatcher-" + task.getName()).start(() -> {
+            try {
+                task.join();
+            } catch (InterruptedException e) {
+                logger.warn("Stopped waiting for {}", task.getName(), e);
+                Thread.currentThread().interrupt();
+            }
+            taskManager.taskTerminated(task);
+        });
+    }
+
+    /**
+     * Takes care of a task that has ended, and starts waiting tasks.
+     */
+    private void taskTerminated(EmptyTask task) {
+        synchronized (lock) {
+            runningTasks.merge(getTaskType(task), -1, Integer::sum);
+            runningTasksCount--;
+            task.setTimeOfDeath();
+            handleTerminated(task);
+            removeExpiredTasks();
+            launch();
+        }
+    }
+
+    /**
+     * Called by a task when its behaviour has been changed. A task that is not
+     * running is handled right away.
+     *
+     * @param task
+     *            task whose behaviour was changed
+     */
+    static void behaviourChanged(EmptyTask task) {
+        TaskManager taskManager = singleton();
+        synchronized (taskManager.lock) {
+            if (task.getState().equals(Thread.State.NEW)
+                    && Behaviour.DELETE_IMMEDIATELY.equals(task.getBehaviour())) {
+                taskManager.taskList.remove(task);
+            } else if (task.getState().equals(Thread.State.TERMINATED) && Objects.nonNull(task.getDurationDead())) {
+                taskManager.handleTerminated(task);
+                taskManager.launch();
+            }
+        }
+    }
+
+    /**
+     * Handles a terminated task as specified by its behavior: Tasks marked
+     * DELETE_IMMEDIATELY are disposed of. Tasks marked PREPARE_FOR_RESTART are
+     * replaced by a copy of them (because a {@link java.lang.Thread} cannot be
+     * started a second time), which is queued again at the same position. All
+     * other tasks are kept for a while.
+     */
+    private void handleTerminated(EmptyTask task) {
+        switch (Objects.requireNonNullElse(task.getBehaviour(), Behaviour.KEEP_FOR_A_WHILE)) {
+            case DELETE_IMMEDIATELY:
+                taskList.remove(task);
+                break;
+            case PREPARE_FOR_RESTART:
+                int index = taskList.indexOf(task);
+                if (index > -1) {
+                    EmptyTask replacement = task.replace();
+                    if (Objects.nonNull(replacement)) {
+                        replacement.setQueuePosition(task.getQueuePosition());
+                        taskList.set(index, replacement);
+                        enqueue(replacement);
                     }
                 }
-            } catch (ConcurrentModificationException listModifiedByAnotherThreadWhileIterating) {
-                logger.catching(listModifiedByAnotherThreadWhileIterating);
-                redo = true;
+                break;
+            default: // case KEEP_FOR_A_WHILE
+                break;
+        }
+    }
+
+    /**
+     * Removes terminated tasks that have been kept longer than configured, and
+     * the oldest ones of those exceeding the configured number. There are
+     * internal default values for these settings too, which will be applied in
+     * case of missing configuration entries. Since zombie processes will still
+     * occupy all their resources and aren’t available for garbage collection,
+     * these values have been chosen rather restrictive.
+     */
+    void removeExpiredTasks() {
+        synchronized (lock) {
+            int successfulMaxCount = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.TASK_MANAGER_KEEP_SUCCESSFUL);
+            int failedMaxCount = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.TASK_MANAGER_KEEP_FAILED);
+            Duration successfulMaxAge = ConfigCore.getDurationParameter(ParameterCore.TASK_MANAGER_KEEP_SUCCESSFUL_MINS,
+                ChronoUnit.MINUTES);
+            Duration failedMaxAge = ConfigCore.getDurationParameter(ParameterCore.TASK_MANAGER_KEEP_FAILED_MINS,
+                ChronoUnit.MINUTES);
+
+            LinkedList<EmptyTask> finishedThreads = new LinkedList<>();
+            LinkedList<EmptyTask> failedThreads = new LinkedList<>();
+            for (EmptyTask task : taskList) {
+                Duration durationDead = task.getDurationDead();
+                Behaviour behaviour = task.getBehaviour();
+                if (!task.getState().equals(Thread.State.TERMINATED) || Objects.isNull(durationDead)
+                        || (Objects.nonNull(behaviour) && !Behaviour.KEEP_FOR_A_WHILE.equals(behaviour))) {
+                    continue;
+                }
+                boolean taskFinishedSuccessfully = Objects.isNull(task.getException());
+                if (durationDead.compareTo(taskFinishedSuccessfully ? successfulMaxAge : failedMaxAge) > 0) {
+                    taskList.remove(task);
+                } else if (taskFinishedSuccessfully) {
+                    finishedThreads.add(task);
+                } else {
+                    failedThreads.add(task);
+                }
+            }
+
+            EmptyTask task;
+            while (finishedThreads.size() > successfulMaxCount && (task = finishedThreads.pollFirst()) != null) {
+                taskList.remove(task);
+            }
+            while (failedThreads.size() > failedMaxCount && (task = failedThreads.pollFirst()) != null) {
+                taskList.remove(task);
             }
-        } while (redo);
+        }
     }
 }
@@ -25,6 +25,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.kitodo.data.database.beans.Process;
 import org.kitodo.data.database.beans.Role;
 import org.kitodo.data.database.enums.TaskStatus;
@@ -153,10 +154,10 @@ public class LazyProcessModel extends LazyBeanModel {
             if (!StringUtils.isBlank(this.filterString)) {
                 filterMap.put(FilterService.FILTER_STRING, this.filterString);
             }
-            setRowCount(toIntExact(((ProcessService) searchService).countResults(filterMap, this.showClosedProcesses,
-                this.showInactiveProjects)));
-            entities = ((ProcessService) searchService).loadData(first, pageSize, sortField, sortOrder, filterMap,
-                this.showClosedProcesses, this.showInactiveProjects);
+            Pair<Long, List<Process>> countAndData = ((ProcessService) searchService).countAndLoadData(first,
+                pageSize, sortField, sortOrder, filterMap, this.showClosedProcesses, this.showInactiveProjects);
+            setRowCount(toIntExact(countAndData.getKey()));
+            entities = new ArrayList<>(countAndData.getValue());
             PrimeFaces.current()
                     .executeScript("updateProcessCount()");
             List<Integer> ids = new ArrayList<>();
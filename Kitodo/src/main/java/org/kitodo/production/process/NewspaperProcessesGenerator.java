@@ -16,6 +16,13 @@ import de.unigoettingen.sub.search.opac.ConfigOpacDoctype;
 
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.MonthDay;
 import java.time.format.DateTimeFormatter;
@@ -24,12 +31,21 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale.LanguageRange;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import javax.naming.ConfigurationException;
@@ -49,7 +65,9 @@ import org.kitodo.api.dataeditor.rulesetmanagement.StructuralElementViewInterfac
 import org.kitodo.api.dataformat.LogicalDivision;
 import org.kitodo.api.dataformat.Workpiece;
 import org.kitodo.api.dataformat.mets.LinkedMetsResource;
+import org.kitodo.config.ConfigCore;
 import org.kitodo.config.ConfigProject;
+import org.kitodo.config.enums.ParameterCore;
 import org.kitodo.data.database.beans.Process;
 import org.kitodo.data.database.exceptions.DAOException;
 import org.kitodo.exceptions.CommandException;
@@ -99,6 +117,13 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
      */
     private static final String PATTERN_DOUBLE_YEAR = "yyyy/yyyy";
 
+    /**
+     * Directory in the temporary directory, in which the checkpoints are kept.
+     */
+    private static final String CHECKPOINT_DIRECTORY = "newspaperProcesses";
+
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+
     /**
      * Acquisition stage of newspaper generator.
      */
@@ -239,6 +264,43 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
      */
     private Workpiece yearWorkpiece;
 
+    /**
+     * Issue processes of the current chunk, which have been created, but whose
+     * changes have not yet been saved. They are saved together with the year
+     * process at the end of the chunk.
+     */
+    private final List<Process> unsavedIssueProcesses = new ArrayList<>();
+
+    /**
+     * Workpieces of the unsaved issue processes, from which the amounts of
+     * structures and metadata are counted when the processes are saved.
+     */
+    private final Map<Process, Workpiece> unsavedIssueWorkpieces = new IdentityHashMap<>();
+
+    /**
+     * Indexes of the processes of the current chunk, which have been created.
+     * They are added to the checkpoint when the chunk has been saved.
+     */
+    private final List<Integer> unsavedIndexes = new ArrayList<>();
+
+    /**
+     * Indexes of the processes which have been created and saved, in this run
+     * or in an earlier run of the same course, which was stopped.
+     */
+    private final Set<Integer> finished = new HashSet<>();
+
+    /**
+     * File in which the indexes of the processes of saved chunks are written,
+     * so that a stopped run of the same course can continue there.
+     */
+    private Path checkpoint;
+
+    /**
+     * An issue process created, whose metadata file has yet to be written.
+     */
+    private record IssueProcess(Process process, Workpiece workpiece) {
+    }
+
     /**
      * Creates a new newspaper process generator.
      *
@@ -306,7 +368,8 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
                 return false;
             }
         } else if (currentStep - NUMBER_OF_INIT_STEPS < processesToCreate.size()) {
-            createProcess(currentStep - NUMBER_OF_INIT_STEPS);
+            currentStep += createProcesses(currentStep - NUMBER_OF_INIT_STEPS);
+            return true;
         } else {
             finish();
         }
@@ -346,6 +409,9 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
         titleGenerator = initializeTitleGenerator(configProject, overallWorkpiece, allowedMetadata);
 
         processesToCreate = course.getProcesses();
+        checkpoint = Paths.get(ConfigCore.getParameterOrDefaultValue(ParameterCore.DIR_TEMP), CHECKPOINT_DIRECTORY,
+            overallProcess.getId() + "-" + checksum(processesToCreate) + CHECKPOINT_SUFFIX);
+        readCheckpoint();
 
         if (logger.isTraceEnabled()) {
             logger.trace("Initialization took {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
@@ -395,6 +461,63 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
                 .filter(metadataView -> processTitleKeys.contains(metadataView.getId())).collect(Collectors.toList());
     }
 
+    private static String checksum(List<List<IndividualIssue>> processes) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            for (List<IndividualIssue> individualIssues : processes) {
+                for (IndividualIssue individualIssue : individualIssues) {
+                    messageDigest.update(individualIssue.toString().getBytes(StandardCharsets.UTF_8));
+                    messageDigest.update((byte) ';');
+                }
+                messageDigest.update((byte) '|');
+            }
+            return HexFormat.of().formatHex(messageDigest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void readCheckpoint() {
+        finished.clear();
+        if (!Files.isRegularFile(checkpoint)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(checkpoint, StandardCharsets.US_ASCII)) {
+                if (!line.isBlank()) {
+                    finished.add(Integer.valueOf(line.trim()));
+                }
+            }
+            logger.info("Resuming {}: {} of {} processes already created", checkpoint, finished.size(),
+                processesToCreate.size());
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Cannot read checkpoint {}, starting from the beginning: {}", checkpoint, e.getMessage());
+            finished.clear();
+        }
+    }
+
+    /*
+     * The processes have been saved already, so if the checkpoint cannot be
+     * written, generation goes on, but cannot be continued after a restart.
+     */
+    private void writeCheckpoint(List<Integer> indexes) {
+        try {
+            Files.createDirectories(checkpoint.getParent());
+            Files.write(checkpoint, indexes.stream().map(Object::toString).collect(Collectors.toList()),
+                StandardCharsets.US_ASCII, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.warn("Cannot write checkpoint {}: {}", checkpoint, e.getMessage());
+        }
+    }
+
+    private void deleteCheckpoint() {
+        try {
+            Files.deleteIfExists(checkpoint);
+        } catch (IOException e) {
+            logger.warn("Cannot delete checkpoint {}: {}", checkpoint, e.getMessage());
+        }
+    }
+
     /**
      * Returns the next sub-view relative to given view from the ruleset.
      *
@@ -516,33 +639,132 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
                     (one, another) -> one + ", " + another));
     }
 
-    private void createProcess(int index) throws DAOException, IOException, ProcessGenerationException,
+    /**
+     * Creates the issue processes of the next chunk. A chunk consists of up to
+     * the configured number of processes of the same year. The processes are
+     * saved one after the other, because their IDs are needed, and their
+     * issues are added to the year process in memory. Then the process
+     * directories and metadata files of the chunk are written in parallel.
+     *
+     * @param start
+     *            index of the first process to create
+     * @return the number of processes worked on
+     */
+    private int createProcesses(int start) throws DAOException, IOException, ProcessGenerationException,
             CommandException, SAXException, FileStructureValidationException {
         final long begin = System.nanoTime();
 
-        List<IndividualIssue> individualIssuesForProcess = processesToCreate.get(index);
-        if (individualIssuesForProcess.isEmpty()) {
-            return;
+        int chunkSize = Math.max(1,
+            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.NEWSPAPER_PROCESSES_CHUNK_SIZE));
+        List<IssueProcess> issueProcesses = new ArrayList<>();
+        String chunkYear = null;
+        int index = start;
+        for (; index < processesToCreate.size() && issueProcesses.size() < chunkSize; index++) {
+            List<IndividualIssue> individualIssuesForProcess = processesToCreate.get(index);
+            if (individualIssuesForProcess.isEmpty() || finished.contains(index)) {
+                continue;
+            }
+            IndividualIssue firstIssue = individualIssuesForProcess.getFirst();
+            String yearMark = dateMark(yearSimpleMetadataView.getScheme(), firstIssue.getDate());
+            if (Objects.isNull(chunkYear)) {
+                chunkYear = yearMark;
+                prepareTheAppropriateYearProcess(yearMark, firstIssue.getGenericFields());
+            } else if (!yearMark.equals(chunkYear)) {
+                break;
+            }
+            issueProcesses.add(createProcess(individualIssuesForProcess));
+            unsavedIndexes.add(index);
+        }
+        writeMetadataFiles(issueProcesses);
+        if (!issueProcesses.isEmpty()) {
+            saveCurrentYearProcess();
         }
 
-        IndividualIssue firstIssue = individualIssuesForProcess.getFirst();
-        Map<String, String> genericFields = firstIssue.getGenericFields();
-        prepareTheAppropriateYearProcess(dateMark(yearSimpleMetadataView.getScheme(), firstIssue.getDate()),
-            genericFields);
+        if (logger.isTraceEnabled()) {
+            logger.trace("Creating {} newspaper processes took {} ms", issueProcesses.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+        }
+        return index - start;
+    }
 
+    private IssueProcess createProcess(List<IndividualIssue> individualIssuesForProcess) throws DAOException,
+            ProcessGenerationException {
+        Map<String, String> genericFields = individualIssuesForProcess.getFirst().getGenericFields();
         generateProcess(overallProcess.getTemplate().getId(), overallProcess.getProject().getId());
+        Process issueProcess = getGeneratedProcess();
 
         String title = makeTitle(issueDivisionView.getProcessTitle().orElse("+'_'+#YEAR+#MONTH+#DAY+#ISSU"), genericFields);
-        getGeneratedProcess().setTitle(title);
-        getGeneratedProcess().setParent(yearProcess);
-        yearProcess.getChildren().add(getGeneratedProcess());
-        processService.save(getGeneratedProcess());
-        createMetadataFileForProcess(individualIssuesForProcess, title);
-        processService.save(getGeneratedProcess());
+        issueProcess.setTitle(title);
+        issueProcess.setParent(yearProcess);
+        yearProcess.getChildren().add(issueProcess);
+        processService.save(issueProcess);
+        Workpiece workpiece = createWorkpieceForProcess(individualIssuesForProcess, issueProcess, title);
+        unsavedIssueProcesses.add(issueProcess);
+        unsavedIssueWorkpieces.put(issueProcess, workpiece);
+
+        // the folders are needed by the workers, so they are loaded here
+        issueProcess.getProject().getFolders();
+        return new IssueProcess(issueProcess, workpiece);
+    }
 
-        if (logger.isTraceEnabled()) {
-            logger.trace("Creating newspaper process {} took {} ms", title,
-                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+    /**
+     * Creates the process directories and writes the metadata files of the
+     * issue processes, using several threads. Waits until all files have been
+     * written, even if the thread is interrupted meanwhile, and restores the
+     * interrupt afterwards, so that a stopped task ends after the chunk.
+     *
+     * @param issueProcesses
+     *            issue processes to write
+     */
+    private void writeMetadataFiles(List<IssueProcess> issueProcesses) throws IOException, CommandException {
+        if (issueProcesses.isEmpty()) {
+            return;
+        }
+        int threads = Math.max(1, ConfigCore.getIntParameterOrDefaultValue(ParameterCore.NEWSPAPER_PROCESSES_THREADS));
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(threads, issueProcesses.size()), runnable -> {
+            Thread thread = new Thread(runnable, "NewspaperProcesses-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(issueProcesses.size());
+            for (IssueProcess issueProcess : issueProcesses) {
+                futures.add(workers.submit(() -> {
+                    fileService.createProcessLocation(issueProcess.process());
+                    metsService.saveWorkpiece(issueProcess.workpiece(),
+                        processService.getMetadataFileUri(issueProcess.process()));
+                    return null;
+                }));
+            }
+            boolean interrupted = false;
+            Throwable failure = null;
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    i--;
+                } catch (ExecutionException e) {
+                    logger.error("Cannot write metadata file of newspaper process {}",
+                        issueProcesses.get(i).process().getTitle(), e.getCause());
+                    if (Objects.isNull(failure)) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure instanceof IOException ioException) {
+                throw ioException;
+            } else if (failure instanceof CommandException commandException) {
+                throw commandException;
+            } else if (Objects.nonNull(failure)) {
+                throw new IOException(failure.getMessage(), failure);
+            }
+        } finally {
+            workers.shutdown();
         }
     }
 
@@ -565,8 +787,8 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
         return title;
     }
 
-    private void createMetadataFileForProcess(List<IndividualIssue> individualIssues, String title)
-            throws IOException, CommandException {
+    private Workpiece createWorkpieceForProcess(List<IndividualIssue> individualIssues, Process issueProcess,
+            String title) {
 
         LogicalDivision logicalStructure = new LogicalDivision();
         MetadataEntry dateMetadataEntry = new MetadataEntry();
@@ -597,17 +819,15 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
             yearIssue.setType(issueDivisionView.getId());
             LinkedMetsResource linkToProcess = new LinkedMetsResource();
             linkToProcess.setLoctype("Kitodo.Production");
-            linkToProcess.setUri(processService.getProcessURI(getGeneratedProcess()));
+            linkToProcess.setUri(processService.getProcessURI(issueProcess));
             yearIssue.setLink(linkToProcess);
             yearDay.getChildren().add(yearIssue);
         }
 
         Workpiece workpiece = new Workpiece();
         workpiece.setLogicalStructure(logicalStructure);
-        workpiece.setId(getGeneratedProcess().getId().toString());
-        fileService.createProcessLocation(getGeneratedProcess());
-        final URI metadataFileUri = processService.getMetadataFileUri(getGeneratedProcess());
-        metsService.saveWorkpiece(workpiece, metadataFileUri);
+        workpiece.setId(issueProcess.getId().toString());
+        return workpiece;
     }
 
     private void addCustomMetadata(IndividualIssue definition, LogicalDivision issue) {
@@ -674,30 +894,43 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
         if (yearMark.equals(currentYear)) {
             return;
         } else if (Objects.nonNull(currentYear)) {
-            saveAndCloseCurrentYearProcess();
+            closeCurrentYearProcess();
         }
         if (!openExistingYearProcess(yearMark)) {
             createNewYearProcess(yearMark, genericFields);
         }
     }
 
-    private void saveAndCloseCurrentYearProcess() throws DAOException, IOException {
+    /**
+     * Saves the year process together with the issue processes of the current
+     * chunk, and only then adds them to the checkpoint. A run which is stopped
+     * in the middle of a year continues with the next chunk of the same year
+     * process, which is opened again from the overall process.
+     */
+    private void saveCurrentYearProcess() throws DAOException, IOException {
         final long begin = System.nanoTime();
 
         metsService.saveWorkpiece(yearWorkpiece, yearMetadataFileUri);
+        processService.saveList(unsavedIssueProcesses, unsavedIssueWorkpieces::get);
+        unsavedIssueProcesses.clear();
+        unsavedIssueWorkpieces.clear();
         ProcessService.checkTasks(yearProcess, yearWorkpiece.getLogicalStructure().getType());
         processService.save(yearProcess);
+        writeCheckpoint(unsavedIndexes);
+        finished.addAll(unsavedIndexes);
+        unsavedIndexes.clear();
+
+        if (logger.isTraceEnabled()) {
+            logger.trace("Saving year process for {} took {} ms", currentYear,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+        }
+    }
 
+    private void closeCurrentYearProcess() {
         this.yearProcess = null;
         this.yearWorkpiece = null;
         this.yearMetadataFileUri = null;
-        String year = currentYear;
         this.currentYear = null;
-
-        if (logger.isTraceEnabled()) {
-            logger.trace("Saving year process for {} took {} ms", year,
-                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
-        }
     }
 
     private boolean openExistingYearProcess(String yearMark)
@@ -780,6 +1013,9 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
         Workpiece workpiece = new Workpiece();
         workpiece.setLogicalStructure(logicalStructure);
         workpiece.setId(getGeneratedProcess().getId().toString());
+        metsService.saveWorkpiece(workpiece, metadataFileUri);
+        // a continued run must find the year process in the overall process
+        metsService.saveWorkpiece(overallWorkpiece, overallMetadataFileUri);
 
         this.yearProcess = getGeneratedProcess();
         this.yearWorkpiece = workpiece;
@@ -815,7 +1051,9 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
     private void finish() throws DAOException, IOException {
         final long begin = System.nanoTime();
 
-        saveAndCloseCurrentYearProcess();
+        if (Objects.nonNull(yearProcess)) {
+            closeCurrentYearProcess();
+        }
         for (SimpleMetadataViewInterface newspaperProcessTitleView : newspaperProcessTitleViews) {
             MetadataEditor.writeMetadataEntry(overallWorkpiece.getLogicalStructure(), newspaperProcessTitleView,
                 overallProcess.getTitle());
@@ -823,6 +1061,7 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
         metsService.saveWorkpiece(overallWorkpiece, overallMetadataFileUri);
         ProcessService.checkTasks(overallProcess, overallWorkpiece.getLogicalStructure().getType());
         processService.save(overallProcess);
+        deleteCheckpoint();
 
         if (logger.isTraceEnabled()) {
             logger.trace("Finish took {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
@@ -830,23 +1069,37 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
     }
 
     /**
-     * Check if process with the same processtitle already exists.
+     * Check if process with the same processtitle already exists. The titles
+     * of all issues are generated first and then looked up in the database
+     * together, so that a long course does not cause one query per issue.
+     * Every issue whose title exists already, or is repeated within the
+     * course, is reported. Processes which have been created by a stopped run
+     * of the same course are skipped.
+     *
      * @return 'true' if Duplicated titles are found and 'false' if not
      */
     public boolean isDuplicatedTitles() throws ProcessGenerationException, DAOException {
-        List<List<IndividualIssue>> processes = course.getProcesses();
+        String definition = issueDivisionView.getProcessTitle().orElse("+'_'+#YEAR+#MONTH+#DAY+#ISSU");
+        List<IndividualIssue> issues = new ArrayList<>();
         List<String> issueTitles = new ArrayList<>();
+        List<List<IndividualIssue>> processes = course.getProcesses();
+        for (int index = 0; index < processes.size(); index++) {
+            if (finished.contains(index)) {
+                continue;
+            }
+            for (IndividualIssue individualIssue : processes.get(index)) {
+                issues.add(individualIssue);
+                issueTitles.add(makeTitle(definition, individualIssue.getGenericFields()));
+            }
+        }
+        Set<String> existingTitles = processService.findExistingTitles(new HashSet<>(issueTitles));
+        Set<String> courseTitles = new HashSet<>();
         boolean check = false;
-        for (List<IndividualIssue> individualProcess : processes) {
-            for (IndividualIssue individualIssue : individualProcess) {
-                Map<String, String> genericFields = individualIssue.getGenericFields();
-                String title = makeTitle(issueDivisionView.getProcessTitle().orElse("+'_'+#YEAR+#MONTH+#DAY+#ISSU"),
-                    genericFields);
-                if (!ServiceManager.getProcessService().findByTitle(title).isEmpty() || issueTitles.contains(title)) {
-                    Helper.setErrorMessage("duplicatedTitles", individualIssue.toString());
-                    check = true;
-                }
-                issueTitles.add(title);
+        for (int i = 0; i < issues.size(); i++) {
+            String title = issueTitles.get(i);
+            if (!courseTitles.add(title) || existingTitles.contains(title)) {
+                Helper.setErrorMessage("duplicatedTitles", issues.get(i).toString());
+                check = true;
             }
         }
         return check;
@@ -13,9 +13,7 @@ package org.kitodo.production.services.calendar;
 
 import static org.kitodo.constants.StringConstants.CREATE;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -35,8 +33,6 @@ import org.kitodo.api.dataeditor.rulesetmanagement.MetadataViewInterface;
 import org.kitodo.api.dataeditor.rulesetmanagement.RulesetManagementInterface;
 import org.kitodo.api.dataeditor.rulesetmanagement.SimpleMetadataViewInterface;
 import org.kitodo.api.dataeditor.rulesetmanagement.StructuralElementViewInterface;
-import org.kitodo.config.ConfigCore;
-import org.kitodo.config.enums.ParameterCore;
 import org.kitodo.data.database.beans.Process;
 import org.kitodo.data.database.exceptions.DAOException;
 import org.kitodo.production.forms.createprocess.ProcessDetail;
@@ -80,13 +76,9 @@ public class CalendarService {
      */
     public static List<MetadataViewInterface> getAddableMetadata(Process completeEdition) throws IOException, DAOException {
 
-        // get an instance of the ruleset module
-        RulesetManagementInterface ruleset = ServiceManager.getRulesetManagementService().getRulesetManagement();
-
-        // find and load the ruleset file
-        String rulesetDir = ConfigCore.getParameter(ParameterCore.DIR_RULESETS);
-        String rulesetFullPath = Paths.get(rulesetDir, completeEdition.getRuleset().getFile()).toString();
-        ruleset.load(new File(rulesetFullPath));
+        // get the loaded ruleset
+        RulesetManagementInterface ruleset = ServiceManager.getRulesetService()
+                .openRuleset(completeEdition.getRuleset());
 
         // get the user’s metadata language
         SecurityUserDetails authenticatedUser = ServiceManager.getUserService().getAuthenticatedUser();
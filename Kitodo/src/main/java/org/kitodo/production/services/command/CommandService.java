@@ -16,24 +16,53 @@ import io.reactivex.schedulers.Schedulers;
 
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 
 import org.kitodo.api.command.CommandInterface;
+import org.kitodo.api.command.CommandOptions;
 import org.kitodo.api.command.CommandResult;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
 import org.kitodo.production.helper.Helper;
 import org.kitodo.serviceloader.KitodoServiceLoader;
 
 public class CommandService {
+    /**
+     * Number of results of asynchronously run commands that are kept.
+     */
+    private static final int MAXIMUM_FINISHED_COMMAND_RESULTS = 100;
+
     private final CommandInterface commandModule;
-    private final ArrayList<CommandResult> finishedCommandResults = new ArrayList<>();
+    private final Deque<CommandResult> finishedCommandResults = new ArrayDeque<>();
+    private final Semaphore commandPermits;
+    private final ExecutorService asyncExecutor;
 
     /**
      * Initialize Command Service.
      */
     public CommandService() {
         commandModule = new KitodoServiceLoader<>(CommandInterface.class).loadModule();
+        int parallelLimit = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.SCRIPT_PARALLEL_LIMIT);
+        if (parallelLimit > 0) {
+            commandPermits = new Semaphore(parallelLimit, true);
+            asyncExecutor = Executors.newFixedThreadPool(parallelLimit, runnable -> {
+                Thread thread = new Thread(runnable, "CommandService-async");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            commandPermits = null;
+            asyncExecutor = null;
+        }
     }
 
     /**
@@ -49,11 +78,32 @@ public class CommandService {
      *             an IOException
      */
     public CommandResult runCommand(String script) throws IOException {
+        return runCommand(script, null);
+    }
+
+    /**
+     * Method executes a script string and reports the output of the script
+     * while it is running. The output is reported line by line, from another
+     * thread.
+     *
+     * @param script
+     *            Path to the script file with optional arguments (filepath
+     *            parameter1 parameter2 ...).
+     * @param outputListener
+     *            is informed about each line the script writes to standard
+     *            output or standard error, may be {@code null}
+     *
+     * @return The CommandResult.
+     *
+     * @throws IOException
+     *             an IOException
+     */
+    public CommandResult runCommand(String script, Consumer<String> outputListener) throws IOException {
         if (Objects.isNull(script)) {
             return null;
         }
 
-        CommandResult commandResult = commandModule.runCommand(script);
+        CommandResult commandResult = runCommandLimited(script, outputListener);
 
         if (Objects.isNull(commandResult)) {
             throw new IOException("Command execution failed: no result returned");
@@ -117,10 +167,12 @@ public class CommandService {
     public void runCommandAsync(String script) {
         if (Objects.nonNull(script)) {
             Flowable<CommandResult> source = Flowable.fromCallable(() ->
-                commandModule.runCommand(script)
+                runCommandLimited(script, null)
             );
 
-            Flowable<CommandResult> commandBackgroundWorker = source.subscribeOn(Schedulers.io());
+            Flowable<CommandResult> commandBackgroundWorker = source.subscribeOn(Objects.nonNull(asyncExecutor)
+                    ? Schedulers.from(asyncExecutor)
+                    : Schedulers.io());
             Flowable<CommandResult> commandResultListener = commandBackgroundWorker.observeOn(Schedulers.single());
             commandResultListener.subscribe(this::handleCommandResult);
         }
@@ -160,12 +212,43 @@ public class CommandService {
      *            The finished command result.
      */
     private void handleCommandResult(CommandResult commandResult) {
-
-        finishedCommandResults.add(commandResult);
+        synchronized (finishedCommandResults) {
+            if (finishedCommandResults.size() == MAXIMUM_FINISHED_COMMAND_RESULTS) {
+                finishedCommandResults.removeFirst();
+            }
+            finishedCommandResults.addLast(commandResult);
+        }
 
         // TODO add more result handling for frontend here
     }
 
+    /**
+     * Runs a command with the configured timeout and output limit. If the
+     * number of commands run in parallel is limited, waits until a command
+     * may be started.
+     */
+    private CommandResult runCommandLimited(String script, Consumer<String> outputListener) throws IOException {
+        CommandOptions options = new CommandOptions();
+        options.setTimeout(Duration.ofMinutes(ConfigCore.getIntParameterOrDefaultValue(ParameterCore.SCRIPT_TIMEOUT)));
+        options.setMaximumLines(ConfigCore.getIntParameterOrDefaultValue(ParameterCore.SCRIPT_OUTPUT_LINES));
+        options.setStdOutListener(outputListener);
+        options.setStdErrListener(outputListener);
+        if (Objects.isNull(commandPermits)) {
+            return commandModule.runCommand(script, options);
+        }
+        try {
+            commandPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to run " + script, e);
+        }
+        try {
+            return commandModule.runCommand(script, options);
+        } finally {
+            commandPermits.release();
+        }
+    }
+
     /**
      * Generates a String in the form of (filepath parameter1 parameter2 ...).
      *
@@ -186,11 +269,14 @@ public class CommandService {
     }
 
     /**
-     * Returns all finished CommandResults.
+     * Returns the finished CommandResults of asynchronously run commands. Only
+     * the latest results are kept.
      *
      * @return The CommandResults.
      */
     public List<CommandResult> getFinishedCommandResults() {
-        return finishedCommandResults;
+        synchronized (finishedCommandResults) {
+            return new ArrayList<>(finishedCommandResults);
+        }
     }
 }
@@ -26,7 +26,6 @@ import org.kitodo.api.MetadataEntry;
 import org.kitodo.api.dataformat.LogicalDivision;
 import org.kitodo.api.dataformat.Workpiece;
 import org.kitodo.data.database.beans.Process;
-import org.kitodo.data.database.exceptions.DAOException;
 import org.kitodo.exceptions.FileStructureValidationException;
 import org.kitodo.exceptions.KitodoScriptExecutionException;
 import org.kitodo.production.helper.Helper;
@@ -103,9 +102,10 @@ public abstract class EditDataScript {
     }
 
     /**
-     * Saves the changed workpiece and process.
+     * Saves the changed workpiece. The process is saved by the caller, once
+     * all scripts have been executed.
      * @param workpiece the workpiece to save
-     * @param process the process to save
+     * @param process the process whose workpiece it is
      */
     public void saveChanges(Workpiece workpiece, Process process) {
         try {
@@ -116,12 +116,6 @@ public abstract class EditDataScript {
             }
         } catch (IOException e) {
             logger.error(e.getMessage());
-            return;
-        }
-        try {
-            ServiceManager.getProcessService().save(process);
-        } catch (DAOException e) {
-            logger.error(e.getMessage());
         }
     }
 
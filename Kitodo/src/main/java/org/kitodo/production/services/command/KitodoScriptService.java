@@ -18,6 +18,7 @@ import java.nio.file.Files;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,7 +40,6 @@ import org.kitodo.data.database.exceptions.DAOException;
 import org.kitodo.exceptions.CommandException;
 import org.kitodo.exceptions.FileStructureValidationException;
 import org.kitodo.exceptions.InvalidImagesException;
-import org.kitodo.exceptions.KitodoScriptExecutionException;
 import org.kitodo.exceptions.MediaNotFoundException;
 import org.kitodo.export.ExportDms;
 import org.kitodo.production.enums.GenerationMode;
@@ -55,11 +55,11 @@ import org.kitodo.production.services.file.FileService;
 import org.kitodo.production.services.image.ImageGenerator;
 import org.kitodo.production.thread.TaskImageGeneratorThread;
 import org.xml.sax.SAXException;
-import org.xml.sax.SAXParseException;
 
 public class KitodoScriptService {
     private static volatile KitodoScriptService instance = null;
     private Map<String, String> parameters;
+    private boolean runsInTaskManager;
     private static final Logger logger = LogManager.getLogger(KitodoScriptService.class);
     private final FileService fileService = ServiceManager.getFileService();
     private static final String RULESET = "ruleset";
@@ -106,6 +106,7 @@ public class KitodoScriptService {
             throws DAOException, IOException, InvalidImagesException, MediaNotFoundException, SAXException,
             FileStructureValidationException {
         this.parameters = new HashMap<>();
+        this.runsInTaskManager = false;
         // decompose and capture all script parameters
         StringTokenizer tokenizer = new StringTokenizer(script, ' ', '\"');
         while (tokenizer.hasNext()) {
@@ -126,7 +127,8 @@ public class KitodoScriptService {
             return;
         }
 
-        if (executeScript(processes, script)) {
+        // when the script continues in the task manager, it has not finished yet
+        if (executeScript(processes, script) && !runsInTaskManager) {
             Helper.setMessage("kitodoScript finished");
         }
     }
@@ -161,7 +163,7 @@ public class KitodoScriptService {
                 deleteTiffHeaderFile(processes);
                 break;
             case "setRuleset":
-                setRuleset(processes);
+                setRuleset(processes, script);
                 break;
             case "exportDms":
             case "export":
@@ -172,7 +174,7 @@ public class KitodoScriptService {
                 exportDms(processes, String.valueOf(Boolean.FALSE));
                 break;
             case "resaveMetadataFile":
-                resaveMetadataFile(processes);
+                resaveMetadataFile(processes, script);
                 break;
             case "setImportConfiguration":
                 setImportConfiguration(processes);
@@ -251,6 +253,7 @@ public class KitodoScriptService {
                 String errors = parameters.get("errors");
                 try {
                     TaskManager.addTask(new ImportProcesses(indir, project, template, errors));
+                    runsInTaskManager = true;
                     Helper.setMessage("kitodoScript.importProcesses.executesInTaskManager");
                 } catch (IllegalArgumentException e) {
                     Helper.setErrorMessage(e.getMessage());
@@ -267,43 +270,35 @@ public class KitodoScriptService {
     }
 
     private void deleteData(List<Process> processes, String script) {
-        String currentProcessTitle = null;
-        script = script.replaceFirst("^\\s*action:deleteData\\s+(.*?)[\r\n\\s]*", "$1");
+        String deleteScript = script.replaceFirst("^\\s*action:deleteData\\s+(.*?)[\r\n\\s]*", "$1");
         DeleteDataScript deleteDataScript = new DeleteDataScript();
-        for (Process process : processes) {
-            try {
-                currentProcessTitle = process.getTitle();
-                LegacyMetsModsDigitalDocumentHelper metadataFile = ServiceManager.getProcessService()
-                        .readMetadataFile(process);
-                deleteDataScript.process(metadataFile, process, script);
-                Helper.setMessage("deleteDataOk", currentProcessTitle);
-            } catch (IOException | KitodoScriptExecutionException | SAXException | FileStructureValidationException e) {
-                Helper.setErrorMessage("deleteDataError", currentProcessTitle + ": " + e.getMessage(), logger, e);
-            }
-        }
+        executeForEachProcess(processes, script, "deleteDataError", process -> {
+            LegacyMetsModsDigitalDocumentHelper metadataFile = ServiceManager.getProcessService()
+                    .readMetadataFile(process);
+            deleteDataScript.process(metadataFile, process, deleteScript);
+            Helper.setMessage("deleteDataOk", process.getTitle());
+            return List.of(process);
+        });
     }
 
     private void copyDataToChildren(List<Process> processes, String script) {
-        String currentProcessTitle;
-        script = script.replaceFirst("^\\s*action:copyDataToChildren\\s+(.*?)[\r\n\\s]*", "$1");
+        String copyScript = script.replaceFirst("^\\s*action:copyDataToChildren\\s+(.*?)[\r\n\\s]*", "$1");
         AddDataScript addDataScript = new AddDataScript();
-        for (Process parentProcess : processes) {
-            currentProcessTitle = parentProcess.getTitle();
-            List<MetadataScript> metadataScripts = addDataScript.parseScript(script);
-            try {
-                generateScriptValues(addDataScript, metadataScripts, parentProcess);
-                for (Process child : parentProcess.getChildren()) {
-                    LegacyMetsModsDigitalDocumentHelper childMetadataFile = ServiceManager.getProcessService()
-                            .readMetadataFile(child);
-                    for (MetadataScript metadataScript : metadataScripts) {
-                        addDataScript.executeScript(childMetadataFile, child, metadataScript);
-                    }
+        executeForEachProcess(processes, script, "addDataError", parentProcess -> {
+            List<MetadataScript> metadataScripts = addDataScript.parseScript(copyScript);
+            List<Process> changedChildren = new ArrayList<>();
+            generateScriptValues(addDataScript, metadataScripts, parentProcess);
+            for (Process child : parentProcess.getChildren()) {
+                LegacyMetsModsDigitalDocumentHelper childMetadataFile = ServiceManager.getProcessService()
+                        .readMetadataFile(child);
+                for (MetadataScript metadataScript : metadataScripts) {
+                    addDataScript.executeScript(childMetadataFile, child, metadataScript);
                 }
-                Helper.setMessage("addDataOk", currentProcessTitle);
-            } catch (IOException | KitodoScriptExecutionException | SAXException | FileStructureValidationException e) {
-                Helper.setErrorMessage("addDataError", currentProcessTitle + ": " + e.getMessage(), logger, e);
+                changedChildren.add(child);
             }
-        }
+            Helper.setMessage("addDataOk", parentProcess.getTitle());
+            return changedChildren;
+        });
     }
 
     private void generateScriptValues(AddDataScript addDataScript, List<MetadataScript> metadataScripts,
@@ -314,20 +309,15 @@ public class KitodoScriptService {
     }
 
     private void overwriteData(List<Process> processes, String script) {
-        String currentProcessTitle = null;
-        script = script.replaceFirst("^\\s*action:overwriteData\\s+(.*?)[\r\n\\s]*", "$1");
+        String overwriteScript = script.replaceFirst("^\\s*action:overwriteData\\s+(.*?)[\r\n\\s]*", "$1");
         OverwriteDataScript overwriteDataScript = new OverwriteDataScript();
-        for (Process process : processes) {
-            try {
-                currentProcessTitle = process.getTitle();
-                LegacyMetsModsDigitalDocumentHelper metadataFile = ServiceManager.getProcessService()
-                        .readMetadataFile(process);
-                overwriteDataScript.process(metadataFile, process, script);
-                Helper.setMessage("overwriteDataOk", currentProcessTitle);
-            } catch (IOException | KitodoScriptExecutionException | SAXException | FileStructureValidationException e) {
-                Helper.setErrorMessage("overwriteDataError", currentProcessTitle + ": " + e.getMessage(), logger, e);
-            }
-        }
+        executeForEachProcess(processes, script, "overwriteDataError", process -> {
+            LegacyMetsModsDigitalDocumentHelper metadataFile = ServiceManager.getProcessService()
+                    .readMetadataFile(process);
+            overwriteDataScript.process(metadataFile, process, overwriteScript);
+            Helper.setMessage("overwriteDataOk", process.getTitle());
+            return List.of(process);
+        });
     }
 
     private void updateContentFiles(List<Process> processes) {
@@ -387,18 +377,45 @@ public class KitodoScriptService {
     }
 
     private void addData(List<Process> processes, String script) {
-        String currentProcessTitle = null;
-        script = script.replaceFirst("^\\s*action:addData\\s+(.*?)[\r\n\\s]*", "$1");
+        String addScript = script.replaceFirst("^\\s*action:addData\\s+(.*?)[\r\n\\s]*", "$1");
         AddDataScript addDataScript = new AddDataScript();
+        executeForEachProcess(processes, script, "addDataError", process -> {
+            LegacyMetsModsDigitalDocumentHelper metadataFile = ServiceManager.getProcessService()
+                    .readMetadataFile(process);
+            addDataScript.process(metadataFile, process, addScript);
+            Helper.setMessage("addDataOk", process.getTitle());
+            return List.of(process);
+        });
+    }
+
+    /**
+     * Executes an action on each of the given processes and saves the processes
+     * changed by it. If there are many processes, the action is run in the
+     * task manager, otherwise right away.
+     *
+     * @param processes
+     *            processes to execute the action on
+     * @param script
+     *            the whole script, to resume an interrupted run
+     * @param errorMessage
+     *            message to show if the action fails on a process
+     * @param processAction
+     *            action to execute
+     */
+    private void executeForEachProcess(List<Process> processes, String script, String errorMessage,
+            KitodoScriptTask.ProcessAction processAction) {
+        if (KitodoScriptTask.runsInTaskManager(processes.size())) {
+            TaskManager.addTask(new KitodoScriptTask(script, processes, processAction, errorMessage));
+            runsInTaskManager = true;
+            Helper.setMessage("kitodoScript.importProcesses.executesInTaskManager");
+            return;
+        }
         for (Process process : processes) {
-            try {
-                currentProcessTitle = process.getTitle();
-                LegacyMetsModsDigitalDocumentHelper metadataFile = ServiceManager.getProcessService()
-                        .readMetadataFile(process);
-                addDataScript.process(metadataFile, process, script);
-                Helper.setMessage("addDataOk", currentProcessTitle);
-            } catch (IOException | KitodoScriptExecutionException | SAXException | FileStructureValidationException e) {
-                Helper.setErrorMessage("addDataError", currentProcessTitle + ": " + e.getMessage(), logger, e);
+            Collection<Process> changedProcesses = KitodoScriptTask.execute(processAction, process, errorMessage);
+            if (Objects.nonNull(changedProcesses)) {
+                for (Process changedProcess : changedProcesses) {
+                    saveProcess(changedProcess);
+                }
             }
         }
     }
@@ -537,7 +554,7 @@ public class KitodoScriptService {
      * @param processes
      *            list of Process objects
      */
-    private void setRuleset(List<Process> processes) {
+    private void setRuleset(List<Process> processes, String script) {
         if (isActionParameterInvalid(RULESET)) {
             return;
         }
@@ -553,10 +570,10 @@ public class KitodoScriptService {
             }
             Ruleset ruleset = rulesets.getFirst();
 
-            for (Process process : processes) {
+            executeForEachProcess(processes, script, "Error while setting ruleset", process -> {
                 process.setRuleset(ruleset);
-                saveProcess(process);
-            }
+                return List.of(process);
+            });
         } catch (RuntimeException e) {
             Helper.setErrorMessage(e);
             logger.error(e.getMessage(), e);
@@ -801,20 +818,16 @@ public class KitodoScriptService {
         }
     }
 
-    private void resaveMetadataFile(List<Process> processes) throws FileStructureValidationException,
-            SAXException {
+    private void resaveMetadataFile(List<Process> processes, String script) {
         MetsService metsService = ServiceManager.getMetsService();
         ProcessService processService = ServiceManager.getProcessService();
-        for (Process process : processes) {
-            try {
-                URI metadataFileUri = processService.getMetadataFileUri(process);
-                Workpiece workpiece = metsService.loadWorkpiece(metadataFileUri, false);
-                fileService.createBackupFile(process);
-                metsService.saveWorkpiece(workpiece, metadataFileUri);
-            } catch (IOException | SAXParseException e) {
-                logger.error(e.getMessage(), e);
-            }
-        }
+        executeForEachProcess(processes, script, "kitodoScript.errorResaving", process -> {
+            URI metadataFileUri = processService.getMetadataFileUri(process);
+            Workpiece workpiece = metsService.loadWorkpiece(metadataFileUri, false);
+            fileService.createBackupFile(process);
+            metsService.saveWorkpiece(workpiece, metadataFileUri);
+            return List.of();
+        });
     }
 
     private void setImportConfiguration(List<Process> processes) throws DAOException, NumberFormatException {
@@ -0,0 +1,366 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.command;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
+import org.kitodo.data.database.beans.Process;
+import org.kitodo.data.database.exceptions.DAOException;
+import org.kitodo.production.helper.Helper;
+import org.kitodo.production.helper.tasks.EmptyTask;
+import org.kitodo.production.services.ServiceManager;
+
+/**
+ * Runs a Kitodo Script action on many processes in the task manager. The
+ * processes are worked on in chunks by a bounded number of worker threads.
+ * Each worker loads the process it works on itself, since the database objects
+ * must not be shared between threads. The changed processes of a chunk are
+ * saved in one database transaction. After each chunk, the IDs of the
+ * processes the action succeeded on are written to a checkpoint file. If the
+ * task is stopped, it finishes the current chunk first, and when it is
+ * restarted, or the same script is run on the same processes again later, it
+ * only works on the processes which have not succeeded yet.
+ */
+public class KitodoScriptTask extends EmptyTask {
+    private static final Logger logger = LogManager.getLogger(KitodoScriptTask.class);
+
+    private static final String CHECKPOINT_DIRECTORY = "kitodoScript";
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+
+    private final List<Integer> processIds;
+    private final ProcessAction processAction;
+    private final String errorMessage;
+    private final Path checkpoint;
+    private final Set<Integer> finished;
+    private final int chunkSize;
+    private final int threads;
+
+    /**
+     * Action of a Kitodo Script, executed on a single process. If the action
+     * fails, it throws an exception, which is reported to the user, and the
+     * process is worked on again if the script is run again. The action must
+     * not save the processes, this is done for the whole chunk afterwards.
+     * Actions are executed in parallel, so they must not keep state between
+     * processes.
+     */
+    @FunctionalInterface
+    public interface ProcessAction {
+        /**
+         * Executes the action on a process.
+         *
+         * @param process
+         *            process to execute the action on
+         * @return the processes whose database entries were changed and must
+         *         be saved
+         * @throws Exception
+         *             if the action failed on the process
+         */
+        Collection<Process> execute(Process process) throws Exception;
+    }
+
+    /**
+     * Processes of one chunk the action succeeded on.
+     *
+     * @param succeeded
+     *            IDs of the processes the action succeeded on
+     * @param interrupted
+     *            whether the task was interrupted while processing the chunk
+     */
+    private record ChunkResult(List<Integer> succeeded, boolean interrupted) {
+    }
+
+    /**
+     * Creates a new Kitodo Script task.
+     *
+     * @param script
+     *            the script to run, identifies the run for resuming
+     * @param processes
+     *            processes to run the script on
+     * @param processAction
+     *            action to execute on each of the processes
+     * @param errorMessage
+     *            message to show if the action fails on a process
+     */
+    public KitodoScriptTask(String script, List<Process> processes, ProcessAction processAction,
+            String errorMessage) {
+        this(script, processes.stream().map(Process::getId).collect(Collectors.toList()), processAction,
+            errorMessage,
+            Paths.get(ConfigCore.getParameterOrDefaultValue(ParameterCore.DIR_TEMP), CHECKPOINT_DIRECTORY),
+            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.KITODO_SCRIPT_CHUNK_SIZE),
+            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.KITODO_SCRIPT_THREADS));
+    }
+
+    /**
+     * Creates a new Kitodo Script task with the given settings.
+     *
+     * @param script
+     *            the script to run, identifies the run for resuming
+     * @param processIds
+     *            IDs of the processes to run the script on
+     * @param processAction
+     *            action to execute on each of the processes
+     * @param errorMessage
+     *            message to show if the action fails on a process
+     * @param checkpointDirectory
+     *            directory to write the checkpoint file to
+     * @param chunkSize
+     *            number of processes to save in one database transaction
+     * @param threads
+     *            number of processes to work on in parallel
+     */
+    KitodoScriptTask(String script, List<Integer> processIds, ProcessAction processAction, String errorMessage,
+            Path checkpointDirectory, int chunkSize, int threads) {
+        super(script.trim().split("\\s", 2)[0].replaceFirst("^action:", ""));
+        this.processIds = processIds;
+        this.processAction = processAction;
+        this.errorMessage = errorMessage;
+        this.checkpoint = checkpointDirectory.resolve(checksum(script, processIds) + CHECKPOINT_SUFFIX);
+        this.finished = ConcurrentHashMap.newKeySet();
+        this.chunkSize = Math.max(1, chunkSize);
+        this.threads = Math.max(1, threads);
+        readCheckpoint();
+    }
+
+    /**
+     * Copy constructor. Required for cloning tasks. Cloning is required to be
+     * able to restart a task.
+     *
+     * @param source
+     *            instance to make a copy from
+     */
+    private KitodoScriptTask(KitodoScriptTask source) {
+        super(source);
+        this.processIds = source.processIds;
+        this.processAction = source.processAction;
+        this.errorMessage = source.errorMessage;
+        this.checkpoint = source.checkpoint;
+        this.finished = source.finished;
+        this.chunkSize = source.chunkSize;
+        this.threads = source.threads;
+    }
+
+    /**
+     * Returns whether a Kitodo Script action on the given number of processes
+     * is run in the task manager.
+     *
+     * @param numberOfProcesses
+     *            number of processes to run the action on
+     * @return whether the action is run in the task manager
+     */
+    static boolean runsInTaskManager(int numberOfProcesses) {
+        return numberOfProcesses >= ConfigCore
+                .getIntParameterOrDefaultValue(ParameterCore.KITODO_SCRIPT_TASK_MANAGER_THRESHOLD);
+    }
+
+    /**
+     * Executes an action on a process and reports to the user if it fails.
+     *
+     * @param processAction
+     *            action to execute
+     * @param process
+     *            process to execute the action on
+     * @param errorMessage
+     *            message to show if the action fails
+     * @return the processes whose database entries were changed and must be
+     *         saved, or {@code null} if the action failed
+     */
+    static Collection<Process> execute(ProcessAction processAction, Process process, String errorMessage) {
+        try {
+            return processAction.execute(process);
+        } catch (Exception e) {
+            Helper.setErrorMessage(errorMessage, process.getTitle() + ": " + e.getMessage(), logger, e);
+            return null;
+        }
+    }
+
+    private static String checksum(String script, List<Integer> processIds) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(script.trim().getBytes(StandardCharsets.UTF_8));
+            for (Integer processId : processIds) {
+                messageDigest.update(processId.toString().getBytes(StandardCharsets.US_ASCII));
+                messageDigest.update((byte) ',');
+            }
+            return HexFormat.of().formatHex(messageDigest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void readCheckpoint() {
+        if (!Files.isRegularFile(checkpoint)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(checkpoint, StandardCharsets.US_ASCII)) {
+                if (!line.isBlank()) {
+                    finished.add(Integer.valueOf(line.trim()));
+                }
+            }
+            logger.info("Resuming {}: {} of {} processes already finished", checkpoint, finished.size(),
+                processIds.size());
+            Helper.setMessage(Helper.getTranslation("kitodoScript.resumed", Integer.toString(finished.size()),
+                Integer.toString(processIds.size())));
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Cannot read checkpoint {}, starting from the beginning: {}", checkpoint, e.getMessage());
+            finished.clear();
+        }
+    }
+
+    private void writeCheckpoint(List<Integer> chunk) throws IOException {
+        Files.createDirectories(checkpoint.getParent());
+        Files.write(checkpoint, chunk.stream().map(Object::toString).collect(Collectors.toList()),
+            StandardCharsets.US_ASCII, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public KitodoScriptTask replace() {
+        return new KitodoScriptTask(this);
+    }
+
+    @Override
+    public void run() {
+        List<Integer> remaining = processIds.stream().filter(id -> !finished.contains(id))
+                .collect(Collectors.toList());
+        int skipped = processIds.size() - remaining.size();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, new WorkerFactory("KitodoScript"));
+        try {
+            for (int start = 0; start < remaining.size(); start += chunkSize) {
+                int end = Math.min(start + chunkSize, remaining.size());
+                ChunkResult result = runChunk(workers, remaining.subList(start, end));
+                finished.addAll(result.succeeded());
+                writeCheckpoint(result.succeeded());
+                super.setProgress(100d * (skipped + end) / processIds.size());
+                if (result.interrupted() || super.isInterrupted()) {
+                    return;
+                }
+            }
+            // if the action failed on some processes, a rerun works on them
+            if (finished.containsAll(processIds)) {
+                Files.deleteIfExists(checkpoint);
+            }
+        } catch (IOException | DAOException | RuntimeException e) {
+            Helper.setErrorMessage(e.getLocalizedMessage(), logger, e);
+            super.setException(e);
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    /**
+     * Executes the action on the processes of one chunk and saves the changed
+     * processes in one transaction. The chunk is always completed, even if the
+     * task is interrupted meanwhile, since the metadata files of the processes
+     * have been written already.
+     *
+     * @return the processes the action succeeded on, and whether the task was
+     *         interrupted while processing the chunk
+     */
+    private ChunkResult runChunk(ExecutorService workers, List<Integer> chunk) throws DAOException {
+        Collection<Process> changed = ConcurrentHashMap.newKeySet();
+        List<Future<Boolean>> futures = new ArrayList<>(chunk.size());
+        for (Integer processId : chunk) {
+            futures.add(workers.submit(() -> {
+                Process process = load(processId);
+                super.setWorkDetail(process.getTitle());
+                Collection<Process> changedProcesses = execute(processAction, process, errorMessage);
+                if (Objects.isNull(changedProcesses)) {
+                    return false;
+                }
+                changed.addAll(changedProcesses);
+                return true;
+            }));
+        }
+        List<Integer> succeeded = new ArrayList<>(chunk.size());
+        boolean interrupted = false;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                if (futures.get(i).get()) {
+                    succeeded.add(chunk.get(i));
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+                i--;
+            } catch (ExecutionException e) {
+                Helper.setErrorMessage("Error while executing Kitodo Script on process " + chunk.get(i), logger, e);
+            }
+        }
+        if (!changed.isEmpty()) {
+            save(new ArrayList<>(changed));
+        }
+        return new ChunkResult(succeeded, interrupted);
+    }
+
+    /**
+     * Loads a process from the database. This is called on the worker thread
+     * which executes the action on the process.
+     *
+     * @param processId
+     *            ID of the process to load
+     * @return the process
+     */
+    Process load(Integer processId) throws DAOException {
+        return ServiceManager.getProcessService().getById(processId);
+    }
+
+    /**
+     * Saves the processes changed by the action on a chunk in one database
+     * transaction.
+     *
+     * @param processes
+     *            processes to save
+     */
+    void save(List<Process> processes) throws DAOException {
+        ServiceManager.getProcessService().saveList(processes);
+    }
+
+    private static class WorkerFactory implements ThreadFactory {
+        private final String name;
+        private final AtomicInteger count = new AtomicInteger();
+
+        WorkerFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, name + "-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
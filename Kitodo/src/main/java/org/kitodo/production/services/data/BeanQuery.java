@@ -20,16 +20,20 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
 import org.kitodo.data.database.beans.BaseBean;
 import org.kitodo.data.database.beans.Process;
 import org.kitodo.data.database.beans.Role;
 import org.kitodo.data.database.beans.Task;
+import org.kitodo.data.database.exceptions.DAOException;
 import org.kitodo.production.enums.ProcessState;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.production.services.index.IndexingService;
@@ -38,7 +42,7 @@ import org.primefaces.model.SortOrder;
 /**
  * Provides programmatic composition of Hibernate queries.
  */
-public class BeanQuery {
+public class BeanQuery implements AutoCloseable {
     private static final Pattern EXPLICIT_ID_SEARCH = Pattern.compile("id:(\\d+)");
     private static final Collection<Integer> NO_HIT = Collections.singletonList(0);
     private static final String JOIN_LAST_TASK = "process.tasks lastTask WITH "
@@ -65,6 +69,7 @@ public class BeanQuery {
     private Pair<String, String> sorting;
     private final List<IndexQueryTerm> indexQueries = new ArrayList<>();
     private final Map<String, Object> parameters = new HashMap<>();
+    private final Collection<String> stagedSearchKeys = new ArrayList<>();
 
     /**
      * Constructor. Creates a new query builder instance.
@@ -249,28 +254,44 @@ public class BeanQuery {
      * restricts the query to the resulting IDs. If the index search yields no hits,
      * a non-matching ID set is applied to ensure the query returns no results.</p>
      *
+     * <p>Up to {@code searchindex.maxIdListSize} hits are passed to the database
+     * as a list of IDs. If the index search yields more hits, they are staged in
+     * the database and joined from there by a subquery, so that the query does
+     * not grow with the number of hits. The staged hits are released when the
+     * query is {@linkplain #close() closed}.</p>
+     *
      * <p>If no index queries were defined, no restriction is added.</p>
      *
      * @param field the entity field to restrict (e.g. "id" or "process.id")
+     * @throws DAOException if the hits cannot be staged in the database
      */
-    public void applyIndexRestriction(String field) {
+    public void applyIndexRestriction(String field) throws DAOException {
         if (indexQueries.isEmpty()) {
             return;
         }
-        Collection<Integer> ids = performIndexSearches();
-        addInCollectionRestriction(field, ids);
+        int maxIdListSize = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.SEARCHINDEX_MAX_ID_LIST_SIZE);
+        List<Integer> ids = indexingService.searchIds(Process.class, indexQueries, maxIdListSize + 1);
+        if (ids.size() <= maxIdListSize) {
+            indexQueries.clear();
+            addInCollectionRestriction(field, ids.isEmpty() ? NO_HIT : ids);
+        } else {
+            addStagedIndexRestriction(field, maxIdListSize);
+        }
     }
 
     /**
-     * Executes all collected index query terms as a single combined index search
-     * and returns the matching process IDs. If no hits are found, a non-matching
-     * ID collection is returned by the caller.
+     * Stages the hits of all collected index query terms in the database and
+     * restricts the given field to them by a subquery.
      */
-    private Collection<Integer> performIndexSearches() {
-        Collection<Integer> ids =
-                indexingService.searchIds(Process.class, indexQueries);
+    private void addStagedIndexRestriction(String field, int chunkSize) throws DAOException {
+        String searchKey = UUID.randomUUID().toString();
+        stagedSearchKeys.add(searchKey);
+        indexingService.stageIds(Process.class, indexQueries, searchKey, chunkSize);
         indexQueries.clear();
-        return ids.isEmpty() ? NO_HIT : ids;
+        String parameterName = uniqueParameterName(field.concat("SearchKey"));
+        restrictions.add(varName + '.' + field + " IN (SELECT hit.processId FROM IndexSearchHit AS hit"
+                + " WHERE hit.searchKey = :" + parameterName + ')');
+        parameters.put(parameterName, searchKey);
     }
 
     /**
@@ -516,6 +537,19 @@ public class BeanQuery {
         return parameters;
     }
 
+    /**
+     * Releases the index search hits staged in the database for this query.
+     * Queries to which an index restriction was applied should be closed after
+     * their results were retrieved.
+     */
+    @Override
+    public void close() {
+        for (String searchKey : stagedSearchKeys) {
+            indexingService.releaseStagedIds(searchKey);
+        }
+        stagedSearchKeys.clear();
+    }
+
     private String varName(String input) {
         StringBuilder result = new StringBuilder();
         CharacterIterator inputIterator = new StringCharacterIterator(input);
@@ -0,0 +1,315 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
+import org.kitodo.data.database.beans.ImportConfiguration;
+import org.kitodo.exceptions.CatalogException;
+
+/**
+ * Short-lived cache for responses of catalogues. Users re-open hit lists and
+ * page back and forth, and imports request the same records repeatedly, for
+ * example the same parent record for many children. Responses are kept for
+ * a short time, and at most a configured number of responses per import
+ * configuration, the least recently used are dropped first. If the same
+ * request is made again while the first one is still waiting for the
+ * catalogue, the second waits for the response of the first instead of
+ * asking the catalogue again.
+ *
+ * <p>Cached responses are shared between all callers and must not be
+ * modified.
+ */
+public class CatalogueResponseCache {
+    private static final Logger logger = LogManager.getLogger(CatalogueResponseCache.class);
+
+    private static volatile CatalogueResponseCache instance;
+
+    private final long timeToLive;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final Map<Integer, Map<String, Entry>> regions = new ConcurrentHashMap<>();
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder joins = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private record Key(Integer importConfigurationId, String request) {
+    }
+
+    private record Entry(long expires, Object response) {
+    }
+
+    /**
+     * A request to a catalogue.
+     *
+     * @param <T>
+     *            type of the response
+     * @param <E>
+     *            type of exception the request may throw
+     */
+    @FunctionalInterface
+    public interface CatalogueRequest<T, E extends Exception> {
+        /**
+         * Sends the request to the catalogue.
+         *
+         * @return the response
+         * @throws E
+         *             if the request fails
+         */
+        T perform() throws E;
+    }
+
+    /**
+     * Creates a new catalogue response cache.
+     *
+     * @param timeToLive
+     *            how long responses are kept, in nanoseconds. 0 disables the
+     *            cache.
+     * @param maxEntries
+     *            how many responses are kept per import configuration
+     * @param clock
+     *            source of the current time in nanoseconds
+     */
+    CatalogueResponseCache(long timeToLive, int maxEntries, LongSupplier clock) {
+        this.timeToLive = timeToLive;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the catalogue response cache.
+     *
+     * @return the catalogue response cache
+     */
+    public static CatalogueResponseCache getInstance() {
+        CatalogueResponseCache localReference = instance;
+        if (Objects.isNull(localReference)) {
+            synchronized (CatalogueResponseCache.class) {
+                localReference = instance;
+                if (Objects.isNull(localReference)) {
+                    localReference = new CatalogueResponseCache(TimeUnit.SECONDS.toNanos(
+                        ConfigCore.getIntParameterOrDefaultValue(ParameterCore.CATALOGUE_CACHE_TIME_TO_LIVE)),
+                            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.CATALOGUE_CACHE_SIZE),
+                            System::nanoTime);
+                    instance = localReference;
+                }
+            }
+        }
+        return localReference;
+    }
+
+    /**
+     * Returns the response to a request from the cache. If it is not in the
+     * cache, the request is sent to the catalogue, unless the same request is
+     * already waiting for the catalogue. Failed requests are not cached.
+     *
+     * @param importConfiguration
+     *            import configuration of the catalogue
+     * @param request
+     *            identifies the request. Requests to the same import
+     *            configuration with the same identification must have the
+     *            same response.
+     * @param catalogueRequest
+     *            sends the request to the catalogue
+     * @return the response
+     * @throws E
+     *             if the request fails
+     */
+    public <T, E extends Exception> T get(ImportConfiguration importConfiguration, String request,
+            CatalogueRequest<T, E> catalogueRequest) throws E {
+        Integer importConfigurationId = importConfiguration.getId();
+        if (timeToLive <= 0 || maxEntries <= 0 || Objects.isNull(importConfigurationId)) {
+            return catalogueRequest.perform();
+        }
+        Map<String, Entry> region = regions.computeIfAbsent(importConfigurationId, id -> createRegion());
+        Entry entry = lookUp(region, request);
+        if (Objects.nonNull(entry)) {
+            hits.increment();
+            return cast(entry.response());
+        }
+
+        Key key = new Key(importConfigurationId, request);
+        CompletableFuture<Object> response = new CompletableFuture<>();
+        CompletableFuture<Object> waiting = inFlight.putIfAbsent(key, response);
+        if (Objects.nonNull(waiting)) {
+            joins.increment();
+            return await(waiting);
+        }
+        try {
+            entry = lookUp(region, request);
+            if (Objects.nonNull(entry)) {
+                hits.increment();
+                response.complete(entry.response());
+                return cast(entry.response());
+            }
+            misses.increment();
+            T result = catalogueRequest.perform();
+            if (Objects.nonNull(result)) {
+                synchronized (region) {
+                    region.put(request, new Entry(clock.getAsLong() + timeToLive, result));
+                }
+            }
+            response.complete(result);
+            return result;
+        } catch (Exception | Error e) {
+            response.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, response);
+        }
+    }
+
+    private Map<String, Entry> createRegion() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                boolean evict = size() > maxEntries;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    private Entry lookUp(Map<String, Entry> region, String request) {
+        synchronized (region) {
+            Entry entry = region.get(request);
+            if (Objects.nonNull(entry) && entry.expires() - clock.getAsLong() <= 0) {
+                region.remove(request);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private static <T, E extends Exception> T await(CompletableFuture<Object> response) throws E {
+        try {
+            return cast(response.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CatalogException("Interrupted while waiting for the catalogue");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw CatalogueResponseCache.<E>cast(cause);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object object) {
+        return (T) object;
+    }
+
+    /**
+     * Returns whether responses are kept in the cache at all.
+     *
+     * @return whether responses are kept
+     */
+    public boolean isEnabled() {
+        return timeToLive > 0 && maxEntries > 0;
+    }
+
+    /**
+     * Removes the responses of a catalogue from the cache. This should be
+     * called if its import configuration was changed.
+     *
+     * @param importConfigurationId
+     *            ID of the import configuration
+     */
+    public void invalidate(Integer importConfigurationId) {
+        if (Objects.nonNull(regions.remove(importConfigurationId))) {
+            logger.debug("Catalogue responses of import configuration {} removed from cache",
+                importConfigurationId);
+        }
+    }
+
+    /**
+     * Removes all responses from the cache.
+     */
+    public void clear() {
+        regions.clear();
+    }
+
+    /**
+     * Returns the number of responses in the cache, including expired ones
+     * that have not been removed yet.
+     *
+     * @return the number of responses
+     */
+    public int getSize() {
+        int size = 0;
+        for (Map<String, Entry> region : regions.values()) {
+            synchronized (region) {
+                size += region.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns how often a response was taken from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how often a request had to be sent to the catalogue.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns how often a request waited for the response of the same request
+     * sent before, instead of being sent to the catalogue again.
+     *
+     * @return the number of joined requests
+     */
+    public long getJoinCount() {
+        return joins.sum();
+    }
+
+    /**
+     * Returns how often a response was dropped because the cache of its
+     * import configuration was full.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+}
@@ -64,6 +64,19 @@ public class ImportConfigurationService extends BaseBeanService<ImportConfigurat
         return dao.getByQuery("FROM ImportConfiguration"  + getSort(sortField, sortOrder), filters, first, pageSize);
     }
 
+    /**
+     * Saves an import configuration. Cached responses of the catalogue are
+     * dropped, since they may not match the changed configuration.
+     *
+     * @param importConfiguration
+     *            import configuration to save
+     */
+    @Override
+    public void save(ImportConfiguration importConfiguration) throws DAOException {
+        dao.save(importConfiguration);
+        CatalogueResponseCache.getInstance().invalidate(importConfiguration.getId());
+    }
+
     @Override
     public Long count() throws DAOException {
         return count("SELECT COUNT(*) FROM ImportConfiguration");
@@ -95,6 +108,7 @@ public class ImportConfigurationService extends BaseBeanService<ImportConfigurat
             }
         }
         dao.remove(id);
+        CatalogueResponseCache.getInstance().invalidate(id);
     }
 
 
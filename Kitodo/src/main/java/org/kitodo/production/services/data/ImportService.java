@@ -28,6 +28,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
@@ -204,9 +205,12 @@ public class ImportService {
     public SearchResult performSearch(String searchField, String searchTerm, ImportConfiguration importConfiguration,
                                       int start, int rows) {
         importModule = initializeImportModule();
-        searchTerm = getSearchTermWithDelimiter(searchTerm, importConfiguration);
-        return importModule.search(createDataImportFromImportConfiguration(importConfiguration), searchField,
-                searchTerm, start, rows);
+        String term = getSearchTermWithDelimiter(searchTerm, importConfiguration);
+        ExternalDataImportInterface module = importModule;
+        return CatalogueResponseCache.getInstance().get(importConfiguration,
+            String.join("\n", "search", searchField, term, Integer.toString(start), Integer.toString(rows)),
+            () -> module.search(createDataImportFromImportConfiguration(importConfiguration), searchField, term,
+                start, rows));
     }
 
     private ExternalDataImportInterface initializeImportModule() {
@@ -711,8 +715,11 @@ public class ImportService {
         if (Objects.isNull(parenIDSearchField)) {
             throw new ConfigException("Unable to find parent ID search field for catalog '" + config.getTitle() + "'!");
         }
-        return importModule.getMultipleFullRecordsFromQuery(createDataImportFromImportConfiguration(config),
-                parenIDSearchField.getLabel(), parentId, numberOfRows);
+        ExternalDataImportInterface module = importModule;
+        return CatalogueResponseCache.getInstance().get(config,
+            String.join("\n", "children", parenIDSearchField.getLabel(), parentId, Integer.toString(numberOfRows)),
+            () -> module.getMultipleFullRecordsFromQuery(createDataImportFromImportConfiguration(config),
+                parenIDSearchField.getLabel(), parentId, numberOfRows));
     }
 
     /**
@@ -798,8 +805,10 @@ public class ImportService {
             XPathExpressionException, ParserConfigurationException, SAXException {
         importModule = initializeImportModule();
         DataImport dataImport = createDataImportFromImportConfiguration(importConfiguration);
-        DataRecord dataRecord = importModule.getFullRecordById(dataImport,
-                getSearchTermWithDelimiter(identifier, importConfiguration));
+        String recordId = getSearchTermWithDelimiter(identifier, importConfiguration);
+        ExternalDataImportInterface module = importModule;
+        DataRecord dataRecord = CatalogueResponseCache.getInstance().get(importConfiguration,
+            String.join("\n", "record", recordId), () -> module.getFullRecordById(dataImport, recordId));
         String xmlContent = (String)dataRecord.getOriginalData();
         XMLUtils.checkIfXmlIsWellFormed(xmlContent);
         XmlResponseHandler.checkRecordFound(dataImport.getSearchInterfaceType(), xmlContent, identifier);
@@ -809,6 +818,36 @@ public class ImportService {
         return dataRecord;
     }
 
+    /**
+     * Retrieves the data records with the given IDs from the external data source at once and keeps them in the
+     * catalogue response cache, from where {@link #importExternalDataRecord(ImportConfiguration, String, boolean)}
+     * takes them when the records are imported. The import module may retrieve the records concurrently. If this
+     * fails, for example because one of the records does not exist, nothing is kept, and each record is retrieved
+     * when it is imported, so that its error is reported there.
+     *
+     * @param importConfiguration ImportConfiguration used for data import
+     * @param identifiers IDs of records to be loaded from external source
+     */
+    public void prefetchExternalDataRecords(ImportConfiguration importConfiguration, List<String> identifiers) {
+        CatalogueResponseCache cache = CatalogueResponseCache.getInstance();
+        if (identifiers.size() < 2 || !cache.isEnabled() || Objects.isNull(importConfiguration)
+                || Objects.isNull(importConfiguration.getId())) {
+            return;
+        }
+        List<String> recordIds = identifiers.stream()
+                .map(identifier -> getSearchTermWithDelimiter(identifier, importConfiguration)).toList();
+        try {
+            DataImport dataImport = createDataImportFromImportConfiguration(importConfiguration);
+            List<DataRecord> dataRecords = initializeImportModule().getFullRecordsById(dataImport, recordIds);
+            for (int i = 0; i < recordIds.size(); i++) {
+                DataRecord dataRecord = dataRecords.get(i);
+                cache.get(importConfiguration, String.join("\n", "record", recordIds.get(i)), () -> dataRecord);
+            }
+        } catch (NoRecordFoundException | RuntimeException e) {
+            logger.debug("Retrieving records one by one, as they cannot be retrieved at once: {}", e.getMessage());
+        }
+    }
+
     /**
      * This method transforms a given data record that contains an EAD collection as an XML string into a list of
      * temp processes. The first temp process in the list will contain the 'collection' itself, while all following temp
@@ -1326,14 +1365,19 @@ public class ImportService {
                                               List<Locale.LanguageRange> priorityList)
             throws DAOException, InvalidMetadataValueException, NoSuchMetadataFieldException,
             ProcessGenerationException, IOException {
+        List<Process> children = new ArrayList<>(childProcesses.size());
+        Map<Process, Workpiece> workpieces = new IdentityHashMap<>();
         for (TempProcess tempProcess : childProcesses) {
             if (Objects.isNull(tempProcess) || Objects.isNull(tempProcess.getProcess())) {
                 logger.error("Child process {} is null => Skip!", childProcesses.indexOf(tempProcess) + 1);
                 continue;
             }
             processTempProcess(tempProcess, rulesetManagement, acquisitionStage, priorityList, null);
-            Process childProcess = tempProcess.getProcess();
-            ServiceManager.getProcessService().save(childProcess);
+            children.add(tempProcess.getProcess());
+            workpieces.put(tempProcess.getProcess(), tempProcess.getWorkpiece());
+        }
+        ServiceManager.getProcessService().saveList(children, workpieces::get);
+        for (Process childProcess : children) {
             ProcessService.setParentRelations(mainProcess, childProcess);
         }
     }
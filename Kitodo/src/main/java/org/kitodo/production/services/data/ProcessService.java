@@ -49,7 +49,9 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -57,10 +59,6 @@ import java.util.stream.Collectors;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 
 import jakarta.faces.context.ExternalContext;
 import jakarta.faces.context.FacesContext;
@@ -124,8 +122,8 @@ import org.kitodo.production.metadata.copier.DataCopier;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.production.services.dataformat.MetsService;
 import org.kitodo.production.services.file.FileService;
+import org.kitodo.production.services.workflow.WorkflowConditionEvaluator;
 import org.kitodo.production.services.workflow.WorkflowControllerService;
-import org.kitodo.production.workflow.KitodoNamespaceContext;
 import org.kitodo.serviceloader.KitodoServiceLoader;
 import org.primefaces.model.SortOrder;
 import org.primefaces.model.charts.ChartData;
@@ -143,6 +141,7 @@ public class ProcessService extends BaseBeanService<Process, ProcessDAO> {
 
     private static final Map<String, String> SORT_FIELD_MAPPING;
     private static final String FIELD_ID = "id";
+    private static final int TITLE_QUERY_CHUNK_SIZE = 1000;
 
     static {
         SORT_FIELD_MAPPING = new HashMap<>();
@@ -274,12 +273,13 @@ public class ProcessService extends BaseBeanService<Process, ProcessDAO> {
     public Long countResults(Map<?, String> filters, boolean showClosedProcesses, boolean showInactiveProjects)
             throws DAOException {
 
-        BeanQuery query = createProcessQuery(filters, showClosedProcesses, showInactiveProjects);
-        return count(query.formCountQuery(), query.getQueryParameters());
+        try (BeanQuery query = createProcessQuery(filters, showClosedProcesses, showInactiveProjects)) {
+            return count(query.formCountQuery(), query.getQueryParameters());
+        }
     }
 
     private BeanQuery createProcessQuery(Map<?, String> filters, boolean showClosedProcesses,
-            boolean showInactiveProjects) {
+            boolean showInactiveProjects) throws DAOException {
 
         BeanQuery query = new BeanQuery(Process.class);
         query.restrictToClient(ServiceManager.getUserService().getSessionClientId());
@@ -427,22 +427,93 @@ public class ProcessService extends BaseBeanService<Process, ProcessDAO> {
     public List<Process> loadData(int offset, int limit, String sortField, SortOrder sortOrder, Map<?, String> filters,
             boolean showClosedProcesses, boolean showInactiveProjects) throws DAOException {
 
-        BeanQuery query = createProcessQuery(filters, showClosedProcesses, showInactiveProjects);
-        query.defineSorting(SORT_FIELD_MAPPING.get(sortField), sortOrder);
-        return getByQuery(query.formQueryForAll(), query.getQueryParameters(), offset, limit);
+        try (BeanQuery query = createProcessQuery(filters, showClosedProcesses, showInactiveProjects)) {
+            query.defineSorting(SORT_FIELD_MAPPING.get(sortField), sortOrder);
+            return getByQuery(query.formQueryForAll(), query.getQueryParameters(), offset, limit);
+        }
     }
 
     /**
-     * Saves multiple processes in the database.
+     * Counts the matching processes and provides a window onto them in one
+     * go. Unlike calling {@link #countResults(Map, boolean, boolean)} and
+     * {@link #loadData(int, int, String, SortOrder, Map, boolean, boolean)}
+     * one after the other, the index is searched only once, and a large hit
+     * set is staged in the database only once for both queries.
+     *
+     * @param offset
+     *            number of objects to be skipped at the list head
+     * @param limit
+     *            maximum number of objects to return
+     * @param sortField
+     *            by which column the data should be sorted
+     * @param sortOrder
+     *            sort ascending or descending?
+     * @param filters
+     *            a map with exactly one entry, only the value is important, in
+     *            which the content of the filter field is passed
+     * @param showClosedProcesses
+     *            whether completed processes should be displayed (usually not)
+     * @param showInactiveProjects
+     *            whether processes of deactivated projects should be displayed
+     *            (usually not)
+     * @return the number of matching objects, and the data objects to be
+     *         displayed
+     * @throws DAOException
+     *             if processes cannot be loaded
+     */
+    public Pair<Long, List<Process>> countAndLoadData(int offset, int limit, String sortField, SortOrder sortOrder,
+            Map<?, String> filters, boolean showClosedProcesses, boolean showInactiveProjects) throws DAOException {
+
+        try (BeanQuery query = createProcessQuery(filters, showClosedProcesses, showInactiveProjects)) {
+            Long count = count(query.formCountQuery(), query.getQueryParameters());
+            if (count == 0) {
+                return Pair.of(count, new ArrayList<>());
+            }
+            query.defineSorting(SORT_FIELD_MAPPING.get(sortField), sortOrder);
+            return Pair.of(count, getByQuery(query.formQueryForAll(), query.getQueryParameters(), offset, limit));
+        }
+    }
+
+    /**
+     * Saves multiple processes in the database. As in {@link #save(Process)},
+     * the sort helper status and the amounts of images, structures and
+     * metadata are updated first.
      * 
      * <p>
      * <b>Implementation Note:</b><br>
-     * Each object is stored in its own database transaction.
+     * All processes are stored in one database transaction. They are sent to
+     * the database in batches, and the search index is updated once for all
+     * processes after the transaction has been committed.
      *
      * @param list
      *            processes to save
      */
     public void saveList(List<Process> list) throws DAOException {
+        saveList(list, process -> null);
+    }
+
+    /**
+     * Saves multiple processes in the database, whose workpieces are partly
+     * known already. The amounts of images, structures and metadata are
+     * counted in the given workpieces, the metadata files of the other
+     * processes are read.
+     *
+     * @param list
+     *            processes to save
+     * @param workpieces
+     *            returns the workpiece of a process, or {@code null} if it
+     *            must be read from the metadata file
+     */
+    public void saveList(List<Process> list, Function<Process, Workpiece> workpieces) throws DAOException {
+        for (Process process : list) {
+            WorkflowControllerService.updateProcessSortHelperStatus(process);
+            Workpiece workpiece = workpieces.apply(process);
+            if (Objects.nonNull(workpiece)) {
+                updateAmountOfInternalMetaInformation(process, workpiece);
+            } else {
+                updateAmountOfInternalMetaInformation(process, false);
+            }
+        }
         dao.saveList(list);
     }
 
@@ -451,6 +522,19 @@ public class ProcessService extends BaseBeanService<Process, ProcessDAO> {
         dao.refresh(process);
     }
 
+    /**
+     * Returns whether a process has children, and all tasks of its children
+     * and their descendants are done. This is read from the task status
+     * counters of the children, without loading them.
+     *
+     * @param process
+     *            the parent process
+     * @return whether all children are closed
+     */
+    public boolean allChildrenClosed(Process process) {
+        return dao.allChildrenClosed(process.getId());
+    }
+
     /**
      * Finds all processes with specific metadata entries.
      *
@@ -470,19 +554,20 @@ public class ProcessService extends BaseBeanService<Process, ProcessDAO> {
      *             is not indexed
      */
     public List<Process> findByMetadata(Map<String, String> metadata, boolean exactMatch) throws DAOException {
-        BeanQuery query = new BeanQuery(Process.class);
-        if (!exactMatch) {
-            query.setIndexFiltersAsAlternatives();
+        try (BeanQuery query = new BeanQuery(Process.class)) {
+            if (!exactMatch) {
+                query.setIndexFiltersAsAlternatives();
+            }
+            query.restrictToClient(ServiceManager.getUserService().getSessionClientId());
+            Collection<Integer> projectIDs = ServiceManager.getUserService().getCurrentUser().getProjects().stream()
+                    .filter(Project::isActive).map(Project::getId).collect(Collectors.toList());
+            query.restrictToProjects(projectIDs);
+            query.restrictWithUserFilterString(metadata.entrySet().stream().map(entry -> '"' + entry.getKey() + ':'
+                    + entry.getValue() + '"').collect(Collectors.joining(" ")));
+            query.setUnordered();
+            query.applyIndexRestriction(FIELD_ID);
+            return getByQuery(query.formQueryForAll(), query.getQueryParameters());
         }
-        query.restrictToClient(ServiceManager.getUserService().getSessionClientId());
-        Collection<Integer> projectIDs = ServiceManager.getUserService().getCurrentUser().getProjects().stream().filter(
-            Project::isActive).map(Project::getId).collect(Collectors.toList());
-        query.restrictToProjects(projectIDs);
-        query.restrictWithUserFilterString(metadata.entrySet().stream().map(entry -> '"' + entry.getKey() + ':' + entry
-                .getValue() + '"').collect(Collectors.joining(" ")));
-        query.setUnordered();
-        query.applyIndexRestriction(FIELD_ID);
-        return getByQuery(query.formQueryForAll(), query.getQueryParameters());
     }
 
     /**
@@ -502,18 +587,22 @@ public class ProcessService extends BaseBeanService<Process, ProcessDAO> {
      * @param metadata
      *            key is metadata tag and value is metadata content
      * @return list of ProcessDTO objects with processes for specific metadata tag
+     * @throws DAOException
+     *             if the index search hits cannot be staged in the database
      */
-    public List<Process> findByMetadataInAllProjects(Map<String, String> metadata, boolean exactMatch) {
-        BeanQuery query = new BeanQuery(Process.class);
-        if (!exactMatch) {
-            query.setIndexFiltersAsAlternatives();
+    public List<Process> findByMetadataInAllProjects(Map<String, String> metadata, boolean exactMatch)
+            throws DAOException {
+        try (BeanQuery query = new BeanQuery(Process.class)) {
+            if (!exactMatch) {
+                query.setIndexFiltersAsAlternatives();
+            }
+            query.restrictToClient(ServiceManager.getUserService().getSessionClientId());
+            query.restrictWithUserFilterString(metadata.entrySet().stream().map(entry -> '"' + entry.getKey() + ':'
+                    + entry.getValue() + '"').collect(Collectors.joining(" ")));
+            query.setUnordered();
+            query.applyIndexRestriction(FIELD_ID);
+            return getByQuery(query.formQueryForAll(), query.getQueryParameters());
         }
-        query.restrictToClient(ServiceManager.getUserService().getSessionClientId());
-        query.restrictWithUserFilterString(metadata.entrySet().stream().map(entry -> '"' + entry.getKey() + ':' + entry
-                .getValue() + '"').collect(Collectors.joining(" ")));
-        query.setUnordered();
-        query.applyIndexRestriction(FIELD_ID);
-        return getByQuery(query.formQueryForAll(), query.getQueryParameters());
     }
 
     /**
@@ -534,6 +623,32 @@ public class ProcessService extends BaseBeanService<Process, ProcessDAO> {
         return getByQuery(query.formQueryForAll(), query.getQueryParameters());
     }
 
+    /**
+     * Determines which of the given process titles are already in use. The
+     * titles are looked up in chunks, so that a large number of titles does
+     * not exceed the limits of the database for the number of parameters.
+     *
+     * <!-- Used in NewspaperProcessesGenerator to check the titles of all
+     * issues of a course before the processes are created. -->
+     *
+     * @param titles
+     *            process titles to search for
+     * @return those of the given titles which are used by processes
+     * @throws DAOException
+     *             when there is an error on conversation
+     */
+    public Set<String> findExistingTitles(Collection<String> titles) throws DAOException {
+        // the database may compare titles ignoring case
+        Set<String> foundTitles = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        List<String> remaining = new ArrayList<>(titles);
+        for (int start = 0; start < remaining.size(); start += TITLE_QUERY_CHUNK_SIZE) {
+            List<String> chunk = remaining.subList(start, Math.min(start + TITLE_QUERY_CHUNK_SIZE, remaining.size()));
+            foundTitles.addAll(dao.getStringsByQuery(
+                "SELECT DISTINCT p.title FROM Process p WHERE p.title IN (:titles)", Map.of("titles", chunk)));
+        }
+        return remaining.stream().filter(foundTitles::contains).collect(Collectors.toSet());
+    }
+
     /**
      * Determines all processes with a specific docket.
      *
@@ -662,23 +777,24 @@ public class ProcessService extends BaseBeanService<Process, ProcessDAO> {
      */
     public List<Process> findSelectedProcesses(boolean showClosedProcesses, boolean showInactiveProjects,
             String filter, Collection<Integer> excludedProcessIds) throws DAOException {
-        BeanQuery query = new BeanQuery(Process.class);
-        query.restrictToClient(ServiceManager.getUserService().getSessionClientId());
-        if (!excludedProcessIds.isEmpty()) {
-            query.addNotInCollectionRestriction("id", excludedProcessIds);
-        }
-        if (StringUtils.isNotBlank(filter)) {
-            query.restrictWithUserFilterString(filter);
-        }
-        if (!showClosedProcesses) {
-            query.restrictToNotCompletedProcesses();
+        try (BeanQuery query = new BeanQuery(Process.class)) {
+            query.restrictToClient(ServiceManager.getUserService().getSessionClientId());
+            if (!excludedProcessIds.isEmpty()) {
+                query.addNotInCollectionRestriction("id", excludedProcessIds);
+            }
+            if (StringUtils.isNotBlank(filter)) {
+                query.restrictWithUserFilterString(filter);
+            }
+            if (!showClosedProcesses) {
+                query.restrictToNotCompletedProcesses();
+            }
+            Collection<Integer> projectIDs = ServiceManager.getUserService().getCurrentUser().getProjects().stream()
+                    .filter(project -> showInactiveProjects || project.isActive()).map(Project::getId)
+                    .collect(Collectors.toList());
+            query.restrictToProjects(projectIDs);
+            query.applyIndexRestriction(FIELD_ID);
+            return getByQuery(query.formQueryForAll(), query.getQueryParameters());
         }
-        Collection<Integer> projectIDs = ServiceManager.getUserService().getCurrentUser().getProjects().stream()
-                .filter(project -> showInactiveProjects || project.isActive()).map(Project::getId)
-                .collect(Collectors.toList());
-        query.restrictToProjects(projectIDs);
-        query.applyIndexRestriction(FIELD_ID);
-        return getByQuery(query.formQueryForAll(), query.getQueryParameters());
     }
 
     /**
@@ -1176,7 +1292,7 @@ public class ProcessService extends BaseBeanService<Process, ProcessDAO> {
      */
     public void export(String filter, boolean showClosedProcesses, boolean showInactiveProjects, ExportFormat format,
                        boolean allSelected, Collection<Integer> selectedProcessIds, Collection<Integer> excludedProcessIds)
-            throws IOException, DocumentException {
+            throws IOException, DocumentException, DAOException {
         FacesContext facesContext = FacesContext.getCurrentInstance();
         if (!facesContext.getResponseComplete()) {
             List<ProcessExportDTO> results =
@@ -1932,11 +2048,8 @@ public class ProcessService extends BaseBeanService<Process, ProcessDAO> {
             builderFactory.setNamespaceAware(true);
             DocumentBuilder builder = builderFactory.newDocumentBuilder();
             org.w3c.dom.Document xmlDocument = builder.parse(fileInputStream);
-
-            XPath xPath = XPathFactory.newInstance().newXPath();
-            xPath.setNamespaceContext(new KitodoNamespaceContext());
-            return (NodeList) xPath.compile(xpath).evaluate(xmlDocument, XPathConstants.NODESET);
-        } catch (ParserConfigurationException | SAXException | XPathExpressionException e) {
+            return WorkflowConditionEvaluator.evaluate(xmlDocument, xpath);
+        } catch (ParserConfigurationException | SAXException e) {
             logger.error(e.getMessage(), e);
             throw new IOException(e);
         }
@@ -2475,9 +2588,7 @@ public class ProcessService extends BaseBeanService<Process, ProcessDAO> {
         URI metadataFileUri = ServiceManager.getProcessService().getMetadataFileUri(process);
         try {
             Workpiece workpiece = ServiceManager.getMetsService().loadWorkpiece(metadataFileUri, false);
-            process.setSortHelperImages(getNumberOfImagesForIndex(workpiece));
-            process.setSortHelperDocstructs(getNumberOfStructures(workpiece));
-            process.setSortHelperMetadata(getNumberOfMetadata(workpiece));
+            updateAmountOfInternalMetaInformation(process, workpiece);
             if (save) {
                 super.save(process);
             }
@@ -2486,6 +2597,21 @@ public class ProcessService extends BaseBeanService<Process, ProcessDAO> {
         }
     }
 
+    /**
+     * Update amount of referenced files, document structure elements and
+     * metadata fields from a workpiece in memory, without saving the process.
+     *
+     * @param process
+     *            Process to update
+     * @param workpiece
+     *            workpiece of the process
+     */
+    public void updateAmountOfInternalMetaInformation(Process process, Workpiece workpiece) {
+        process.setSortHelperImages(getNumberOfImagesForIndex(workpiece));
+        process.setSortHelperDocstructs(getNumberOfStructures(workpiece));
+        process.setSortHelperMetadata(getNumberOfMetadata(workpiece));
+    }
+
     /**
      * Retrieves a list of processes prepared for export, applying the given filters.
      * Instead of returning full entities, it projects the data into {@link ProcessExportDTO}
@@ -2507,13 +2633,14 @@ public class ProcessService extends BaseBeanService<Process, ProcessDAO> {
             int sessionClientId,
             boolean allSelected,
             Collection<Integer> selectedProcessIds,
-            Collection<Integer> excludedProcessIds) {
+            Collection<Integer> excludedProcessIds) throws DAOException {
 
         if (!allSelected && (Objects.isNull(selectedProcessIds) || selectedProcessIds.isEmpty())) {
             return Collections.emptyList();
         }
 
-        BeanQuery query = createExportQuery(
+        List<Object[]> rows;
+        try (BeanQuery query = createExportQuery(
                 filter,
                 includeClosed,
                 includeInactiveProjects,
@@ -2521,14 +2648,14 @@ public class ProcessService extends BaseBeanService<Process, ProcessDAO> {
                 allSelected,
                 selectedProcessIds,
                 excludedProcessIds
-        );
+        )) {
+            String hql = "SELECT process.id, process.title, process.creationDate, "
+                    + "process.sortHelperImages, process.sortHelperDocstructs, process.sortHelperMetadata, "
+                    + "proj.title, process.sortHelperStatus "
+                    + query.formQueryWithoutSelect();
 
-        String hql = "SELECT process.id, process.title, process.creationDate, "
-                + "process.sortHelperImages, process.sortHelperDocstructs, process.sortHelperMetadata, "
-                + "proj.title, process.sortHelperStatus "
-                + query.formQueryWithoutSelect();
-
-        List<Object[]> rows = dao.getProjectionByQuery(hql, query.getQueryParameters());
+            rows = dao.getProjectionByQuery(hql, query.getQueryParameters());
+        }
 
         List<ProcessExportDTO> result = new ArrayList<>(rows.size());
         for (Object[] row : rows) {
@@ -2553,7 +2680,7 @@ public class ProcessService extends BaseBeanService<Process, ProcessDAO> {
             int sessionClientId,
             boolean allSelected,
             Collection<Integer> selectedProcessIds,
-            Collection<Integer> excludedProcessIds) {
+            Collection<Integer> excludedProcessIds) throws DAOException {
 
         BeanQuery query = new BeanQuery(Process.class);
 
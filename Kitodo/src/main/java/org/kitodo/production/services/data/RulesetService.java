@@ -52,6 +52,7 @@ import org.kitodo.exceptions.RulesetNotFoundException;
 import org.kitodo.production.helper.Helper;
 import org.kitodo.production.helper.metadata.legacytypeimplementations.LegacyPrefsHelper;
 import org.kitodo.production.services.ServiceManager;
+import org.kitodo.production.services.dataeditor.RulesetManagementRegistry;
 import org.primefaces.model.SortOrder;
 
 public class RulesetService extends BaseBeanService<Ruleset, RulesetDAO> {
@@ -197,7 +198,9 @@ public class RulesetService extends BaseBeanService<Ruleset, RulesetDAO> {
     }
 
     /**
-     * Acquires a ruleset Management and loads a ruleset into it.
+     * Returns a ruleset management in which the ruleset has been loaded. The
+     * ruleset management is shared, and the ruleset is only read again if its
+     * files have changed.
      *
      * @param ruleset
      *            database object that references the ruleset
@@ -205,11 +208,11 @@ public class RulesetService extends BaseBeanService<Ruleset, RulesetDAO> {
      */
     public RulesetManagementInterface openRuleset(Ruleset ruleset) throws IOException {
         final long begin = System.nanoTime();
-        RulesetManagementInterface rulesetManagement = ServiceManager.getRulesetManagementService()
-                .getRulesetManagement();
+        RulesetManagementInterface rulesetManagement;
         String fileName = ruleset.getFile();
         try {
-            rulesetManagement.load(Paths.get(ConfigCore.getParameter(ParameterCore.DIR_RULESETS), fileName).toFile());
+            File rulesetFile = Paths.get(ConfigCore.getParameter(ParameterCore.DIR_RULESETS), fileName).toFile();
+            rulesetManagement = RulesetManagementRegistry.getInstance().getRulesetManagement(rulesetFile);
         } catch (FileNotFoundException | IllegalArgumentException e) {
             throw new RulesetNotFoundException(fileName);
         }
@@ -252,11 +255,10 @@ public class RulesetService extends BaseBeanService<Ruleset, RulesetDAO> {
      */
     public static Collection<String> getFunctionalMetadataKeys(Ruleset ruleset, FunctionalMetadata metadata)
             throws IOException {
-        RulesetManagementInterface rulesetManagement = ServiceManager.getRulesetManagementService()
-                .getRulesetManagement();
         String rulesetDir = ConfigCore.getParameter(ParameterCore.DIR_RULESETS);
         String rulesetPath = Paths.get(rulesetDir, ruleset.getFile()).toString();
-        rulesetManagement.load(new File(rulesetPath));
+        RulesetManagementInterface rulesetManagement = RulesetManagementRegistry.getInstance()
+                .getRulesetManagement(new File(rulesetPath));
         return rulesetManagement.getFunctionalKeys(metadata);
     }
 
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -177,9 +178,11 @@ public class TaskService extends BaseBeanService<Task, TaskDAO> {
     public Long countResults(Map<?, String> filters, boolean onlyOwnTasks, boolean hideCorrectionTasks,
             boolean showAutomaticTasks, List<TaskStatus> taskStatus) throws DAOException {
 
-        BeanQuery query = formBeanQuery(filters, onlyOwnTasks, hideCorrectionTasks, showAutomaticTasks, taskStatus);
-        query.applyIndexRestriction(FIELD_PROCESS_ID);
-        return count(query.formCountQuery(), query.getQueryParameters());
+        try (BeanQuery query = formBeanQuery(filters, onlyOwnTasks, hideCorrectionTasks, showAutomaticTasks,
+            taskStatus)) {
+            query.applyIndexRestriction(FIELD_PROCESS_ID);
+            return count(query.formCountQuery(), query.getQueryParameters());
+        }
     }
 
     @Override
@@ -257,10 +260,12 @@ public class TaskService extends BaseBeanService<Task, TaskDAO> {
                                   List<TaskStatus> taskStatus)
             throws DAOException {
 
-        BeanQuery query = formBeanQuery(filters, onlyOwnTasks, hideCorrectionTasks, showAutomaticTasks, taskStatus);
-        query.defineSorting(SORT_FIELD_MAPPING.get(sortField), sortOrder);
-        query.applyIndexRestriction(FIELD_PROCESS_ID);
-        return getByQuery(query.formQueryForAll(), query.getQueryParameters(), offset, limit);
+        try (BeanQuery query = formBeanQuery(filters, onlyOwnTasks, hideCorrectionTasks, showAutomaticTasks,
+            taskStatus)) {
+            query.defineSorting(SORT_FIELD_MAPPING.get(sortField), sortOrder);
+            query.applyIndexRestriction(FIELD_PROCESS_ID);
+            return getByQuery(query.formQueryForAll(), query.getQueryParameters(), offset, limit);
+        }
     }
 
     private BeanQuery formBeanQuery(Map<?, String> filters, boolean onlyOwnTasks, boolean hideCorrectionTasks,
@@ -494,6 +499,28 @@ public class TaskService extends BaseBeanService<Task, TaskDAO> {
      * @return whether it had a successful outcome
      */
     public boolean executeScript(Task task, String script, boolean automatic) throws DAOException {
+        return executeScript(task, script, automatic, null);
+    }
+
+    /**
+     * Runs a script for a task and reports the output of a command line call
+     * while it is running. Otherwise, as {@link #executeScript(Task, String,
+     * boolean)}.
+     *
+     * @param task
+     *            task in which the script is executed
+     * @param script
+     *            the command to be executed
+     * @param automatic
+     *            whether the task is completed or set to open depending on
+     *            the outcome
+     * @param outputListener
+     *            is informed about each line of output of a command line call,
+     *            may be {@code null}
+     * @return whether it had a successful outcome
+     */
+    public boolean executeScript(Task task, String script, boolean automatic, Consumer<String> outputListener)
+            throws DAOException {
         if (Objects.isNull(script) || script.isEmpty()) {
             return false;
         }
@@ -524,7 +551,7 @@ public class TaskService extends BaseBeanService<Task, TaskDAO> {
             } else {
                 logger.info("Calling the shell: {}", script);
                 CommandService commandService = ServiceManager.getCommandService();
-                CommandResult commandResult = commandService.runCommand(script);
+                CommandResult commandResult = commandService.runCommand(script, outputListener);
                 executedSuccessful = commandResult.isSuccessful();
             }
             finishOrReturnAutomaticTask(task, automatic, executedSuccessful);
@@ -552,11 +579,29 @@ public class TaskService extends BaseBeanService<Task, TaskDAO> {
      *            object is then immediately updated in the database.
      */
     public void executeScript(Task task, boolean automatic) throws DAOException {
+        executeScript(task, automatic, null);
+    }
+
+    /**
+     * Runs the script of a task and reports the output of a command line call
+     * while it is running. Otherwise, as {@link #executeScript(Task,
+     * boolean)}.
+     *
+     * @param task
+     *            task in which the script is executed
+     * @param automatic
+     *            whether the task is completed or set to open depending on
+     *            the outcome
+     * @param outputListener
+     *            is informed about each line of output of a command line call,
+     *            may be {@code null}
+     */
+    public void executeScript(Task task, boolean automatic, Consumer<String> outputListener) throws DAOException {
         String script = task.getScriptPath();
         boolean scriptFinishedSuccessful = true;
         logger.debug("starting script {}", script);
         if (Objects.nonNull(script) && !script.trim().isEmpty()) {
-            scriptFinishedSuccessful = executeScript(task, script, automatic);
+            scriptFinishedSuccessful = executeScript(task, script, automatic, outputListener);
         }
         if (!scriptFinishedSuccessful) {
             abortTask(task);
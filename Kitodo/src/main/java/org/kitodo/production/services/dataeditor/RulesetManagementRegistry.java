@@ -0,0 +1,226 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.dataeditor;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.api.dataeditor.rulesetmanagement.RulesetManagementInterface;
+import org.kitodo.production.services.ServiceManager;
+
+/**
+ * Keeps loaded rulesets, so that a ruleset file is read once per version, and
+ * not each time a process is opened, validated, imported or created. A
+ * version is recognized by the modification time and size of the ruleset file,
+ * its included files and its namespace files, so an edited ruleset is loaded
+ * again on next access. The loaded ruleset managements are shared by all
+ * callers and threads, so they must not be loaded again by the callers. The
+ * registry holds a limited number of rulesets. If more rulesets are used, the
+ * least recently used ones are removed.
+ */
+public final class RulesetManagementRegistry {
+    private static final Logger logger = LogManager.getLogger(RulesetManagementRegistry.class);
+
+    /**
+     * Maximum number of rulesets held in the registry.
+     */
+    static final int MAXIMUM_SIZE = 32;
+
+    private static volatile RulesetManagementRegistry instance;
+
+    private final Supplier<RulesetManagementInterface> rulesetManagementFactory;
+    private final int maximumSize;
+    private final ConcurrentMap<File, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<File, Object> loadLocks = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * One version of a loaded ruleset.
+     */
+    private static final class Entry {
+        private final RulesetManagementInterface rulesetManagement;
+        private final List<FileVersion> versions;
+        private volatile long lastAccess;
+
+        private Entry(RulesetManagementInterface rulesetManagement, List<FileVersion> versions) {
+            this.rulesetManagement = rulesetManagement;
+            this.versions = versions;
+            this.lastAccess = System.nanoTime();
+        }
+
+        private boolean isCurrent() {
+            for (FileVersion version : versions) {
+                if (!version.isCurrent()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Modification time and size of a file. A missing file has both zero.
+     */
+    private record FileVersion(File file, long lastModified, long size) {
+        private FileVersion(File file) {
+            this(file, file.lastModified(), file.length());
+        }
+
+        private boolean isCurrent() {
+            return lastModified == file.lastModified() && size == file.length();
+        }
+    }
+
+    RulesetManagementRegistry(Supplier<RulesetManagementInterface> rulesetManagementFactory, int maximumSize) {
+        this.rulesetManagementFactory = rulesetManagementFactory;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the ruleset management registry.
+     *
+     * @return the ruleset management registry
+     */
+    public static RulesetManagementRegistry getInstance() {
+        RulesetManagementRegistry localReference = instance;
+        if (Objects.isNull(localReference)) {
+            synchronized (RulesetManagementRegistry.class) {
+                localReference = instance;
+                if (Objects.isNull(localReference)) {
+                    localReference = new RulesetManagementRegistry(
+                            ServiceManager.getRulesetManagementService()::getRulesetManagement, MAXIMUM_SIZE);
+                    instance = localReference;
+                }
+            }
+        }
+        return localReference;
+    }
+
+    /**
+     * Returns a ruleset management in which the ruleset has been loaded. If
+     * the ruleset has not been loaded yet, or one of its files has changed
+     * since, it is loaded now.
+     *
+     * @param rulesetFile
+     *            the ruleset file
+     * @return the ruleset management, which is shared and must not be loaded
+     *         again
+     * @throws IOException
+     *             if the ruleset cannot be read
+     */
+    public RulesetManagementInterface getRulesetManagement(File rulesetFile) throws IOException {
+        File file = rulesetFile.getAbsoluteFile().toPath().normalize().toFile();
+        Entry entry = entries.get(file);
+        if (Objects.nonNull(entry) && entry.isCurrent()) {
+            hits.increment();
+            entry.lastAccess = System.nanoTime();
+            return entry.rulesetManagement;
+        }
+        // the same ruleset is loaded only once, different ones concurrently
+        synchronized (loadLocks.computeIfAbsent(file, any -> new Object())) {
+            entry = entries.get(file);
+            if (Objects.nonNull(entry) && entry.isCurrent()) {
+                hits.increment();
+                entry.lastAccess = System.nanoTime();
+                return entry.rulesetManagement;
+            }
+            logger.debug("Loading ruleset {}", file);
+            List<FileVersion> versions = new ArrayList<>();
+            versions.add(new FileVersion(file));
+            RulesetManagementInterface rulesetManagement = rulesetManagementFactory.get();
+            rulesetManagement.load(file);
+            for (File loadedFile : rulesetManagement.getFiles()) {
+                versions.add(new FileVersion(loadedFile));
+            }
+            entries.put(file, new Entry(rulesetManagement, versions));
+            loads.increment();
+            if (entries.size() > maximumSize) {
+                evict();
+            }
+            return rulesetManagement;
+        }
+    }
+
+    /**
+     * Removes the least recently used rulesets until the maximum size is kept.
+     */
+    private synchronized void evict() {
+        int excess = entries.size() - maximumSize;
+        if (excess <= 0) {
+            return;
+        }
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(mapEntry -> mapEntry.getValue().lastAccess)).limit(excess)
+                .map(Map.Entry::getKey).toList().forEach(file -> {
+                    entries.remove(file);
+                    loadLocks.remove(file);
+                    evictions.increment();
+                });
+    }
+
+    /**
+     * Removes all rulesets from the registry.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of rulesets in the registry.
+     *
+     * @return the number of rulesets
+     */
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Returns how often a loaded ruleset was returned from the registry.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how often a ruleset had to be loaded, because it was not in the
+     * registry, or had changed.
+     *
+     * @return the number of loads
+     */
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    /**
+     * Returns how often a ruleset was removed because the registry was full.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+}
@@ -17,7 +17,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 import javax.xml.transform.Result;
@@ -26,6 +25,7 @@ import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
+import javax.xml.validation.Schema;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -34,8 +34,9 @@ import org.kitodo.api.dataformat.LogicalDivision;
 import org.kitodo.api.dataformat.Workpiece;
 import org.kitodo.api.dataformat.mets.MetsXmlElementAccessInterface;
 import org.kitodo.exceptions.FileStructureValidationException;
-import org.kitodo.production.helper.XMLUtils;
 import org.kitodo.production.services.ServiceManager;
+import org.kitodo.production.services.validation.FileStructureValidationService;
+import org.kitodo.production.services.validation.SchemaValidationErrorHandler;
 import org.kitodo.serviceloader.KitodoServiceLoader;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
@@ -141,24 +142,28 @@ public class MetsService {
      */
     public Workpiece loadWorkpiece(URI uri, boolean validateAgainstSchema) throws IOException, SAXException,
             FileStructureValidationException {
+        FileStructureValidationService validationService = ServiceManager.getFileStructureValidationService();
+        Schema schema = validateAgainstSchema ? validationService.getInternalRecordSchema(true) : null;
+        SchemaValidationErrorHandler validationErrors = new SchemaValidationErrorHandler();
+        Workpiece workpiece = null;
         try (InputStream inputStream = ServiceManager.getFileService().read(uri)) {
             logger.debug("Reading {}", uri.toString());
-            try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-                inputStream.transferTo(outputStream);
-                try (InputStream xmlValidationStream = new ByteArrayInputStream(outputStream.toByteArray())) {
-                    XMLUtils.checkIfXmlIsWellFormed(new String(xmlValidationStream.readAllBytes(), StandardCharsets.UTF_8));
-                } catch (SAXException e) {
-                    logger.error("Error loading workpiece. Metadata file '{}' contains malformed XML: {}", uri, e.getMessage());
-                    throw e;
-                }
-                if (validateAgainstSchema) {
-                    ServiceManager.getFileStructureValidationService().validateInternalRecord(outputStream.toString(), true, null);
-                }
-                try (InputStream metsDocumentStream = new ByteArrayInputStream(outputStream.toByteArray())) {
-                    return metsXmlElementAccess.read(metsDocumentStream);
-                }
+            // well-formedness and schema are checked while the file is parsed
+            workpiece = metsXmlElementAccess.read(inputStream, schema, validationErrors);
+        } catch (SAXException e) {
+            logger.error("Error loading workpiece. Metadata file '{}' contains malformed XML: {}", uri, e.getMessage());
+            throw e;
+        } catch (RuntimeException e) {
+            // an invalid file may not be convertible to a workpiece, report why
+            if (!validationErrors.hasErrors()) {
+                throw e;
             }
+            logger.debug("Invalid metadata file '{}' could not be read: {}", uri, e.getMessage());
+        }
+        if (validateAgainstSchema) {
+            validationService.checkInternalRecordValidationResult(validationErrors.getValidationResult(), null);
         }
+        return workpiece;
     }
 
     /**
@@ -0,0 +1,88 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.image;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
+
+/**
+ * Node-wide thread pool for the generation of derivatives. All image
+ * generators running on this node share the pool, so the number of derivatives
+ * generated at the same time never exceeds the configured parallelism, no
+ * matter how many image generation tasks the task manager runs.
+ */
+class DerivativeExecutor {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private static volatile ThreadPoolExecutor executor;
+
+    private DerivativeExecutor() {
+    }
+
+    /**
+     * Returns the number of derivatives that may be generated at the same time
+     * on this node.
+     *
+     * @return the maximum parallelism
+     */
+    static int getParallelism() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        return Math.max(1, ConfigCore.getIntParameter(ParameterCore.IMAGE_GENERATOR_PARALLELISM, cores));
+    }
+
+    /**
+     * Returns the shared executor, creating it on first use. The worker threads
+     * inherit the context class loader of the creating thread, because the
+     * module loader of the image management interface relies on it, and they
+     * end after a minute without work.
+     *
+     * @return the shared executor
+     */
+    static ExecutorService getExecutor() {
+        ThreadPoolExecutor result = executor;
+        if (Objects.isNull(result)) {
+            synchronized (DerivativeExecutor.class) {
+                result = executor;
+                if (Objects.isNull(result)) {
+                    int parallelism = getParallelism();
+                    result = new ThreadPoolExecutor(parallelism, parallelism, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<>(), new WorkerThreadFactory());
+                    result.allowCoreThreadTimeOut(true);
+                    executor = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger();
+        private final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "DerivativeGenerator-" + threadNumber.incrementAndGet());
+            thread.setContextClassLoader(contextClassLoader);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
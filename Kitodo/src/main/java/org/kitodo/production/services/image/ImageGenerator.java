@@ -20,12 +20,19 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -151,24 +158,68 @@ public class ImageGenerator implements Runnable {
     }
 
     /**
-     * Generates a set of derivatives.
-     *
-     * @param instruction
-     *            Instruction, which pictures are to be generated. Left: image
-     *            source, right: destination folder. The image source consists
-     *            of the canonical part of the file name and the resolved file
-     *            name for the source image. The canonical part of the file name
-     *            is needed to calculate the corresponding file name in the
-     *            destination folder. The type of derivative to be generated is
-     *            defined in the properties of the destination folder.
+     * Generates all derivatives in the list of elements to be generated. Each
+     * combination of image source and destination folder is a job of its own,
+     * the jobs are run on the node-wide {@link DerivativeExecutor}. At most as
+     * many jobs as the executor has threads are queued at any time, so that
+     * concurrently running image generators take turns. Progress is reported
+     * whenever all derivatives of an image source are complete. If the
+     * supervisor is interrupted, or a job fails, the remaining jobs are
+     * cancelled.
      */
-    public void createDerivatives(ContentToBeGenerated instruction) {
+    public void createDerivatives() {
+        CompletionService<ContentToBeGenerated> completionService = new ExecutorCompletionService<>(
+                DerivativeExecutor.getExecutor());
+        int window = DerivativeExecutor.getParallelism();
+        Iterator<Pair<ContentToBeGenerated, Subfolder>> jobs = contentToBeGenerated.stream()
+                .flatMap(instruction -> instruction.getSubfoldersWhoseContentsAreToBeGenerated().stream()
+                        .map(destinationFolder -> Pair.of(instruction, destinationFolder)))
+                .iterator();
+        Map<ContentToBeGenerated, Integer> pendingFolders = new IdentityHashMap<>();
+        Collection<Future<ContentToBeGenerated>> running = new HashSet<>();
+        int completed = 0;
         try {
-            for (Subfolder destinationFolder : instruction.getSubfoldersWhoseContentsAreToBeGenerated()) {
-                generateDerivative(instruction.getSourceURI(), destinationFolder, instruction.getCanonical());
+            while (jobs.hasNext() || !running.isEmpty()) {
+                while (running.size() < window && jobs.hasNext()) {
+                    Pair<ContentToBeGenerated, Subfolder> job = jobs.next();
+                    ContentToBeGenerated instruction = job.getKey();
+                    pendingFolders.merge(instruction, 1, Integer::sum);
+                    running.add(completionService.submit(() -> {
+                        generateDerivative(instruction.getSourceURI(), job.getValue(), instruction.getCanonical());
+                        return instruction;
+                    }));
+                }
+                Future<ContentToBeGenerated> done = completionService.take();
+                running.remove(done);
+                ContentToBeGenerated instruction = done.get();
+                if (pendingFolders.merge(instruction, -1, Integer::sum) == 0) {
+                    pendingFolders.remove(instruction);
+                    completed++;
+                    logger.info("Generated {}", instruction.getCanonical());
+                    position = completed;
+                    setProgress();
+                    letTheSupervisorDo(emptyTask -> emptyTask.setWorkDetail(
+                        Helper.getTranslation("generateImages", instruction.getCanonical())));
+                }
+                if (isInterrupted()) {
+                    return;
+                }
             }
-        } catch (IOException e) {
-            throw new UndeclaredThrowableException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new UndeclaredThrowableException(cause);
+        } finally {
+            for (Future<ContentToBeGenerated> future : running) {
+                future.cancel(true);
+            }
+            position = contentToBeGenerated.size() - 1;
         }
     }
 
@@ -264,15 +315,6 @@ public class ImageGenerator implements Runnable {
         }
     }
 
-    /**
-     * Returns from contentToBeGenerated the item specified by position.
-     *
-     * @return the item specified by position
-     */
-    public ContentToBeGenerated getFromContentToBeGeneratedByPosition() {
-        return contentToBeGenerated.get(position);
-    }
-
     /**
      * Returns the current position in the list.
      *
@@ -323,6 +365,17 @@ public class ImageGenerator implements Runnable {
         }
     }
 
+    /**
+     * Returns whether the generation was interrupted, either by an interrupt
+     * request to the supervisor, or to the current thread if there is no
+     * supervisor.
+     *
+     * @return whether the generation was interrupted
+     */
+    private boolean isInterrupted() {
+        return Objects.nonNull(supervisor) ? supervisor.isInterrupted() : Thread.currentThread().isInterrupted();
+    }
+
     /**
      * Invokes one of the three methods of the image management interface that
      * return a Java image. Which method is called and its parameters are
@@ -369,7 +422,7 @@ public class ImageGenerator implements Runnable {
             }
             position++;
             setProgress();
-            if (Objects.nonNull(supervisor) && supervisor.isInterrupted()) {
+            if (isInterrupted()) {
                 return;
             }
         } while (!(state.equals(ImageGeneratorStep.GENERATE_IMAGES)
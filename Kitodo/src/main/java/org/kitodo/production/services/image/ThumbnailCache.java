@@ -0,0 +1,214 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.image;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
+
+/**
+ * An on-disk cache of thumbnails for the gallery of the metadata editor. It is
+ * used if a project has no preview folder. Thumbnails are generated from the
+ * media view images on first request. The cache key is made of the path and
+ * the modification time of the image, so a thumbnail is generated again if
+ * the image is replaced. If the cache grows beyond its size limit, the oldest
+ * thumbnails are removed.
+ */
+public class ThumbnailCache {
+
+    private static final Logger logger = LogManager.getLogger(ThumbnailCache.class);
+
+    private static final String FILE_EXTENSION = ".jpg";
+
+    private static volatile ThumbnailCache instance = null;
+
+    private final Path directory;
+    private final long maxSize;
+    private final int width;
+    private final AtomicLong size = new AtomicLong();
+
+    /**
+     * Thumbnails being generated, so that the same thumbnail is not generated
+     * twice if several requests for it arrive at the same time.
+     */
+    private final ConcurrentMap<String, Object> generating = new ConcurrentHashMap<>();
+
+    ThumbnailCache(Path directory, long maxSize, int width) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.maxSize = maxSize;
+        this.width = width;
+        try (Stream<Path> files = Files.list(directory)) {
+            size.set(files.mapToLong(file -> file.toFile().length()).sum());
+        }
+        evict();
+    }
+
+    /**
+     * Returns the thumbnail of an image. If the thumbnail is not in the cache,
+     * it is generated.
+     *
+     * @param image
+     *            image file to return the thumbnail for
+     * @return the thumbnail file
+     * @throws IOException
+     *             if the image cannot be read or the thumbnail cannot be
+     *             written
+     */
+    public File getThumbnail(File image) throws IOException {
+        String key = getKey(image);
+        Path thumbnail = directory.resolve(key + FILE_EXTENSION);
+        if (Files.isRegularFile(thumbnail)) {
+            return thumbnail.toFile();
+        }
+        synchronized (generating.computeIfAbsent(key, ignored -> new Object())) {
+            try {
+                if (!Files.isRegularFile(thumbnail)) {
+                    generate(image, thumbnail);
+                }
+            } finally {
+                generating.remove(key);
+            }
+        }
+        return thumbnail.toFile();
+    }
+
+    private String getKey(File image) throws IOException {
+        String source = image.getCanonicalPath() + '\n' + image.lastModified() + '\n' + width;
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void generate(File image, Path thumbnail) throws IOException {
+        logger.debug("Generating thumbnail of {}", image);
+        Image scaled = ImageService.getInstance().getSizedWebImage(image.toURI(), width);
+        if (Objects.isNull(scaled)) {
+            throw new IOException("Cannot create thumbnail of " + image);
+        }
+        Path temporary = Files.createTempFile(directory, null, ".tmp");
+        try {
+            if (!ImageIO.write(toRgbImage(scaled), "jpeg", temporary.toFile())) {
+                throw new IOException("No JPEG writer available");
+            }
+            Files.move(temporary, thumbnail, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        if (size.addAndGet(thumbnail.toFile().length()) > maxSize) {
+            evict();
+        }
+    }
+
+    private static BufferedImage toRgbImage(Image image) {
+        if (image instanceof BufferedImage && ((BufferedImage) image).getType() == BufferedImage.TYPE_INT_RGB) {
+            return (BufferedImage) image;
+        }
+        BufferedImage rgbImage = new BufferedImage(image.getWidth(null), image.getHeight(null),
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgbImage.createGraphics();
+        try {
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgbImage;
+    }
+
+    /**
+     * Removes the oldest thumbnails until the cache is filled to nine tenths
+     * of its maximum size.
+     */
+    synchronized void evict() throws IOException {
+        if (size.get() <= maxSize) {
+            return;
+        }
+        List<File> thumbnails;
+        try (Stream<Path> files = Files.list(directory)) {
+            thumbnails = files.map(Path::toFile).filter(file -> file.getName().endsWith(FILE_EXTENSION))
+                    .sorted(Comparator.comparingLong(File::lastModified)).toList();
+        }
+        long target = maxSize / 10 * 9;
+        for (File thumbnail : thumbnails) {
+            if (size.get() <= target) {
+                break;
+            }
+            long length = thumbnail.length();
+            if (thumbnail.delete()) {
+                size.addAndGet(-length);
+            }
+        }
+        logger.debug("Thumbnail cache evicted to {} bytes", size.get());
+    }
+
+    /**
+     * Returns the current size of the cache in bytes.
+     *
+     * @return the size of the cache
+     */
+    long getSize() {
+        return size.get();
+    }
+
+    /**
+     * Returns the thumbnail cache.
+     *
+     * @return the thumbnail cache
+     * @throws IOException
+     *             if the cache directory cannot be created
+     */
+    public static ThumbnailCache getInstance() throws IOException {
+        ThumbnailCache localReference = instance;
+        if (Objects.isNull(localReference)) {
+            synchronized (ThumbnailCache.class) {
+                localReference = instance;
+                if (Objects.isNull(localReference)) {
+                    String directory = ConfigCore.getParameter(ParameterCore.THUMBNAIL_CACHE_DIRECTORY,
+                        Paths.get(ConfigCore.getParameterOrDefaultValue(ParameterCore.DIR_TEMP), "thumbnails")
+                                .toString());
+                    long maxSize = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.THUMBNAIL_CACHE_SIZE)
+                            * 1024L * 1024L;
+                    localReference = new ThumbnailCache(Paths.get(directory), maxSize,
+                            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.THUMBNAIL_WIDTH));
+                    instance = localReference;
+                }
+            }
+        }
+        return localReference;
+    }
+}
@@ -11,9 +11,18 @@
 
 package org.kitodo.production.services.index;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 
 import org.apache.logging.log4j.LogManager;
@@ -21,15 +30,22 @@ import org.apache.logging.log4j.Logger;
 import org.hibernate.Session;
 import org.hibernate.exception.DataException;
 import org.hibernate.search.engine.search.projection.SearchProjection;
+import org.hibernate.search.engine.search.query.SearchQuery;
+import org.hibernate.search.engine.search.query.SearchScroll;
+import org.hibernate.search.engine.search.query.SearchScrollResult;
 import org.hibernate.search.mapper.orm.Search;
 import org.hibernate.search.mapper.orm.massindexing.MassIndexer;
 import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.hibernate.search.mapper.orm.work.SearchIndexingPlan;
 import org.hibernate.search.mapper.pojo.massindexing.MassIndexingMonitor;
 import org.hibernate.search.util.common.SearchException;
+import org.kitodo.config.KitodoConfig;
 import org.kitodo.data.database.beans.BaseBean;
 import org.kitodo.data.database.beans.Process;
 import org.kitodo.data.database.exceptions.DAOException;
 import org.kitodo.data.database.persistence.HibernateUtil;
+import org.kitodo.data.database.persistence.IndexSearchHitDAO;
+import org.kitodo.data.database.persistence.ProcessDAO;
 import org.kitodo.production.helper.Helper;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.production.services.data.BeanQuery;
@@ -41,6 +57,14 @@ public class IndexingService {
 
     private static volatile IndexingService instance = null;
 
+    /**
+     * Number of processes compared at once when updating the index.
+     */
+    private static final int INCREMENTAL_CHUNK_SIZE = 1000;
+
+    private final IndexSearchHitDAO indexSearchHitDAO = new IndexSearchHitDAO();
+    private final ProcessDAO processDAO = new ProcessDAO();
+
     String serverInformation;
     long serverLastCheck;
     long serverCheckThreadId;
@@ -106,7 +130,10 @@ public class IndexingService {
     }
 
     /**
-     * Starts indexing for a bean type.
+     * Starts indexing for a bean type. If there is an index already, it is
+     * rebuilt in a shadow index, while searches are still answered from the
+     * current index. Search switches over to the new index when it is
+     * complete.
      * 
      * @param type
      *            class of beans to be indexed
@@ -116,24 +143,174 @@ public class IndexingService {
      *         ends (including to exceptions)
      */
     public CompletionStage<?> startIndexing(Class<? extends BaseBean> type, MassIndexingMonitor monitor) {
+        long indexVersion = System.currentTimeMillis();
         try (Session ormSession = HibernateUtil.getSession()) {
-            MassIndexer massIndexer = Search.session(ormSession).massIndexer(type);
-            massIndexer.dropAndCreateSchemaOnStart(true);
-            if (Objects.nonNull(monitor)) {
-                massIndexer.monitor(monitor);
+            Optional<ShadowIndex> shadowIndex;
+            try {
+                shadowIndex = ShadowIndex.create(Search.mapping(ormSession.getSessionFactory()), type);
+            } catch (IOException | SearchException e) {
+                return CompletableFuture.failedFuture(e);
             }
-            String driverName = ormSession
-                    .doReturningWork(c -> c.getMetaData().getDriverName());
-            String normalizedDriverName = Objects.isNull(driverName) ? "" : driverName.toLowerCase();
-            if (normalizedDriverName.contains("mysql") && !normalizedDriverName.contains("mariadb")) {
-                // MySQL needs a special setting for the fetch size
-                // See https://docs.hibernate.org/search/7.0/reference/en-US/html_single/#indexing-massindexer-basics
-                massIndexer.idFetchSize(Integer.MIN_VALUE);
-            } else {
-                // Other Databases
-                massIndexer.idFetchSize(500);
+            MassIndexer massIndexer = createMassIndexer(ormSession, type, monitor);
+            if (shadowIndex.isEmpty()) {
+                massIndexer.dropAndCreateSchemaOnStart(true);
+                return massIndexer.start().thenRun(() -> setIndexVersion(type, indexVersion));
+            }
+            massIndexer.purgeAllOnStart(false);
+            return massIndexer.start().handle((unused, throwable) -> {
+                if (Objects.nonNull(throwable)) {
+                    shadowIndex.get().discard();
+                    throw throwable instanceof CompletionException ? (CompletionException) throwable
+                            : new CompletionException(throwable);
+                }
+                try {
+                    shadowIndex.get().publish();
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+                setIndexVersion(type, indexVersion);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Updates the index of processes. Only those processes are indexed again
+     * whose metadata file or database record has changed since they were last
+     * indexed, or which are missing from the index. Processes that no longer
+     * exist are removed from the index. The index remains searchable
+     * throughout.
+     *
+     * @param monitor
+     *            object to be notified of progress changes
+     * @return a CompletionStage that can react asynchronously when the indexing
+     *         ends (including to exceptions)
+     */
+    public CompletionStage<?> startIncrementalIndexing(MassIndexingMonitor monitor) {
+        String searchKey = UUID.randomUUID().toString();
+        long indexVersion = System.currentTimeMillis();
+        return CompletableFuture.supplyAsync(() -> stageOutdatedProcesses(searchKey), Thread::startVirtualThread)
+                .thenCompose(outdated -> reindexStaged(searchKey, outdated, monitor))
+                .thenRun(() -> {
+                    try {
+                        processDAO.setIndexVersion(searchKey, indexVersion);
+                    } catch (DAOException e) {
+                        logger.warn("Could not record index version: {}", e.getMessage());
+                    }
+                }).whenComplete((unused, throwable) -> releaseStagedIds(searchKey));
+    }
+
+    private static CompletionStage<Void> reindexStaged(String searchKey, long outdated, MassIndexingMonitor monitor) {
+        logger.info("{} processes to update in the search index", outdated);
+        if (outdated == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try (Session ormSession = HibernateUtil.getSession()) {
+            MassIndexer massIndexer = createMassIndexer(ormSession, Process.class, monitor);
+            massIndexer.purgeAllOnStart(false);
+            massIndexer.type(Process.class).reindexOnly("e.id IN (SELECT hit.processId FROM IndexSearchHit hit"
+                    + " WHERE hit.searchKey = :searchKey)").param("searchKey", searchKey);
+            return massIndexer.start().thenApply(unused -> null);
+        }
+    }
+
+    private static MassIndexer createMassIndexer(Session ormSession, Class<? extends BaseBean> type,
+            MassIndexingMonitor monitor) {
+        MassIndexer massIndexer = Search.session(ormSession).massIndexer(type);
+        if (Objects.nonNull(monitor)) {
+            massIndexer.monitor(monitor);
+        }
+        String driverName = ormSession
+                .doReturningWork(c -> c.getMetaData().getDriverName());
+        String normalizedDriverName = Objects.isNull(driverName) ? "" : driverName.toLowerCase();
+        if (normalizedDriverName.contains("mysql") && !normalizedDriverName.contains("mariadb")) {
+            // MySQL needs a special setting for the fetch size
+            // See https://docs.hibernate.org/search/7.0/reference/en-US/html_single/#indexing-massindexer-basics
+            massIndexer.idFetchSize(Integer.MIN_VALUE);
+        } else {
+            // Other Databases
+            massIndexer.idFetchSize(500);
+        }
+        return massIndexer.batchSizeToLoadObjects(1000);
+    }
+
+    /**
+     * Compares the processes in the database with those in the index, and
+     * stages the IDs of the processes to be indexed again. A process must be
+     * indexed again if it is missing from the index, or if its metadata file
+     * or its database record was modified after the last indexing run that
+     * wrote it. Index documents of processes that no longer exist are removed.
+     */
+    private long stageOutdatedProcesses(String searchKey) {
+        BitSet indexed = getIndexedProcessIds();
+        String dataDirectory = KitodoConfig.getKitodoDataDirectory();
+        long staged = 0;
+        try {
+            int afterId = 0;
+            List<Object[]> rows;
+            while (!(rows = processDAO.getIndexVersions(afterId, INCREMENTAL_CHUNK_SIZE)).isEmpty()) {
+                List<Integer> outdated = new ArrayList<>();
+                for (Object[] row : rows) {
+                    int id = (Integer) row[0];
+                    boolean inIndex = indexed.get(id);
+                    indexed.clear(id);
+                    if (!inIndex || isOutdated(id, (Date) row[1], (Long) row[2], dataDirectory)) {
+                        outdated.add(id);
+                    }
+                    afterId = id;
+                }
+                indexSearchHitDAO.stage(searchKey, outdated);
+                staged += outdated.size();
+            }
+        } catch (DAOException e) {
+            throw new CompletionException(e);
+        }
+        removeFromIndex(indexed);
+        return staged;
+    }
+
+    private static boolean isOutdated(int id, Date modificationDate, Long indexVersion, String dataDirectory) {
+        if (Objects.isNull(indexVersion)) {
+            return true;
+        }
+        if (Objects.nonNull(modificationDate) && modificationDate.getTime() > indexVersion) {
+            return true;
+        }
+        return Paths.get(dataDirectory, Integer.toString(id), "meta.xml").toFile().lastModified() > indexVersion;
+    }
+
+    private static BitSet getIndexedProcessIds() {
+        BitSet indexed = new BitSet();
+        try (Session ormSession = HibernateUtil.getSession();
+                SearchScroll<Integer> scroll = Search.session(ormSession).search(Process.class)
+                        .select(f -> f.field("id", Integer.class)).where(f -> f.matchAll()).toQuery()
+                        .scroll(INCREMENTAL_CHUNK_SIZE)) {
+            for (SearchScrollResult<Integer> chunk = scroll.next(); chunk.hasHits(); chunk = scroll.next()) {
+                chunk.hits().forEach(indexed::set);
+            }
+        }
+        return indexed;
+    }
+
+    private static void removeFromIndex(BitSet processIds) {
+        if (processIds.isEmpty()) {
+            return;
+        }
+        logger.info("Removing {} deleted processes from the search index", processIds.cardinality());
+        try (Session ormSession = HibernateUtil.getSession()) {
+            SearchIndexingPlan indexingPlan = Search.session(ormSession).indexingPlan();
+            processIds.stream().forEach(id -> indexingPlan.purge(Process.class, id, null));
+            indexingPlan.execute();
+        }
+    }
+
+    private void setIndexVersion(Class<? extends BaseBean> type, long indexVersion) {
+        if (Process.class.equals(type)) {
+            try {
+                processDAO.setIndexVersion(indexVersion);
+            } catch (DAOException e) {
+                logger.warn("Could not record index version: {}", e.getMessage());
             }
-            return massIndexer.batchSizeToLoadObjects(1000).start();
         }
     }
 
@@ -154,29 +331,107 @@ public class IndexingService {
             Class<? extends BaseBean> beanClass,
             List<IndexQueryTerm> terms) {
         try (Session ormSession = HibernateUtil.getSession()) {
-            SearchSession searchSession = Search.session(ormSession);
-            SearchProjection<Integer> idField = searchSession.scope(beanClass).projection().field("id", Integer.class)
-                    .toProjection();
-            var query = searchSession.search(beanClass)
-                    .select(idField)
-                    .where(searchPredicateFactory -> {
-                        var booleanPredicate = searchPredicateFactory.bool();
-                        for (IndexQueryTerm term : terms) {
-
-                            var predicate = searchPredicateFactory.match()
-                                    .field(term.field())
-                                    .matching(term.token());
-
-                            if (term.operand()) {
-                                booleanPredicate.filter(predicate);
-                            } else {
-                                booleanPredicate.mustNot(predicate);
-                            }
+            List<Integer> ids = createIdQuery(Search.session(ormSession), beanClass, terms).fetchAll().hits();
+            logSearch(beanClass, terms, ids.size());
+            return ids;
+        }
+    }
+
+    /**
+     * Searches for entities matching the given index query terms and returns
+     * at most the given number of IDs. If the returned list is as long as the
+     * limit, there may be more hits.
+     *
+     * @param beanClass
+     *            class of beans to search for
+     * @param terms
+     *            index query terms to combine in the search query
+     * @param limit
+     *            maximum number of IDs to return
+     * @return ids of the found beans, up to the limit
+     */
+    public List<Integer> searchIds(Class<? extends BaseBean> beanClass, List<IndexQueryTerm> terms, int limit) {
+        try (Session ormSession = HibernateUtil.getSession()) {
+            List<Integer> ids = createIdQuery(Search.session(ormSession), beanClass, terms).fetchHits(limit);
+            logSearch(beanClass, terms, ids.size());
+            return ids;
+        }
+    }
+
+    /**
+     * Searches for entities matching the given index query terms and stages
+     * their IDs in the database under the given search key. The hits are
+     * scrolled through in chunks, so that neither the index response nor the
+     * database insert ever holds the complete result set. The staged IDs must
+     * be released with {@link #releaseStagedIds(String)} after use.
+     *
+     * @param beanClass
+     *            class of beans to search for
+     * @param terms
+     *            index query terms to combine in the search query
+     * @param searchKey
+     *            key under which the IDs are staged
+     * @param chunkSize
+     *            number of IDs fetched and written at once
+     * @return the number of staged IDs
+     * @throws DAOException
+     *             if the IDs cannot be written to the database
+     */
+    public long stageIds(Class<? extends BaseBean> beanClass, List<IndexQueryTerm> terms, String searchKey,
+            int chunkSize) throws DAOException {
+        long staged = 0;
+        try (Session ormSession = HibernateUtil.getSession();
+                SearchScroll<Integer> scroll = createIdQuery(Search.session(ormSession), beanClass, terms)
+                        .scroll(chunkSize)) {
+            for (SearchScrollResult<Integer> chunk = scroll.next(); chunk.hasHits(); chunk = scroll.next()) {
+                indexSearchHitDAO.stage(searchKey, chunk.hits());
+                staged += chunk.hits().size();
+            }
+        }
+        logSearch(beanClass, terms, staged);
+        return staged;
+    }
+
+    /**
+     * Removes the IDs staged under the given search key from the database.
+     *
+     * @param searchKey
+     *            key under which the IDs were staged
+     */
+    public void releaseStagedIds(String searchKey) {
+        try {
+            indexSearchHitDAO.release(searchKey);
+        } catch (DAOException e) {
+            logger.warn("Could not release staged index search hits for {}: {}", searchKey, e.getMessage());
+        }
+    }
+
+    private static SearchQuery<Integer> createIdQuery(SearchSession searchSession,
+            Class<? extends BaseBean> beanClass, List<IndexQueryTerm> terms) {
+        SearchProjection<Integer> idField = searchSession.scope(beanClass).projection().field("id", Integer.class)
+                .toProjection();
+        return searchSession.search(beanClass)
+                .select(idField)
+                .where(searchPredicateFactory -> {
+                    var booleanPredicate = searchPredicateFactory.bool();
+                    for (IndexQueryTerm term : terms) {
+
+                        var predicate = searchPredicateFactory.match()
+                                .field(term.field())
+                                .matching(term.token());
+
+                        if (term.operand()) {
+                            booleanPredicate.filter(predicate);
+                        } else {
+                            booleanPredicate.mustNot(predicate);
                         }
-                        return booleanPredicate;
-                    });
-            List<Integer> ids = query.fetchAll().hits();
+                    }
+                    return booleanPredicate;
+                }).toQuery();
+    }
 
+    private static void logSearch(Class<? extends BaseBean> beanClass, List<IndexQueryTerm> terms, long hits) {
+        if (logger.isDebugEnabled()) {
             String termSummary = String.join(", ",
                     terms.stream()
                             .distinct()
@@ -186,9 +441,8 @@ public class IndexingService {
                     "Searching {} IDs with terms {}: {} hits",
                     beanClass.getSimpleName(),
                     termSummary,
-                    ids.size()
+                    hits
             );
-            return ids;
         }
     }
 
@@ -0,0 +1,228 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.index;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+
+import org.apache.http.util.EntityUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.client.RestClient;
+import org.hibernate.search.backend.elasticsearch.ElasticsearchBackend;
+import org.hibernate.search.backend.elasticsearch.index.ElasticsearchIndexManager;
+import org.hibernate.search.backend.elasticsearch.index.descriptor.ElasticsearchIndexDescriptor;
+import org.hibernate.search.mapper.orm.mapping.SearchMapping;
+import org.kitodo.data.database.beans.BaseBean;
+
+/**
+ * A new Elasticsearch index that is filled while the current index keeps
+ * answering searches. Hibernate Search reads through a read alias and writes
+ * through a write alias. On creation, the write alias is moved to the shadow
+ * index, so that the mass indexer and all changes made in the meantime go
+ * there. When indexing has finished, the read alias is moved over and the old
+ * index is deleted, in one atomic request. If indexing fails, the write alias
+ * is moved back and the shadow index is deleted.
+ */
+class ShadowIndex {
+
+    private static final Logger logger = LogManager.getLogger(ShadowIndex.class);
+
+    /**
+     * Elasticsearch index names end in a six-digit generation number, see
+     * {@code KitodoCustomLayoutStrategy}.
+     */
+    private static final Pattern INDEX_GENERATION = Pattern.compile("(.*-)(\\d{6})");
+
+    private final RestClient restClient;
+    private final String readAlias;
+    private final String writeAlias;
+    private final String currentIndex;
+    private final String shadowIndex;
+
+    private ShadowIndex(RestClient restClient, ElasticsearchIndexDescriptor descriptor, String currentIndex,
+            String shadowIndex) {
+        this.restClient = restClient;
+        this.readAlias = descriptor.readName();
+        this.writeAlias = descriptor.writeName();
+        this.currentIndex = currentIndex;
+        this.shadowIndex = shadowIndex;
+    }
+
+    /**
+     * Creates a shadow index for a bean type and moves the write alias to it.
+     * If there is no index yet, there is nothing to keep searchable, and no
+     * shadow index is created.
+     *
+     * @param searchMapping
+     *            Hibernate Search mapping
+     * @param type
+     *            class of beans to be indexed
+     * @return the shadow index, or empty if there is no current index
+     * @throws IOException
+     *             if the search server cannot be accessed
+     */
+    static Optional<ShadowIndex> create(SearchMapping searchMapping, Class<? extends BaseBean> type)
+            throws IOException {
+        // do not call close() on restClient as this will terminate the connection to search index
+        RestClient restClient = searchMapping.backend().unwrap(ElasticsearchBackend.class).client(RestClient.class);
+        ElasticsearchIndexDescriptor descriptor = searchMapping.indexedEntity(type).indexManager()
+                .unwrap(ElasticsearchIndexManager.class).descriptor();
+
+        Optional<String> currentIndex = getIndexBehindAlias(restClient, descriptor.writeName());
+        if (currentIndex.isEmpty()) {
+            return Optional.empty();
+        }
+        Matcher generation = INDEX_GENERATION.matcher(currentIndex.get());
+        if (!generation.matches()) {
+            throw new IOException("Unrecognized index name: " + currentIndex.get());
+        }
+        String shadowIndexName = String.format("%s%06d", generation.group(1),
+            Integer.parseInt(generation.group(2)) + 1);
+        ShadowIndex shadowIndex = new ShadowIndex(restClient, descriptor, currentIndex.get(), shadowIndexName);
+        shadowIndex.createIndex(exportSchema(searchMapping, type, descriptor.hibernateSearchName()));
+        shadowIndex.moveWriteAlias(shadowIndex.currentIndex, shadowIndex.shadowIndex);
+        logger.info("Rebuilding search index {} in {}", shadowIndex.currentIndex, shadowIndex.shadowIndex);
+        return Optional.of(shadowIndex);
+    }
+
+    /**
+     * Returns the index the write alias points to.
+     */
+    private static Optional<String> getIndexBehindAlias(RestClient restClient, String alias) throws IOException {
+        try {
+            Response response = restClient.performRequest(new Request("GET", "/_alias/" + alias));
+            String aliasInformation = EntityUtils.toString(response.getEntity());
+            try (JsonReader jsonReader = Json.createReader(new StringReader(aliasInformation))) {
+                return jsonReader.readObject().keySet().stream().findFirst();
+            }
+        } catch (ResponseException e) {
+            if (e.getResponse().getStatusLine().getStatusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Exports the index schema Hibernate Search expects for the bean type.
+     * This is the body of the index creation request, without the aliases,
+     * since these are moved separately.
+     */
+    private static JsonObject exportSchema(SearchMapping searchMapping, Class<? extends BaseBean> type,
+            String hibernateSearchIndexName) throws IOException {
+        Path exportDirectory = Files.createTempDirectory("index-schema");
+        try {
+            searchMapping.scope(type).schemaManager().exportExpectedSchema(exportDirectory);
+            Path createIndex;
+            try (Stream<Path> files = Files.walk(exportDirectory)) {
+                createIndex = files.filter(file -> file.endsWith("create-index.json"))
+                        .filter(file -> file.getParent().endsWith(hibernateSearchIndexName)).findFirst()
+                        .orElseThrow(() -> new IOException("No schema exported for " + hibernateSearchIndexName));
+            }
+            JsonObject schema;
+            try (InputStream inputStream = Files.newInputStream(createIndex);
+                    JsonReader jsonReader = Json.createReader(inputStream)) {
+                schema = jsonReader.readObject();
+            }
+            JsonObjectBuilder withoutAliases = Json.createObjectBuilder();
+            schema.forEach((key, value) -> {
+                if (!"aliases".equals(key)) {
+                    withoutAliases.add(key, value);
+                }
+            });
+            return withoutAliases.build();
+        } finally {
+            try (Stream<Path> files = Files.walk(exportDirectory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private void createIndex(JsonObject schema) throws IOException {
+        Request request = new Request("PUT", "/" + shadowIndex);
+        request.setJsonEntity(schema.toString());
+        restClient.performRequest(request);
+    }
+
+    private void moveWriteAlias(String fromIndex, String toIndex) throws IOException {
+        updateAliases(List.of(
+            aliasAction("remove", fromIndex, writeAlias, null),
+            aliasAction("add", toIndex, writeAlias, true)));
+    }
+
+    /**
+     * Lets searches use the rebuilt index, and deletes the old index.
+     *
+     * @throws IOException
+     *             if the search server cannot be accessed
+     */
+    void publish() throws IOException {
+        restClient.performRequest(new Request("POST", "/" + shadowIndex + "/_refresh"));
+        updateAliases(List.of(
+            aliasAction("remove", currentIndex, readAlias, null),
+            aliasAction("add", shadowIndex, readAlias, false),
+            Json.createObjectBuilder().add("remove_index", Json.createObjectBuilder().add("index", currentIndex))
+                    .build()));
+        logger.info("Search index {} replaced by {}", currentIndex, shadowIndex);
+    }
+
+    /**
+     * Returns to the old index after a failed rebuild. Changes made while the
+     * rebuild was running are only in the discarded index, so the old index
+     * may miss them.
+     */
+    void discard() {
+        try {
+            moveWriteAlias(shadowIndex, currentIndex);
+            restClient.performRequest(new Request("DELETE", "/" + shadowIndex));
+            logger.warn("Rebuild of search index {} failed, shadow index {} discarded", currentIndex, shadowIndex);
+        } catch (IOException e) {
+            logger.error("Could not discard shadow index {}: {}", shadowIndex, e.getMessage());
+        }
+    }
+
+    private static JsonObject aliasAction(String action, String index, String alias, Boolean isWriteIndex) {
+        JsonObjectBuilder parameters = Json.createObjectBuilder().add("index", index).add("alias", alias);
+        if (Objects.nonNull(isWriteIndex)) {
+            parameters.add("is_write_index", isWriteIndex);
+        }
+        return Json.createObjectBuilder().add(action, parameters).build();
+    }
+
+    private void updateAliases(List<JsonObject> actions) throws IOException {
+        Request request = new Request("POST", "/_aliases");
+        request.setJsonEntity(Json.createObjectBuilder().add("actions", Json.createArrayBuilder(actions)).build()
+                .toString());
+        restClient.performRequest(request);
+    }
+}
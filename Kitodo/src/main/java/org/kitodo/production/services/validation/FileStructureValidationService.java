@@ -24,6 +24,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
+import javax.xml.validation.Schema;
+
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -42,6 +44,7 @@ import org.kitodo.exceptions.FileStructureValidationException;
 import org.kitodo.production.helper.Helper;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.serviceloader.KitodoServiceLoader;
+import org.kitodo.utils.SchemaCache;
 import org.xml.sax.SAXException;
 
 public class FileStructureValidationService {
@@ -66,6 +69,10 @@ public class FileStructureValidationService {
         if (xsdFileNames.isEmpty()) {
             return null;
         }
+        return validationModule.validate(xmlContent, getSchemaUris(xsdFileNames));
+    }
+
+    private static List<URI> getSchemaUris(Collection<String> xsdFileNames) {
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
         List<URI> schemaUris = new ArrayList<>();
         for (String filename : xsdFileNames) {
@@ -82,7 +89,7 @@ public class FileStructureValidationService {
                 }
             }
         }
-        return validationModule.validate(xmlContent, schemaUris);
+        return schemaUris;
     }
 
     /**
@@ -195,14 +202,41 @@ public class FileStructureValidationService {
      */
     public void validateInternalRecord(String xmlString, boolean validateMets, String mappingFiles) throws IOException,
             SAXException, FileStructureValidationException {
-        Collection<String> schemata = new ArrayList<>();
-        // always validate internalRecord against kitodo schema
-        schemata.add(KITODO_XSD);
-        // only validate against METS schema as well if the record was created using "prestructured import"
-        if (validateMets) {
-            schemata.add(METS_XSD);
-        }
-        ValidationResult validationResult = validateXmlFile(xmlString, schemata);
+        ValidationResult validationResult = validateXmlFile(xmlString, getInternalRecordSchemata(validateMets));
+        checkInternalRecordValidationResult(validationResult, mappingFiles);
+    }
+
+    /**
+     * Returns the compiled schema definition that internal records are
+     * validated against. The schema is compiled only once and can be used to
+     * validate internal records while they are being read.
+     *
+     * @param validateMets
+     *            flag indicating whether the METS part of the internal record
+     *            should be validated as well
+     * @return the compiled schema definition
+     * @throws SAXException
+     *             when schema definition for metadata file validation cannot
+     *             be read or contains invalid XML syntax
+     */
+    public Schema getInternalRecordSchema(boolean validateMets) throws SAXException {
+        return SchemaCache.getInstance().getSchema(getSchemaUris(getInternalRecordSchemata(validateMets)));
+    }
+
+    /**
+     * Throws an exception if the validation of an internal record found
+     * errors.
+     *
+     * @param validationResult
+     *            result of the validation of the internal record
+     * @param mappingFiles
+     *            String containing the list of mapping file names used to
+     *            create the internal record, may be blank
+     * @throws FileStructureValidationException
+     *             when the validation of the internal record found errors
+     */
+    public void checkInternalRecordValidationResult(ValidationResult validationResult, String mappingFiles)
+            throws FileStructureValidationException {
         if (Objects.nonNull(validationResult) && !validationResult.getResultMessages().isEmpty()) {
             logger.info("Validation errors for internal record: {}", validationResult.getResultMessages());
             if (StringUtils.isBlank(mappingFiles)) {
@@ -215,6 +249,17 @@ public class FileStructureValidationService {
         }
     }
 
+    private static Collection<String> getInternalRecordSchemata(boolean validateMets) {
+        Collection<String> schemata = new ArrayList<>();
+        // always validate internalRecord against kitodo schema
+        schemata.add(KITODO_XSD);
+        // only validate against METS schema as well if the record was created using "prestructured import"
+        if (validateMets) {
+            schemata.add(METS_XSD);
+        }
+        return schemata;
+    }
+
     /**
      * Validate the external XML record returned from a search interface against the schema definitions corresponding
      * to the metadata format configured in the given import configuration.
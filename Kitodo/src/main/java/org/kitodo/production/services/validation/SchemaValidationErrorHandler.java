@@ -0,0 +1,72 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.kitodo.api.validation.State;
+import org.kitodo.api.validation.ValidationResult;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXParseException;
+
+/**
+ * Collects the schema violations found while an XML file is validated as it
+ * is being read. Like the validation of XML strings by the validation module,
+ * warnings count as errors, and the messages contain line and column.
+ */
+public class SchemaValidationErrorHandler implements ErrorHandler {
+
+    private final List<SAXParseException> validationErrors = new ArrayList<>();
+
+    /**
+     * Returns whether schema violations were found.
+     *
+     * @return whether schema violations were found
+     */
+    public boolean hasErrors() {
+        return !validationErrors.isEmpty();
+    }
+
+    /**
+     * Returns the result of the validation.
+     *
+     * @return the validation result
+     */
+    public ValidationResult getValidationResult() {
+        if (validationErrors.isEmpty()) {
+            return new ValidationResult(State.SUCCESS, Collections.emptyList());
+        }
+        return new ValidationResult(State.ERROR, validationErrors.stream()
+                .map(exception -> String.format("Line: %s, Column: %s: %s",
+                    exception.getLineNumber(), exception.getColumnNumber(), exception.getMessage()))
+                .distinct()
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void warning(SAXParseException exception) {
+        validationErrors.add(exception);
+    }
+
+    @Override
+    public void error(SAXParseException exception) {
+        validationErrors.add(exception);
+    }
+
+    @Override
+    public void fatalError(SAXParseException exception) {
+        validationErrors.add(exception);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.workflow;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.api.command.CommandResult;
+import org.kitodo.api.dataformat.Workpiece;
+import org.kitodo.data.database.beans.Process;
+import org.kitodo.data.database.beans.WorkflowCondition;
+import org.kitodo.data.database.enums.WorkflowConditionType;
+import org.kitodo.exceptions.FileStructureValidationException;
+import org.kitodo.production.helper.Helper;
+import org.kitodo.production.helper.VariableReplacer;
+import org.kitodo.production.helper.metadata.legacytypeimplementations.LegacyPrefsHelper;
+import org.kitodo.production.services.ServiceManager;
+import org.kitodo.production.workflow.KitodoNamespaceContext;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * Evaluates the workflow conditions of the tasks that are activated in one
+ * workflow transition. The metadata file of a process is read at most once per
+ * transition, no matter how many conditions refer to it, and the results of
+ * XPath conditions are remembered. Script conditions that do not use metadata
+ * variables are run without reading the metadata file at all. Compiled XPath
+ * expressions are kept for all evaluators.
+ */
+public class WorkflowConditionEvaluator {
+    private static final Logger logger = LogManager.getLogger(WorkflowConditionEvaluator.class);
+
+    private static final DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+    private static final XPath xPath = XPathFactory.newInstance().newXPath();
+    private static final ConcurrentMap<String, XPathExpression> compiledExpressions = new ConcurrentHashMap<>();
+
+    static {
+        documentBuilderFactory.setNamespaceAware(true);
+        xPath.setNamespaceContext(new KitodoNamespaceContext());
+    }
+
+    private Process process;
+    private Document document;
+    private Workpiece workpiece;
+    private final Map<String, Boolean> xPathResults = new HashMap<>();
+
+    /**
+     * Returns whether the workflow condition of a process is fulfilled. A
+     * missing condition is always fulfilled.
+     *
+     * @param process
+     *            process whose metadata the condition is checked against
+     * @param workflowCondition
+     *            condition to check, may be {@code null}
+     * @return whether the condition is fulfilled
+     * @throws IOException
+     *             if the metadata file cannot be read
+     * @throws SAXException
+     *             if the metadata file cannot be parsed
+     * @throws FileStructureValidationException
+     *             if the metadata file is invalid
+     */
+    public boolean isFulfilled(Process process, WorkflowCondition workflowCondition)
+            throws IOException, SAXException, FileStructureValidationException {
+        if (Objects.isNull(workflowCondition)) {
+            return true;
+        }
+        if (!Objects.equals(this.process, process)) {
+            forgetMetadata();
+            this.process = process;
+        }
+        if (WorkflowConditionType.SCRIPT.equals(workflowCondition.getType())) {
+            return runScriptCondition(workflowCondition.getValue());
+        }
+        if (WorkflowConditionType.XPATH.equals(workflowCondition.getType())) {
+            Boolean result = xPathResults.get(workflowCondition.getValue());
+            if (Objects.isNull(result)) {
+                result = evaluate(getDocument(), workflowCondition.getValue()).getLength() > 0;
+                xPathResults.put(workflowCondition.getValue(), result);
+            }
+            return result;
+        }
+        return true;
+    }
+
+    private boolean runScriptCondition(String script) throws IOException, SAXException,
+            FileStructureValidationException {
+        VariableReplacer replacer = new VariableReplacer(null, process, null);
+        if (replacer.containsMetadata(script)) {
+            replacer = new VariableReplacer(getWorkpiece(), process, null);
+        }
+        script = replacer.replace(script);
+        try {
+            CommandResult commandResult = ServiceManager.getCommandService().runCommand(script);
+            return commandResult.isSuccessful();
+        } catch (IOException e) {
+            Helper.setErrorMessage("runCommandError", logger, e);
+            return false;
+        } finally {
+            // the script may have changed the metadata file
+            forgetMetadata();
+        }
+    }
+
+    private void forgetMetadata() {
+        document = null;
+        workpiece = null;
+        xPathResults.clear();
+    }
+
+    private Document getDocument() throws IOException {
+        if (Objects.isNull(document)) {
+            try (InputStream inputStream = ServiceManager.getFileService().readMetadataFile(process)) {
+                DocumentBuilder documentBuilder;
+                synchronized (documentBuilderFactory) {
+                    documentBuilder = documentBuilderFactory.newDocumentBuilder();
+                }
+                document = documentBuilder.parse(inputStream);
+            } catch (ParserConfigurationException | SAXException e) {
+                logger.error(e.getMessage(), e);
+                throw new IOException(e);
+            }
+        }
+        return document;
+    }
+
+    private Workpiece getWorkpiece() throws IOException, SAXException, FileStructureValidationException {
+        if (Objects.isNull(workpiece)) {
+            LegacyPrefsHelper legacyPrefsHelper = ServiceManager.getRulesetService()
+                    .getPreferences(process.getRuleset());
+            workpiece = ServiceManager.getProcessService()
+                    .readMetadataFile(ServiceManager.getFileService().getMetadataFilePath(process), legacyPrefsHelper)
+                    .getDigitalDocument().getWorkpiece();
+        }
+        return workpiece;
+    }
+
+    /**
+     * Evaluates an XPath expression on a METS document. The expression is
+     * compiled only once, and then taken from a cache.
+     *
+     * @param document
+     *            METS document
+     * @param xpath
+     *            XPath expression, may use the namespace prefixes of METS
+     *            files
+     * @return the nodes found
+     * @throws IOException
+     *             if the XPath expression is invalid
+     */
+    public static NodeList evaluate(Document document, String xpath) throws IOException {
+        try {
+            XPathExpression expression = compiledExpressions.get(xpath);
+            if (Objects.isNull(expression)) {
+                synchronized (xPath) {
+                    expression = xPath.compile(xpath);
+                }
+                compiledExpressions.putIfAbsent(xpath, expression);
+            }
+            // compiled expressions are not thread-safe
+            synchronized (expression) {
+                return (NodeList) expression.evaluate(document, XPathConstants.NODESET);
+            }
+        } catch (XPathExpressionException e) {
+            logger.error(e.getMessage(), e);
+            throw new IOException(e);
+        }
+    }
+}
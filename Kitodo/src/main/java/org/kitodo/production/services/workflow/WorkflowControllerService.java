@@ -11,10 +11,8 @@
 
 package org.kitodo.production.services.workflow;
 
-import java.io.File;
 import java.io.IOException;
 import java.net.URI;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -25,7 +23,6 @@ import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.kitodo.api.command.CommandResult;
 import org.kitodo.api.dataeditor.rulesetmanagement.RulesetManagementInterface;
 import org.kitodo.api.dataformat.Workpiece;
 import org.kitodo.api.validation.State;
@@ -36,20 +33,15 @@ import org.kitodo.data.database.beans.Comment;
 import org.kitodo.data.database.beans.Process;
 import org.kitodo.data.database.beans.Task;
 import org.kitodo.data.database.beans.User;
-import org.kitodo.data.database.beans.WorkflowCondition;
 import org.kitodo.data.database.converter.ProcessConverter;
 import org.kitodo.data.database.enums.TaskEditType;
 import org.kitodo.data.database.enums.TaskStatus;
-import org.kitodo.data.database.enums.WorkflowConditionType;
 import org.kitodo.data.database.exceptions.DAOException;
 import org.kitodo.exceptions.FileStructureValidationException;
 import org.kitodo.production.enums.ProcessState;
 import org.kitodo.production.helper.Helper;
-import org.kitodo.production.helper.VariableReplacer;
 import org.kitodo.production.helper.WebDav;
 import org.kitodo.production.helper.metadata.ImageHelper;
-import org.kitodo.production.helper.metadata.legacytypeimplementations.LegacyMetsModsDigitalDocumentHelper;
-import org.kitodo.production.helper.metadata.legacytypeimplementations.LegacyPrefsHelper;
 import org.kitodo.production.helper.tasks.TaskManager;
 import org.kitodo.production.helper.validation.LtpValidationHelper;
 import org.kitodo.production.metadata.MetadataLock;
@@ -208,10 +200,8 @@ public class WorkflowControllerService {
     private boolean validateMetadata(Task task) throws IOException, DAOException, SAXException, FileStructureValidationException {
         URI metadataFileUri = ServiceManager.getProcessService().getMetadataFileUri(task.getProcess());
         Workpiece workpiece = ServiceManager.getMetsService().loadWorkpiece(metadataFileUri);
-        RulesetManagementInterface ruleset = ServiceManager.getRulesetManagementService().getRulesetManagement();
-        ruleset.load(new File(Paths.get(
-                ConfigCore.getParameter(ParameterCore.DIR_RULESETS),
-                task.getProcess().getRuleset().getFile()).toString()));
+        RulesetManagementInterface ruleset = ServiceManager.getRulesetService()
+                .openRuleset(task.getProcess().getRuleset());
         ValidationResult validationResult = ServiceManager.getMetadataValidationService().validate(workpiece, ruleset);
         boolean strictValidation = ConfigCore.getBooleanParameter(ParameterCore.VALIDATION_FAIL_ON_WARNING);
         State state = validationResult.getState();
@@ -316,15 +306,19 @@ public class WorkflowControllerService {
 
         automaticTasks = new ArrayList<>();
 
-        activateTasksForClosedTask(task);
+        activateTasksForClosedTask(task, new WorkflowConditionEvaluator());
     }
 
     /**
-     * Checks if all children of a process are closed.
+     * Checks if all children of a process are closed. For a saved process,
+     * this is looked up from the task status counters of the children.
      * @param process the process to check
      * @return true if all children are closed
      */
     public static boolean allChildrenClosed(Process process) {
+        if (Objects.nonNull(process.getId())) {
+            return ServiceManager.getProcessService().allChildrenClosed(process);
+        }
         if (!process.getChildren().isEmpty()) {
             boolean allChildrenClosed = true;
             for (Process child : process.getChildren()) {
@@ -518,8 +512,8 @@ public class WorkflowControllerService {
         }
     }
 
-    private void activateTasksForClosedTask(Task closedTask) throws DAOException, IOException, SAXException,
-            FileStructureValidationException {
+    private void activateTasksForClosedTask(Task closedTask, WorkflowConditionEvaluator conditionEvaluator)
+            throws DAOException, IOException, SAXException, FileStructureValidationException {
         Process process = closedTask.getProcess();
 
         // check if there are tasks that take place in parallel but are not yet
@@ -529,10 +523,10 @@ public class WorkflowControllerService {
 
         if (concurrentTasksForOpen.isEmpty() && !isAnotherTaskInWorkWhichBlocksOtherTasks(tasks, closedTask)) {
             if (!closedTask.isLast()) {
-                activateNextTasks(getAllHigherTasks(tasks, closedTask));
+                activateNextTasks(getAllHigherTasks(tasks, closedTask), conditionEvaluator);
             }
         } else {
-            activateConcurrentTasks(concurrentTasksForOpen);
+            activateConcurrentTasks(concurrentTasksForOpen, conditionEvaluator);
         }
 
         URI imagesOrigDirectory = ServiceManager.getProcessService().getImagesOriginDirectory(true, process);
@@ -629,11 +623,11 @@ public class WorkflowControllerService {
     /**
      * Activate the concurrent tasks.
      */
-    private void activateConcurrentTasks(List<Task> concurrentTasks) throws DAOException, IOException, SAXException,
-            FileStructureValidationException {
+    private void activateConcurrentTasks(List<Task> concurrentTasks, WorkflowConditionEvaluator conditionEvaluator)
+            throws DAOException, IOException, SAXException, FileStructureValidationException {
         for (Task concurrentTask : concurrentTasks) {
             if (concurrentTask.getProcessingStatus().equals(TaskStatus.LOCKED)) {
-                activateTask(concurrentTask);
+                activateTask(concurrentTask, conditionEvaluator);
             }
         }
     }
@@ -653,10 +647,15 @@ public class WorkflowControllerService {
      */
     public void activateNextTasks(List<Task> allHigherTasks) throws DAOException, IOException, SAXException,
             FileStructureValidationException {
+        activateNextTasks(allHigherTasks, new WorkflowConditionEvaluator());
+    }
+
+    private void activateNextTasks(List<Task> allHigherTasks, WorkflowConditionEvaluator conditionEvaluator)
+            throws DAOException, IOException, SAXException, FileStructureValidationException {
         List<Task> nextTasks = getNextTasks(allHigherTasks);
 
         for (Task nextTask : nextTasks) {
-            activateTask(nextTask);
+            activateTask(nextTask, conditionEvaluator);
         }
     }
 
@@ -709,9 +708,10 @@ public class WorkflowControllerService {
     /**
      * If no open parallel tasks are available, activate the next tasks.
      */
-    private void activateTask(Task task) throws DAOException, IOException, SAXException, FileStructureValidationException {
+    private void activateTask(Task task, WorkflowConditionEvaluator conditionEvaluator) throws DAOException,
+            IOException, SAXException, FileStructureValidationException {
         if ((!task.isCorrection() || task.isRepeatOnCorrection())
-                && isWorkflowConditionFulfilled(task.getProcess(), task.getWorkflowCondition())) {
+                && conditionEvaluator.isFulfilled(task.getProcess(), task.getWorkflowCondition())) {
             // activate the task if it is not fully automatic
             task.setProcessingStatus(TaskStatus.OPEN);
             task.setProcessingTime(new Date());
@@ -730,49 +730,10 @@ public class WorkflowControllerService {
             task.setCorrection(false);
             taskService.save(task);
 
-            activateTasksForClosedTask(task);
+            activateTasksForClosedTask(task, conditionEvaluator);
         }
     }
 
-    private boolean isWorkflowConditionFulfilled(Process process, WorkflowCondition workflowCondition)
-            throws IOException, SAXException, FileStructureValidationException {
-        if (Objects.isNull(workflowCondition) || workflowCondition.getType().equals(WorkflowConditionType.NONE)) {
-            return true;
-        } else {
-            if (workflowCondition.getType().equals(WorkflowConditionType.SCRIPT)) {
-                return runScriptCondition(workflowCondition.getValue(), process);
-            }
-
-            if (workflowCondition.getType().equals(WorkflowConditionType.XPATH)) {
-                return runXPathCondition(process, workflowCondition.getValue());
-            }
-            return true;
-        }
-    }
-
-    private boolean runScriptCondition(String script, Process process) throws IOException, SAXException, FileStructureValidationException {
-        LegacyPrefsHelper legacyPrefsHelper = ServiceManager.getRulesetService().getPreferences(process.getRuleset());
-
-        LegacyMetsModsDigitalDocumentHelper legacyMetsModsDigitalDocumentHelper = ServiceManager.getProcessService()
-                .readMetadataFile(ServiceManager.getFileService().getMetadataFilePath(process), legacyPrefsHelper)
-                .getDigitalDocument();
-        VariableReplacer replacer = new VariableReplacer(legacyMetsModsDigitalDocumentHelper.getWorkpiece(),
-                process, null);
-
-        script = replacer.replace(script);
-        try {
-            CommandResult commandResult = ServiceManager.getCommandService().runCommand(script);
-            return commandResult.isSuccessful();
-        } catch (IOException e) {
-            Helper.setErrorMessage("runCommandError", logger, e);
-            return false;
-        }
-    }
-
-    private boolean runXPathCondition(Process process, String xpath) throws IOException {
-        return ServiceManager.getProcessService().getNodeListFromMetadataFile(process, xpath).getLength() > 0;
-    }
-
     private void processAutomaticTask(Task task) {
         // if it is an automatic task with script
         if (task.isTypeAutomatic()) {
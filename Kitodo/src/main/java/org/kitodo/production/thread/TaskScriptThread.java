@@ -62,7 +62,7 @@ public class TaskScriptThread extends EmptyTask {
         String scriptPath = taskService.getScriptPath(this.task);
         if (!scriptPath.isEmpty()) {
             try {
-                this.taskService.executeScript(this.task, automatic);
+                this.taskService.executeScript(this.task, automatic, this::setWorkDetail);
             } catch (DAOException e) {
                 logger.error("Data Error occurred", e);
             }
@@ -61,6 +61,7 @@ function toggleButtons(state, objectTypes) {
         for (var i = 0; i < objectTypes.length; i++) {
             if (objectTypes[i] !== 'NONE') {
                 PF('startIndexing' + objectTypes[i]).enable();
+                PF('updateIndexing' + objectTypes[i]).enable();
             }
         }
         PF('startIndexingAll').enable();
@@ -68,6 +69,7 @@ function toggleButtons(state, objectTypes) {
         for (var i = 0; i < objectTypes.length; i++) {
             if (objectTypes[i] !== 'NONE') {
                 PF('startIndexing' + objectTypes[i]).disable();
+                PF('updateIndexing' + objectTypes[i]).disable();
             }
         }
         PF('startIndexingAll').disable();
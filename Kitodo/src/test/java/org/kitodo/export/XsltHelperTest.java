@@ -12,16 +12,23 @@
 package org.kitodo.export;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.transform.stream.StreamSource;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Test;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.XMLFilterImpl;
 import org.xmlunit.matchers.CompareMatcher;
 
 public class XsltHelperTest {
@@ -43,4 +50,31 @@ public class XsltHelperTest {
 
         FileUtils.deleteQuietly(result);
     }
+
+    @Test
+    public void shouldStreamTransformationToDestination() throws Exception {
+        final String path = "src/test/resources/";
+        File source = new File(path + "metadata/metadataFiles/" + META_XML);
+        File expected = new File(path + "metsFromKitodo.xml");
+        File result = new File(path + "mets.xml");
+        AtomicInteger elements = new AtomicInteger();
+        XMLFilterImpl elementCounter = new XMLFilterImpl() {
+            @Override
+            public void startElement(String uri, String localName, String qName, Attributes attributes)
+                    throws SAXException {
+                elements.incrementAndGet();
+                super.startElement(uri, localName, qName, attributes);
+            }
+        };
+
+        try (OutputStream destination = new FileOutputStream(result)) {
+            XsltHelper.transformXmlByXslt(out -> FileUtils.copyFile(source, out),
+                URI.create(path + "xslt/kitodo2mods.xsl"), destination, elementCounter);
+        }
+
+        assertThat(result, CompareMatcher.isIdenticalTo(expected).ignoreWhitespace());
+        assertTrue(elements.get() > 0, "Result filter should have seen the elements");
+
+        FileUtils.deleteQuietly(result);
+    }
 }
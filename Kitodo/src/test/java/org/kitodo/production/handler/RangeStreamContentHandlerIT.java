@@ -13,13 +13,18 @@ package org.kitodo.production.handler;
 
 import static org.apache.commons.io.IOUtils.toInputStream;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.kitodo.production.helper.RangeStreamHelper.DEFAULT_BUFFER_SIZE;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
@@ -31,7 +36,10 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.kitodo.BasePrimefaceTest;
+import org.kitodo.production.helper.LocalFileInputStream;
+import org.kitodo.production.helper.RangeStreamHelper;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.omnifaces.application.OmniApplication;
@@ -53,6 +61,9 @@ public class RangeStreamContentHandlerIT extends BasePrimefaceTest {
 
     private ByteArrayOutputStream byteArrayOutputStream;
 
+    @TempDir
+    Path tempDir;
+
     @Spy
     private RangeStreamContentHandler rangeStreamContentHandler;
 
@@ -179,4 +190,55 @@ public class RangeStreamContentHandlerIT extends BasePrimefaceTest {
         assertEquals(data.substring(start,end + 1), byteArrayOutputStream.toString(StandardCharsets.UTF_8));
     }
 
+    /**
+     * Test requesting multiple parts of a file on local storage.
+     *
+     * @throws Exception the exceptions thrown by method
+     */
+    @Test
+    public void multipleRangesOfLocalFile() throws Exception {
+        File file = tempDir.resolve(FILENAME).toFile();
+        Files.writeString(file.toPath(), data);
+        LocalFileInputStream inputStream = new LocalFileInputStream(file);
+        StreamedContent streamedContent = DefaultStreamedContent.builder().stream(() -> inputStream)
+                .contentType(MIMETYPE).name(FILENAME).contentLength(file.length()).build();
+        when(valueExpression.getValue(facesContext.getELContext())).thenReturn(streamedContent);
+        when(httpServletRequest.getHeader("Range")).thenReturn("bytes=20-23,0-3");
+
+        rangeStreamContentHandler.handle(facesContext);
+
+        verify(httpServletResponse).setHeader("ETag",
+            RangeStreamHelper.createETag(file.length(), file.lastModified()));
+        verify(httpServletResponse).setContentType("multipart/byteranges; boundary=MULTIPART_BYTERANGES");
+        verify(httpServletResponse).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        String body = byteArrayOutputStream.toString(StandardCharsets.UTF_8);
+        assertTrue(body.contains("Content-Range: bytes 20-23/34\r\n\r\n" + data.substring(20, 24)));
+        assertTrue(body.contains("Content-Range: bytes 0-3/34\r\n\r\n" + data.substring(0, 4)));
+        assertTrue(body.indexOf("bytes 20-23") < body.indexOf("bytes 0-3"), "Ranges must keep requested order");
+    }
+
+    /**
+     * Test that a stale If-Range of a file on local storage returns the full
+     * file.
+     *
+     * @throws Exception the exceptions thrown by method
+     */
+    @Test
+    public void staleIfRangeOfLocalFile() throws Exception {
+        File file = tempDir.resolve(FILENAME).toFile();
+        Files.writeString(file.toPath(), data);
+        LocalFileInputStream inputStream = new LocalFileInputStream(file);
+        StreamedContent streamedContent = DefaultStreamedContent.builder().stream(() -> inputStream)
+                .contentType(MIMETYPE).name(FILENAME).contentLength(file.length()).build();
+        when(valueExpression.getValue(facesContext.getELContext())).thenReturn(streamedContent);
+        when(httpServletRequest.getHeader("Range")).thenReturn("bytes=5-9");
+        when(httpServletRequest.getHeader("If-Range")).thenReturn("\"outdated\"");
+
+        rangeStreamContentHandler.handle(facesContext);
+
+        verify(httpServletResponse).setHeader("Content-Length", "34");
+        verify(httpServletResponse, never()).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        assertEquals(data, byteArrayOutputStream.toString(StandardCharsets.UTF_8));
+    }
+
 }
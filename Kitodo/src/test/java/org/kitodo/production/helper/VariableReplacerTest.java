@@ -144,6 +144,16 @@ public class VariableReplacerTest {
         assertFalse(variableReplacer.containsFiles(toBeMatched), "String should not match as containing file variables!");
     }
 
+    @Test
+    public void shouldContainMetadata() {
+        VariableReplacer variableReplacer = new VariableReplacer(null, prepareProcess(2, "2"), null);
+
+        assertTrue(variableReplacer.containsMetadata("check.sh $(meta.topstruct.TSL_ATS)"),
+            "String does not match as containing metadata variables!");
+        assertFalse(variableReplacer.containsMetadata("check.sh (processid) (processtitle)"),
+            "String should not match as containing metadata variables!");
+    }
+
     @Test
     public void shouldReplaceGeneratorSource() {
         VariableReplacer variableReplacer = new VariableReplacer(null, prepareProcess(2, "2"), null);
@@ -0,0 +1,112 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.helper.tasks;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kitodo.config.ConfigCore;
+
+public class TaskManagerIT {
+
+    private static final String TYPE_LIMIT_KEY = "taskManager.autoRunLimit.BlockingTask";
+
+    /**
+     * Task that works until it is released.
+     */
+    private static class BlockingTask extends EmptyTask {
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        BlockingTask(String nameDetail) {
+            super(nameDetail);
+        }
+
+        @Override
+        public void run() {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupt();
+            }
+        }
+
+        void release() {
+            release.countDown();
+        }
+    }
+
+    @BeforeEach
+    public void limitBlockingTasks() {
+        TaskManager.stopAndDeleteAllTasks();
+        ConfigCore.getConfig().setProperty(TYPE_LIMIT_KEY, 1);
+        TaskSitter.setAutoRunningThreads(true);
+    }
+
+    @AfterEach
+    public void removeTasks() {
+        TaskManager.stopAndDeleteAllTasks();
+        ConfigCore.getConfig().clearProperty(TYPE_LIMIT_KEY);
+    }
+
+    @Test
+    public void shouldStartWaitingTaskWhenRunningTaskEnds() {
+        BlockingTask first = new BlockingTask("first");
+        BlockingTask second = new BlockingTask("second");
+        TaskManager.addTask(first);
+        TaskManager.addTask(second);
+
+        assertEquals(TaskState.WORKING, first.getTaskState(), "First task should have been started at once");
+        assertEquals(TaskState.NEW, second.getTaskState(), "Second task should wait for the type limit");
+
+        first.release();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> TaskState.WORKING.equals(second.getTaskState()));
+        second.release();
+    }
+
+    @Test
+    public void shouldStartTaskMovedUpFirst() {
+        BlockingTask first = new BlockingTask("first");
+        BlockingTask second = new BlockingTask("second");
+        BlockingTask third = new BlockingTask("third");
+        TaskManager.addTask(first);
+        TaskManager.addTask(second);
+        TaskManager.addTask(third);
+
+        TaskManager.runEarlier(third);
+        assertEquals(third, TaskManager.getTaskList().get(1), "Third task should have been moved up");
+
+        first.release();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> TaskState.WORKING.equals(third.getTaskState()));
+        assertEquals(TaskState.NEW, second.getTaskState(), "Second task should still be waiting");
+        third.release();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> TaskState.WORKING.equals(second.getTaskState()));
+        second.release();
+    }
+
+    @Test
+    public void shouldRemoveDeletedWaitingTask() {
+        BlockingTask first = new BlockingTask("first");
+        BlockingTask second = new BlockingTask("second");
+        TaskManager.addTask(first);
+        TaskManager.addTask(second);
+
+        second.interrupt(EmptyTask.Behaviour.DELETE_IMMEDIATELY);
+        assertEquals(1, TaskManager.getTaskList().size(), "Deleted task should have been removed");
+        first.release();
+    }
+}
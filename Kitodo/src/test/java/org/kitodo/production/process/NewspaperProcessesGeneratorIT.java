@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.time.MonthDay;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -156,6 +157,40 @@ public class NewspaperProcessesGeneratorIT {
         assertEquals("NewspaperOverallProcess_17050127", readProcessTitleFromMetadata(maxId, true), "Process title missing in issue's meta.xml");
     }
 
+    /**
+     * Tests that a run which was stopped in the middle of a year is continued
+     * by a new run of the same course, without creating processes twice.
+     */
+    @Test
+    public void shouldContinueStoppedGeneration() throws Exception {
+        ConfigCore.getConfig().setProperty(ParameterCore.NEWSPAPER_PROCESSES_CHUNK_SIZE.toString(), 2);
+        try {
+            Course course = NewspaperCourse.getCourse();
+            course.splitInto(Granularity.DAYS);
+            NewspaperProcessesGenerator stopped = new NewspaperProcessesGenerator(
+                    processService.getById(newspaperTestProcessId), course);
+            for (int step = 0; step < 3; step++) {
+                stopped.nextStep();
+            }
+
+            NewspaperProcessesGenerator continued = new NewspaperProcessesGenerator(
+                    processService.getById(newspaperTestProcessId), course);
+            assertTrue(continued.nextStep(), "Processes of the stopped run should not be reported as duplicates");
+            while (continued.getProgress() < continued.getNumberOfSteps()) {
+                continued.nextStep();
+            }
+
+            List<String> titles = processService.getAll().stream().map(Process::getTitle)
+                    .filter(title -> title.startsWith(NEWSPAPER_TEST_PROCESS_TITLE + "_")).collect(Collectors.toList());
+            assertEquals(titles.size(), new HashSet<>(titles).size(), "Processes have been created twice: " + titles);
+            long issues = course.getProcesses().stream().filter(issuesOfProcess -> !issuesOfProcess.isEmpty()).count();
+            assertEquals(issues, titles.stream().filter(title -> title.length() > NEWSPAPER_TEST_PROCESS_TITLE.length()
+                    + "_1703".length()).count(), "Not all issue processes have been created");
+        } finally {
+            ConfigCore.getConfig().clearProperty(ParameterCore.NEWSPAPER_PROCESSES_CHUNK_SIZE.toString());
+        }
+    }
+
     private int getChildProcessWithLargestId(Process process, int maxId) {
         maxId = Math.max(maxId, process.getId());
         for (Process childProcess : process.getChildren()) {
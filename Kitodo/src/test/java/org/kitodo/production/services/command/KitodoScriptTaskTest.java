@@ -0,0 +1,113 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kitodo.data.database.beans.Process;
+
+public class KitodoScriptTaskTest {
+
+    private static final String SCRIPT = "action:addData key:TitleDocMain value:Test";
+    private static final List<Integer> PROCESS_IDS = List.of(1, 2, 3, 4, 5);
+
+    @TempDir
+    Path checkpointDirectory;
+
+    /**
+     * Kitodo Script task which works on processes in memory and records the
+     * chunks it saves.
+     */
+    private class TestTask extends KitodoScriptTask {
+        private final List<List<Integer>> savedChunks = Collections.synchronizedList(new ArrayList<>());
+
+        TestTask(ProcessAction processAction, int chunkSize) {
+            super(SCRIPT, PROCESS_IDS, processAction, "addDataError", checkpointDirectory, chunkSize, 2);
+        }
+
+        @Override
+        Process load(Integer processId) {
+            Process process = new Process();
+            process.setId(processId);
+            process.setTitle("Process " + processId);
+            return process;
+        }
+
+        @Override
+        void save(List<Process> processes) {
+            savedChunks.add(processes.stream().map(Process::getId).sorted().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void shouldSaveProcessesInChunks() throws IOException {
+        TestTask task = new TestTask(List::of, 2);
+        task.run();
+
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5)), task.savedChunks);
+        assertEquals(100, task.getProgress());
+        try (Stream<Path> checkpoints = Files.list(checkpointDirectory)) {
+            assertEquals(0, checkpoints.count(), "Checkpoint of a completed run should have been deleted");
+        }
+    }
+
+    @Test
+    public void shouldResumeWithProcessesNotSucceeded() throws IOException {
+        TestTask failing = new TestTask(process -> {
+            if (process.getId() == 4) {
+                throw new IOException("Metadata file cannot be read");
+            }
+            return List.of(process);
+        }, 2);
+        failing.run();
+        assertEquals(List.of(List.of(1, 2), List.of(3), List.of(5)), failing.savedChunks);
+        try (Stream<Path> checkpoints = Files.list(checkpointDirectory)) {
+            List<Path> checkpointFiles = checkpoints.collect(Collectors.toList());
+            assertEquals(1, checkpointFiles.size(), "Checkpoint of a run with failures should have been kept");
+            assertEquals(List.of("1", "2", "3", "5"), Files.readAllLines(checkpointFiles.getFirst()),
+                "Only processes the action succeeded on should have been written to the checkpoint");
+        }
+
+        Set<Integer> executed = ConcurrentHashMap.newKeySet();
+        TestTask resumed = new TestTask(process -> {
+            executed.add(process.getId());
+            return List.of(process);
+        }, 2);
+        resumed.run();
+        assertEquals(Set.of(4), executed, "Only the failed process should have been run again");
+        assertEquals(List.of(List.of(4)), resumed.savedChunks);
+        try (Stream<Path> checkpoints = Files.list(checkpointDirectory)) {
+            assertEquals(0, checkpoints.count(), "Checkpoint should have been deleted after the retry succeeded");
+        }
+    }
+
+    @Test
+    public void shouldRunManyProcessesInTaskManager() {
+        assertFalse(KitodoScriptTask.runsInTaskManager(99));
+        assertTrue(KitodoScriptTask.runsInTaskManager(100));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.kitodo.data.database.beans.ImportConfiguration;
+import org.kitodo.exceptions.NoRecordFoundException;
+
+public class CatalogueResponseCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private static ImportConfiguration importConfiguration(int id) {
+        ImportConfiguration importConfiguration = new ImportConfiguration();
+        importConfiguration.setId(id);
+        return importConfiguration;
+    }
+
+    private String request(String response) {
+        requests.incrementAndGet();
+        return response;
+    }
+
+    @Test
+    public void shouldAnswerRepeatedRequestFromCache() {
+        CatalogueResponseCache cache = new CatalogueResponseCache(100, 10, now::get);
+        ImportConfiguration catalogue = importConfiguration(1);
+
+        assertEquals("first", cache.get(catalogue, "record\n1", () -> request("first")));
+        assertEquals("first", cache.get(catalogue, "record\n1", () -> request("second")));
+        assertEquals(1, requests.get(), "Catalogue was asked again");
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        assertEquals("other", cache.get(importConfiguration(2), "record\n1", () -> request("other")),
+            "Responses of different catalogues were mixed up");
+    }
+
+    @Test
+    public void shouldAskCatalogueAgainAfterTimeToLive() {
+        CatalogueResponseCache cache = new CatalogueResponseCache(100, 10, now::get);
+        ImportConfiguration catalogue = importConfiguration(1);
+
+        cache.get(catalogue, "record\n1", () -> request("first"));
+        now.addAndGet(100);
+        assertEquals("second", cache.get(catalogue, "record\n1", () -> request("second")));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void shouldDropLeastRecentlyUsedResponses() {
+        CatalogueResponseCache cache = new CatalogueResponseCache(100, 2, now::get);
+        ImportConfiguration catalogue = importConfiguration(1);
+
+        cache.get(catalogue, "a", () -> request("a"));
+        cache.get(catalogue, "b", () -> request("b"));
+        cache.get(catalogue, "a", () -> request("a"));
+        cache.get(catalogue, "c", () -> request("c"));
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getEvictionCount());
+
+        cache.get(catalogue, "a", () -> request("a"));
+        assertEquals(3, requests.get(), "Recently used response was dropped");
+        cache.get(catalogue, "b", () -> request("b"));
+        assertEquals(4, requests.get(), "Least recently used response was kept");
+    }
+
+    @Test
+    public void shouldNotCacheFailedRequests() throws NoRecordFoundException {
+        CatalogueResponseCache cache = new CatalogueResponseCache(100, 10, now::get);
+        ImportConfiguration catalogue = importConfiguration(1);
+
+        assertThrows(NoRecordFoundException.class, () -> cache.get(catalogue, "record\n1", () -> {
+            requests.incrementAndGet();
+            throw new NoRecordFoundException("not found");
+        }));
+        assertEquals("found", cache.get(catalogue, "record\n1", () -> request("found")));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void shouldSendConcurrentRequestsOnlyOnce() throws Exception {
+        CatalogueResponseCache cache = new CatalogueResponseCache(TimeUnit.MINUTES.toNanos(1), 10, System::nanoTime);
+        ImportConfiguration catalogue = importConfiguration(1);
+        CountDownLatch requestStarted = new CountDownLatch(1);
+        CountDownLatch catalogueAnswers = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> cache.get(catalogue, "record\n1", () -> {
+                requestStarted.countDown();
+                catalogueAnswers.await();
+                return request("response");
+            }));
+            requestStarted.await();
+            Future<String> second = executor.submit(() -> cache.get(catalogue, "record\n1",
+                () -> request("second response")));
+            while (cache.getJoinCount() == 0 && !second.isDone()) {
+                Thread.sleep(10);
+            }
+            catalogueAnswers.countDown();
+
+            assertEquals("response", first.get(5, TimeUnit.SECONDS));
+            assertEquals("response", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, requests.get(), "Catalogue was asked twice");
+            assertEquals(1, cache.getJoinCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldForgetResponsesOfChangedConfiguration() {
+        CatalogueResponseCache cache = new CatalogueResponseCache(100, 10, now::get);
+        ImportConfiguration catalogue = importConfiguration(1);
+
+        cache.get(catalogue, "record\n1", () -> request("first"));
+        cache.invalidate(1);
+        assertEquals("second", cache.get(catalogue, "record\n1", () -> request("second")));
+    }
+
+    @Test
+    public void shouldNotCacheIfDisabled() {
+        CatalogueResponseCache cache = new CatalogueResponseCache(0, 10, now::get);
+        ImportConfiguration catalogue = importConfiguration(1);
+
+        cache.get(catalogue, "record\n1", () -> request("first"));
+        cache.get(catalogue, "record\n1", () -> request("second"));
+        assertEquals(2, requests.get());
+        assertEquals(0, cache.getSize());
+        assertFalse(cache.isEnabled());
+        assertTrue(new CatalogueResponseCache(100, 10, now::get).isEnabled());
+    }
+}
@@ -42,7 +42,9 @@ import org.kitodo.ExecutionPermission;
 import org.kitodo.FileLoader;
 import org.kitodo.MockDatabase;
 import org.kitodo.SecurityTestUtils;
+import org.kitodo.api.MetadataEntry;
 import org.kitodo.api.dataformat.LogicalDivision;
+import org.kitodo.api.dataformat.PhysicalDivision;
 import org.kitodo.api.dataformat.Workpiece;
 import org.kitodo.api.dataformat.mets.LinkedMetsResource;
 import org.kitodo.config.ConfigCore;
@@ -217,6 +219,60 @@ public class ProcessServiceIT {
         assertEquals(1, processService.findByTitle(firstProcess).size(), processNotFound);
     }
 
+    @Test
+    public void shouldFindExistingTitles() throws DAOException {
+        Set<String> existingTitles = processService.findExistingTitles(List.of(firstProcess, "Not a process"));
+        assertEquals(Set.of(firstProcess), existingTitles, "Existing titles were not found correctly!");
+    }
+
+    @Test
+    public void shouldPrepareProcessesSavedInBulk() throws Exception {
+        int fromFileId = MockDatabase.insertTestProcess("Bulk process from file", 1, 1, 1);
+        ProcessTestUtils.copyTestMetadataFile(fromFileId, ProcessTestUtils.testFileForLongNumbers);
+        int inMemoryId = MockDatabase.insertTestProcess("Bulk process in memory", 1, 1, 1);
+        Process fromFile = processService.getById(fromFileId);
+        Process inMemory = processService.getById(inMemoryId);
+        for (Process process : List.of(fromFile, inMemory)) {
+            Task task = new Task();
+            task.setTitle("Bulk task");
+            task.setProcessingStatus(TaskStatus.OPEN);
+            task.setProcess(process);
+            process.getTasks().add(task);
+        }
+
+        Workpiece workpiece = new Workpiece();
+        LogicalDivision issue = new LogicalDivision();
+        MetadataEntry title = new MetadataEntry();
+        title.setKey("TitleDocMain");
+        title.setValue("Issue");
+        issue.getMetadata().add(title);
+        workpiece.getLogicalStructure().getChildren().add(issue);
+        for (int i = 0; i < 3; i++) {
+            PhysicalDivision page = new PhysicalDivision();
+            page.setType(PhysicalDivision.TYPE_PAGE);
+            workpiece.getPhysicalStructure().getChildren().add(page);
+        }
+        processService.saveList(List.of(fromFile, inMemory), process -> process == inMemory ? workpiece : null);
+
+        Workpiece fileWorkpiece = ServiceManager.getMetsService()
+                .loadWorkpiece(processService.getMetadataFileUri(fromFile), false);
+        Process savedFromFile = processService.getById(fromFileId);
+        assertEquals("000000100000", savedFromFile.getSortHelperStatus(), "Sort helper status was not set!");
+        assertEquals(Workpiece.treeStream(fileWorkpiece.getLogicalStructure()).count(),
+            (long) savedFromFile.getSortHelperDocstructs(), "Structures were not counted in the metadata file!");
+        assertEquals(MetsService.countLogicalMetadata(fileWorkpiece), savedFromFile.getSortHelperMetadata(),
+            "Metadata were not counted in the metadata file!");
+
+        Process savedInMemory = processService.getById(inMemoryId);
+        assertEquals("000000100000", savedInMemory.getSortHelperStatus(), "Sort helper status was not set!");
+        assertEquals(3, savedInMemory.getSortHelperImages(), "Images were not counted in the workpiece!");
+        assertEquals(2, savedInMemory.getSortHelperDocstructs(), "Structures were not counted in the workpiece!");
+        assertEquals(1, savedInMemory.getSortHelperMetadata(), "Metadata were not counted in the workpiece!");
+
+        ProcessTestUtils.removeTestProcess(fromFileId);
+        ProcessTestUtils.removeTestProcess(inMemoryId);
+    }
+
     @Test
     public void shouldFindByMetadata() throws Exception {
         Thread.sleep(2000);
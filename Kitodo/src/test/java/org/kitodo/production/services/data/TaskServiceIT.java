@@ -353,6 +353,41 @@ public class TaskServiceIT {
         }
     }
 
+    @Test
+    public void shouldRollUpTaskStatusCountsToParent() throws Exception {
+        TaskDAO dao = new TaskDAO();
+        ProcessService processService = ServiceManager.getProcessService();
+        Map<Integer, EnumMap<TaskStatus, Integer>> before = dao.loadTaskStatusCountsForProcesses(List.of(1, 2));
+        Process parent = processService.getById(1);
+        Process child = processService.getById(2);
+        Task task = child.getTasks().getFirst();
+        TaskStatus oldStatus = task.getProcessingStatus();
+        TaskStatus newStatus = TaskStatus.DONE.equals(oldStatus) ? TaskStatus.OPEN : TaskStatus.DONE;
+
+        child.setParent(parent);
+        processService.save(child);
+        try {
+            EnumMap<TaskStatus, Integer> linked = dao.loadTaskStatusCountsForProcesses(List.of(1)).get(1);
+            for (TaskStatus status : TaskStatus.values()) {
+                assertEquals(before.get(1).get(status) + before.get(2).get(status), linked.get(status),
+                    "Child tasks were not added to parent for status " + status);
+            }
+
+            task.setProcessingStatus(newStatus);
+            taskService.save(task);
+            EnumMap<TaskStatus, Integer> changed = dao.loadTaskStatusCountsForProcesses(List.of(1)).get(1);
+            assertEquals(linked.get(oldStatus) - 1, changed.get(oldStatus), "Old status was not decremented");
+            assertEquals(linked.get(newStatus) + 1, changed.get(newStatus), "New status was not incremented");
+        } finally {
+            task.setProcessingStatus(oldStatus);
+            taskService.save(task);
+            child.setParent(null);
+            processService.save(child);
+        }
+        assertEquals(before.get(1), dao.loadTaskStatusCountsForProcesses(List.of(1)).get(1),
+            "Parent counts were not restored after unlinking the child");
+    }
+
     private void collectCounts(Process process, EnumMap<TaskStatus, Integer> counts) {
         if (Objects.isNull(process)) {
             return;
@@ -0,0 +1,105 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.dataeditor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kitodo.DummyRulesetManagement;
+import org.kitodo.api.dataeditor.rulesetmanagement.RulesetManagementInterface;
+
+public class RulesetManagementRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * A ruleset management that only remembers which files it was read from.
+     */
+    private class FileRulesetManagement extends DummyRulesetManagement {
+        private Collection<File> files;
+
+        @Override
+        public void load(File rulesetFile) {
+            files = List.of(rulesetFile, tempDir.resolve("namespace.xml").toFile());
+        }
+
+        @Override
+        public Collection<File> getFiles() {
+            return files;
+        }
+    }
+
+    private File writeFile(String name, String content, long modified) throws IOException {
+        Path file = Files.writeString(tempDir.resolve(name), content);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified));
+        return file.toFile();
+    }
+
+    @Test
+    public void shouldLoadRulesetOnlyOncePerVersion() throws IOException {
+        File ruleset = writeFile("ruleset.xml", "<ruleset/>", 1_000_000L);
+        RulesetManagementRegistry registry = new RulesetManagementRegistry(FileRulesetManagement::new, 2);
+
+        RulesetManagementInterface first = registry.getRulesetManagement(ruleset);
+        RulesetManagementInterface second = registry.getRulesetManagement(ruleset);
+
+        assertSame(first, second);
+        assertEquals(1, registry.getLoadCount());
+        assertEquals(1, registry.getHitCount());
+
+        writeFile("ruleset.xml", "<ruleset lang=\"de\"/>", 2_000_000L);
+        assertNotSame(first, registry.getRulesetManagement(ruleset), "Changed ruleset should have been loaded again");
+        assertEquals(2, registry.getLoadCount());
+    }
+
+    @Test
+    public void shouldLoadRulesetAgainIfNamespaceFileAppears() throws IOException {
+        File ruleset = writeFile("ruleset.xml", "<ruleset/>", 1_000_000L);
+        RulesetManagementRegistry registry = new RulesetManagementRegistry(FileRulesetManagement::new, 2);
+
+        RulesetManagementInterface first = registry.getRulesetManagement(ruleset);
+        writeFile("namespace.xml", "<namespace/>", 1_000_000L);
+
+        assertNotSame(first, registry.getRulesetManagement(ruleset));
+        assertEquals(2, registry.getLoadCount());
+    }
+
+    @Test
+    public void shouldRemoveLeastRecentlyUsedRuleset() throws IOException {
+        File first = writeFile("first.xml", "<ruleset/>", 1_000_000L);
+        File second = writeFile("second.xml", "<ruleset/>", 1_000_000L);
+        File third = writeFile("third.xml", "<ruleset/>", 1_000_000L);
+        RulesetManagementRegistry registry = new RulesetManagementRegistry(FileRulesetManagement::new, 2);
+
+        registry.getRulesetManagement(first);
+        registry.getRulesetManagement(second);
+        registry.getRulesetManagement(first);
+        registry.getRulesetManagement(third);
+
+        assertEquals(2, registry.getSize());
+        assertEquals(1, registry.getEvictionCount());
+        registry.getRulesetManagement(first);
+        assertEquals(2, registry.getHitCount(), "First ruleset should still be in the registry");
+    }
+}
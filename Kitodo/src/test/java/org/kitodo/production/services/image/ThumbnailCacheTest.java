@@ -0,0 +1,60 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.image;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ThumbnailCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path createThumbnail(String name, long modified) throws IOException {
+        Path thumbnail = Files.write(tempDir.resolve(name), new byte[400]);
+        Files.setLastModifiedTime(thumbnail, FileTime.fromMillis(modified));
+        return thumbnail;
+    }
+
+    @Test
+    public void shouldRemoveOldestThumbnailsWhenFull() throws IOException {
+        Path oldest = createThumbnail("a.jpg", 1_000_000L);
+        Path middle = createThumbnail("b.jpg", 2_000_000L);
+        Path newest = createThumbnail("c.jpg", 3_000_000L);
+
+        ThumbnailCache thumbnailCache = new ThumbnailCache(tempDir, 1000, 300);
+
+        assertFalse(Files.exists(oldest), "Oldest thumbnail should have been removed");
+        assertTrue(Files.exists(middle));
+        assertTrue(Files.exists(newest));
+        assertEquals(800, thumbnailCache.getSize());
+    }
+
+    @Test
+    public void shouldKeepThumbnailsWithinLimit() throws IOException {
+        createThumbnail("a.jpg", 1_000_000L);
+        createThumbnail("b.jpg", 2_000_000L);
+
+        ThumbnailCache thumbnailCache = new ThumbnailCache(tempDir, 1000, 300);
+
+        assertEquals(800, thumbnailCache.getSize());
+    }
+}